@@ -0,0 +1,58 @@
+package com.library.app.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.library.app.author.model.Author;
+import com.library.app.book.model.Book;
+import com.library.app.category.model.Category;
+
+import java.util.List;
+
+/**
+ * The type Hand written book json converter. The JsonObject building of the book converters before the codecs were
+ * generated from the json views, kept as the baseline of the benchmarks.
+ */
+public class HandWrittenBookJsonConverter {
+
+    /**
+     * Convert books to json element.
+     *
+     * @param books the books
+     * @return the json element
+     */
+    public JsonElement convertToJsonElement(final List<Book> books) {
+        final JsonArray jsonArray = new JsonArray();
+        for (final Book book : books) {
+            jsonArray.add(convertToJsonElement(book));
+        }
+        return jsonArray;
+    }
+
+    private JsonElement convertToJsonElement(final Book book) {
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("id", book.getId());
+        jsonObject.addProperty("title", book.getTitle());
+        jsonObject.addProperty("description", book.getDescription());
+        jsonObject.add("category", convertToJsonElement(book.getCategory()));
+
+        final JsonArray authors = new JsonArray();
+        for (final Author author : book.getAuthors()) {
+            final JsonObject authorJsonObject = new JsonObject();
+            authorJsonObject.addProperty("id", author.getId());
+            authorJsonObject.addProperty("name", author.getName());
+            authors.add(authorJsonObject);
+        }
+        jsonObject.add("authors", authors);
+        jsonObject.addProperty("price", book.getPrice());
+        return jsonObject;
+    }
+
+    private JsonElement convertToJsonElement(final Category category) {
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("id", category.getId());
+        jsonObject.addProperty("name", category.getName());
+        return jsonObject;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.library.app.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.library.app.author.model.Author;
+import com.library.app.book.model.Book;
+import com.library.app.book.resource.BookJsonConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.library.app.commontests.book.BookForTestsRepository.allBooks;
+import static com.library.app.commontests.book.BookForTestsRepository.bookWithId;
+
+/**
+ * The type Json converter benchmark. Writes a page of 50 books, with their category and authors:
+ * handWrittenTree is the baseline, the JsonObject built by hand and written by Gson; generatedTree is the JsonElement
+ * of the converter, built by the generated codec; generatedStreaming is the codec writing straight to the writer, as
+ * the list responses do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonConverterBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final Gson gson = new Gson();
+    private final BookJsonConverter bookJsonConverter = new BookJsonConverter();
+    private final HandWrittenBookJsonConverter handWrittenBookJsonConverter = new HandWrittenBookJsonConverter();
+    private final CharArrayWriter writer = new CharArrayWriter();
+    private List<Book> books;
+
+    /**
+     * Set up the page of books, with ids as if they were read from the database.
+     */
+    @Setup
+    public void setUp() {
+        books = new ArrayList<>(PAGE_SIZE);
+        long authorId = 1L;
+        while (books.size() < PAGE_SIZE) {
+            for (final Book book : allBooks()) {
+                if (books.size() < PAGE_SIZE) {
+                    bookWithId(book, (long) books.size() + 1);
+                    book.getCategory().setId((long) books.size() % 4 + 1);
+                    for (final Author author : book.getAuthors()) {
+                        author.setId(authorId++);
+                    }
+                    books.add(book);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hand written tree.
+     *
+     * @return the number of chars written
+     */
+    @Benchmark
+    public int handWrittenTree() {
+        writer.reset();
+        gson.toJson(handWrittenBookJsonConverter.convertToJsonElement(books), writer);
+        return writer.size();
+    }
+
+    /**
+     * Generated tree.
+     *
+     * @return the number of chars written
+     */
+    @Benchmark
+    public int generatedTree() {
+        writer.reset();
+        gson.toJson(bookJsonConverter.convertToJsonElement(books), writer);
+        return writer.size();
+    }
+
+    /**
+     * Generated streaming.
+     *
+     * @return the number of chars written
+     * @throws IOException the io exception
+     */
+    @Benchmark
+    public int generatedStreaming() throws IOException {
+        writer.reset();
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setHtmlSafe(true);
+        jsonWriter.setSerializeNulls(false);
+        bookJsonConverter.write(jsonWriter, books);
+        jsonWriter.flush();
+        return writer.size();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.library.app.user.password;
+
+import com.library.app.common.utils.PasswordUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Password hashing benchmark. Hashes a password with the iterations of application.properties:
+ * legacySha256 is the baseline, the SHA-256 hash of {@link PasswordUtils}; pbkdf2 is the PBKDF2 of the JDK on the
+ * calling thread; matches is the verification of a stored hash, handed over to the workers of the service as the
+ * logins do. It lives in the package of {@link PasswordHashingService} to configure it without a container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "123456";
+    private static final byte[] SALT = "salt-of-the-test".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"20000"})
+    private int iterations;
+
+    private PasswordHashingService passwordHashingService;
+    private String storedHash;
+
+    /**
+     * Set up the service, with a single worker, and the hash of the password.
+     */
+    @Setup
+    public void setUp() {
+        passwordHashingService = new PasswordHashingService();
+        passwordHashingService.iterations = iterations;
+        passwordHashingService.threads = 1;
+        passwordHashingService.queueSize = 1;
+        passwordHashingService.init();
+
+        storedHash = passwordHashingService.hash(PASSWORD);
+    }
+
+    /**
+     * Tear down. Stops the worker.
+     */
+    @TearDown
+    public void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    /**
+     * Legacy sha 256.
+     *
+     * @return the hash
+     */
+    @Benchmark
+    public String legacySha256() {
+        return PasswordUtils.encryptPassword(PASSWORD);
+    }
+
+    /**
+     * Pbkdf 2.
+     *
+     * @return the hash
+     */
+    @Benchmark
+    public byte[] pbkdf2() {
+        return PasswordHashingService.pbkdf2(PASSWORD, SALT, iterations);
+    }
+
+    /**
+     * Matches.
+     *
+     * @return the boolean
+     */
+    @Benchmark
+    public boolean matches() {
+        return passwordHashingService.matches(PASSWORD, storedHash);
+    }
+
+}
@@ -7,6 +7,7 @@ import com.library.app.author.services.AuthorServices;
 import com.library.app.common.json.JsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.PaginatedData;
+import com.library.app.common.resource.AllowAnonymous;
 
 import javax.inject.Inject;
 import javax.ws.rs.GET;
@@ -37,6 +38,7 @@ public class AuthorResourceDB {
      * Create every author onto the database.
      */
     @POST
+    @AllowAnonymous
     public void addAll() {
         allAuthors().forEach(authorServices::add);
     }
@@ -48,6 +50,7 @@ public class AuthorResourceDB {
      * @return the response
      */
     @GET
+    @AllowAnonymous
     @Path("/{name}")
     public Response findByName(@PathParam("name") final String name) {
         final AuthorFilter authorFilter = new AuthorFilter();
@@ -7,6 +7,7 @@ import com.library.app.book.services.BookServices;
 import com.library.app.common.json.JsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.PaginatedData;
+import com.library.app.common.resource.AllowAnonymous;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
@@ -42,6 +43,7 @@ public class BookResourceDB {
      * Add all books to the database for tests. It first need to get the category and authors to be able to successfully add a book.
      */
     @POST
+    @AllowAnonymous
     public void addAll() {
         allBooks().forEach((book) -> bookServices.add(normalizeDependencies(book, em)));
     }
@@ -53,6 +55,7 @@ public class BookResourceDB {
      * @return the response
      */
     @GET
+    @AllowAnonymous
     @Path("/{title}")
     public Response findByTitle(@PathParam("title") final String title) {
         final BookFilter bookFilter = new BookFilter();
@@ -5,6 +5,7 @@ import com.library.app.category.resource.CategoryJsonConverter;
 import com.library.app.category.services.CategoryServices;
 import com.library.app.common.json.JsonWriter;
 import com.library.app.common.model.HttpCode;
+import com.library.app.common.resource.AllowAnonymous;
 
 import javax.inject.Inject;
 import javax.ws.rs.GET;
@@ -38,6 +39,7 @@ public class CategoryResourceDB {
      * Create every category onto the database.
      */
     @POST
+    @AllowAnonymous
     public void addAll() {
         allCategories().forEach(categoryServices::add);
     }
@@ -49,6 +51,7 @@ public class CategoryResourceDB {
      * @return the response
      */
     @GET
+    @AllowAnonymous
     @Path("/{name}")
     public Response findByName(@PathParam("name") final String name) {
         final List<Category> categories = categoryServices.findAll();
@@ -1,5 +1,6 @@
 package com.library.app.commontests.logaudit;
 
+import com.library.app.common.resource.AllowAnonymous;
 import com.library.app.logaudit.repository.LogAuditRepository;
 
 import javax.inject.Inject;
@@ -27,6 +28,7 @@ public class LogAuditResourceDB {
      * Add all.
      */
     @POST
+    @AllowAnonymous
     public void addAll() {
         allLogs().forEach((logAudit) -> logAuditRepository.add(normalizeDependencies(logAudit, em)));
     }
@@ -1,5 +1,6 @@
 package com.library.app.commontests.user;
 
+import com.library.app.common.resource.AllowAnonymous;
 import com.library.app.user.services.UserServices;
 
 import javax.inject.Inject;
@@ -25,6 +26,7 @@ public class UserResourceDB {
      * Add all.
      */
     @POST
+    @AllowAnonymous
     public void addAll() {
         allUsers().forEach(userServices::add);
     }
@@ -33,6 +35,7 @@ public class UserResourceDB {
      * Add admin user.
      */
     @POST
+    @AllowAnonymous
     @Path("/admin")
     public void addAdmin() {
         userServices.add(admin());
@@ -1,6 +1,8 @@
 package com.library.app.commontests.utils;
 
 
+import com.library.app.common.resource.AllowAnonymous;
+
 import javax.inject.Inject;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.Path;
@@ -20,6 +22,7 @@ public class DBResource {
      * Method to clean up the database.
      */
     @DELETE
+    @AllowAnonymous
     public void deleteAll() {
         testRepositoryEJB.deleteAll();
     }
@@ -0,0 +1,34 @@
+package com.library.app.commontests.utils;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import java.io.IOException;
+
+/**
+ * The type Http bearer authenticator. This class has a request filter adding the token of the user that is logged on
+ * making the calls to the application. The passwords are hashed with PBKDF2, which the BASIC authentication of the
+ * container can not verify, so the calls are authenticated with the token returned by api/users/authenticate.
+ */
+public class HttpBearerAuthenticator implements ClientRequestFilter {
+
+    private final String token;
+
+    /**
+     * Instantiates a new Http bearer authenticator.
+     *
+     * @param token the token
+     */
+    public HttpBearerAuthenticator(final String token) {
+        this.token = token;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext) throws IOException {
+        //intercept the headers of the call and add the token of the user
+        final MultivaluedMap<String, Object> headers = requestContext.getHeaders();
+        headers.add(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+}
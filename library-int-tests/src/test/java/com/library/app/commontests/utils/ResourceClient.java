@@ -1,6 +1,7 @@
 package com.library.app.commontests.utils;
 
 
+import com.library.app.common.json.JsonReader;
 import com.library.app.user.model.User;
 
 import javax.ws.rs.client.Client;
@@ -12,6 +13,7 @@ import javax.ws.rs.core.Response;
 import java.net.URISyntaxException;
 import java.net.URL;
 
+import static com.library.app.commontests.user.UserTestUtils.getJsonWithEmailAndPassword;
 import static com.library.app.commontests.utils.JsonTestUtils.readJsonFile;
 
 /**
@@ -82,12 +84,27 @@ public class ResourceClient {
 
         //add user details to the client
         if (user != null) {
-            resourceClient = resourceClient.register(new HttpBasicAuthenticator(user.getEmail(), user.getPassword()));
+            resourceClient = resourceClient.register(new HttpBearerAuthenticator(authenticate()));
         }
 
         return resourceClient.target(getFullURL(resourcePath)).request();
     }
 
+    /**
+     * Authenticate the current user.
+     *
+     * @return the token of the user, or an empty token when the email and password are not valid
+     */
+    private String authenticate() {
+        final Response response = ClientBuilder.newClient().target(getFullURL("users/authenticate")).request()
+                .post(Entity.entity(getJsonWithEmailAndPassword(user.getEmail(), user.getPassword()),
+                        MediaType.APPLICATION_JSON));
+        if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+            return "";
+        }
+        return JsonReader.readAsJsonObject(response.readEntity(String.class)).get("token").getAsString();
+    }
+
     private String getFullURL(final String resourcePath) {
         try {
             return this.urlBase.toURI() + "api/" + resourcePath;
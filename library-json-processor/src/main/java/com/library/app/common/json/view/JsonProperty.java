@@ -0,0 +1,48 @@
+package com.library.app.common.json.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Json property of a {@link JsonView}. Optional: a getter of the view is written as a property named after it
+ * ("getName" as "name") and, as per its type, as a string, a number, a boolean, the name of an enum or an array of
+ * them.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface JsonProperty {
+
+    /**
+     * The name of the property, when it is not the one of the getter.
+     *
+     * @return the name
+     */
+    String name() default "";
+
+    /**
+     * The view of the property, which is then written as an object, or the view of its elements when it is a
+     * collection.
+     *
+     * @return the view
+     */
+    Class<?> view() default void.class;
+
+    /**
+     * The formatter of the property, a class with a static "format" method returning the string written for the
+     * value, or for each element when it is a collection.
+     *
+     * @return the formatter
+     */
+    Class<?> formatter() default void.class;
+
+    /**
+     * Whether the property is read, with the setter of the entity. Only strings, numbers, booleans and enums can be
+     * read.
+     *
+     * @return the boolean
+     */
+    boolean readable() default false;
+
+}
@@ -0,0 +1,26 @@
+package com.library.app.common.json.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Json view of an entity. Annotates an interface whose methods are the getters of the entity to be written, in the
+ * order they are written. A codec named after the interface, with the suffix "Codec", is generated on its package with
+ * the static methods to write the entity, or a collection of them, with a Gson JsonWriter and, when any property is
+ * {@link JsonProperty#readable()}, to read it with a Gson JsonReader. The generated code calls the getters and
+ * setters of the entity, no reflection is used.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonView {
+
+    /**
+     * The entity of the view.
+     *
+     * @return the class of the entity
+     */
+    Class<?> value();
+
+}
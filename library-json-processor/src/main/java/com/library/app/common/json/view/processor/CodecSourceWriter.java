@@ -0,0 +1,237 @@
+package com.library.app.common.json.view.processor;
+
+import com.library.app.common.json.view.processor.PropertyDefinition.ValueKind;
+
+import java.util.List;
+
+/**
+ * The type Codec source writer. Writes the source of the codec of a Json view: a final class with static methods
+ * writing the entity, or a collection of them, with a Gson JsonWriter and, when any property is readable, reading the
+ * entity with a Gson JsonReader.
+ * The values are written with the same JsonWriter calls Gson makes writing the JsonObject a converter would build
+ * with them, so the Json is the same.
+ */
+class CodecSourceWriter {
+
+    private static final String JSON_WRITER = "com.google.gson.stream.JsonWriter";
+    private static final String JSON_READER = "com.google.gson.stream.JsonReader";
+    private static final String JSON_TOKEN = "com.google.gson.stream.JsonToken";
+    private static final String IO_EXCEPTION = "java.io.IOException";
+
+    private final String packageName;
+    private final String viewName;
+    private final String entityName;
+    private final List<PropertyDefinition> properties;
+    private final StringBuilder source = new StringBuilder();
+
+    /**
+     * Instantiates a new Codec source writer.
+     *
+     * @param packageName the package of the view
+     * @param viewName    the simple name of the view
+     * @param entityName  the qualified name of the entity
+     * @param properties  the properties, in the order they are written
+     */
+    CodecSourceWriter(final String packageName, final String viewName, final String entityName,
+                      final List<PropertyDefinition> properties) {
+        this.packageName = packageName;
+        this.viewName = viewName;
+        this.entityName = entityName;
+        this.properties = properties;
+    }
+
+    /**
+     * Write the source of the codec.
+     *
+     * @return the source
+     */
+    String write() {
+        final String codecName = viewName + JsonViewProcessor.CODEC_SUFFIX;
+
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+        line(0, "/**");
+        line(0, " * Json codec of {@link " + viewName + "}, generated from the view: do not edit.");
+        line(0, " */");
+        line(0, "@javax.annotation.Generated(\"" + JsonViewProcessor.class.getName() + "\")");
+        line(0, "public final class " + codecName + " {");
+        line(0, "");
+        line(1, "private " + codecName + "() {");
+        line(1, "}");
+
+        writeEntityMethod();
+        writeEntitiesMethod();
+        if (properties.stream().anyMatch(PropertyDefinition::isReadable)) {
+            writeReadMethod();
+        }
+        if (properties.stream().anyMatch(property -> property.getValueKind() == ValueKind.ENUM)) {
+            writeNameMethod();
+        }
+        if (properties.stream().anyMatch(property -> property.getValueKind() == ValueKind.BOOLEAN)) {
+            writeBooleanMethod();
+        }
+
+        line(0, "");
+        line(0, "}");
+        return source.toString();
+    }
+
+    private void writeEntityMethod() {
+        line(0, "");
+        line(1, "/**");
+        line(1, " * Write an entity, null as a null value.");
+        line(1, " *");
+        line(1, " * @param jsonWriter the json writer");
+        line(1, " * @param entity     the entity");
+        line(1, " * @throws " + IO_EXCEPTION + " the io exception");
+        line(1, " */");
+        line(1, "public static void write(final " + JSON_WRITER + " jsonWriter, final " + entityName + " entity)");
+        line(3, "throws " + IO_EXCEPTION + " {");
+        line(2, "if (entity == null) {");
+        line(3, "jsonWriter.nullValue();");
+        line(3, "return;");
+        line(2, "}");
+        line(2, "jsonWriter.beginObject();");
+        for (final PropertyDefinition property : properties) {
+            writeProperty(property);
+        }
+        line(2, "jsonWriter.endObject();");
+        line(1, "}");
+    }
+
+    private void writeEntitiesMethod() {
+        line(0, "");
+        line(1, "/**");
+        line(1, " * Write entities as an array, null as a null value.");
+        line(1, " *");
+        line(1, " * @param jsonWriter the json writer");
+        line(1, " * @param entities   the entities");
+        line(1, " * @throws " + IO_EXCEPTION + " the io exception");
+        line(1, " */");
+        line(1, "public static void write(final " + JSON_WRITER + " jsonWriter,");
+        line(3, "final java.lang.Iterable<? extends " + entityName + "> entities) throws " + IO_EXCEPTION + " {");
+        line(2, "if (entities == null) {");
+        line(3, "jsonWriter.nullValue();");
+        line(3, "return;");
+        line(2, "}");
+        line(2, "jsonWriter.beginArray();");
+        line(2, "for (final " + entityName + " entity : entities) {");
+        line(3, "write(jsonWriter, entity);");
+        line(2, "}");
+        line(2, "jsonWriter.endArray();");
+        line(1, "}");
+    }
+
+    private void writeProperty(final PropertyDefinition property) {
+        final String value = "entity." + property.getGetterName() + "()";
+        line(2, "jsonWriter.name(\"" + escape(property.getJsonName()) + "\");");
+
+        if (!property.isCollection() || property.getValueKind() == ValueKind.VIEW) {
+            writeValue(2, property, value);
+            return;
+        }
+
+        final String values = JsonViewProcessor.getPropertyName(property.getGetterName()) + "Values";
+        line(2, "final " + property.getTypeName() + " " + values + " = " + value + ";");
+        line(2, "if (" + values + " == null) {");
+        line(3, "jsonWriter.nullValue();");
+        line(2, "} else {");
+        line(3, "jsonWriter.beginArray();");
+        line(3, "for (final " + property.getElementTypeName() + " element : " + values + ") {");
+        writeValue(4, property, "element");
+        line(3, "}");
+        line(3, "jsonWriter.endArray();");
+        line(2, "}");
+    }
+
+    private void writeValue(final int indentation, final PropertyDefinition property, final String value) {
+        switch (property.getValueKind()) {
+            case VIEW:
+                line(indentation, property.getHelperClassName() + ".write(jsonWriter, " + value + ");");
+                break;
+            case FORMATTED:
+                line(indentation, "jsonWriter.value(" + property.getHelperClassName() + ".format(" + value + "));");
+                break;
+            case ENUM:
+                line(indentation, "jsonWriter.value(name(" + value + "));");
+                break;
+            case BOOLEAN:
+                line(indentation, "writeBoolean(jsonWriter, " + value + ");");
+                break;
+            default:
+                line(indentation, "jsonWriter.value(" + value + ");");
+        }
+    }
+
+    private void writeReadMethod() {
+        line(0, "");
+        line(1, "/**");
+        line(1, " * Read the readable properties of an entity, skipping any other property.");
+        line(1, " *");
+        line(1, " * @param reader the reader, at the start of the entity");
+        line(1, " * @param entity the entity");
+        line(1, " * @throws " + IO_EXCEPTION + " the io exception");
+        line(1, " */");
+        line(1, "public static void read(final " + JSON_READER + " reader, final " + entityName + " entity)");
+        line(3, "throws " + IO_EXCEPTION + " {");
+        line(2, "reader.beginObject();");
+        line(2, "while (reader.hasNext()) {");
+        line(3, "switch (reader.nextName()) {");
+        for (final PropertyDefinition property : properties) {
+            if (!property.isReadable()) {
+                continue;
+            }
+            line(4, "case \"" + escape(property.getJsonName()) + "\":");
+            if (property.isPrimitive()) {
+                line(5, "entity." + property.getSetterName() + "(" + property.getReadExpression() + ");");
+            } else {
+                line(5, "if (reader.peek() == " + JSON_TOKEN + ".NULL) {");
+                line(6, "reader.nextNull();");
+                line(6, "entity." + property.getSetterName() + "(null);");
+                line(5, "} else {");
+                line(6, "entity." + property.getSetterName() + "(" + property.getReadExpression() + ");");
+                line(5, "}");
+            }
+            line(5, "break;");
+        }
+        line(4, "default:");
+        line(5, "reader.skipValue();");
+        line(3, "}");
+        line(2, "}");
+        line(2, "reader.endObject();");
+        line(1, "}");
+    }
+
+    private void writeNameMethod() {
+        line(0, "");
+        line(1, "private static String name(final java.lang.Enum<?> value) {");
+        line(2, "return value == null ? null : value.name();");
+        line(1, "}");
+    }
+
+    private void writeBooleanMethod() {
+        line(0, "");
+        line(1, "private static void writeBoolean(final " + JSON_WRITER + " jsonWriter, final java.lang.Boolean value)");
+        line(3, "throws " + IO_EXCEPTION + " {");
+        line(2, "if (value == null) {");
+        line(3, "jsonWriter.nullValue();");
+        line(2, "} else {");
+        line(3, "jsonWriter.value(value.booleanValue());");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void line(final int indentation, final String line) {
+        for (int i = 0; i < indentation; i++) {
+            source.append("    ");
+        }
+        source.append(line).append('\n');
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+}
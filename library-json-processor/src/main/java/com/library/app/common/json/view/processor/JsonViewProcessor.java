@@ -0,0 +1,426 @@
+package com.library.app.common.json.view.processor;
+
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+import com.library.app.common.json.view.processor.PropertyDefinition.ValueKind;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The type Json view processor. Generates the codec of each interface annotated with {@link JsonView}, see
+ * {@link CodecSourceWriter}. A view which can not be generated is reported as a compilation error on the view.
+ * The codec generated by a previous compilation, compiled again as a source with its view, is kept when it is up to
+ * date and written again otherwise.
+ */
+@SupportedAnnotationTypes("com.library.app.common.json.view.JsonView")
+public class JsonViewProcessor extends AbstractProcessor {
+
+    static final String CODEC_SUFFIX = "Codec";
+
+    private static final String FORMATTER_METHOD = "format";
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        final Set<String> sourceTypeNames = new HashSet<>();
+        for (final Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                sourceTypeNames.add(((TypeElement) element).getQualifiedName().toString());
+            }
+        }
+
+        for (final Element element : roundEnv.getElementsAnnotatedWith(JsonView.class)) {
+            try {
+                generateCodec(element, sourceTypeNames);
+            } catch (final InvalidViewException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.getElement());
+            } catch (final IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "The codec of the view could not be written: " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generate the codec of a view.
+     *
+     * @param element         the element annotated as view
+     * @param sourceTypeNames the names of the types compiled from sources
+     * @throws IOException the io exception
+     */
+    private void generateCodec(final Element element, final Set<String> sourceTypeNames) throws IOException {
+        final TypeElement view = checkView(element);
+        final TypeElement entity = getEntity(view);
+
+        final List<PropertyDefinition> properties = new ArrayList<>();
+        for (final ExecutableElement getter : ElementFilter.methodsIn(view.getEnclosedElements())) {
+            if (getter.getModifiers().contains(Modifier.ABSTRACT)) {
+                properties.add(getProperty(entity, getter));
+            }
+        }
+
+        final String packageName = elements.getPackageOf(view).getQualifiedName().toString();
+        final String source = new CodecSourceWriter(packageName, view.getSimpleName().toString(),
+                entity.getQualifiedName().toString(), properties).write();
+
+        final String codecName = getCodecName(view);
+        if (sourceTypeNames.contains(codecName)) {
+            updatePreviousCodec(view, packageName, source);
+            return;
+        }
+        final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(codecName, view);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    /**
+     * Update the codec of a view generated by a previous compilation. Its source is compiled again with the view, so
+     * it must not be created again: it is kept when it is up to date, otherwise it is written again and, as the
+     * previous one is the one compiled, the compilation fails and has to be run again.
+     *
+     * @param view        the view
+     * @param packageName the package name of the view
+     * @param source      the source of the codec
+     * @throws IOException the io exception
+     */
+    private void updatePreviousCodec(final TypeElement view, final String packageName, final String source)
+            throws IOException {
+        final FileObject previousSourceFile = processingEnv.getFiler().getResource(StandardLocation.SOURCE_OUTPUT,
+                packageName, view.getSimpleName() + CODEC_SUFFIX + JavaFileObject.Kind.SOURCE.extension);
+        final String previousSource = previousSourceFile.getCharContent(true).toString();
+        if (previousSource.equals(source)) {
+            return;
+        }
+
+        Files.write(Paths.get(previousSourceFile.toUri()), source.getBytes(StandardCharsets.UTF_8));
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "The codec of the view was generated from a previous version of the view, it was written again: "
+                        + "compile again", view);
+    }
+
+    /**
+     * Get the definition of a property of a view.
+     *
+     * @param entity the entity of the view
+     * @param getter the getter of the view
+     * @return the property definition
+     */
+    private PropertyDefinition getProperty(final TypeElement entity, final ExecutableElement getter) {
+        final String getterName = getter.getSimpleName().toString();
+        if (!getter.getParameters().isEmpty() || !hasMethod(entity, getterName, 0)) {
+            throw new InvalidViewException("The entity " + entity.getSimpleName() + " has no getter " + getterName,
+                    getter);
+        }
+        final String propertyName = getPropertyName(getterName);
+
+        final AnnotationMirror jsonProperty = getAnnotation(getter, JsonProperty.class);
+        final String name = getStringValue(jsonProperty, "name");
+        final TypeElement view = getTypeElementValue(jsonProperty, "view");
+        final TypeElement formatter = getTypeElementValue(jsonProperty, "formatter");
+        final boolean readable = Boolean.TRUE.equals(getValue(jsonProperty, "readable"));
+
+        final TypeMirror type = getter.getReturnType();
+        final boolean collection = !type.getKind().isPrimitive() && isCollection(type);
+        final TypeMirror valueType = collection ? getElementType(type, getter) : type;
+
+        final ValueKind valueKind;
+        String helperClassName = null;
+        if (view != null) {
+            if (getAnnotation(view, JsonView.class) == null) {
+                throw new InvalidViewException(view.getSimpleName() + " is not a Json view", getter);
+            }
+            valueKind = ValueKind.VIEW;
+            helperClassName = getCodecName(view);
+        } else if (formatter != null) {
+            if (!hasMethod(formatter, FORMATTER_METHOD, 1)) {
+                throw new InvalidViewException(formatter.getSimpleName() + " has no static method "
+                        + FORMATTER_METHOD, getter);
+            }
+            valueKind = ValueKind.FORMATTED;
+            helperClassName = formatter.getQualifiedName().toString();
+        } else {
+            valueKind = getValueKind(valueType, getter);
+        }
+
+        String readExpression = null;
+        String setterName = null;
+        if (readable) {
+            if (collection || valueKind == ValueKind.VIEW || valueKind == ValueKind.FORMATTED) {
+                throw new InvalidViewException("Only strings, numbers, booleans and enums can be read", getter);
+            }
+            setterName = "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+            if (!hasMethod(entity, setterName, 1)) {
+                throw new InvalidViewException("The entity " + entity.getSimpleName() + " has no setter "
+                        + setterName, getter);
+            }
+            readExpression = getReadExpression(type, valueKind, getter);
+        }
+
+        return new PropertyDefinition(getterName, name.isEmpty() ? propertyName : name, type.toString(),
+                type.getKind().isPrimitive(), valueKind, collection, collection ? valueType.toString() : null,
+                helperClassName, readExpression, setterName);
+    }
+
+    /**
+     * Get how a value without view nor formatter is written.
+     *
+     * @param type   the type of the value
+     * @param getter the getter
+     * @return the value kind
+     */
+    private ValueKind getValueKind(final TypeMirror type, final ExecutableElement getter) {
+        if (type.getKind().isPrimitive() && type.getKind() != TypeKind.CHAR) {
+            return ValueKind.PLAIN;
+        }
+        if (isSameType(type, String.class) || isSubtype(type, Number.class)) {
+            return ValueKind.PLAIN;
+        }
+        if (isSameType(type, Boolean.class)) {
+            return ValueKind.BOOLEAN;
+        }
+        if (type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM) {
+            return ValueKind.ENUM;
+        }
+        throw new InvalidViewException("The type " + type + " can not be written without a view or formatter",
+                getter);
+    }
+
+    /**
+     * Get the expression reading a value with a Gson JsonReader named "reader".
+     *
+     * @param type      the type of the value
+     * @param valueKind the value kind
+     * @param getter    the getter
+     * @return the read expression
+     */
+    private String getReadExpression(final TypeMirror type, final ValueKind valueKind,
+                                     final ExecutableElement getter) {
+        if (valueKind == ValueKind.ENUM) {
+            return type + ".valueOf(reader.nextString())";
+        }
+        final TypeMirror unboxedType = type.getKind().isPrimitive() ? type : unbox(type);
+        if (unboxedType == null) {
+            return "reader.nextString()";
+        }
+        switch (unboxedType.getKind()) {
+            case BOOLEAN:
+                return "reader.nextBoolean()";
+            case INT:
+                return "reader.nextInt()";
+            case LONG:
+                return "reader.nextLong()";
+            case DOUBLE:
+                return "reader.nextDouble()";
+            default:
+                throw new InvalidViewException("The type " + type + " can not be read", getter);
+        }
+    }
+
+    /**
+     * Check an element annotated as view is a top level interface.
+     *
+     * @param element the element
+     * @return the view
+     */
+    private TypeElement checkView(final Element element) {
+        if (element.getKind() != ElementKind.INTERFACE
+                || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+            throw new InvalidViewException("A Json view must be a top level interface", element);
+        }
+        return (TypeElement) element;
+    }
+
+    /**
+     * Get the entity of a view.
+     *
+     * @param view the view
+     * @return the entity
+     */
+    private TypeElement getEntity(final TypeElement view) {
+        final TypeElement entity = getTypeElementValue(getAnnotation(view, JsonView.class), "value");
+        if (entity == null) {
+            throw new InvalidViewException("The entity of a Json view must be a class", view);
+        }
+        return entity;
+    }
+
+    /**
+     * Get the name of the codec of a view, on the package of the view.
+     *
+     * @param view the view
+     * @return the codec name
+     */
+    private String getCodecName(final TypeElement view) {
+        return view.getQualifiedName() + CODEC_SUFFIX;
+    }
+
+    /**
+     * Get the type of the elements of a collection.
+     *
+     * @param type   the type of the collection
+     * @param getter the getter
+     * @return the element type
+     */
+    private TypeMirror getElementType(final TypeMirror type, final ExecutableElement getter) {
+        final List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+            throw new InvalidViewException("The elements of " + type + " can not be written", getter);
+        }
+        return typeArguments.get(0);
+    }
+
+    /**
+     * Get the property name of a getter, "getName" or "isName" as "name".
+     *
+     * @param getterName the getter name
+     * @return the property name
+     */
+    static String getPropertyName(final String getterName) {
+        final String propertyName;
+        if (getterName.startsWith("get") && getterName.length() > 3) {
+            propertyName = getterName.substring(3);
+        } else if (getterName.startsWith("is") && getterName.length() > 2) {
+            propertyName = getterName.substring(2);
+        } else {
+            return getterName;
+        }
+        return Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+    }
+
+    private boolean hasMethod(final TypeElement type, final String name, final int numberOfParameters) {
+        for (final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == numberOfParameters
+                    && method.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCollection(final TypeMirror type) {
+        return types.isAssignable(types.erasure(type),
+                types.erasure(elements.getTypeElement(Iterable.class.getName()).asType()));
+    }
+
+    private boolean isSameType(final TypeMirror type, final Class<?> clazz) {
+        return types.isSameType(type, elements.getTypeElement(clazz.getName()).asType());
+    }
+
+    private boolean isSubtype(final TypeMirror type, final Class<?> clazz) {
+        return types.isSubtype(type, elements.getTypeElement(clazz.getName()).asType());
+    }
+
+    private TypeMirror unbox(final TypeMirror type) {
+        try {
+            return types.unboxedType(type);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static AnnotationMirror getAnnotation(final Element element, final Class<?> annotationClass) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationClass.getName())) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(final AnnotationMirror annotation, final String name) {
+        if (annotation == null) {
+            return null;
+        }
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (value.getKey().getSimpleName().contentEquals(name)) {
+                return value.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private String getStringValue(final AnnotationMirror annotation, final String name) {
+        final Object value = getValue(annotation, name);
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Get the class of an annotation value, null when it is void.
+     *
+     * @param annotation the annotation
+     * @param name       the name of the value
+     * @return the type element
+     */
+    private TypeElement getTypeElementValue(final AnnotationMirror annotation, final String name) {
+        final Object value = getValue(annotation, name);
+        if (!(value instanceof DeclaredType)) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) value).asElement();
+    }
+
+    /**
+     * A view which can not be generated, reported on the element of the error.
+     */
+    private static class InvalidViewException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        InvalidViewException(final String message, final Element element) {
+            super(message);
+            this.element = element;
+        }
+
+        Element getElement() {
+            return element;
+        }
+    }
+
+}
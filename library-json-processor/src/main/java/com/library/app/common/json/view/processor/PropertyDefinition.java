@@ -0,0 +1,119 @@
+package com.library.app.common.json.view.processor;
+
+/**
+ * The type Property definition. A property of a Json view, as it is written and read by the generated codec.
+ */
+class PropertyDefinition {
+
+    /**
+     * How a value, or each element of a collection, is written.
+     */
+    enum ValueKind {
+        /**
+         * A string, a number or a primitive, written as it is.
+         */
+        PLAIN,
+        /**
+         * A boxed boolean, which Gson only writes unboxed.
+         */
+        BOOLEAN,
+        /**
+         * An enum, written with its name.
+         */
+        ENUM,
+        /**
+         * Any value, written with the string of its formatter.
+         */
+        FORMATTED,
+        /**
+         * An entity, written with the codec of its view.
+         */
+        VIEW
+    }
+
+    private final String getterName;
+    private final String jsonName;
+    private final String typeName;
+    private final boolean primitive;
+    private final ValueKind valueKind;
+    private final boolean collection;
+    private final String elementTypeName;
+    private final String helperClassName;
+    private final String readExpression;
+    private final String setterName;
+
+    /**
+     * Instantiates a new Property definition.
+     *
+     * @param getterName      the name of the getter of the entity
+     * @param jsonName        the name of the Json property
+     * @param typeName        the source name of the type of the getter
+     * @param primitive       whether the type of the getter is a primitive
+     * @param valueKind       how the value, or each element, is written
+     * @param collection      whether the value is a collection, written as an array
+     * @param elementTypeName the source name of the type of the elements, null when it is not a collection
+     * @param helperClassName the codec of the view or the formatter, null when none is used
+     * @param readExpression  the expression reading the value with the reader, null when it is not read
+     * @param setterName      the name of the setter of the entity, null when it is not read
+     */
+    PropertyDefinition(final String getterName, final String jsonName, final String typeName,
+                       final boolean primitive, final ValueKind valueKind, final boolean collection,
+                       final String elementTypeName, final String helperClassName, final String readExpression,
+                       final String setterName) {
+        this.getterName = getterName;
+        this.jsonName = jsonName;
+        this.typeName = typeName;
+        this.primitive = primitive;
+        this.valueKind = valueKind;
+        this.collection = collection;
+        this.elementTypeName = elementTypeName;
+        this.helperClassName = helperClassName;
+        this.readExpression = readExpression;
+        this.setterName = setterName;
+    }
+
+    String getGetterName() {
+        return getterName;
+    }
+
+    String getJsonName() {
+        return jsonName;
+    }
+
+    String getTypeName() {
+        return typeName;
+    }
+
+    ValueKind getValueKind() {
+        return valueKind;
+    }
+
+    boolean isCollection() {
+        return collection;
+    }
+
+    String getElementTypeName() {
+        return elementTypeName;
+    }
+
+    String getHelperClassName() {
+        return helperClassName;
+    }
+
+    String getReadExpression() {
+        return readExpression;
+    }
+
+    String getSetterName() {
+        return setterName;
+    }
+
+    boolean isReadable() {
+        return readExpression != null;
+    }
+
+    boolean isPrimitive() {
+        return primitive;
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.library.app.common.json.view.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Json view processor unit test. Runs the processor on sample views, without compiling the codecs.
+ */
+public class JsonViewProcessorUTest {
+
+    private static final String ENTITY = "package sample;\n"
+            + "public class Item {\n"
+            + "    public enum Status { NEW, SOLD }\n"
+            + "    public Long getId() { return null; }\n"
+            + "    public String getName() { return null; }\n"
+            + "    public void setName(String name) { }\n"
+            + "    public Status getStatus() { return null; }\n"
+            + "    public java.util.List<String> getTags() { return null; }\n"
+            + "    public Object getOwner() { return null; }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File generatedSourcesFolder;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    /**
+     * Init test case.
+     *
+     * @throws IOException the io exception
+     */
+    @Before
+    public void initTestCase() throws IOException {
+        generatedSourcesFolder = temporaryFolder.newFolder("generated");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    /**
+     * Generate codec of a view, with the properties in their order and named after the getters or their name.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void generateCodecOfView() throws Exception {
+        final boolean success = process("package sample;\n"
+                + "import com.library.app.common.json.view.*;\n"
+                + "@JsonView(Item.class)\n"
+                + "public interface ItemJsonView {\n"
+                + "    Long getId();\n"
+                + "    @JsonProperty(name = \"title\", readable = true) String getName();\n"
+                + "    Item.Status getStatus();\n"
+                + "    java.util.List<String> getTags();\n"
+                + "}\n");
+
+        assertThat(getErrors(), success, is(equalTo(true)));
+        final String codec = new String(Files.readAllBytes(new File(generatedSourcesFolder,
+                "sample/ItemJsonViewCodec.java").toPath()), StandardCharsets.UTF_8);
+
+        final int id = codec.indexOf("jsonWriter.name(\"id\");");
+        final int title = codec.indexOf("jsonWriter.name(\"title\");");
+        final int status = codec.indexOf("jsonWriter.name(\"status\");");
+        final int tags = codec.indexOf("jsonWriter.name(\"tags\");");
+        assertThat(0 < id && id < title && title < status && status < tags, is(equalTo(true)));
+        assertThat(codec, containsString("jsonWriter.value(name(entity.getStatus()));"));
+        assertThat(codec, containsString("for (final java.lang.String element : tagsValues) {"));
+        assertThat(codec, containsString("case \"title\":"));
+        assertThat(codec, containsString("entity.setName(reader.nextString());"));
+    }
+
+    /**
+     * The codec generated by a previous compilation, compiled again as a source with its view, is kept when it is up
+     * to date and written again, failing the compilation once, when the view changed.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void compileAgainWithCodecOfPreviousCompilation() throws Exception {
+        final String viewSource = "package sample;\n"
+                + "@com.library.app.common.json.view.JsonView(Item.class)\n"
+                + "public interface ItemJsonView {\n"
+                + "    Long getId();\n"
+                + "}\n";
+        final File codecFile = new File(generatedSourcesFolder, "sample/ItemJsonViewCodec.java");
+        assertThat(getErrors(), process(viewSource), is(equalTo(true)));
+        final String codec = new String(Files.readAllBytes(codecFile.toPath()), StandardCharsets.UTF_8);
+
+        assertThat(getErrors(), process(viewSource, codecFile), is(equalTo(true)));
+        assertThat(new String(Files.readAllBytes(codecFile.toPath()), StandardCharsets.UTF_8), is(equalTo(codec)));
+
+        final String changedViewSource = viewSource.replace("Long getId();", "String getName();");
+        assertThat(process(changedViewSource, codecFile), is(equalTo(false)));
+        assertThat(getErrors(), containsString("compile again"));
+        assertThat(new String(Files.readAllBytes(codecFile.toPath()), StandardCharsets.UTF_8),
+                containsString("jsonWriter.name(\"name\");"));
+
+        diagnostics = new DiagnosticCollector<>();
+        assertThat(getErrors(), process(changedViewSource, codecFile), is(equalTo(true)));
+    }
+
+    /**
+     * View with a getter the entity does not have.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void viewWithGetterNotOnTheEntity() throws Exception {
+        final boolean success = process("package sample;\n"
+                + "@com.library.app.common.json.view.JsonView(Item.class)\n"
+                + "public interface ItemJsonView {\n"
+                + "    String getDescription();\n"
+                + "}\n");
+
+        assertThat(success, is(equalTo(false)));
+        assertThat(getErrors(), containsString("The entity Item has no getter getDescription"));
+    }
+
+    /**
+     * View with a property which can not be written without a view or formatter.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void viewWithPropertyWithoutViewNorFormatter() throws Exception {
+        final boolean success = process("package sample;\n"
+                + "@com.library.app.common.json.view.JsonView(Item.class)\n"
+                + "public interface ItemJsonView {\n"
+                + "    Object getOwner();\n"
+                + "}\n");
+
+        assertThat(success, is(equalTo(false)));
+        assertThat(getErrors(), containsString("can not be written without a view or formatter"));
+    }
+
+    /**
+     * Process the sample entity and a view, only running the processor.
+     *
+     * @param viewSource    the view source
+     * @param previousFiles the files of a previous compilation compiled again as sources
+     * @return whether there were no errors
+     * @throws IOException the io exception
+     */
+    private boolean process(final String viewSource, final File... previousFiles) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+                StandardCharsets.UTF_8);
+        final List<JavaFileObject> sources = new ArrayList<>(Arrays.asList(new Source("sample/Item", ENTITY),
+                new Source("sample/ItemJsonView", viewSource)));
+        for (final JavaFileObject previousFile : fileManager.getJavaFileObjects(previousFiles)) {
+            sources.add(previousFile);
+        }
+        final List<String> options = Arrays.asList("-proc:only", "-s", generatedSourcesFolder.getPath(),
+                "-classpath", System.getProperty("java.class.path"));
+
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                sources);
+        task.setProcessors(Arrays.asList(new JsonViewProcessor()));
+        try {
+            return task.call();
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private String getErrors() {
+        final List<String> errors = new ArrayList<>();
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        return errors.toString();
+    }
+
+    /**
+     * A source in memory.
+     */
+    private static class Source extends SimpleJavaFileObject {
+        private final String code;
+
+        Source(final String name, final String code) {
+            super(URI.create("string:///" + name + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+}
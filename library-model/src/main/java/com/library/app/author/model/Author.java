@@ -1,10 +1,13 @@
 package com.library.app.author.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
@@ -15,17 +18,23 @@ import java.io.Serializable;
  */
 @Entity
 @Table(name = "lib_author")
+@Cacheable
 public class Author implements Serializable {
     private static final long serialVersionUID = 2657551019023598962L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "authorIdGenerator")
+    @TableGenerator(name = "authorIdGenerator", table = "lib_id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "lib_author", allocationSize = 50)
     private Long id;
 
     @NotNull
     @Size(min = 2, max = 40)
     private String name;
 
+    @Version
+    private Long version;
+
     /**
      * Default constructor for JPA.
      */
@@ -86,6 +95,24 @@ public class Author implements Serializable {
         this.name = name;
     }
 
+    /**
+     * Gets version. The version is increased on every change of the author.
+     *
+     * @return the version
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets version.
+     *
+     * @param version the version
+     */
+    public void setVersion(final Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
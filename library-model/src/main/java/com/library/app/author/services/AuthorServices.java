@@ -42,6 +42,22 @@ public interface AuthorServices {
      */
     Author findById(Long id) throws AuthorNotFoundException;
 
+    /**
+     * Find the version of an author, without loading it.
+     *
+     * @param id the id
+     * @return the version
+     * @throws AuthorNotFoundException the author not found exception
+     */
+    Long findVersionById(Long id) throws AuthorNotFoundException;
+
+    /**
+     * Find the version of the content of all the authors, changed whenever an author is added or updated.
+     *
+     * @return the content version
+     */
+    String findContentVersion();
+
     /**
      * Find by filter paginated data.
      *
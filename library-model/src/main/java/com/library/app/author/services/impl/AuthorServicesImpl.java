@@ -5,6 +5,9 @@ import com.library.app.author.model.Author;
 import com.library.app.author.model.filter.AuthorFilter;
 import com.library.app.author.repository.AuthorRepository;
 import com.library.app.author.services.AuthorServices;
+import com.library.app.cache.interceptor.InvalidatesCache;
+import com.library.app.cache.interceptor.ResultCacheInterceptor;
+import com.library.app.common.exception.EntityVersionConflictException;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.utils.ValidationUtils;
 import com.library.app.logaudit.interceptor.Auditable;
@@ -20,7 +23,7 @@ import javax.validation.Validator;
  * The type Author services implementation.
  */
 @Stateless
-@Interceptors(LogAuditInterceptor.class)
+@Interceptors({LogAuditInterceptor.class, ResultCacheInterceptor.class})
 public class AuthorServicesImpl implements AuthorServices {
 
     @Inject
@@ -40,12 +43,18 @@ public class AuthorServicesImpl implements AuthorServices {
 
     @Override
     @Auditable(action = LogAudit.Action.UPDATE)
+    @InvalidatesCache(name = "books")
     public void update(final Author author) {
         ValidationUtils.validateEntityFields(validator, author);
 
-        if (!authorRepository.existsById(author.getId())) {
+        final Long version = authorRepository.findVersionById(author.getId());
+        if (version == null) {
             throw new AuthorNotFoundException();
         }
+        if (author.getVersion() != null && !author.getVersion().equals(version)) {
+            throw new EntityVersionConflictException();
+        }
+        author.setVersion(version);
         authorRepository.update(author);
     }
 
@@ -58,6 +67,20 @@ public class AuthorServicesImpl implements AuthorServices {
         return author;
     }
 
+    @Override
+    public Long findVersionById(final Long id) {
+        final Long version = authorRepository.findVersionById(id);
+        if (version == null) {
+            throw new AuthorNotFoundException();
+        }
+        return version;
+    }
+
+    @Override
+    public String findContentVersion() {
+        return authorRepository.findContentVersion();
+    }
+
     @Override
     public PaginatedData<Author> findByFilter(final AuthorFilter authorFilter) {
         return authorRepository.findByFilter(authorFilter);
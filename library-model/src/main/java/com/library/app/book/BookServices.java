@@ -3,6 +3,8 @@ package com.library.app.book.services;
 import com.library.app.author.exception.AuthorNotFoundException;
 import com.library.app.book.exception.BookNotFoundException;
 import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookVersion;
 import com.library.app.book.model.filter.BookFilter;
 import com.library.app.category.exception.CategoryNotFoundException;
 import com.library.app.common.exception.FieldNotValidException;
@@ -40,7 +42,7 @@ public interface BookServices {
             BookNotFoundException;
 
     /**
-     * Find by id book.
+     * Find by id book. The concurrent reads of a book are run once, each caller getting its own detached copy.
      *
      * @param id the id
      * @return the book
@@ -48,6 +50,24 @@ public interface BookServices {
      */
     Book findById(Long id) throws BookNotFoundException;
 
+    /**
+     * Find the version of a book as it is shown, with the versions of its category and its authors, without loading
+     * it.
+     *
+     * @param id the id
+     * @return the book version
+     * @throws BookNotFoundException the book not found exception
+     */
+    BookVersion findVersionById(Long id) throws BookNotFoundException;
+
+    /**
+     * Find the version of the content of all the books, changed whenever a book, a category or an author is added or
+     * updated.
+     *
+     * @return the content version
+     */
+    String findContentVersion();
+
     /**
      * Find by filter paginated data.
      *
@@ -56,4 +76,12 @@ public interface BookServices {
      */
     PaginatedData<Book> findByFilter(BookFilter bookFilter);
 
+    /**
+     * Find summaries by filter paginated data. Reads only the columns shown on the list of books.
+     *
+     * @param bookFilter the book filter
+     * @return the paginated data
+     */
+    PaginatedData<BookSummary> findSummariesByFilter(BookFilter bookFilter);
+
 }
\ No newline at end of file
@@ -13,9 +13,14 @@ import javax.persistence.JoinTable;
 import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.OrderBy;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
@@ -27,11 +32,27 @@ import java.util.List;
  */
 @Entity
 @Table(name = "lib_book")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Book.FETCH_PLAN_WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category")),
+        @NamedEntityGraph(name = Book.FETCH_PLAN_WITH_CATEGORY_AND_AUTHORS, attributeNodes = {
+                @NamedAttributeNode("category"), @NamedAttributeNode("authors")})})
 public class Book implements Serializable {
     private static final long serialVersionUID = -98804459764760011L;
 
+    /**
+     * Fetch plan joining the category, used on paginated searches where joining the authors would break the pagination.
+     */
+    public static final String FETCH_PLAN_WITH_CATEGORY = "Book.withCategory";
+
+    /**
+     * Fetch plan joining the category and the authors, used to load a single book.
+     */
+    public static final String FETCH_PLAN_WITH_CATEGORY_AND_AUTHORS = "Book.withCategoryAndAuthors";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bookIdGenerator")
+    @TableGenerator(name = "bookIdGenerator", table = "lib_id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "lib_book", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -62,6 +83,9 @@ public class Book implements Serializable {
     @NotNull
     private Double price;
 
+    @Version
+    private Long version;
+
     /**
      * Instantiates a new Book.
      */
@@ -202,6 +226,24 @@ public class Book implements Serializable {
         this.price = price;
     }
 
+    /**
+     * Gets version. The version is increased on every change of the book.
+     *
+     * @return the version
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets version.
+     *
+     * @param version the version
+     */
+    public void setVersion(final Long version) {
+        this.version = version;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,195 @@
+package com.library.app.book.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type Book summary. Immutable view of a book holding only the columns shown on the list of books, read with a
+ * projection instead of loading the book entity.
+ */
+public final class BookSummary implements Serializable {
+    private static final long serialVersionUID = 4153786011945432093L;
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Long categoryId;
+    private final String categoryName;
+    private final List<AuthorSummary> authors;
+    private final Double price;
+    private final BookVersion version;
+
+    /**
+     * Instantiates a new Book summary, without its version.
+     *
+     * @param id           the id
+     * @param title        the title
+     * @param description  the description, null when it was not asked for
+     * @param categoryId   the category id
+     * @param categoryName the category name
+     * @param authors      the authors, sorted by name
+     * @param price        the price
+     */
+    public BookSummary(final Long id, final String title, final String description, final Long categoryId,
+                       final String categoryName, final List<AuthorSummary> authors, final Double price) {
+        this(id, title, description, categoryId, categoryName, authors, price, null);
+    }
+
+    /**
+     * Instantiates a new Book summary.
+     *
+     * @param id           the id
+     * @param title        the title
+     * @param description  the description, null when it was not asked for
+     * @param categoryId   the category id
+     * @param categoryName the category name
+     * @param authors      the authors, sorted by name
+     * @param price        the price
+     * @param version      the version of the book, its category and its authors, as they are shown on the summary
+     */
+    public BookSummary(final Long id, final String title, final String description, final Long categoryId,
+                       final String categoryName, final List<AuthorSummary> authors, final Double price,
+                       final BookVersion version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.authors = Collections.unmodifiableList(authors);
+        this.price = price;
+        this.version = version;
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets title.
+     *
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets description.
+     *
+     * @return the description, null when it was not asked for
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Has description boolean.
+     *
+     * @return the boolean
+     */
+    public boolean hasDescription() {
+        return description != null;
+    }
+
+    /**
+     * Gets category id.
+     *
+     * @return the category id
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Gets category name.
+     *
+     * @return the category name
+     */
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * Gets authors.
+     *
+     * @return the authors
+     */
+    public List<AuthorSummary> getAuthors() {
+        return authors;
+    }
+
+    /**
+     * Gets price.
+     *
+     * @return the price
+     */
+    public Double getPrice() {
+        return price;
+    }
+
+    /**
+     * Gets version.
+     *
+     * @return the version of the book, its category and its authors, null when it was not read
+     */
+    public BookVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "BookSummary [id=" + id + ", title=" + title + ", categoryId=" + categoryId + ", categoryName="
+                + categoryName + ", authors=" + authors + ", price=" + price + "]";
+    }
+
+    /**
+     * The type Author summary. The id and the name of an author of the book.
+     */
+    public static final class AuthorSummary implements Serializable {
+        private static final long serialVersionUID = -2411807323457620138L;
+
+        private final Long id;
+        private final String name;
+
+        /**
+         * Instantiates a new Author summary.
+         *
+         * @param id   the id
+         * @param name the name
+         */
+        public AuthorSummary(final Long id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        /**
+         * Gets id.
+         *
+         * @return the id
+         */
+        public Long getId() {
+            return id;
+        }
+
+        /**
+         * Gets name.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "AuthorSummary [id=" + id + ", name=" + name + "]";
+        }
+    }
+
+}
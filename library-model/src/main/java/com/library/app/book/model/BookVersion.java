@@ -0,0 +1,93 @@
+package com.library.app.book.model;
+
+import com.library.app.author.model.Author;
+
+import java.io.Serializable;
+
+/**
+ * The type Book version. Immutable version of a book as it is shown: the version of the book itself, of its category
+ * and the sum of the versions of its authors, as their names are shown with the book too.
+ */
+public final class BookVersion implements Serializable {
+    private static final long serialVersionUID = 2286470351945870127L;
+
+    private final Long bookVersion;
+    private final Long categoryVersion;
+    private final Long authorsVersion;
+
+    /**
+     * Instantiates a new Book version.
+     *
+     * @param bookVersion     the version of the book
+     * @param categoryVersion the version of the category of the book
+     * @param authorsVersion  the sum of the versions of the authors of the book
+     */
+    public BookVersion(final Long bookVersion, final Long categoryVersion, final Long authorsVersion) {
+        this.bookVersion = bookVersion;
+        this.categoryVersion = categoryVersion;
+        this.authorsVersion = authorsVersion;
+    }
+
+    /**
+     * Gets the version of a book loaded with its category and its authors.
+     *
+     * @param book the book
+     * @return the book version
+     */
+    public static BookVersion of(final Book book) {
+        long authorsVersion = 0;
+        for (final Author author : book.getAuthors()) {
+            authorsVersion += author.getVersion();
+        }
+        return new BookVersion(book.getVersion(), book.getCategory().getVersion(), authorsVersion);
+    }
+
+    /**
+     * Gets the version of the book itself, the one checked when the book is updated.
+     *
+     * @return the book version
+     */
+    public Long getBookVersion() {
+        return bookVersion;
+    }
+
+    /**
+     * Gets category version.
+     *
+     * @return the category version
+     */
+    public Long getCategoryVersion() {
+        return categoryVersion;
+    }
+
+    /**
+     * Gets the sum of the versions of the authors.
+     *
+     * @return the authors version
+     */
+    public Long getAuthorsVersion() {
+        return authorsVersion;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BookVersion)) {
+            return false;
+        }
+        return toString().equals(obj.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return bookVersion + "." + categoryVersion + "." + authorsVersion;
+    }
+
+}
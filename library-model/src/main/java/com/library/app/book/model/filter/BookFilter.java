@@ -9,6 +9,7 @@ public class BookFilter extends GenericFilter {
 
     private String title;
     private Long categoryId;
+    private boolean withDescription;
 
     /**
      * Gets title.
@@ -46,8 +47,27 @@ public class BookFilter extends GenericFilter {
         this.categoryId = categoryId;
     }
 
+    /**
+     * Is with description boolean. Whether the description is read on the list of books.
+     *
+     * @return the boolean
+     */
+    public boolean isWithDescription() {
+        return withDescription;
+    }
+
+    /**
+     * Sets with description.
+     *
+     * @param withDescription the with description
+     */
+    public void setWithDescription(final boolean withDescription) {
+        this.withDescription = withDescription;
+    }
+
     @Override
     public String toString() {
-        return "BookFilter [title=" + title + ", categoryId=" + categoryId + ", toString()=" + super.toString() + "]";
+        return "BookFilter [title=" + title + ", categoryId=" + categoryId + ", withDescription=" + withDescription
+                + ", toString()=" + super.toString() + "]";
     }
 }
\ No newline at end of file
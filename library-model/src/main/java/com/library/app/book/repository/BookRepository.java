@@ -1,6 +1,9 @@
 package com.library.app.book.repository;
 
 import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookSummary.AuthorSummary;
+import com.library.app.book.model.BookVersion;
 import com.library.app.book.model.filter.BookFilter;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.repository.GenericRepository;
@@ -8,7 +11,9 @@ import com.library.app.common.repository.GenericRepository;
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,14 +39,129 @@ public class BookRepository extends GenericRepository<Book> {
     }
 
     /**
-     * Find by filter paginated data.
+     * Find by id, loading the category and the authors on the same query.
+     *
+     * @param id the id
+     * @return the book
+     */
+    @Override
+    public Book findById(final Long id) {
+        return findById(id, Book.FETCH_PLAN_WITH_CATEGORY_AND_AUTHORS);
+    }
+
+    /**
+     * Find the version of a book as it is shown, with the versions of its category and its authors, without loading
+     * it.
+     *
+     * @param id the id
+     * @return the book version, null when there is no book with the id
+     */
+    @SuppressWarnings("unchecked")
+    public BookVersion findBookVersionById(final Long id) {
+        final List<Object[]> rows = em.createQuery(
+                "Select e.version, e.category.version From Book e Where e.id = :id")
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        final Long authorsVersion = (Long) em.createQuery(
+                "Select coalesce(sum(a.version), 0) From Book e Join e.authors a Where e.id = :id")
+                .setParameter("id", id)
+                .getSingleResult();
+        return new BookVersion((Long) rows.get(0)[0], (Long) rows.get(0)[1], authorsVersion);
+    }
+
+    /**
+     * Find by filter paginated data. The category is joined on the query of the page and the authors of all the books
+     * of the page are loaded by a single batch query.
      *
      * @param bookFilter the book filter
      * @return the paginated data
      */
     public PaginatedData<Book> findByFilter(final BookFilter bookFilter) {
-        final StringBuilder clause = new StringBuilder("Where e.id is not null");
         final Map<String, Object> queryParameters = new HashMap<>();
+        final String clause = getClauseOfFilter(bookFilter, queryParameters);
+
+        return findByParameters(clause, bookFilter.getPaginationData(), queryParameters, "title ASC",
+                Book.FETCH_PLAN_WITH_CATEGORY);
+    }
+
+    /**
+     * Find summaries by filter paginated data. The page is read by a projection of the columns of the list, with the
+     * category joined, and the authors of all the books of the page are read by a second projection, so no book is
+     * loaded into the persistence context. The description is only read when the filter asks for it. The versions of
+     * the book, its category and its authors are read too, as the version of the summary.
+     *
+     * @param bookFilter the book filter
+     * @return the paginated data
+     */
+    public PaginatedData<BookSummary> findSummariesByFilter(final BookFilter bookFilter) {
+        final Map<String, Object> queryParameters = new HashMap<>();
+        final String clause = getClauseOfFilter(bookFilter, queryParameters);
+
+        final String selection = "e.id, e.title, e.price, e.category.id, e.category.name, e.version, e.category.version"
+                + (bookFilter.isWithDescription() ? ", e.description" : "");
+        final PaginatedData<Object[]> rows = findProjectionByParameters(selection, clause,
+                bookFilter.getPaginationData(), queryParameters, "title ASC");
+
+        final List<Long> ids = new ArrayList<>(rows.getRows().size());
+        for (final Object[] row : rows.getRows()) {
+            ids.add((Long) row[0]);
+        }
+        final Map<Long, Long> authorsVersionByBookId = new HashMap<>();
+        final Map<Long, List<AuthorSummary>> authorsByBookId = findAuthorsByBookIds(ids, authorsVersionByBookId);
+
+        final List<BookSummary> summaries = new ArrayList<>(rows.getRows().size());
+        for (final Object[] row : rows.getRows()) {
+            final List<AuthorSummary> authors = authorsByBookId.get(row[0]);
+            final BookVersion version = new BookVersion((Long) row[5], (Long) row[6],
+                    authorsVersionByBookId.getOrDefault(row[0], 0L));
+            summaries.add(new BookSummary((Long) row[0], (String) row[1],
+                    bookFilter.isWithDescription() ? (String) row[7] : null, (Long) row[3], (String) row[4],
+                    authors == null ? new ArrayList<>() : authors, (Double) row[2], version));
+        }
+        return new PaginatedData<BookSummary>(rows.getNumberOfRows(), summaries, rows.getNextCursor(),
+                rows.getCountStrategy(), rows.getHasNext());
+    }
+
+    /**
+     * Find the id and the name of the authors of the books, sorted by name, adding up their versions by book.
+     *
+     * @param bookIds                the book ids
+     * @param authorsVersionByBookId the sum of the versions of the authors by book id, filled by this method
+     * @return the authors by book id
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<AuthorSummary>> findAuthorsByBookIds(final List<Long> bookIds,
+                                                                final Map<Long, Long> authorsVersionByBookId) {
+        final Map<Long, List<AuthorSummary>> authorsByBookId = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return authorsByBookId;
+        }
+
+        final List<Object[]> rows = em.createQuery(
+                "Select e.id, a.id, a.name, a.version From Book e Join e.authors a Where e.id in (:ids) "
+                        + "Order by a.name")
+                .setParameter("ids", bookIds)
+                .getResultList();
+        for (final Object[] row : rows) {
+            authorsByBookId.computeIfAbsent((Long) row[0], (bookId) -> new ArrayList<>())
+                    .add(new AuthorSummary((Long) row[1], (String) row[2]));
+            authorsVersionByBookId.merge((Long) row[0], (Long) row[3], Long::sum);
+        }
+        return authorsByBookId;
+    }
+
+    /**
+     * Gets the clause of the filter, adding its parameters.
+     *
+     * @param bookFilter      the book filter
+     * @param queryParameters the query parameters
+     * @return the clause
+     */
+    private String getClauseOfFilter(final BookFilter bookFilter, final Map<String, Object> queryParameters) {
+        final StringBuilder clause = new StringBuilder("Where e.id is not null");
 
         if (bookFilter.getTitle() != null) {
             clause.append(" AND UPPER(e.title) Like UPPER(:title)");
@@ -51,8 +171,7 @@ public class BookRepository extends GenericRepository<Book> {
             clause.append(" AND e.category.id = :categoryId");
             queryParameters.put("categoryId", bookFilter.getCategoryId());
         }
-
-        return findByParameters(clause.toString(), bookFilter.getPaginationData(), queryParameters, "title ASC");
+        return clause.toString();
     }
 
-}
\ No newline at end of file
+}
@@ -4,11 +4,18 @@ import com.library.app.author.model.Author;
 import com.library.app.author.services.AuthorServices;
 import com.library.app.book.exception.BookNotFoundException;
 import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookVersion;
 import com.library.app.book.model.filter.BookFilter;
 import com.library.app.book.repository.BookRepository;
 import com.library.app.book.services.BookServices;
+import com.library.app.cache.interceptor.CachedResult;
+import com.library.app.cache.interceptor.InvalidatesCache;
+import com.library.app.cache.interceptor.RequestCoalescer;
+import com.library.app.cache.interceptor.ResultCacheInterceptor;
 import com.library.app.category.model.Category;
 import com.library.app.category.services.CategoryServices;
+import com.library.app.common.exception.EntityVersionConflictException;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.utils.ValidationUtils;
 import com.library.app.logaudit.interceptor.Auditable;
@@ -26,7 +33,7 @@ import java.util.List;
  * The type Book services. Business logic for books.
  */
 @Stateless
-@Interceptors({LogAuditInterceptor.class})
+@Interceptors({LogAuditInterceptor.class, ResultCacheInterceptor.class})
 public class BookServicesImpl implements BookServices {
 
     @Inject
@@ -41,8 +48,12 @@ public class BookServicesImpl implements BookServices {
     @Inject
     CategoryServices categoryServices;
 
+    @Inject
+    RequestCoalescer requestCoalescer;
+
     @Override
     @Auditable(action = LogAudit.Action.ADD)
+    @InvalidatesCache(name = "books")
     public Book add(final Book book) {
         ValidationUtils.validateEntityFields(validator, book);
 
@@ -54,12 +65,18 @@ public class BookServicesImpl implements BookServices {
 
     @Override
     @Auditable(action = LogAudit.Action.UPDATE)
+    @InvalidatesCache(name = "books")
     public void update(final Book book) {
         ValidationUtils.validateEntityFields(validator, book);
 
-        if (!bookRepository.existsById(book.getId())) {
+        final Long version = bookRepository.findVersionById(book.getId());
+        if (version == null) {
             throw new BookNotFoundException();
         }
+        if (book.getVersion() != null && !book.getVersion().equals(version)) {
+            throw new EntityVersionConflictException();
+        }
+        book.setVersion(version);
 
         checkCategoryAndSetItOnBook(book);
         checkAuthorsAndSetThemOnBook(book);
@@ -69,18 +86,49 @@ public class BookServicesImpl implements BookServices {
 
     @Override
     public Book findById(final Long id) {
-        final Book book = bookRepository.findById(id);
-        if (book == null) {
+        //the concurrent reads of a book run once, each caller getting its own detached copy of the book
+        try {
+            return requestCoalescer.executeDetached("books", "findById(" + id + ")", () -> {
+                final Book book = bookRepository.findById(id);
+                if (book == null) {
+                    throw new BookNotFoundException();
+                }
+                return book;
+            });
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public BookVersion findVersionById(final Long id) {
+        final BookVersion bookVersion = bookRepository.findBookVersionById(id);
+        if (bookVersion == null) {
             throw new BookNotFoundException();
         }
-        return book;
+        return bookVersion;
     }
 
     @Override
+    public String findContentVersion() {
+        return bookRepository.findContentVersion() + "-" + categoryServices.findContentVersion() + "-"
+                + authorServices.findContentVersion();
+    }
+
+    @Override
+    @CachedResult(name = "books")
     public PaginatedData<Book> findByFilter(final BookFilter bookFilter) {
         return bookRepository.findByFilter(bookFilter);
     }
 
+    @Override
+    @CachedResult(name = "books")
+    public PaginatedData<BookSummary> findSummariesByFilter(final BookFilter bookFilter) {
+        return bookRepository.findSummariesByFilter(bookFilter);
+    }
+
     /**
      * Check authors and set them on book. Chec that the authors does exists. Ideally this should have been an annotation.
      *
@@ -0,0 +1,211 @@
+package com.library.app.cache.interceptor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Cache keys utils. Builds the canonical form of a method call, so two calls with equal parameters (e.g. two
+ * filters with the same fields) share the same key even when the parameter classes do not implement equals.
+ * Beans are written with their fields sorted by name, maps with their keys sorted and dates as their time.
+ */
+public final class CacheKeys {
+
+    private static final int MAX_DEPTH = 5;
+
+    private static final Map<Class<?>, List<Field>> FIELDS_BY_CLASS = new ConcurrentHashMap<>();
+
+    private CacheKeys() {
+    }
+
+    /**
+     * Canonical key of a method call.
+     *
+     * @param method     the method
+     * @param parameters the parameters
+     * @return the key, or null when a parameter is nested too deep to be written
+     */
+    public static String canonicalKey(final Method method, final Object[] parameters) {
+        final StringBuilder key = new StringBuilder(64);
+        key.append(method.getDeclaringClass().getName()).append('.').append(method.getName()).append('(');
+        if (parameters != null) {
+            for (int i = 0; i < parameters.length; i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                if (!append(key, parameters[i], 0)) {
+                    return null;
+                }
+            }
+        }
+        return key.append(')').toString();
+    }
+
+    /**
+     * Canonical form of a value, such as a filter, so two values with equal fields share the same key.
+     *
+     * @param value the value
+     * @return the canonical form, or null when the value is nested too deep to be written
+     */
+    public static String canonicalForm(final Object value) {
+        final StringBuilder key = new StringBuilder(64);
+        return append(key, value, 0) ? key.toString() : null;
+    }
+
+    /**
+     * Append the canonical form of a value.
+     *
+     * @param key   the key being built
+     * @param value the value
+     * @param depth the depth of the value
+     * @return whether the value could be written
+     */
+    private static boolean append(final StringBuilder key, final Object value, final int depth) {
+        if (depth > MAX_DEPTH) {
+            return false;
+        }
+        if (value == null) {
+            key.append("null");
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            key.append('"').append(value.toString().replace("\"", "\\\"")).append('"');
+        } else if (value instanceof Number || value instanceof Boolean) {
+            key.append(value);
+        } else if (value instanceof Enum) {
+            key.append(((Enum<?>) value).name());
+        } else if (value instanceof Date) {
+            key.append(((Date) value).getTime());
+        } else if (value instanceof Collection) {
+            return appendElements(key, ((Collection<?>) value).toArray(), depth);
+        } else if (value.getClass().isArray()) {
+            final Object[] elements = new Object[Array.getLength(value)];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = Array.get(value, i);
+            }
+            return appendElements(key, elements, depth);
+        } else if (value instanceof Map) {
+            return appendMap(key, (Map<?, ?>) value, depth);
+        } else {
+            return appendFields(key, value, depth);
+        }
+        return true;
+    }
+
+    /**
+     * Append the canonical form of the elements of a collection or an array, in their order.
+     *
+     * @param key      the key being built
+     * @param elements the elements
+     * @param depth    the depth of the collection
+     * @return whether the elements could be written
+     */
+    private static boolean appendElements(final StringBuilder key, final Object[] elements, final int depth) {
+        key.append('[');
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            if (!append(key, elements[i], depth + 1)) {
+                return false;
+            }
+        }
+        key.append(']');
+        return true;
+    }
+
+    /**
+     * Append the canonical form of a map, with its entries sorted by the canonical form of their keys.
+     *
+     * @param key   the key being built
+     * @param map   the map
+     * @param depth the depth of the map
+     * @return whether the map could be written
+     */
+    private static boolean appendMap(final StringBuilder key, final Map<?, ?> map, final int depth) {
+        final Map<String, Object> sortedMap = new TreeMap<>();
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            final StringBuilder entryKey = new StringBuilder();
+            if (!append(entryKey, entry.getKey(), depth + 1)) {
+                return false;
+            }
+            sortedMap.put(entryKey.toString(), entry.getValue());
+        }
+
+        key.append('{');
+        boolean first = true;
+        for (final Map.Entry<String, Object> entry : sortedMap.entrySet()) {
+            if (!first) {
+                key.append(',');
+            }
+            first = false;
+            key.append(entry.getKey()).append('=');
+            if (!append(key, entry.getValue(), depth + 1)) {
+                return false;
+            }
+        }
+        key.append('}');
+        return true;
+    }
+
+    /**
+     * Append the canonical form of a bean, its simple class name and its fields sorted by name.
+     *
+     * @param key   the key being built
+     * @param bean  the bean
+     * @param depth the depth of the bean
+     * @return whether the bean could be written
+     */
+    private static boolean appendFields(final StringBuilder key, final Object bean, final int depth) {
+        key.append(bean.getClass().getSimpleName()).append('{');
+        boolean first = true;
+        for (final Field field : getFields(bean.getClass())) {
+            if (!first) {
+                key.append(',');
+            }
+            first = false;
+            key.append(field.getName()).append('=');
+            try {
+                if (!append(key, field.get(bean), depth + 1)) {
+                    return false;
+                }
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        key.append('}');
+        return true;
+    }
+
+    /**
+     * Gets the instance fields of a class and its super classes, sorted by name.
+     *
+     * @param beanClass the bean class
+     * @return the fields
+     */
+    private static List<Field> getFields(final Class<?> beanClass) {
+        return FIELDS_BY_CLASS.computeIfAbsent(beanClass, clazz -> {
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> current = clazz; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    final int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            fields.sort(Comparator.comparing(Field::getName));
+            return fields;
+        });
+    }
+
+}
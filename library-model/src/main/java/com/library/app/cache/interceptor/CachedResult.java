@@ -0,0 +1,41 @@
+package com.library.app.cache.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The interface Cached result. Annotation used to trigger the interceptor to keep the result of the method where it is
+ * used on a named cache, keyed by the values of its parameters.
+ * <p>
+ * Immutable results, such as summaries, are handed as they are to every caller. Results holding entities are kept
+ * serialized and every caller gets its own detached copy, so the entities are never shared, nor changed, by the
+ * callers; their relations have to be loaded by the method.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResult {
+
+    /**
+     * Name string.
+     *
+     * @return the name of the cache
+     */
+    String name();
+
+    /**
+     * Ttl long.
+     *
+     * @return the time to live of the results in seconds
+     */
+    long ttl() default 300;
+
+    /**
+     * Max entries int.
+     *
+     * @return the max number of results kept on the cache
+     */
+    int maxEntries() default 1000;
+
+}
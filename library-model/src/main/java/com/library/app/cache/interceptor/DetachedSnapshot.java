@@ -0,0 +1,47 @@
+package com.library.app.cache.interceptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * The type Detached snapshot. The serialized form of a result holding entities, taken when the result is read, from
+ * which every caller gets its own detached copy: the entities are never shared, nor changed, by the callers.
+ * The relations of the entities have to be loaded when the snapshot is taken.
+ */
+final class DetachedSnapshot {
+
+    private final byte[] bytes;
+
+    /**
+     * Take a snapshot of a value.
+     *
+     * @param value the value
+     */
+    DetachedSnapshot(final Serializable value) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(value);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Value can not be serialized: " + value.getClass().getName(), e);
+        }
+        this.bytes = outputStream.toByteArray();
+    }
+
+    /**
+     * Copy of the value.
+     *
+     * @return a new copy of the value
+     */
+    Object copy() {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objectInputStream.readObject();
+        } catch (final IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Snapshot can not be read", e);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.library.app.cache.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The interface Invalidates cache. Annotation used to trigger the interceptor to drop all the results of the named
+ * caches once the method where it is used has run.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InvalidatesCache {
+
+    /**
+     * Name string [ ].
+     *
+     * @return the names of the caches
+     */
+    String[] name();
+
+}
@@ -0,0 +1,141 @@
+package com.library.app.cache.interceptor;
+
+import com.library.app.cache.model.CoalescingStatistics;
+import com.library.app.common.appproperties.PropertyValue;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Request coalescer. Runs a call only once for the concurrent calls of equal keys: the first one runs it and
+ * the ones arriving while it runs wait for its result and share it. When the first call fails, the waiting calls
+ * throw the same exception instead of running again. A call waiting longer than the timeout runs itself.
+ * <p>
+ * The result of {@link #execute(String, String, Callable)} is handed over to other threads as it is, so the calls must
+ * be made outside of any transaction and return immutable values, such as encoded responses or summaries. Calls
+ * returning entities use {@link #executeDetached(String, String, Callable)} instead, which shares a
+ * {@link DetachedSnapshot} of the result and gives every call its own detached copy.
+ * <p>
+ * The calls are keyed along with the version of the cache of their name, see {@link ResultCaches#getVersion(String)},
+ * so a call arriving after a change never shares the result of a call which started before it.
+ */
+@ApplicationScoped
+public class RequestCoalescer {
+
+    @Inject
+    ResultCaches resultCaches;
+
+    @PropertyValue(name = "request-coalescing-timeout-millis")
+    Integer timeoutMillis;
+
+    private final Map<String, CompletableFuture<Object>> callsByKey = new ConcurrentHashMap<>();
+
+    private final Map<String, Counters> countersByName = new ConcurrentSkipListMap<>();
+
+    /**
+     * Run a call, or wait for the result of the equal call already running.
+     *
+     * @param <T>  the type of the result
+     * @param name the name of the cache the result is read from
+     * @param key  the canonical form of the call
+     * @param call the call
+     * @return the result
+     * @throws Exception the exception thrown by the call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final String name, final String key, final Callable<T> call) throws Exception {
+        final Counters counters = countersByName.computeIfAbsent(name, counterName -> new Counters());
+        final String fullKey = name + ':' + resultCaches.getVersion(name) + ':' + key;
+
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final CompletableFuture<Object> running = callsByKey.putIfAbsent(fullKey, future);
+        if (running == null) {
+            counters.executedCount.increment();
+            return (T) runAndComplete(fullKey, future, call);
+        }
+
+        counters.coalescedCount.increment();
+        try {
+            return (T) running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            counters.timedOutCount.increment();
+            return call.call();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (Exception) e.getCause();
+        }
+    }
+
+    /**
+     * Run a call returning entities, or wait for the equal call already running. Every call, the one that ran included,
+     * gets its own detached copy of the result, so it may run on a transaction and its result may be changed.
+     *
+     * @param <T>  the type of the result
+     * @param name the name of the cache the result is read from
+     * @param key  the canonical form of the call
+     * @param call the call
+     * @return a detached copy of the result
+     * @throws Exception the exception thrown by the call
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T executeDetached(final String name, final String key, final Callable<T> call)
+            throws Exception {
+        final DetachedSnapshot snapshot = execute(name, key, () -> new DetachedSnapshot(call.call()));
+        return (T) snapshot.copy();
+    }
+
+    /**
+     * Gets the statistics of the calls, sorted by name.
+     *
+     * @return the statistics
+     */
+    public List<CoalescingStatistics> getStatistics() {
+        final List<CoalescingStatistics> coalescingStatistics = new ArrayList<>(countersByName.size());
+        for (final Map.Entry<String, Counters> entry : countersByName.entrySet()) {
+            final Counters counters = entry.getValue();
+            coalescingStatistics.add(new CoalescingStatistics(entry.getKey(), counters.executedCount.sum(),
+                    counters.coalescedCount.sum(), counters.timedOutCount.sum()));
+        }
+        return coalescingStatistics;
+    }
+
+    private Object runAndComplete(final String fullKey, final CompletableFuture<Object> future,
+                                  final Callable<?> call) throws Exception {
+        try {
+            final Object result = call.call();
+            future.complete(result);
+            return result;
+        } catch (final Exception | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            callsByKey.remove(fullKey, future);
+        }
+    }
+
+    /**
+     * The counters of the calls of a name.
+     */
+    private static final class Counters {
+
+        private final LongAdder executedCount = new LongAdder();
+        private final LongAdder coalescedCount = new LongAdder();
+        private final LongAdder timedOutCount = new LongAdder();
+
+    }
+
+}
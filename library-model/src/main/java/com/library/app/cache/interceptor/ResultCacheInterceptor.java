@@ -0,0 +1,164 @@
+package com.library.app.cache.interceptor;
+
+import com.library.app.common.model.PaginatedData;
+import com.library.app.common.utils.FrequencyAwareCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Resource;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.InvocationContext;
+import javax.persistence.Entity;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * The type Result cache interceptor. Returns the cached result of the methods annotated with {@link CachedResult} and
+ * drops the caches named by the methods annotated with {@link InvalidatesCache}.
+ */
+public class ResultCacheInterceptor {
+
+    @Inject
+    ResultCaches resultCaches;
+
+    @Resource
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Intercept object. This method is going to run each time a method of an intercepted class runs.
+     *
+     * @param invocationContext the invocation context
+     * @return the object
+     * @throws Exception the exception
+     */
+    @AroundInvoke
+    public Object intercept(final InvocationContext invocationContext) throws Exception {
+        final CachedResult cachedResult = invocationContext.getMethod().getAnnotation(CachedResult.class);
+        if (cachedResult != null) {
+            return getCachedResultOrProceed(invocationContext, cachedResult);
+        }
+
+        final Object toReturn = invocationContext.proceed();
+
+        final InvalidatesCache invalidatesCache = invocationContext.getMethod().getAnnotation(InvalidatesCache.class);
+        if (invalidatesCache != null) {
+            invalidate(invalidatesCache.name());
+        }
+        return toReturn;
+    }
+
+    /**
+     * Gets the cached result of the call or runs the method and caches its result. Results holding entities are kept
+     * as a {@link DetachedSnapshot}, every caller getting its own copy. Null results, results holding entities that can
+     * not be serialized and exceptions are not cached.
+     *
+     * @param invocationContext the invocation context
+     * @param cachedResult      the cached result annotation
+     * @return the object
+     * @throws Exception the exception
+     */
+    private Object getCachedResultOrProceed(final InvocationContext invocationContext,
+                                            final CachedResult cachedResult) throws Exception {
+        final String key = CacheKeys.canonicalKey(invocationContext.getMethod(), invocationContext.getParameters());
+        if (key == null) {
+            logger.debug("Parameters of {} can not be used as key, the result is not cached",
+                    invocationContext.getMethod());
+            return invocationContext.proceed();
+        }
+
+        final FrequencyAwareCache<String, Object> cache = resultCaches.getOrCreate(cachedResult);
+        final Object cachedValue = cache.get(key);
+        if (cachedValue instanceof DetachedSnapshot) {
+            return ((DetachedSnapshot) cachedValue).copy();
+        }
+        if (cachedValue != null) {
+            return cachedValue;
+        }
+
+        final Object toReturn = invocationContext.proceed();
+        if (toReturn == null) {
+            return null;
+        }
+        if (!holdsEntities(toReturn)) {
+            cache.put(key, toReturn);
+        } else if (toReturn instanceof Serializable) {
+            try {
+                cache.put(key, new DetachedSnapshot((Serializable) toReturn));
+            } catch (final IllegalArgumentException e) {
+                logger.warn("The result of {} can not be copied, it is not cached", invocationContext.getMethod(), e);
+            }
+        } else {
+            logger.warn("The result of {} holds entities and can not be copied, it is not cached",
+                    invocationContext.getMethod());
+        }
+        return toReturn;
+    }
+
+    /**
+     * Whether a result is, or holds on its rows or elements, an entity, which can not be shared by the callers.
+     *
+     * @param result the result
+     * @return whether it holds entities
+     */
+    static boolean holdsEntities(final Object result) {
+        if (result instanceof PaginatedData) {
+            return holdsEntities(((PaginatedData<?>) result).getRows());
+        }
+        if (result instanceof Collection) {
+            for (final Object element : (Collection<?>) result) {
+                if (element != null && holdsEntities(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Class<?> type = result.getClass(); type != null; type = type.getSuperclass()) {
+            if (type.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Invalidate the caches now and, when the method runs on a transaction, again once the transaction completes, so
+     * a result read by a concurrent call before the commit does not stay cached.
+     *
+     * @param names the names of the caches
+     */
+    private void invalidate(final String[] names) {
+        invalidateNow(names);
+
+        if (transactionSynchronizationRegistry != null
+                && transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    invalidateNow(names);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidate the caches.
+     *
+     * @param names the names of the caches
+     */
+    private void invalidateNow(final String[] names) {
+        for (final String name : names) {
+            resultCaches.invalidate(name);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.library.app.cache.interceptor;
+
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.common.utils.FrequencyAwareCache;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Result caches. Holds the named caches of the results of the methods annotated with {@link CachedResult},
+ * each one created with the time to live and the max entries of the first method using it, and the version of each
+ * name, increased whenever it is invalidated, so the caches kept out of this class (e.g. of the responses) can tell
+ * whether what they hold was read before the last change.
+ */
+@ApplicationScoped
+public class ResultCaches {
+
+    private final Map<String, FrequencyAwareCache<String, Object>> cachesByName = new ConcurrentSkipListMap<>();
+
+    private final Map<String, AtomicLong> versionsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the cache of a name, creating it when it does not exist yet.
+     *
+     * @param cachedResult the cached result annotation
+     * @return the cache
+     */
+    public FrequencyAwareCache<String, Object> getOrCreate(final CachedResult cachedResult) {
+        return cachesByName.computeIfAbsent(cachedResult.name(), name -> new FrequencyAwareCache<>(
+                TimeUnit.SECONDS.toMillis(cachedResult.ttl()), cachedResult.maxEntries()));
+    }
+
+    /**
+     * Invalidate all the results of a cache.
+     *
+     * @param name the name of the cache
+     */
+    public void invalidate(final String name) {
+        getVersionCounter(name).incrementAndGet();
+
+        final FrequencyAwareCache<String, Object> cache = cachesByName.get(name);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Gets the version of a name, increased each time it is invalidated.
+     *
+     * @param name the name of the cache
+     * @return the version
+     */
+    public long getVersion(final String name) {
+        return getVersionCounter(name).get();
+    }
+
+    /**
+     * Gets the statistics of the caches, sorted by name.
+     *
+     * @return the statistics
+     */
+    public List<CacheStatistics> getStatistics() {
+        final List<CacheStatistics> cachesStatistics = new ArrayList<>(cachesByName.size());
+        for (final Map.Entry<String, FrequencyAwareCache<String, Object>> entry : cachesByName.entrySet()) {
+            final FrequencyAwareCache<String, Object> cache = entry.getValue();
+            cachesStatistics.add(new CacheStatistics(entry.getKey(), cache.getHitCount(), cache.getMissCount(),
+                    cache.getPutCount(), cache.size()));
+        }
+        return cachesStatistics;
+    }
+
+    private AtomicLong getVersionCounter(final String name) {
+        return versionsByName.computeIfAbsent(name, key -> new AtomicLong());
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.library.app.cache.model;
+
+/**
+ * The type Cache statistics. The counters of a cache region since the application started.
+ */
+public class CacheStatistics {
+
+    private final String name;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long size;
+
+    /**
+     * Instantiates a new Cache statistics.
+     *
+     * @param name      the name of the cache region
+     * @param hitCount  the number of reads found on the cache
+     * @param missCount the number of reads not found on the cache
+     * @param putCount  the number of entries put on the cache
+     * @param size      the number of entries held by the cache
+     */
+    public CacheStatistics(final String name, final long hitCount, final long missCount, final long putCount,
+                           final long size) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.size = size;
+    }
+
+    /**
+     * Gets name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets hit count.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets miss count.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets put count.
+     *
+     * @return the put count
+     */
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * Gets size.
+     *
+     * @return the size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets hit ratio. The share of the reads found on the cache, zero when there was no read.
+     *
+     * @return the hit ratio
+     */
+    public double getHitRatio() {
+        final long readCount = hitCount + missCount;
+        return readCount == 0 ? 0D : (double) hitCount / readCount;
+    }
+
+    /**
+     * Gets miss ratio. The share of the reads not found on the cache, zero when there was no read.
+     *
+     * @return the miss ratio
+     */
+    public double getMissRatio() {
+        final long readCount = hitCount + missCount;
+        return readCount == 0 ? 0D : (double) missCount / readCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics [name=" + name + ", hitCount=" + hitCount + ", missCount=" + missCount + ", putCount="
+                + putCount + ", size=" + size + "]";
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.library.app.cache.model;
+
+/**
+ * The type Coalescing statistics. The counters of the calls of a name coalesced since the application started.
+ */
+public class CoalescingStatistics {
+
+    private final String name;
+    private final long executedCount;
+    private final long coalescedCount;
+    private final long timedOutCount;
+
+    /**
+     * Instantiates a new Coalescing statistics.
+     *
+     * @param name           the name of the calls
+     * @param executedCount  the number of calls run, none being already running for their key
+     * @param coalescedCount the number of calls which waited for the result of the one running for their key
+     * @param timedOutCount  the number of coalesced calls which stopped waiting and ran themselves
+     */
+    public CoalescingStatistics(final String name, final long executedCount, final long coalescedCount,
+                                final long timedOutCount) {
+        this.name = name;
+        this.executedCount = executedCount;
+        this.coalescedCount = coalescedCount;
+        this.timedOutCount = timedOutCount;
+    }
+
+    /**
+     * Gets name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets executed count.
+     *
+     * @return the executed count
+     */
+    public long getExecutedCount() {
+        return executedCount;
+    }
+
+    /**
+     * Gets coalesced count.
+     *
+     * @return the coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Gets timed out count.
+     *
+     * @return the timed out count
+     */
+    public long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    /**
+     * Gets coalesced ratio. The share of the calls which waited for another one, zero when there was no call.
+     *
+     * @return the coalesced ratio
+     */
+    public double getCoalescedRatio() {
+        final long callCount = executedCount + coalescedCount;
+        return callCount == 0 ? 0D : (double) coalescedCount / callCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CoalescingStatistics [name=" + name + ", executedCount=" + executedCount + ", coalescedCount="
+                + coalescedCount + ", timedOutCount=" + timedOutCount + "]";
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.library.app.cache.repository;
+
+import com.library.app.cache.model.CacheStatistics;
+import org.hibernate.Session;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The type Cache statistics repository. Reads the counters of the regions of the second level cache from the
+ * statistics of the persistence unit, which are only gathered when "hibernate.generate_statistics" is enabled.
+ */
+@Stateless
+public class CacheStatisticsRepository {
+
+    @PersistenceContext
+    EntityManager em;
+
+    /**
+     * Find the statistics of all the regions of the second level cache, the entity regions and the query cache,
+     * sorted by name.
+     *
+     * @return the cache statistics
+     */
+    public List<CacheStatistics> findAll() {
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+
+        final String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        final List<CacheStatistics> cachesStatistics = new ArrayList<>(regionNames.length);
+        for (final String regionName : regionNames) {
+            final SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(regionName);
+            cachesStatistics.add(new CacheStatistics(regionName, regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(), regionStatistics.getPutCount(),
+                    regionStatistics.getElementCountInMemory()));
+        }
+        return cachesStatistics;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.library.app.cache.services;
+
+import com.library.app.cache.model.CacheStatistics;
+
+import javax.ejb.Local;
+import java.util.List;
+
+/**
+ * Interface to define methods that Cache Service will have. This is a local interface that can only be invoked by
+ * another class in the same container.
+ */
+@Local
+public interface CacheServices {
+
+    /**
+     * Find the statistics of the caches of the model, the regions of the second level cache sorted by name followed by
+     * the caches of the service results.
+     *
+     * @return the cache statistics
+     */
+    List<CacheStatistics> findStatistics();
+
+}
@@ -0,0 +1,33 @@
+package com.library.app.cache.services.impl;
+
+import com.library.app.cache.interceptor.ResultCaches;
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.cache.repository.CacheStatisticsRepository;
+import com.library.app.cache.services.CacheServices;
+
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation class for Cache services interface. This is a stateless class that invokes method on its Local
+ * interface.
+ */
+@Stateless
+public class CacheServicesImpl implements CacheServices {
+
+    @Inject
+    CacheStatisticsRepository cacheStatisticsRepository;
+
+    @Inject
+    ResultCaches resultCaches;
+
+    @Override
+    public List<CacheStatistics> findStatistics() {
+        final List<CacheStatistics> cachesStatistics = new ArrayList<>(cacheStatisticsRepository.findAll());
+        cachesStatistics.addAll(resultCaches.getStatistics());
+        return cachesStatistics;
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.library.app.category.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
@@ -16,11 +19,14 @@ import java.io.Serializable;
  */
 @Entity
 @Table(name = "lib_category")
+@Cacheable
 public class Category implements Serializable {
     private static final long serialVersionUID = 2657551019023598969L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "categoryIdGenerator")
+    @TableGenerator(name = "categoryIdGenerator", table = "lib_id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "lib_category", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -28,6 +34,9 @@ public class Category implements Serializable {
     @Column(unique = true)
     private String name;
 
+    @Version
+    private Long version;
+
     /**
      * Default constructor.
      */
@@ -88,6 +97,24 @@ public class Category implements Serializable {
         this.name = name;
     }
 
+    /**
+     * Gets version. The version is increased on every change of the category.
+     *
+     * @return the version
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets version.
+     *
+     * @param version the version
+     */
+    public void setVersion(final Long version) {
+        this.version = version;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -1,11 +1,14 @@
 package com.library.app.category.repository;
 
+import com.library.app.category.exception.CategoryExistentException;
 import com.library.app.category.model.Category;
 import com.library.app.common.repository.GenericRepository;
 
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.util.List;
 
 /**
  * Class to manage the database. This is the repository which will persist and read data from the database. Stateless
@@ -31,6 +34,28 @@ public class CategoryRepository extends GenericRepository<Category> {
     }
 
 
+    /**
+     * Add a category. The insert is flushed, so a category with a name already taken is refused here by the unique
+     * constraint of the name even when no query checked it before.
+     *
+     * @param category the category
+     * @return the category
+     * @throws CategoryExistentException when the name is already taken
+     */
+    @Override
+    public Category add(final Category category) throws CategoryExistentException {
+        try {
+            super.add(category);
+            em.flush();
+        } catch (final PersistenceException e) {
+            if (isConstraintViolation(e)) {
+                throw new CategoryExistentException();
+            }
+            throw e;
+        }
+        return category;
+    }
+
     /**
      * Method to check if a category already exists on the database before adding it. It checks by category name.
      *
@@ -42,4 +67,13 @@ public class CategoryRepository extends GenericRepository<Category> {
         return alreadyExists("name", category.getName(), category.getId());
     }
 
+    /**
+     * Find all names.
+     *
+     * @return the names of all the categories
+     */
+    public List<String> findAllNames() {
+        return findAllValuesOf("name");
+    }
+
 }
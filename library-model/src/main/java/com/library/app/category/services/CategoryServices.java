@@ -43,6 +43,22 @@ public interface CategoryServices {
      */
     Category findById(long id) throws CategoryNotFoundException;
 
+    /**
+     * Method to find the version of a category without loading it. Throws categoryNotFoundException to handle
+     * category that does not exists.
+     *
+     * @param id The category Id.
+     * @return The version of the category.
+     */
+    Long findVersionById(long id) throws CategoryNotFoundException;
+
+    /**
+     * Method to get the version of the content of all categories, changed whenever a category is added or updated.
+     *
+     * @return The content version.
+     */
+    String findContentVersion();
+
     /**
      * Method to get a list of categories.
      *
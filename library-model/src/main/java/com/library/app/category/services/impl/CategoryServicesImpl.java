@@ -1,10 +1,14 @@
 package com.library.app.category.services.impl;
 
+import com.library.app.cache.interceptor.CachedResult;
+import com.library.app.cache.interceptor.InvalidatesCache;
+import com.library.app.cache.interceptor.ResultCacheInterceptor;
 import com.library.app.category.exception.CategoryExistentException;
 import com.library.app.category.exception.CategoryNotFoundException;
 import com.library.app.category.model.Category;
 import com.library.app.category.repository.CategoryRepository;
 import com.library.app.category.services.CategoryServices;
+import com.library.app.common.exception.EntityVersionConflictException;
 import com.library.app.common.utils.ValidationUtils;
 import com.library.app.logaudit.interceptor.Auditable;
 import com.library.app.logaudit.interceptor.LogAuditInterceptor;
@@ -23,7 +27,7 @@ import java.util.List;
  * @author wilferaciolli
  */
 @Stateless
-@Interceptors(LogAuditInterceptor.class)
+@Interceptors({LogAuditInterceptor.class, ResultCacheInterceptor.class})
 public class CategoryServicesImpl implements CategoryServices {
 
     // String to define which column to order by when passing values to a database.
@@ -37,30 +41,45 @@ public class CategoryServicesImpl implements CategoryServices {
     @Inject
     CategoryRepository categoryRepository;
 
+    // the names of the categories, to only query whether a name is taken when it might be
+    @Inject
+    RegisteredCategoryNames registeredCategoryNames;
+
     // note that on the interface it has all the exception that it may throw
     @Override
     @Auditable(action = LogAudit.Action.ADD)
+    @InvalidatesCache(name = {"categories", "books"})
     public Category add(final Category category) {
         // check for constraints violations
         validateCategory(category);
 
-        return categoryRepository.add(category);
+        final Category categoryAdded = categoryRepository.add(category);
+        registeredCategoryNames.add(categoryAdded.getName());
+        return categoryAdded;
     }
 
     // method to update a category.
     @Override
     @Auditable(action = LogAudit.Action.UPDATE)
+    @InvalidatesCache(name = {"categories", "books"})
     public void update(final Category category) {
         // check for constraints violations
         validateCategory(category);
 
-        // check if the category exists(validate the category ID passed to update)
-        if (!categoryRepository.existsById(category.getId())) {
+        // check if the category exists(validate the category ID passed to update), and that it is still on the
+        // version it was read on, when it was given
+        final Long version = categoryRepository.findVersionById(category.getId());
+        if (version == null) {
             throw new CategoryNotFoundException();
         }
+        if (category.getVersion() != null && !category.getVersion().equals(version)) {
+            throw new EntityVersionConflictException();
+        }
+        category.setVersion(version);
 
         // update the category
         categoryRepository.update(category);
+        registeredCategoryNames.add(category.getName());
     }
 
     // method to find a category by id.
@@ -73,10 +92,25 @@ public class CategoryServicesImpl implements CategoryServices {
         return category;
     }
 
+    @Override
+    public Long findVersionById(final long id) throws CategoryNotFoundException {
+        final Long version = categoryRepository.findVersionById(id);
+        if (version == null) {
+            throw new CategoryNotFoundException();
+        }
+        return version;
+    }
+
+    @Override
+    public String findContentVersion() {
+        return categoryRepository.findContentVersion();
+    }
+
     /**
      * get all categories.
      */
     @Override
+    @CachedResult(name = "categories")
     public List<Category> findAll() {
         return categoryRepository.findAll(ORDERBY);
     }
@@ -89,8 +123,8 @@ public class CategoryServicesImpl implements CategoryServices {
     private void validateCategory(final Category category) {
         ValidationUtils.validateEntityFields(validator, category);
 
-        // check if category already exists on the database (to avoid duplication)
-        if (categoryRepository.alreadyExists(category)) {
+        // check if category already exists on the database (to avoid duplication), when its name might be taken
+        if (registeredCategoryNames.mightExist(category.getName()) && categoryRepository.alreadyExists(category)) {
             throw new CategoryExistentException();
         }
     }
@@ -0,0 +1,69 @@
+package com.library.app.category.services.impl;
+
+import com.library.app.category.repository.CategoryRepository;
+import com.library.app.common.utils.UniqueValuesFilter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.inject.Inject;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The type Registered category names. The names of the categories, loaded on start up, so adding a category only
+ * queries whether its name is taken when it might be.
+ */
+@Singleton
+@Startup
+@Lock(LockType.READ)
+@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+public class RegisteredCategoryNames {
+
+    @Inject
+    CategoryRepository categoryRepository;
+
+    @Resource
+    ManagedExecutorService managedExecutorService;
+
+    private UniqueValuesFilter names;
+
+    /**
+     * Init. Loads the names of the categories, to be loaded again on threads of the container when it provides them.
+     */
+    @PostConstruct
+    public void init() {
+        names = new UniqueValuesFilter(categoryRepository::findAllNames, getReloadExecutor());
+        names.load();
+    }
+
+    private Executor getReloadExecutor() {
+        return managedExecutorService != null ? managedExecutorService : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Might exist boolean. False when no category certainly has the name.
+     *
+     * @param name the name
+     * @return the boolean
+     */
+    public boolean mightExist(final String name) {
+        return names.mightExist(name);
+    }
+
+    /**
+     * Add the name of a category.
+     *
+     * @param name the name
+     */
+    public void add(final String name) {
+        names.add(name);
+    }
+
+}
@@ -41,4 +41,175 @@ public class ApplicationProperties {
     public int getDaysBeforeOrderExpiration() {
         return Integer.valueOf(properties.getProperty("days-before-order-expiration"));
     }
+
+    /**
+     * Gets order expiration chunk size. it reads from the application.properties file
+     *
+     * @return the number of orders expired on each transaction
+     */
+    public int getOrderExpirationChunkSize() {
+        return Integer.valueOf(properties.getProperty("order-expiration-chunk-size"));
+    }
+
+    /**
+     * Gets order expiration partition size. it reads from the application.properties file
+     *
+     * @return the number of order ids on each partition of an expiration run
+     */
+    public int getOrderExpirationPartitionSize() {
+        return Integer.valueOf(properties.getProperty("order-expiration-partition-size"));
+    }
+
+    /**
+     * Gets order expiration claim minutes. it reads from the application.properties file
+     *
+     * @return the minutes a node holds a partition or the expiration scheduler without renewing its claim
+     */
+    public int getOrderExpirationClaimMinutes() {
+        return Integer.valueOf(properties.getProperty("order-expiration-claim-minutes"));
+    }
+
+    /**
+     * Gets order expiration lease minutes. it reads from the application.properties file
+     *
+     * @return the minutes a node holds the lease to plan an expiration run
+     */
+    public int getOrderExpirationLeaseMinutes() {
+        return Integer.valueOf(properties.getProperty("order-expiration-lease-minutes"));
+    }
+
+    /**
+     * Gets order expiration horizon minutes. it reads from the application.properties file
+     *
+     * @return the minutes ahead the expiration scheduler holds the orders to be expired
+     */
+    public int getOrderExpirationHorizonMinutes() {
+        return Integer.valueOf(properties.getProperty("order-expiration-horizon-minutes"));
+    }
+
+    /**
+     * Gets authentication token minutes. it reads from the application.properties file
+     *
+     * @return the minutes an authentication token is valid after being issued
+     */
+    public int getAuthenticationTokenMinutes() {
+        return Integer.valueOf(properties.getProperty("authentication-token-minutes"));
+    }
+
+    /**
+     * Gets password hash iterations. it reads from the application.properties file
+     *
+     * @return the PBKDF2 iterations of the new password hashes
+     */
+    public int getPasswordHashIterations() {
+        return Integer.valueOf(properties.getProperty("password-hash-iterations"));
+    }
+
+    /**
+     * Gets password hashing threads. it reads from the application.properties file
+     *
+     * @return the number of passwords hashed at the same time
+     */
+    public int getPasswordHashingThreads() {
+        return Integer.valueOf(properties.getProperty("password-hashing-threads"));
+    }
+
+    /**
+     * Gets password hashing queue size. it reads from the application.properties file
+     *
+     * @return the number of passwords waiting to be hashed before new ones are refused
+     */
+    public int getPasswordHashingQueueSize() {
+        return Integer.valueOf(properties.getProperty("password-hashing-queue-size"));
+    }
+
+    /**
+     * Gets json max body length. it reads from the application.properties file
+     *
+     * @return the max number of characters of a Json request body
+     */
+    public int getJsonMaxBodyLength() {
+        return Integer.valueOf(properties.getProperty("json-max-body-length"));
+    }
+
+    /**
+     * Gets json max array length. it reads from the application.properties file
+     *
+     * @return the max number of elements of an array of a Json request body
+     */
+    public int getJsonMaxArrayLength() {
+        return Integer.valueOf(properties.getProperty("json-max-array-length"));
+    }
+
+    /**
+     * Gets json max nesting depth. it reads from the application.properties file
+     *
+     * @return the max number of arrays and objects nested into each other in a Json request body
+     */
+    public int getJsonMaxNestingDepth() {
+        return Integer.valueOf(properties.getProperty("json-max-nesting-depth"));
+    }
+
+    /**
+     * Gets response compression min size. it reads from the application.properties file
+     *
+     * @return the min size of the responses compressed, in bytes
+     */
+    public int getResponseCompressionMinSize() {
+        return Integer.valueOf(properties.getProperty("response-compression-min-size"));
+    }
+
+    /**
+     * Gets response compression level. it reads from the application.properties file
+     *
+     * @return the level of the deflaters compressing the responses
+     */
+    public int getResponseCompressionLevel() {
+        return Integer.valueOf(properties.getProperty("response-compression-level"));
+    }
+
+    /**
+     * Gets response compression pool size. it reads from the application.properties file
+     *
+     * @return the number of deflaters kept for each content coding
+     */
+    public int getResponseCompressionPoolSize() {
+        return Integer.valueOf(properties.getProperty("response-compression-pool-size"));
+    }
+
+    /**
+     * Gets response cache max bytes. it reads from the application.properties file
+     *
+     * @return the total size of the responses kept by the response cache, in bytes
+     */
+    public int getResponseCacheMaxBytes() {
+        return Integer.valueOf(properties.getProperty("response-cache-max-bytes"));
+    }
+
+    /**
+     * Gets response cache max entry bytes. it reads from the application.properties file
+     *
+     * @return the size of the largest response kept by the response cache, in bytes
+     */
+    public int getResponseCacheMaxEntryBytes() {
+        return Integer.valueOf(properties.getProperty("response-cache-max-entry-bytes"));
+    }
+
+    /**
+     * Gets json fragment cache max bytes. it reads from the application.properties file
+     *
+     * @return the total size of the json kept by the json fragment cache, in bytes
+     */
+    public int getJsonFragmentCacheMaxBytes() {
+        return Integer.valueOf(properties.getProperty("json-fragment-cache-max-bytes"));
+    }
+
+    /**
+     * Gets request coalescing timeout millis. it reads from the application.properties file
+     *
+     * @return the time a read waits for the equal read already running, in milliseconds
+     */
+    public int getRequestCoalescingTimeoutMillis() {
+        return Integer.valueOf(properties.getProperty("request-coalescing-timeout-millis"));
+    }
 }
@@ -75,6 +75,9 @@ public class ApplicationPropertiesLoaderExtension implements Extension {
                                 final String value = getPropertyValue(propertyName);
                                 field.set(instance, Integer.valueOf(value));
                                 logger.debug("Value of the field {} set with value {}", field.getName(), value);
+                            } else if (fieldType == String.class) {
+                                field.set(instance, getPropertyValue(propertyName));
+                                logger.debug("Value of the field {} set", field.getName());
                             } else {
                                 logger.warn("Type of field not supported: {}", fieldType);
                             }
@@ -0,0 +1,13 @@
+package com.library.app.common.exception;
+
+import javax.ejb.ApplicationException;
+
+/**
+ * The type Entity version conflict exception. Thrown when an entity is updated on a version which is not its current
+ * one, as it was changed by someone else since that version was read.
+ */
+@ApplicationException
+public class EntityVersionConflictException extends RuntimeException {
+    private static final long serialVersionUID = 3165478941230647118L;
+
+}
@@ -0,0 +1,31 @@
+package com.library.app.common.exception;
+
+import javax.ejb.ApplicationException;
+
+/**
+ * The type Invalid pagination exception. Thrown when the pagination asked by a client can not be applied, as a sort on a
+ * field which is not a sortable attribute of the entity or a keyset cursor which was tampered or issued for another sort.
+ */
+@ApplicationException
+public class InvalidPaginationException extends IllegalArgumentException {
+    private static final long serialVersionUID = -6514178235617290815L;
+
+    /**
+     * Instantiates a new Invalid pagination exception.
+     *
+     * @param message the message
+     */
+    public InvalidPaginationException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Instantiates a new Invalid pagination exception.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public InvalidPaginationException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,110 @@
+package com.library.app.common.joblease.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * The type Job lease. A row of this table is held by a single node of the cluster until the lease runs out, so a job
+ * scheduled on every node is run by only one of them.
+ */
+@Entity
+@Table(name = "lib_job_lease")
+public class JobLease implements Serializable {
+    private static final long serialVersionUID = 4316294753016498224L;
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "leased_until")
+    @NotNull
+    private Date leasedUntil;
+
+    /**
+     * Instantiates a new Job lease.
+     */
+    public JobLease() {
+    }
+
+    /**
+     * Instantiates a new Job lease.
+     *
+     * @param name        the name
+     * @param owner       the owner
+     * @param leasedUntil the leased until
+     */
+    public JobLease(final String name, final String owner, final Date leasedUntil) {
+        this.name = name;
+        this.owner = owner;
+        this.leasedUntil = leasedUntil;
+    }
+
+    /**
+     * Gets name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets name.
+     *
+     * @param name the name
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets owner.
+     *
+     * @return the owner
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Sets owner.
+     *
+     * @param owner the owner
+     */
+    public void setOwner(final String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Gets leased until.
+     *
+     * @return the leased until
+     */
+    public Date getLeasedUntil() {
+        return leasedUntil;
+    }
+
+    /**
+     * Sets leased until.
+     *
+     * @param leasedUntil the leased until
+     */
+    public void setLeasedUntil(final Date leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "JobLease [name=" + name + ", owner=" + owner + ", leasedUntil=" + leasedUntil + "]";
+    }
+
+}
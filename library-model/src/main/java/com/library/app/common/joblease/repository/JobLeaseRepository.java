@@ -0,0 +1,52 @@
+package com.library.app.common.joblease.repository;
+
+import com.library.app.common.joblease.model.JobLease;
+
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TemporalType;
+import java.util.Date;
+
+/**
+ * The type Job lease repository. Leases are taken with a conditional update, so the database decides which node holds
+ * a lease and concurrent nodes wait on the row lock until the holder commits.
+ */
+@Stateless
+public class JobLeaseRepository {
+
+    @PersistenceContext
+    EntityManager em;
+
+    /**
+     * Acquire a lease. The lease is taken when it is free, when it ran out or when it is already held by the owner. The
+     * lease row is created when it does not exist yet.
+     *
+     * @param name        the name of the lease
+     * @param owner       the owner
+     * @param now         the current date
+     * @param leasedUntil the date until the lease is held
+     * @return whether the lease was acquired
+     */
+    public boolean acquire(final String name, final String owner, final Date now, final Date leasedUntil) {
+        final int updatedRows = em.createQuery("Update JobLease e Set e.owner = :owner, e.leasedUntil = :leasedUntil"
+                + " Where e.name = :name And (e.leasedUntil < :now Or e.owner = :owner)")
+                .setParameter("owner", owner)
+                .setParameter("leasedUntil", leasedUntil, TemporalType.TIMESTAMP)
+                .setParameter("name", name)
+                .setParameter("now", now, TemporalType.TIMESTAMP)
+                .executeUpdate();
+        if (updatedRows == 1) {
+            return true;
+        }
+
+        if (em.find(JobLease.class, name) != null) {
+            return false;
+        }
+        //a node racing to create the same lease fails on the primary key
+        em.persist(new JobLease(name, owner, leasedUntil));
+        em.flush();
+        return true;
+    }
+
+}
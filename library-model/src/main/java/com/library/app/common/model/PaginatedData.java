@@ -1,5 +1,9 @@
 package com.library.app.common.model;
 
+import com.library.app.common.model.filter.CountStrategy;
+import com.library.app.common.model.filter.PaginationCursor;
+
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -8,10 +12,19 @@ import java.util.List;
  *
  * @param <T> the type parameter
  */
-public class PaginatedData<T> {
+public class PaginatedData<T> implements Serializable {
+    private static final long serialVersionUID = 3817426655124094106L;
+
+    /**
+     * Number of rows of a search that was not counted.
+     */
+    public static final int UNKNOWN_NUMBER_OF_ROWS = -1;
 
     private final int numberOfRows;
     private final List<T> rows;
+    private final PaginationCursor nextCursor;
+    private final CountStrategy countStrategy;
+    private final Boolean hasNext;
 
     /**
      * Constructor with parameters.
@@ -20,8 +33,36 @@ public class PaginatedData<T> {
      * @param rows         The rows objects.
      */
     public PaginatedData(final int numberOfRows, final List<T> rows) {
+        this(numberOfRows, rows, null);
+    }
+
+    /**
+     * Constructor with parameters and the cursor to fetch the next page by keyset.
+     *
+     * @param numberOfRows The number of rows.
+     * @param rows         The rows objects.
+     * @param nextCursor   The cursor pointing to the last row, null when there is no next page.
+     */
+    public PaginatedData(final int numberOfRows, final List<T> rows, final PaginationCursor nextCursor) {
+        this(numberOfRows, rows, nextCursor, CountStrategy.EXACT, null);
+    }
+
+    /**
+     * Constructor with all the parameters.
+     *
+     * @param numberOfRows  The number of rows, {@link #UNKNOWN_NUMBER_OF_ROWS} when it was not counted.
+     * @param rows          The rows objects.
+     * @param nextCursor    The cursor pointing to the last row, null when there is no next page.
+     * @param countStrategy The strategy that produced the number of rows.
+     * @param hasNext       Whether there is a next page, null when it is not known.
+     */
+    public PaginatedData(final int numberOfRows, final List<T> rows, final PaginationCursor nextCursor,
+                         final CountStrategy countStrategy, final Boolean hasNext) {
         this.numberOfRows = numberOfRows;
         this.rows = rows;
+        this.nextCursor = nextCursor;
+        this.countStrategy = countStrategy;
+        this.hasNext = hasNext;
     }
 
     /**
@@ -33,6 +74,33 @@ public class PaginatedData<T> {
         return numberOfRows;
     }
 
+    /**
+     * Has number of rows boolean. False when the search was not counted.
+     *
+     * @return the boolean
+     */
+    public boolean hasNumberOfRows() {
+        return numberOfRows != UNKNOWN_NUMBER_OF_ROWS;
+    }
+
+    /**
+     * Gets count strategy.
+     *
+     * @return the count strategy
+     */
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    /**
+     * Gets has next.
+     *
+     * @return whether there is a next page, null when it is not known
+     */
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
     /**
      * Gets rows.
      *
@@ -55,9 +123,28 @@ public class PaginatedData<T> {
         return rows.get(index);
     }
 
+    /**
+     * Gets next cursor.
+     *
+     * @return the next cursor
+     */
+    public PaginationCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Has next cursor boolean.
+     *
+     * @return the boolean
+     */
+    public boolean hasNextCursor() {
+        return nextCursor != null;
+    }
+
     @Override
     public String toString() {
-        return "PaginatedData [numberOfRows=" + numberOfRows + ", rows=" + rows + "]";
+        return "PaginatedData [numberOfRows=" + numberOfRows + ", rows=" + rows + ", nextCursor=" + nextCursor
+                + ", countStrategy=" + countStrategy + ", hasNext=" + hasNext + "]";
     }
 
 
@@ -0,0 +1,28 @@
+package com.library.app.common.model.filter;
+
+/**
+ * Enum of the strategies used to get the total number of rows of a paginated search.
+ */
+public enum CountStrategy {
+    /**
+     * Runs a count query on every page.
+     */
+    EXACT,
+    /**
+     * Reuses the exact count of the same search for a while.
+     */
+    CACHED,
+    /**
+     * Estimates the number of rows of the whole table from the statistics of the database, searches with filters, or
+     * on databases without such statistics, fall back to cached.
+     */
+    ESTIMATED,
+    /**
+     * Does not count, fetches one extra row to tell whether there is a next page.
+     */
+    HAS_NEXT,
+    /**
+     * Does not count.
+     */
+    NONE
+}
@@ -0,0 +1,201 @@
+package com.library.app.common.model.filter;
+
+import com.library.app.common.exception.InvalidPaginationException;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Class to hold the position of the last row returned on a keyset (seek) paginated search.
+ * The cursor carries the sort field, the sort direction, the value of the sort field and the id of the last row, so the
+ * next page can be fetched with a "Where (sortField, id) > (:value, :id)" predicate instead of an offset.
+ * It is exchanged with the clients as an opaque token.
+ */
+public class PaginationCursor implements Serializable {
+    private static final long serialVersionUID = -6409751826304918573L;
+
+    private static final String SEPARATOR = "|";
+    private static final int NUMBER_OF_TOKEN_PARTS = 5;
+
+    private static final String TYPE_STRING = "S";
+    private static final String TYPE_LONG = "L";
+    private static final String TYPE_INTEGER = "I";
+    private static final String TYPE_DOUBLE = "D";
+    private static final String TYPE_DATE = "T";
+
+    private final String sortField;
+    private final boolean ascending;
+    private final Object sortValue;
+    private final Long id;
+
+    /**
+     * Constructor with parameters.
+     *
+     * @param sortField the sort field
+     * @param ascending whether the sort is ascending
+     * @param sortValue the value of the sort field on the last row
+     * @param id        the id of the last row
+     */
+    public PaginationCursor(final String sortField, final boolean ascending, final Object sortValue, final Long id) {
+        if (sortField == null || sortField.contains(SEPARATOR) || id == null || !isSupportedSortValue(sortValue)) {
+            throw new InvalidPaginationException("Invalid pagination cursor");
+        }
+        this.sortField = sortField;
+        this.ascending = ascending;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    /**
+     * Checks whether a value of a sort field can be held by a cursor.
+     *
+     * @param sortValue the sort value
+     * @return the boolean
+     */
+    public static boolean isSupportedSortValue(final Object sortValue) {
+        return sortValue instanceof String || sortValue instanceof Long || sortValue instanceof Integer
+                || sortValue instanceof Double || sortValue instanceof Date;
+    }
+
+    /**
+     * Decodes a token created by {@link #toToken()}.
+     *
+     * @param token the token
+     * @return the pagination cursor
+     * @throws InvalidPaginationException when the token is not a valid cursor
+     */
+    public static PaginationCursor fromToken(final String token) {
+        final String decodedToken;
+        try {
+            decodedToken = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidPaginationException("Invalid pagination cursor", e);
+        }
+
+        //the sort value is the last part so it can hold any character
+        final String[] parts = decodedToken.split("\\" + SEPARATOR, NUMBER_OF_TOKEN_PARTS);
+        if (parts.length != NUMBER_OF_TOKEN_PARTS) {
+            throw new InvalidPaginationException("Invalid pagination cursor");
+        }
+
+        try {
+            return new PaginationCursor(parts[0], "A".equals(parts[1]), decodeSortValue(parts[2], parts[4]),
+                    Long.valueOf(parts[3]));
+        } catch (final NumberFormatException e) {
+            throw new InvalidPaginationException("Invalid pagination cursor", e);
+        }
+    }
+
+    /**
+     * Encodes this cursor as an opaque url safe token.
+     *
+     * @return the token
+     */
+    public String toToken() {
+        final String decodedToken = sortField + SEPARATOR + (ascending ? "A" : "D") + SEPARATOR + getSortValueType()
+                + SEPARATOR + id + SEPARATOR + encodeSortValue();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decodedToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets sort field.
+     *
+     * @return the sort field
+     */
+    public String getSortField() {
+        return sortField;
+    }
+
+    /**
+     * Is ascending boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Gets sort value.
+     *
+     * @return the sort value
+     */
+    public Object getSortValue() {
+        return sortValue;
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the type code of the sort value.
+     *
+     * @return the type code
+     */
+    private String getSortValueType() {
+        if (sortValue instanceof Long) {
+            return TYPE_LONG;
+        }
+        if (sortValue instanceof Integer) {
+            return TYPE_INTEGER;
+        }
+        if (sortValue instanceof Double) {
+            return TYPE_DOUBLE;
+        }
+        if (sortValue instanceof Date) {
+            return TYPE_DATE;
+        }
+        return TYPE_STRING;
+    }
+
+    /**
+     * Encode sort value.
+     *
+     * @return the encoded value
+     */
+    private String encodeSortValue() {
+        if (sortValue instanceof Date) {
+            return String.valueOf(((Date) sortValue).getTime());
+        }
+        return sortValue.toString();
+    }
+
+    /**
+     * Decode sort value.
+     *
+     * @param type  the type code
+     * @param value the encoded value
+     * @return the sort value
+     */
+    private static Object decodeSortValue(final String type, final String value) {
+        switch (type) {
+            case TYPE_STRING:
+                return value;
+            case TYPE_LONG:
+                return Long.valueOf(value);
+            case TYPE_INTEGER:
+                return Integer.valueOf(value);
+            case TYPE_DOUBLE:
+                return Double.valueOf(value);
+            case TYPE_DATE:
+                return new Date(Long.parseLong(value));
+            default:
+                throw new InvalidPaginationException("Invalid pagination cursor");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PaginationCursor [sortField=" + sortField + ", ascending=" + ascending + ", sortValue=" + sortValue
+                + ", id=" + id + "]";
+    }
+
+}
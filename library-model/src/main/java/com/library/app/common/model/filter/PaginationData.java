@@ -11,6 +11,8 @@ public class PaginationData {
     private final int maxResults;
     private final String orderField;
     private final OrderMode orderMode;
+    private final PaginationCursor afterCursor;
+    private final CountStrategy countStrategy;
 
     /**
      * Enum for ordering.
@@ -35,10 +37,42 @@ public class PaginationData {
      */
     public PaginationData(final int firstResult, final int maxResults, final String orderField,
                           final OrderMode orderMode) {
+        this(firstResult, maxResults, orderField, orderMode, null);
+    }
+
+    /**
+     * Constructor to take all the values plus the keyset cursor. When the cursor is given the search seeks past the row it
+     * points to and the first result is ignored.
+     *
+     * @param firstResult The first result.
+     * @param maxResults  The max result. The max number of rows to bring back
+     * @param orderField  The order Field. The order colun name
+     * @param orderMode   The order mode enum.
+     * @param afterCursor The cursor of the last row of the previous page, may be null.
+     */
+    public PaginationData(final int firstResult, final int maxResults, final String orderField,
+                          final OrderMode orderMode, final PaginationCursor afterCursor) {
+        this(firstResult, maxResults, orderField, orderMode, afterCursor, null);
+    }
+
+    /**
+     * Constructor to take all the values plus the keyset cursor and the count strategy.
+     *
+     * @param firstResult   The first result.
+     * @param maxResults    The max result. The max number of rows to bring back
+     * @param orderField    The order Field. The order colun name
+     * @param orderMode     The order mode enum.
+     * @param afterCursor   The cursor of the last row of the previous page, may be null.
+     * @param countStrategy The strategy to get the total number of rows, null to use the one of the repository.
+     */
+    public PaginationData(final int firstResult, final int maxResults, final String orderField,
+                          final OrderMode orderMode, final PaginationCursor afterCursor, final CountStrategy countStrategy) {
         this.firstResult = firstResult;
         this.maxResults = maxResults;
         this.orderField = orderField;
         this.orderMode = orderMode;
+        this.afterCursor = afterCursor;
+        this.countStrategy = countStrategy;
     }
 
     /**
@@ -77,6 +111,33 @@ public class PaginationData {
         return orderMode;
     }
 
+    /**
+     * Gets after cursor.
+     *
+     * @return the after cursor
+     */
+    public PaginationCursor getAfterCursor() {
+        return afterCursor;
+    }
+
+    /**
+     * Has after cursor boolean. True when the search is paginated by keyset instead of offset.
+     *
+     * @return the boolean
+     */
+    public boolean hasAfterCursor() {
+        return afterCursor != null;
+    }
+
+    /**
+     * Gets count strategy.
+     *
+     * @return the count strategy, null when the one of the repository should be used
+     */
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
     /**
      * Is ascending boolean.
      *
@@ -89,6 +150,7 @@ public class PaginationData {
     @Override
     public String toString() {
         return "PaginationData [firstResult=" + firstResult + ", maxResults=" + maxResults + ", orderField="
-                + orderField + ", orderMode=" + orderMode + "]";
+                + orderField + ", orderMode=" + orderMode + ", afterCursor=" + afterCursor
+                + ", countStrategy=" + countStrategy + "]";
     }
 }
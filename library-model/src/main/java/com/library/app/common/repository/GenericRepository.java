@@ -1,13 +1,32 @@
 package com.library.app.common.repository;
 
+import com.library.app.common.exception.InvalidPaginationException;
 import com.library.app.common.model.PaginatedData;
+import com.library.app.common.model.filter.CountStrategy;
+import com.library.app.common.model.filter.PaginationCursor;
 import com.library.app.common.model.filter.PaginationData;
+import org.hibernate.Session;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
+import javax.persistence.Cacheable;
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
 import javax.persistence.Query;
+import javax.persistence.Table;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 
 /**
  * The type Generic repository. This abstract repository hold the default CRUD repository that can be extended by repositories.
@@ -16,6 +35,15 @@ import java.util.Map.Entry;
  */
 public abstract class GenericRepository<T> {
 
+    private static final long ROW_COUNT_CACHE_TIME_TO_LIVE_IN_MILLIS = 60000L;
+    private static final int ROW_COUNT_CACHE_MAX_ENTRIES = 1000;
+    private static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
+    private static final String QUERY_CACHEABLE_HINT = "org.hibernate.cacheable";
+    //kept equal to hibernate.jdbc.batch_size, so each flush sends full batches of inserts
+    private static final int ADD_ALL_FLUSH_SIZE = 50;
+    private static final RowCountCache ROW_COUNT_CACHE = new RowCountCache(ROW_COUNT_CACHE_TIME_TO_LIVE_IN_MILLIS,
+            ROW_COUNT_CACHE_MAX_ENTRIES);
+
     /**
      * Gets persistent class.
      *
@@ -38,9 +66,37 @@ public abstract class GenericRepository<T> {
      */
     public T add(final T entity) {
         getEntityManager().persist(entity);
+        invalidateRowCounts();
         return entity;
     }
 
+    /**
+     * Add all the entities. The persistence context is flushed and cleared every {@value #ADD_ALL_FLUSH_SIZE} entities,
+     * so the inserts are sent in JDBC batches and the memory used does not grow with the number of entities.
+     * As the persistence context is cleared, the entities added and any other entity loaded before on the same
+     * transaction are detached when this method returns.
+     *
+     * @param entities the entities
+     * @return the number of entities added
+     */
+    public int addAll(final Collection<T> entities) {
+        int numberOfEntitiesAdded = 0;
+        for (final T entity : entities) {
+            getEntityManager().persist(entity);
+            numberOfEntitiesAdded++;
+
+            if (numberOfEntitiesAdded % ADD_ALL_FLUSH_SIZE == 0) {
+                getEntityManager().flush();
+                getEntityManager().clear();
+            }
+        }
+
+        getEntityManager().flush();
+        getEntityManager().clear();
+        invalidateRowCounts();
+        return numberOfEntitiesAdded;
+    }
+
     /**
      * Find by id t.
      *
@@ -55,6 +111,22 @@ public abstract class GenericRepository<T> {
         return getEntityManager().find(getPersistentClass(), id);
     }
 
+    /**
+     * Find by id t loading the associations of a fetch plan on the same query. The fetch plan is the name of an entity
+     * graph declared on the entity, the associations out of it keep their mapped fetch type.
+     *
+     * @param id        the id
+     * @param fetchPlan the fetch plan
+     * @return the t
+     */
+    public T findById(final Long id, final String fetchPlan) {
+        if (id == null) {
+            return null;
+        }
+        return getEntityManager().find(getPersistentClass(), id,
+                Collections.<String, Object>singletonMap(LOAD_GRAPH_HINT, getEntityManager().getEntityGraph(fetchPlan)));
+    }
+
     /**
      * Update.
      *
@@ -62,6 +134,7 @@ public abstract class GenericRepository<T> {
      */
     public void update(final T entity) {
         getEntityManager().merge(entity);
+        invalidateRowCounts();
     }
 
 
@@ -72,8 +145,28 @@ public abstract class GenericRepository<T> {
      * @return the list
      */
     public List<T> findAll(final String orderField) {
+        checkSortFieldIsSortable(orderField);
+        final Query query = getEntityManager().createQuery(
+                "SELECT e FROM " + getPersistentClass().getSimpleName() + " e ORDER BY  e." + orderField);
 
-        return getEntityManager().createQuery("SELECT e FROM " + getPersistentClass().getSimpleName() + " e ORDER BY  e." + orderField).getResultList();
+        //the rows of cacheable entities are kept on the query cache until the table changes
+        if (getPersistentClass().isAnnotationPresent(Cacheable.class)) {
+            query.setHint(QUERY_CACHEABLE_HINT, true);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Find all the values of a property, to load a {@link com.library.app.common.utils.UniqueValuesFilter}.
+     *
+     * @param propertyName the property name
+     * @return the values
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> findAllValuesOf(final String propertyName) {
+        return getEntityManager()
+                .createQuery("Select e." + propertyName + " From " + getPersistentClass().getSimpleName() + " e")
+                .getResultList();
     }
 
     /**
@@ -115,8 +208,44 @@ public abstract class GenericRepository<T> {
                 .getResultList().size() > 0;
     }
 
+    /**
+     * Find the version of an entity, without loading it. Only for the entities with a version.
+     *
+     * @param id the id
+     * @return the version, null when there is no entity for the id
+     */
+    public Long findVersionById(final Long id) {
+        final List<?> versions = getEntityManager()
+                .createQuery("Select e.version From " + getPersistentClass().getSimpleName() + " e Where e.id = :id")
+                .setParameter("id", id)
+                .getResultList();
+        return versions.isEmpty() ? null : (Long) versions.get(0);
+    }
+
+    /**
+     * Find the content version of the table of the entities, changing whenever an entity is added, updated or removed:
+     * the number of entities, the greatest id and the sum of the versions. Ids are allocated increasing, so an entity
+     * added raises the greatest id unless it is removed again, and versions only increase. Only for the entities with
+     * a version.
+     *
+     * @return the content version
+     */
+    public String findContentVersion() {
+        final Object[] aggregates = (Object[]) getEntityManager()
+                .createQuery("Select count(e), coalesce(max(e.id), 0), coalesce(sum(e.version), 0) From "
+                        + getPersistentClass().getSimpleName() + " e")
+                .getSingleResult();
+        return aggregates[0] + "." + aggregates[1] + "." + aggregates[2];
+    }
+
     /**
      * Find by parameters paginated data. Helper method to return paginated data.
+     * The rows are always sorted by the sort field plus the id, so the order is stable and the page can be continued
+     * by keyset. When the pagination data carries an after cursor the rows are fetched with a
+     * "Where (sortField, id) > (:value, :id)" predicate instead of an offset, and when a page is full the returned data
+     * carries the cursor of its last row.
+     * The total number of rows is produced by the count strategy asked by the search or, when none was asked, by the
+     * default strategy of the repository.
      *
      * @param clause                        the clause, the JPQL query
      * @param paginationData                the pagination data, the data
@@ -124,27 +253,348 @@ public abstract class GenericRepository<T> {
      * @param defaultSortFieldWithDirection the default sort field with direction, sort order
      * @return the paginated data
      */
-    @SuppressWarnings("unchecked")
     protected PaginatedData<T> findByParameters(final String clause, final PaginationData paginationData,
                                                 final Map<String, Object> queryParameters, final String defaultSortFieldWithDirection) {
+        return findByParameters(clause, paginationData, queryParameters, defaultSortFieldWithDirection, null);
+    }
+
+    /**
+     * Find by parameters paginated data loading the associations of a fetch plan on the query of the page.
+     * The fetch plan is the name of an entity graph declared on the entity. It should only hold to-one associations,
+     * as joining collections would make the page to be cut in memory; collections are left to the batch fetching.
+     *
+     * @param clause                        the clause, the JPQL query
+     * @param paginationData                the pagination data, the data
+     * @param queryParameters               the query parameters, the parameters
+     * @param defaultSortFieldWithDirection the default sort field with direction, sort order
+     * @param fetchPlan                     the fetch plan, or null to keep the mapped fetch types
+     * @return the paginated data
+     */
+    @SuppressWarnings("unchecked")
+    protected PaginatedData<T> findByParameters(final String clause, final PaginationData paginationData,
+                                                final Map<String, Object> queryParameters,
+                                                final String defaultSortFieldWithDirection, final String fetchPlan) {
+        final PaginatedData<Object[]> rows = findRowsByParameters("e", clause, paginationData, queryParameters,
+                defaultSortFieldWithDirection, fetchPlan);
+
+        final List<T> entities = new ArrayList<>(rows.getRows().size());
+        for (final Object[] row : rows.getRows()) {
+            entities.add((T) row[0]);
+        }
+        return new PaginatedData<T>(rows.getNumberOfRows(), entities, rows.getNextCursor(), rows.getCountStrategy(),
+                rows.getHasNext());
+    }
+
+    /**
+     * Find by parameters paginated data selecting only some columns of the entity instead of the entity itself, so no
+     * entity is loaded into the persistence context. It is searched, sorted, paginated and counted as
+     * {@link #findByParameters(String, PaginationData, Map, String)} does.
+     *
+     * @param selection                     the selection, the JPQL expressions of the columns on the entity "e"
+     * @param clause                        the clause, the JPQL query
+     * @param paginationData                the pagination data, the data
+     * @param queryParameters               the query parameters, the parameters
+     * @param defaultSortFieldWithDirection the default sort field with direction, sort order
+     * @return the paginated data, each row holding the values of the selection
+     */
+    protected PaginatedData<Object[]> findProjectionByParameters(final String selection, final String clause,
+                                                                 final PaginationData paginationData,
+                                                                 final Map<String, Object> queryParameters,
+                                                                 final String defaultSortFieldWithDirection) {
+        return findRowsByParameters(selection, clause, paginationData, queryParameters, defaultSortFieldWithDirection,
+                null);
+    }
+
+    /**
+     * Find rows by parameters paginated data. The selection is followed on the query by the id and the sort field,
+     * which place the next cursor and are left out of the rows returned.
+     *
+     * @param selection                     the selection
+     * @param clause                        the clause
+     * @param paginationData                the pagination data
+     * @param queryParameters               the query parameters
+     * @param defaultSortFieldWithDirection the default sort field with direction
+     * @param fetchPlan                     the fetch plan, or null
+     * @return the paginated data
+     */
+    @SuppressWarnings("unchecked")
+    private PaginatedData<Object[]> findRowsByParameters(final String selection, final String clause,
+                                                         final PaginationData paginationData,
+                                                         final Map<String, Object> queryParameters,
+                                                         final String defaultSortFieldWithDirection,
+                                                         final String fetchPlan) {
 
-        //get the clause of the search
-        final String clauseSort = "Order by e." + getSortField(paginationData, defaultSortFieldWithDirection);
+        //split the sort into field and direction
+        final String[] sortFieldWithDirection = getSortField(paginationData, defaultSortFieldWithDirection).trim()
+                .split("\\s+");
+        final String sortFieldName = sortFieldWithDirection[0];
+        checkSortFieldIsSortable(sortFieldName);
+        final boolean ascending = sortFieldWithDirection.length < 2 || "ASC".equalsIgnoreCase(sortFieldWithDirection[1]);
+        final String sortDirection = ascending ? "ASC" : "DESC";
+
+        //get the clause of the search, the id is used to break ties so rows never move between pages
+        final Map<String, Object> queryParametersWithKeyset = new HashMap<>(queryParameters);
+        final String clauseWithKeyset = clause + getKeysetClause(clause, paginationData, sortFieldName, ascending,
+                queryParametersWithKeyset);
+        final String clauseSort = "Order by e." + sortFieldName + " " + sortDirection
+                + ("id".equals(sortFieldName) ? "" : ", e.id " + sortDirection);
 
         //build the query passing the query, the parameters and the sort filters
-        final Query queryEntities = getEntityManager().createQuery(
-                "Select e From " + getPersistentClass().getSimpleName()
-                        + " e " + clause + " " + clauseSort);
+        final Query queryRows = getEntityManager().createQuery(
+                "Select " + selection + ", e.id, e." + sortFieldName + " From " + getPersistentClass().getSimpleName()
+                        + " e " + clauseWithKeyset + " " + clauseSort);
 
         //add filters to the query
-        applyQueryParametersOnQuery(queryParameters, queryEntities);
+        applyQueryParametersOnQuery(queryParametersWithKeyset, queryRows);
+        if (fetchPlan != null) {
+            queryRows.setHint(LOAD_GRAPH_HINT, getEntityManager().getEntityGraph(fetchPlan));
+        }
+
+        //paginate the query, fetching one extra row when only the existence of a next page is wanted
+        final CountStrategy countStrategy = getCountStrategy(paginationData);
+        final boolean fetchExtraRow = paginationData != null && countStrategy == CountStrategy.HAS_NEXT;
+        applyPaginationOnQuery(paginationData, queryRows, fetchExtraRow);
 
-        //paginate the query
-        applyPaginationOnQuery(paginationData, queryEntities);
+        final List<Object[]> rows = queryRows.getResultList();
+        final boolean hasExtraRow = fetchExtraRow && rows.size() > paginationData.getMaxResults();
+        final List<Object[]> pageRows = hasExtraRow ? rows.subList(0, paginationData.getMaxResults()) : rows;
+        final List<Object[]> selectedRows = new ArrayList<>(pageRows.size());
+        for (final Object[] row : pageRows) {
+            selectedRows.add(Arrays.copyOf(row, row.length - 2));
+        }
 
-        final List<T> entities = queryEntities.getResultList();
+        final PaginationCursor nextCursor = fetchExtraRow && !hasExtraRow ? null
+                : getNextCursor(paginationData, pageRows, sortFieldName, ascending);
+        return getPaginatedDataCountingRows(clause, paginationData, queryParameters, countStrategy, selectedRows,
+                nextCursor, hasExtraRow);
+    }
 
-        return new PaginatedData<T>(countWithFilter(clause, queryParameters), entities);
+    /**
+     * Gets default count strategy. The strategy used when the search does not ask for one, repositories can override it.
+     *
+     * @return the default count strategy
+     */
+    protected CountStrategy getDefaultCountStrategy() {
+        return CountStrategy.EXACT;
+    }
+
+    /**
+     * Estimate the number of rows of the whole table, read from the statistics MySQL keeps for the table. They are
+     * approximate for InnoDB, but reading them does not scan the table. Null when the database is not MySQL, or has no
+     * statistics for the table, so the count falls back to the cached one.
+     *
+     * @return the estimated number of rows, or null
+     */
+    protected Integer estimateNumberOfRows() {
+        final Table table = getPersistentClass().getAnnotation(Table.class);
+        if (table == null || !isMySql()) {
+            return null;
+        }
+
+        final List<?> tableRows = getEntityManager().createNativeQuery(
+                "Select table_rows From information_schema.tables Where table_schema = database() And table_name = ?1")
+                .setParameter(1, table.name()).getResultList();
+        if (tableRows.isEmpty() || tableRows.get(0) == null) {
+            return null;
+        }
+        return ((Number) tableRows.get(0)).intValue();
+    }
+
+    private boolean isMySql() {
+        return ((SessionFactoryImplementor) getEntityManager().unwrap(Session.class).getSessionFactory())
+                .getDialect() instanceof MySQLDialect;
+    }
+
+    /**
+     * Gets paginated data counting the rows with the count strategy.
+     * When all the rows were returned, or the page was not full, the number of rows is already known and is returned as
+     * exact without counting.
+     *
+     * @param clause          the clause
+     * @param paginationData  the pagination data
+     * @param queryParameters the query parameters
+     * @param countStrategy   the count strategy
+     * @param entities        the entities of the page
+     * @param nextCursor      the next cursor
+     * @param hasNext         whether an extra row was found after the page
+     * @param <R>             the type of the rows
+     * @return the paginated data
+     */
+    private <R> PaginatedData<R> getPaginatedDataCountingRows(final String clause, final PaginationData paginationData,
+                                                              final Map<String, Object> queryParameters,
+                                                              final CountStrategy countStrategy, final List<R> entities,
+                                                              final PaginationCursor nextCursor, final boolean hasNext) {
+        if (paginationData == null) {
+            return new PaginatedData<R>(entities.size(), entities, null, CountStrategy.EXACT, false);
+        }
+
+        switch (countStrategy) {
+            case HAS_NEXT:
+                return new PaginatedData<R>(PaginatedData.UNKNOWN_NUMBER_OF_ROWS, entities, nextCursor,
+                        CountStrategy.HAS_NEXT, hasNext);
+            case NONE:
+                return new PaginatedData<R>(PaginatedData.UNKNOWN_NUMBER_OF_ROWS, entities, nextCursor,
+                        CountStrategy.NONE, null);
+            default:
+                break;
+        }
+
+        if (isLastPageOnOffsetPagination(paginationData, entities)) {
+            return new PaginatedData<R>(paginationData.getFirstResult() + entities.size(), entities, null,
+                    CountStrategy.EXACT, false);
+        }
+
+        if (countStrategy == CountStrategy.ESTIMATED && queryParameters.isEmpty()) {
+            final Integer estimatedNumberOfRows = estimateNumberOfRows();
+            if (estimatedNumberOfRows != null) {
+                return new PaginatedData<R>(estimatedNumberOfRows, entities, nextCursor, CountStrategy.ESTIMATED,
+                        null);
+            }
+        }
+        if (countStrategy == CountStrategy.CACHED || countStrategy == CountStrategy.ESTIMATED) {
+            return new PaginatedData<R>(countWithFilterCached(clause, queryParameters), entities, nextCursor,
+                    CountStrategy.CACHED, null);
+        }
+        return new PaginatedData<R>(countWithFilter(clause, queryParameters), entities, nextCursor, CountStrategy.EXACT,
+                null);
+    }
+
+    /**
+     * Is last page on offset pagination boolean. True when the page was not full, so no rows exist after it.
+     *
+     * @param paginationData the pagination data
+     * @param entities       the entities
+     * @return the boolean
+     */
+    private boolean isLastPageOnOffsetPagination(final PaginationData paginationData, final List<?> entities) {
+        return !paginationData.hasAfterCursor() && entities.size() < paginationData.getMaxResults()
+                && (!entities.isEmpty() || paginationData.getFirstResult() == 0);
+    }
+
+    /**
+     * Gets count strategy. The one asked by the search or the default of the repository.
+     *
+     * @param paginationData the pagination data
+     * @return the count strategy
+     */
+    private CountStrategy getCountStrategy(final PaginationData paginationData) {
+        if (paginationData == null || paginationData.getCountStrategy() == null) {
+            return getDefaultCountStrategy();
+        }
+        return paginationData.getCountStrategy();
+    }
+
+    /**
+     * Count with filter using the count of the same search when it was done recently.
+     *
+     * @param clause          the clause
+     * @param queryParameters the query parameters
+     * @return the int
+     */
+    private int countWithFilterCached(final String clause, final Map<String, Object> queryParameters) {
+        final String searchSignature = getSearchSignature(clause, queryParameters);
+        final Integer cachedCount = ROW_COUNT_CACHE.get(searchSignature);
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+
+        final int count = countWithFilter(clause, queryParameters);
+        ROW_COUNT_CACHE.put(searchSignature, count);
+        return count;
+    }
+
+    /**
+     * Invalidate the cached row counts of the searches of the entity, to be called by the repositories changing its rows
+     * with bulk updates. The methods adding and updating entities invalidate them already.
+     */
+    protected void invalidateRowCounts() {
+        ROW_COUNT_CACHE.removeAll(getSearchSignaturePrefix());
+    }
+
+    /**
+     * Gets search signature. Identifies the persistence unit, the entity, the clause and the parameter values.
+     *
+     * @param clause          the clause
+     * @param queryParameters the query parameters
+     * @return the search signature
+     */
+    private String getSearchSignature(final String clause, final Map<String, Object> queryParameters) {
+        final StringBuilder searchSignature = new StringBuilder(getSearchSignaturePrefix()).append(clause);
+
+        for (final Entry<String, Object> entryMap : new TreeMap<>(queryParameters).entrySet()) {
+            final Object value = entryMap.getValue();
+            searchSignature.append(':').append(entryMap.getKey()).append('=')
+                    .append(value instanceof Date ? ((Date) value).getTime() : value);
+        }
+        return searchSignature.toString();
+    }
+
+    /**
+     * Gets the prefix of the search signatures of the entity, the persistence unit and the entity.
+     *
+     * @return the search signature prefix
+     */
+    private String getSearchSignaturePrefix() {
+        return System.identityHashCode(getEntityManager().getEntityManagerFactory()) + ":"
+                + getPersistentClass().getName() + ":";
+    }
+
+    /**
+     * Gets keyset clause. Returns the predicate to seek past the row pointed by the after cursor, or an empty string when
+     * the search is paginated by offset.
+     *
+     * @param clause          the clause
+     * @param paginationData  the pagination data
+     * @param sortFieldName   the sort field name
+     * @param ascending       whether the sort is ascending
+     * @param queryParameters the query parameters, the keyset parameters are added to it
+     * @return the keyset clause
+     */
+    private String getKeysetClause(final String clause, final PaginationData paginationData, final String sortFieldName,
+                                   final boolean ascending, final Map<String, Object> queryParameters) {
+        if (paginationData == null || !paginationData.hasAfterCursor()) {
+            return "";
+        }
+
+        final PaginationCursor afterCursor = paginationData.getAfterCursor();
+        if (!afterCursor.getSortField().equals(sortFieldName) || afterCursor.isAscending() != ascending) {
+            throw new InvalidPaginationException("The pagination cursor was issued for a different sort");
+        }
+
+        final String comparator = ascending ? ">" : "<";
+        final String connector = clause.trim().isEmpty() ? "Where " : " And ";
+        queryParameters.put("keysetId", afterCursor.getId());
+        if ("id".equals(sortFieldName)) {
+            return connector + "e.id " + comparator + " :keysetId";
+        }
+
+        queryParameters.put("keysetSortValue", afterCursor.getSortValue());
+        return connector + "(e." + sortFieldName + " " + comparator + " :keysetSortValue Or (e." + sortFieldName
+                + " = :keysetSortValue And e.id " + comparator + " :keysetId))";
+    }
+
+    /**
+     * Gets next cursor. A cursor is only returned when the page is full and its last row can be pointed to.
+     *
+     * @param paginationData the pagination data
+     * @param rows           the rows, each one ending with the id and the value of the sort field
+     * @param sortFieldName  the sort field name
+     * @param ascending      whether the sort is ascending
+     * @return the next cursor or null
+     */
+    private PaginationCursor getNextCursor(final PaginationData paginationData, final List<Object[]> rows,
+                                           final String sortFieldName, final boolean ascending) {
+        if (paginationData == null || rows.isEmpty() || rows.size() < paginationData.getMaxResults()) {
+            return null;
+        }
+
+        final Object[] lastRow = rows.get(rows.size() - 1);
+        final Object lastId = lastRow[lastRow.length - 2];
+        final Object lastSortValue = lastRow[lastRow.length - 1];
+        if (!(lastId instanceof Long) || !PaginationCursor.isSupportedSortValue(lastSortValue)) {
+            return null;
+        }
+        return new PaginationCursor(sortFieldName, ascending, lastSortValue, (Long) lastId);
     }
 
     /**
@@ -168,11 +618,14 @@ public abstract class GenericRepository<T> {
      *
      * @param paginationData the pagination data
      * @param query          the query
+     * @param fetchExtraRow  whether to fetch one row after the page
      */
-    private void applyPaginationOnQuery(final PaginationData paginationData, final Query query) {
+    private void applyPaginationOnQuery(final PaginationData paginationData, final Query query,
+                                        final boolean fetchExtraRow) {
         if (paginationData != null) {
-            query.setFirstResult(paginationData.getFirstResult());
-            query.setMaxResults(paginationData.getMaxResults());
+            //on keyset pagination the cursor already positions the query
+            query.setFirstResult(paginationData.hasAfterCursor() ? 0 : paginationData.getFirstResult());
+            query.setMaxResults(paginationData.getMaxResults() + (fetchExtraRow ? 1 : 0));
         }
     }
 
@@ -190,6 +643,25 @@ public abstract class GenericRepository<T> {
         return paginationData.getOrderField() + " " + getSortDirection(paginationData);
     }
 
+    /**
+     * Checks the sort field is a sortable attribute of the entity, a basic attribute as a text, a number or a date.
+     * The sort field comes from the clients, on the sort parameter or inside the keyset cursor, and it is concatenated on
+     * the query, so anything else is refused.
+     *
+     * @param sortFieldName the sort field name
+     * @throws InvalidPaginationException when the field is not a sortable attribute of the entity
+     */
+    private void checkSortFieldIsSortable(final String sortFieldName) {
+        for (final SingularAttribute<? super T, ?> attribute : getEntityManager().getMetamodel()
+                .entity(getPersistentClass()).getSingularAttributes()) {
+            if (attribute.getName().equals(sortFieldName)
+                    && attribute.getPersistentAttributeType() == PersistentAttributeType.BASIC) {
+                return;
+            }
+        }
+        throw new InvalidPaginationException("The field " + sortFieldName + " can not be used to sort");
+    }
+
     /**
      * Gets sort direction. ASC or DESC.
      *
@@ -212,4 +684,23 @@ public abstract class GenericRepository<T> {
         }
     }
 
+    /**
+     * Is constraint violation boolean. Whether a persistence exception was caused by the database refusing a row
+     * violating an integrity constraint (SQL state class 23), as a unique value already taken.
+     *
+     * @param e the persistence exception
+     * @return the boolean
+     */
+    protected static boolean isConstraintViolation(final PersistenceException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                final String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith("23")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,90 @@
+package com.library.app.common.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the number of rows found by a search, keyed by the search signature. The entries expire after a time to
+ * live and the least recently used ones are dropped when the cache is full. The entries of an entity are removed when
+ * it is changed through its repository on this node, changes made by other nodes are only seen once they expire.
+ */
+public class RowCountCache {
+
+    private final long timeToLiveInMillis;
+    private final Map<String, CachedCount> counts;
+
+    /**
+     * Constructor with parameters.
+     *
+     * @param timeToLiveInMillis the time to live in millis
+     * @param maxEntries         the max entries
+     */
+    public RowCountCache(final long timeToLiveInMillis, final int maxEntries) {
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.counts = new LinkedHashMap<String, CachedCount>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedCount> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the count of a search.
+     *
+     * @param searchSignature the search signature
+     * @return the count or null when it is not cached or it has expired
+     */
+    public synchronized Integer get(final String searchSignature) {
+        final CachedCount cachedCount = counts.get(searchSignature);
+        if (cachedCount == null) {
+            return null;
+        }
+        if (cachedCount.expiresAt < System.currentTimeMillis()) {
+            counts.remove(searchSignature);
+            return null;
+        }
+        return cachedCount.count;
+    }
+
+    /**
+     * Puts the count of a search.
+     *
+     * @param searchSignature the search signature
+     * @param count           the count
+     */
+    public synchronized void put(final String searchSignature, final int count) {
+        counts.put(searchSignature, new CachedCount(count, System.currentTimeMillis() + timeToLiveInMillis));
+    }
+
+    /**
+     * Removes the counts of the searches whose signature starts with a prefix, as all the searches of an entity.
+     *
+     * @param searchSignaturePrefix the search signature prefix
+     */
+    public synchronized void removeAll(final String searchSignaturePrefix) {
+        counts.keySet().removeIf(searchSignature -> searchSignature.startsWith(searchSignaturePrefix));
+    }
+
+    /**
+     * The count and when it expires.
+     */
+    private static class CachedCount {
+        private final int count;
+        private final long expiresAt;
+
+        /**
+         * Constructor with parameters.
+         *
+         * @param count     the count
+         * @param expiresAt the expires at
+         */
+        CachedCount(final int count, final long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
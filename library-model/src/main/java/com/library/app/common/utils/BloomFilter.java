@@ -0,0 +1,150 @@
+package com.library.app.common.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The type Bloom filter. A compact set of strings which answers whether a string might have been added: a string
+ * added is always found, a string not added is found with the false positive probability the filter was sized for,
+ * as long as no more strings than expected were added.
+ * Adding and reading do not lock, the bits are set with compare and set.
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final int expectedInsertions;
+    private final int numberOfBits;
+    private final int numberOfHashes;
+    private final AtomicLongArray bits;
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    /**
+     * Instantiates a new Bloom filter.
+     *
+     * @param expectedInsertions       the number of strings expected to be added
+     * @param falsePositiveProbability the false positive probability once the expected strings are added
+     */
+    public BloomFilter(final int expectedInsertions, final double falsePositiveProbability) {
+        if (expectedInsertions <= 0 || falsePositiveProbability <= 0D || falsePositiveProbability >= 1D) {
+            throw new IllegalArgumentException("Invalid bloom filter");
+        }
+        this.expectedInsertions = expectedInsertions;
+
+        final double ln2 = Math.log(2);
+        final long optimalNumberOfBits = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        this.numberOfBits = (int) Math.min(Integer.MAX_VALUE - Long.SIZE, Math.max(Long.SIZE, optimalNumberOfBits));
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) numberOfBits / expectedInsertions * ln2));
+        this.bits = new AtomicLongArray((numberOfBits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Add a string.
+     *
+     * @param value the value
+     */
+    public void add(final String value) {
+        final long hash = hash(value);
+        final int hash1 = (int) hash;
+        final int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numberOfHashes; i++) {
+            setBit(bitIndex(hash1, hash2, i));
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Might contain boolean. False when the string was certainly not added.
+     *
+     * @param value the value
+     * @return the boolean
+     */
+    public boolean mightContain(final String value) {
+        final long hash = hash(value);
+        final int hash1 = (int) hash;
+        final int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numberOfHashes; i++) {
+            final int bitIndex = bitIndex(hash1, hash2, i);
+            if ((bits.get(bitIndex / Long.SIZE) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Is saturated boolean. Whether more strings than expected were added, so the false positives are more frequent
+     * than the filter was sized for.
+     *
+     * @return the boolean
+     */
+    public boolean isSaturated() {
+        return insertions.get() > expectedInsertions;
+    }
+
+    /**
+     * Gets number of bits.
+     *
+     * @return the number of bits
+     */
+    public int getNumberOfBits() {
+        return numberOfBits;
+    }
+
+    /**
+     * Gets number of hashes.
+     *
+     * @return the number of hashes
+     */
+    public int getNumberOfHashes() {
+        return numberOfHashes;
+    }
+
+    /**
+     * Bit index of the i-th hash of a string, derived from two hashes (Kirsch and Mitzenmacher).
+     *
+     * @param hash1 the first hash
+     * @param hash2 the second hash
+     * @param i     the number of the hash
+     * @return the bit index
+     */
+    private int bitIndex(final int hash1, final int hash2, final int i) {
+        final int combinedHash = hash1 + i * hash2;
+        return (combinedHash & Integer.MAX_VALUE) % numberOfBits;
+    }
+
+    /**
+     * Set a bit.
+     *
+     * @param bitIndex the bit index
+     */
+    private void setBit(final int bitIndex) {
+        final int wordIndex = bitIndex / Long.SIZE;
+        final long mask = 1L << bitIndex;
+        long word = bits.get(wordIndex);
+        while ((word & mask) == 0 && !bits.compareAndSet(wordIndex, word, word | mask)) {
+            word = bits.get(wordIndex);
+        }
+    }
+
+    /**
+     * 64 bits FNV-1a hash of the chars of a string, mixed so both halves spread well.
+     *
+     * @param value the value
+     * @return the hash
+     */
+    private static long hash(final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -51,4 +51,16 @@ public final class DateUtils {
         final LocalDateTime localDateTime = LocalDateTime.now();
         return Date.from(localDateTime.plusDays(days).atZone(ZoneId.systemDefault()).toInstant());
     }
-}
\ No newline at end of file
+
+    /**
+     * Date plus days date. This method is used get a date and add a set of days to it.
+     *
+     * @param date the date
+     * @param days the days
+     * @return the date
+     */
+    public static Date datePlusDays(final Date date, final int days) {
+        final LocalDateTime localDateTime = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        return Date.from(localDateTime.plusDays(days).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,364 @@
+package com.library.app.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Frequency aware cache. A bounded cache whose entries expire after a time to live and which, when full,
+ * keeps the keys that are read the most.
+ * Reads do not lock: the entries are held on a concurrent map and each read only adds to the frequency of its key.
+ * Writes are serialized. When the cache is full a few entries are sampled at random and the least frequent of them is
+ * the victim; the new entry is only admitted when its key was read more often than the victim (TinyLFU admission), so
+ * a burst of keys read once does not flush the keys read all the time.
+ * The frequencies are estimated by a count-min sketch whose counters are halved periodically, so old popularity fades.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class FrequencyAwareCache<K, V> {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final int maxEntries;
+    private final long timeToLiveInMillis;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries;
+    //the entries by position, to sample the victims at random
+    private final List<Entry<K, V>> entriesByPosition;
+    private final FrequencySketch frequencySketch;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Instantiates a new Frequency aware cache.
+     *
+     * @param timeToLiveInMillis the time to live in millis
+     * @param maxEntries         the max entries
+     */
+    public FrequencyAwareCache(final long timeToLiveInMillis, final int maxEntries) {
+        if (timeToLiveInMillis <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid cache");
+        }
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>();
+        this.entriesByPosition = new ArrayList<>();
+        this.frequencySketch = new FrequencySketch(maxEntries);
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key the key
+     * @return the value or null when it is not cached or it has expired
+     */
+    public V get(final K key) {
+        return get(key, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the value of a key at a given time.
+     *
+     * @param key       the key
+     * @param nowMillis the current time in milliseconds
+     * @return the value or null when it is not cached or it has expired
+     */
+    V get(final K key, final long nowMillis) {
+        frequencySketch.increment(key);
+
+        final Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        if (entry.isExpired(nowMillis)) {
+            remove(entry);
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * Puts the value of a key. When the cache is full the value may not be admitted.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(final K key, final V value) {
+        put(key, value, System.currentTimeMillis());
+    }
+
+    /**
+     * Puts the value of a key at a given time.
+     *
+     * @param key       the key
+     * @param value     the value
+     * @param nowMillis the current time in milliseconds
+     * @return whether the value was admitted
+     */
+    synchronized boolean put(final K key, final V value, final long nowMillis) {
+        final Entry<K, V> existentEntry = entries.get(key);
+        if (existentEntry != null) {
+            remove(existentEntry);
+        }
+
+        while (entries.size() >= maxEntries) {
+            final Entry<K, V> victim = sampleVictim(nowMillis);
+            if (!victim.isExpired(nowMillis)
+                    && frequencySketch.frequency(key) <= frequencySketch.frequency(victim.key)) {
+                return false;
+            }
+            remove(victim);
+            evictionCount.increment();
+        }
+
+        final Entry<K, V> entry = new Entry<>(key, value, nowMillis + timeToLiveInMillis, entriesByPosition.size());
+        entriesByPosition.add(entry);
+        entries.put(key, entry);
+        putCount.increment();
+        return true;
+    }
+
+    /**
+     * Invalidate the value of a key.
+     *
+     * @param key the key
+     */
+    public void invalidate(final K key) {
+        final Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            remove(entry);
+        }
+    }
+
+    /**
+     * Invalidate all the values.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        entriesByPosition.clear();
+    }
+
+    /**
+     * Size int.
+     *
+     * @return the number of entries, including the expired ones not removed yet
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets hit count.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets miss count.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets put count.
+     *
+     * @return the put count
+     */
+    public long getPutCount() {
+        return putCount.sum();
+    }
+
+    /**
+     * Gets eviction count.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Sample victim. The first expired entry found or the least frequent entry of the sample.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return the victim
+     */
+    private Entry<K, V> sampleVictim(final long nowMillis) {
+        Entry<K, V> victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+            final Entry<K, V> candidate = entriesByPosition.get(
+                    ThreadLocalRandom.current().nextInt(entriesByPosition.size()));
+            if (candidate.isExpired(nowMillis)) {
+                return candidate;
+            }
+            final int candidateFrequency = frequencySketch.frequency(candidate.key);
+            if (candidateFrequency < victimFrequency) {
+                victim = candidate;
+                victimFrequency = candidateFrequency;
+            }
+        }
+        return victim;
+    }
+
+    /**
+     * Remove an entry, moving the last entry to its position.
+     *
+     * @param entry the entry
+     */
+    private synchronized void remove(final Entry<K, V> entry) {
+        if (!entries.remove(entry.key, entry)) {
+            return;
+        }
+        final Entry<K, V> lastEntry = entriesByPosition.remove(entriesByPosition.size() - 1);
+        if (lastEntry != entry) {
+            lastEntry.position = entry.position;
+            entriesByPosition.set(entry.position, lastEntry);
+        }
+    }
+
+    /**
+     * A value and when it expires.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long expiresAt;
+        private int position;
+
+        /**
+         * Constructor with parameters.
+         *
+         * @param key       the key
+         * @param value     the value
+         * @param expiresAt the expires at
+         * @param position  the position
+         */
+        Entry(final K key, final V value, final long expiresAt, final int position) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.position = position;
+        }
+
+        /**
+         * Is expired boolean.
+         *
+         * @param nowMillis the current time in milliseconds
+         * @return the boolean
+         */
+        boolean isExpired(final long nowMillis) {
+            return expiresAt <= nowMillis;
+        }
+    }
+
+    /**
+     * Count-min sketch of the frequency of the keys, with counters up to {@value #MAX_FREQUENCY}.
+     * The counters are updated atomically without locking; halving them is done by a single thread, the increments
+     * made meanwhile being halved or not depending on whether their counter was already halved.
+     */
+    private static class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_FREQUENCY = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final AtomicIntegerArray[] counters;
+        private final int mask;
+        private final int resetSize;
+        private final AtomicInteger increments = new AtomicInteger();
+
+        /**
+         * Constructor with parameters.
+         *
+         * @param maxEntries the max entries of the cache
+         */
+        FrequencySketch(final int maxEntries) {
+            final int width = Integer.highestOneBit(Math.max(16, maxEntries) * 4 - 1) * 2;
+            this.counters = new AtomicIntegerArray[DEPTH];
+            for (int row = 0; row < DEPTH; row++) {
+                counters[row] = new AtomicIntegerArray(width);
+            }
+            this.mask = width - 1;
+            this.resetSize = 10 * maxEntries;
+        }
+
+        /**
+         * Increment the frequency of a key, halving all the counters once enough increments were done.
+         *
+         * @param key the key
+         */
+        void increment(final Object key) {
+            final int hash = key.hashCode();
+            for (int row = 0; row < DEPTH; row++) {
+                counters[row].getAndUpdate(index(hash, row), count -> count < MAX_FREQUENCY ? count + 1 : count);
+            }
+
+            if (increments.incrementAndGet() >= resetSize) {
+                reset();
+            }
+        }
+
+        /**
+         * Halve all the counters, once by the first thread reaching the reset size.
+         */
+        private synchronized void reset() {
+            if (increments.get() < resetSize) {
+                return;
+            }
+            increments.set(0);
+            for (final AtomicIntegerArray rowCounters : counters) {
+                for (int i = 0; i < rowCounters.length(); i++) {
+                    rowCounters.updateAndGet(i, count -> count >>> 1);
+                }
+            }
+        }
+
+        /**
+         * Estimated frequency of a key, the lowest of its counters.
+         *
+         * @param key the key
+         * @return the frequency
+         */
+        int frequency(final Object key) {
+            final int hash = key.hashCode();
+            int frequency = MAX_FREQUENCY;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, counters[row].get(index(hash, row)));
+            }
+            return frequency;
+        }
+
+        /**
+         * Index of a key on a row.
+         *
+         * @param hash the hash of the key
+         * @param row  the row
+         * @return the index
+         */
+        private int index(final int hash, final int row) {
+            int mixed = (hash ^ SEEDS[row]) * SEEDS[row];
+            mixed ^= mixed >>> 16;
+            return mixed & mask;
+        }
+    }
+
+}
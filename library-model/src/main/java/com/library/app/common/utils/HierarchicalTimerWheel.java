@@ -0,0 +1,163 @@
+package com.library.app.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Hierarchical timer wheel. Holds values until their deadline with constant cost per value scheduled or due.
+ * Every level is a wheel of {@value #SLOTS_PER_LEVEL} slots; a slot of the first level spans one tick and a slot of
+ * each other level spans a whole turn of the level below. A value is put on the lowest level that covers its
+ * deadline and moves down a level each time the wheel reaches its slot, until it is due.
+ * Values whose deadline is beyond the last level wait on the last slot they can reach and are placed again from there.
+ *
+ * @param <T> the type parameter
+ */
+public class HierarchicalTimerWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<List<Timer<T>>> slots;
+    private final List<T> dueValues = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Instantiates a new Hierarchical timer wheel.
+     *
+     * @param tickMillis the duration of a tick in milliseconds
+     * @param levels     the number of levels
+     * @param nowMillis  the current time in milliseconds
+     */
+    public HierarchicalTimerWheel(final long tickMillis, final int levels, final long nowMillis) {
+        if (tickMillis <= 0 || levels <= 0 || levels * SLOT_BITS >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timer wheel");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.slots = new ArrayList<>(levels * SLOTS_PER_LEVEL);
+        for (int i = 0; i < levels * SLOTS_PER_LEVEL; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedule a value. The value is due on the first tick that is not before its deadline, so it is never due early.
+     *
+     * @param value          the value
+     * @param deadlineMillis the deadline in milliseconds
+     */
+    public synchronized void schedule(final T value, final long deadlineMillis) {
+        place(new Timer<>(value, (deadlineMillis + tickMillis - 1) / tickMillis));
+        size++;
+    }
+
+    /**
+     * Advance the wheel tick by tick until the current time.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return the values that became due
+     */
+    public synchronized List<T> advance(final long nowMillis) {
+        final long nowTick = nowMillis / tickMillis;
+        while (currentTick < nowTick) {
+            currentTick++;
+            cascade();
+            final List<Timer<T>> slot = slots.get(slotIndex(0, currentTick));
+            for (final Timer<T> timer : slot) {
+                dueValues.add(timer.value);
+            }
+            slot.clear();
+        }
+
+        final List<T> values = new ArrayList<>(dueValues);
+        dueValues.clear();
+        size -= values.size();
+        return values;
+    }
+
+    /**
+     * Clear all the values and restart the wheel from the current time.
+     *
+     * @param nowMillis the current time in milliseconds
+     */
+    public synchronized void clear(final long nowMillis) {
+        for (final List<Timer<T>> slot : slots) {
+            slot.clear();
+        }
+        dueValues.clear();
+        size = 0;
+        currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Size int.
+     *
+     * @return the number of values held
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Move the timers of the upper levels down when the current tick starts a new slot on them. The highest level is
+     * moved first so its timers can go on down to the first level.
+     */
+    private void cascade() {
+        int level = 0;
+        while (level + 1 < levels && (currentTick & (((long) SLOTS_PER_LEVEL << (level * SLOT_BITS)) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            final List<Timer<T>> slot = slots.get(slotIndex(level, currentTick));
+            final List<Timer<T>> timers = new ArrayList<>(slot);
+            slot.clear();
+            for (final Timer<T> timer : timers) {
+                place(timer);
+            }
+        }
+    }
+
+    private void place(final Timer<T> timer) {
+        final long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            dueValues.add(timer.value);
+            return;
+        }
+
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << ((level + 1) * SLOT_BITS)) {
+                slots.get(slotIndex(level, timer.deadlineTick)).add(timer);
+                return;
+            }
+        }
+        //beyond the last level, waits on the farthest slot and is placed again when it is reached
+        final int lastLevel = levels - 1;
+        final long farthestTick = currentTick + (1L << (levels * SLOT_BITS)) - 1;
+        slots.get(slotIndex(lastLevel, farthestTick)).add(timer);
+    }
+
+    private int slotIndex(final int level, final long tick) {
+        return level * SLOTS_PER_LEVEL + (int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+    }
+
+    /**
+     * A value and the tick it is due.
+     *
+     * @param <T> the type parameter
+     */
+    private static final class Timer<T> {
+        private final T value;
+        private final long deadlineTick;
+
+        private Timer(final T value, final long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+}
@@ -9,26 +9,38 @@ import java.util.Base64;
  */
 public final class PasswordUtils {
 
+    //MessageDigest instances are not thread safe, each thread keeps its own instead of looking one up per password
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(PasswordUtils::createDigest);
+
     private PasswordUtils() {
     }
 
     /**
-     * Encrypt password using SHA256.
+     * Encrypt password using SHA256. This is the legacy hash of the passwords, kept to verify the passwords stored
+     * before they were hashed by {@link com.library.app.user.password.PasswordHashingService}.
      *
      * @param password the password
      * @return the string
      */
     public static String encryptPassword(final String password) {
-        MessageDigest md = null;
+        final MessageDigest md = DIGESTS.get();
+        md.reset();
+
+        md.update(password.getBytes());
+        return Base64.getMimeEncoder().encodeToString(md.digest());
+    }
 
+    /**
+     * Create digest message digest.
+     *
+     * @return the message digest
+     */
+    private static MessageDigest createDigest() {
         try {
-            md = MessageDigest.getInstance("SHA-256");
+            return MessageDigest.getInstance("SHA-256");
         } catch (final NoSuchAlgorithmException e) {
             throw new IllegalArgumentException(e);
         }
-
-        md.update(password.getBytes());
-        return Base64.getMimeEncoder().encodeToString(md.digest());
     }
 
     //Use this method to pass a pasword and get the encrypted values off it
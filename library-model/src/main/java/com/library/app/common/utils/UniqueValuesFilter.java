@@ -0,0 +1,94 @@
+package com.library.app.common.utils;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The type Unique values filter. Tells whether a value of a unique column might already be taken, so the query
+ * checking it only runs when the value might be taken.
+ * It holds a {@link BloomFilter} of the values loaded from the database, to which the values added afterwards are
+ * added. Once more values than it was sized for were added, the filter is loaded again in the background, sized for
+ * twice the number of values; the saturated filter, which only finds more false positives, answers meanwhile.
+ * A value added by another node, or while the filter is loaded again, may not be found: the unique constraint of the
+ * column stays the final arbiter.
+ */
+public class UniqueValuesFilter {
+
+    private static final int MIN_EXPECTED_INSERTIONS = 10000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01D;
+
+    private final Supplier<Collection<String>> valuesLoader;
+    private final Executor reloadExecutor;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * Instantiates a new Unique values filter.
+     *
+     * @param valuesLoader   the loader of all the values of the column
+     * @param reloadExecutor the executor loading the filter again once saturated
+     */
+    public UniqueValuesFilter(final Supplier<Collection<String>> valuesLoader, final Executor reloadExecutor) {
+        this.valuesLoader = valuesLoader;
+        this.reloadExecutor = reloadExecutor;
+    }
+
+    /**
+     * Load the values of the column.
+     */
+    public synchronized void load() {
+        final Collection<String> values = valuesLoader.get();
+
+        final BloomFilter newBloomFilter = new BloomFilter(Math.max(MIN_EXPECTED_INSERTIONS, values.size() * 2),
+                FALSE_POSITIVE_PROBABILITY);
+        values.forEach(newBloomFilter::add);
+        bloomFilter = newBloomFilter;
+    }
+
+    /**
+     * Might exist boolean. False when the value was certainly not taken when the filter was loaded nor added since.
+     *
+     * @param value the value
+     * @return the boolean
+     */
+    public boolean mightExist(final String value) {
+        final BloomFilter currentBloomFilter = bloomFilter;
+        return currentBloomFilter == null || value == null || currentBloomFilter.mightContain(value);
+    }
+
+    /**
+     * Add a value taken.
+     *
+     * @param value the value
+     */
+    public void add(final String value) {
+        final BloomFilter currentBloomFilter = bloomFilter;
+        if (currentBloomFilter == null || value == null) {
+            return;
+        }
+        currentBloomFilter.add(value);
+        if (currentBloomFilter.isSaturated() && reloading.compareAndSet(false, true)) {
+            reload(currentBloomFilter);
+        }
+    }
+
+    private void reload(final BloomFilter saturatedBloomFilter) {
+        try {
+            reloadExecutor.execute(() -> {
+                try {
+                    if (saturatedBloomFilter == bloomFilter) {
+                        load();
+                    }
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            reloading.set(false);
+        }
+    }
+
+}
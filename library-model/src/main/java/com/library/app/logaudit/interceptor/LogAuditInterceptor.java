@@ -4,6 +4,7 @@ import com.library.app.logaudit.model.LogAudit;
 import com.library.app.logaudit.repository.LogAuditRepository;
 import com.library.app.user.exception.UserNotFoundException;
 import com.library.app.user.services.UserServices;
+import com.library.app.user.token.AuthenticatedCaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +27,9 @@ public class LogAuditInterceptor {
     @Inject
     private Principal principal;
 
+    @Inject
+    private AuthenticatedCaller authenticatedCaller;
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     /**
@@ -46,7 +50,7 @@ public class LogAuditInterceptor {
         try {
             processAuditableAnnotation(invocationContext);
         } catch (final UserNotFoundException e) {
-            logger.info("No user found for " + principal.getName());
+            logger.info("No user found for " + getCallerEmail());
         }
 
         return toReturn;
@@ -64,11 +68,24 @@ public class LogAuditInterceptor {
         //check that the method is annotated with the @auditable annotation
         if (auditable != null) {
             final String elementName = invocationContext.getParameters()[0].getClass().getSimpleName();
-            final LogAudit logAudit = new LogAudit(userServices.findByEmail(principal.getName()), auditable.action(),
-                    elementName);
+            //the user is only referenced by its id, it is not read to be audited
+            final LogAudit logAudit = new LogAudit(userServices.findReferenceByEmail(getCallerEmail()),
+                    auditable.action(), elementName);
             logger.debug("Creating log audit {}", logAudit);
             logAuditRepository.add(logAudit);
         }
     }
 
+    /**
+     * Gets the email of the caller, from its token when the request was authenticated with one.
+     *
+     * @return the caller email
+     */
+    private String getCallerEmail() {
+        if (authenticatedCaller.isAuthenticated()) {
+            return authenticatedCaller.getUserIdentity().getEmail();
+        }
+        return principal.getName();
+    }
+
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.validation.constraints.NotNull;
@@ -27,7 +28,9 @@ public class LogAudit implements Serializable {
     private static final long serialVersionUID = -6737238567613975932L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "logAuditIdGenerator")
+    @TableGenerator(name = "logAuditIdGenerator", table = "lib_id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "lib_log_audit", allocationSize = 50)
     private Long id;
 
     @Temporal(TemporalType.TIMESTAMP)
@@ -1,6 +1,7 @@
 package com.library.app.logaudit.repository;
 
 import com.library.app.common.model.PaginatedData;
+import com.library.app.common.model.filter.CountStrategy;
 import com.library.app.common.repository.GenericRepository;
 import com.library.app.logaudit.model.LogAudit;
 import com.library.app.logaudit.model.filter.LogAuditFilter;
@@ -33,6 +34,16 @@ public class LogAuditRepository extends GenericRepository<LogAudit> {
         return em;
     }
 
+    /**
+     * The log audit table only grows and counting it costs more than reading a page, so the count is reused for a while.
+     *
+     * @return the default count strategy
+     */
+    @Override
+    protected CountStrategy getDefaultCountStrategy() {
+        return CountStrategy.CACHED;
+    }
+
     /**
      * Find by filter paginated data.
      *
@@ -0,0 +1,12 @@
+package com.library.app.order.exception;
+
+import javax.ejb.ApplicationException;
+
+/**
+ * The type Order status conflict exception. Thrown when the order was changed by someone else since it was read.
+ */
+@ApplicationException
+public class OrderStatusConflictException extends RuntimeException {
+    private static final long serialVersionUID = 4870133937526870815L;
+
+}
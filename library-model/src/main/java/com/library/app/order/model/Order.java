@@ -3,6 +3,7 @@ package com.library.app.order.model;
 import com.library.app.book.model.Book;
 import com.library.app.user.model.Customer;
 
+import javax.persistence.CascadeType;
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.ElementCollection;
@@ -13,11 +14,19 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
+import javax.persistence.OneToMany;
+import javax.persistence.OrderBy;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import javax.persistence.Version;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -30,18 +39,41 @@ import java.util.Set;
  * The type Order.
  */
 @Entity
-@Table(name = "lib_order")
+@Table(name = "lib_order", indexes = {
+        @Index(name = "idx_order_status_created_at", columnList = "current_status, created_at"),
+        @Index(name = "idx_order_status_expires_at", columnList = "current_status, expires_at")})
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Order.FETCH_PLAN_WITH_CUSTOMER, attributeNodes = @NamedAttributeNode("customer")),
+        @NamedEntityGraph(name = Order.FETCH_PLAN_WITH_CUSTOMER_ITEMS_AND_HISTORY, attributeNodes = {
+                @NamedAttributeNode("customer"), @NamedAttributeNode("items"),
+                @NamedAttributeNode("historyEntries")})})
 public class Order implements Serializable {
     private static final long serialVersionUID = -8589662328013809186L;
 
+    /**
+     * Fetch plan joining the customer, used on paginated searches which do not show the items and the history.
+     */
+    public static final String FETCH_PLAN_WITH_CUSTOMER = "Order.withCustomer";
+
+    /**
+     * Fetch plan joining the customer, the items and the history, used to load a single order.
+     */
+    public static final String FETCH_PLAN_WITH_CUSTOMER_ITEMS_AND_HISTORY = "Order.withCustomerItemsAndHistory";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orderIdGenerator")
+    @TableGenerator(name = "orderIdGenerator", table = "lib_id_generator", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "lib_order", allocationSize = 50)
     private Long id;
 
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "created_at", updatable = false)
     private Date createdAt;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "expires_at", updatable = false)
+    private Date expiresAt;
+
     @ManyToOne
     @JoinColumn(name = "customer_id")
     @NotNull
@@ -79,8 +111,9 @@ public class Order implements Serializable {
         CANCELLED
     }
 
-    @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name = "lib_order_history", joinColumns = @JoinColumn(name = "order_id"))
+    //the history is owned by its entries, so a new status inserts its entry without rewriting the others
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @OrderBy("createdAt")
     @NotNull
     @Size(min = 1)
     @Valid
@@ -91,6 +124,13 @@ public class Order implements Serializable {
     @NotNull
     private OrderStatus currentStatus;
 
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "last_status_at")
+    private Date lastStatusAt;
+
+    @Version
+    private Long version;
+
     /**
      * Instantiates a new Order.
      */
@@ -128,6 +168,21 @@ public class Order implements Serializable {
      * @param status the status
      */
     public void addHistoryEntry(final OrderStatus status) {
+        checkStatusTransition(status);
+
+        final OrderHistoryEntry historyEntry = new OrderHistoryEntry(this, status);
+        getHistoryEntries().add(historyEntry);
+        this.currentStatus = status;
+        this.lastStatusAt = historyEntry.getCreatedAt();
+    }
+
+    /**
+     * Check status transition. Only a reserved order can have its status changed, to a different one.
+     *
+     * @param status the new status
+     * @throws IllegalArgumentException when the order cannot go to the new status
+     */
+    public void checkStatusTransition(final OrderStatus status) {
         if (this.currentStatus != null) {
             if (this.currentStatus != OrderStatus.RESERVED) {
                 throw new IllegalArgumentException("An order in the state " + currentStatus
@@ -137,9 +192,21 @@ public class Order implements Serializable {
                 throw new IllegalArgumentException("The new state must be different from the current one");
             }
         }
+    }
 
-        getHistoryEntries().add(new OrderHistoryEntry(status));
-        this.currentStatus = status;
+    /**
+     * Gets the history entry of a status.
+     *
+     * @param status the status
+     * @return the history entry or null when the order never had the status
+     */
+    public OrderHistoryEntry getHistoryEntry(final OrderStatus status) {
+        for (final OrderHistoryEntry historyEntry : getHistoryEntries()) {
+            if (historyEntry.getStatus() == status) {
+                return historyEntry;
+            }
+        }
+        return null;
     }
 
     /**
@@ -187,6 +254,24 @@ public class Order implements Serializable {
         this.createdAt = createdAt;
     }
 
+    /**
+     * Gets expires at. The reservation expires at this date when the order is still reserved.
+     *
+     * @return the expires at
+     */
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Sets expires at.
+     *
+     * @param expiresAt the expires at
+     */
+    public void setExpiresAt(final Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
     /**
      * Gets customer.
      *
@@ -283,6 +368,42 @@ public class Order implements Serializable {
         this.currentStatus = currentStatus;
     }
 
+    /**
+     * Gets last status at. The date the current status was set.
+     *
+     * @return the last status at
+     */
+    public Date getLastStatusAt() {
+        return lastStatusAt;
+    }
+
+    /**
+     * Sets last status at.
+     *
+     * @param lastStatusAt the last status at
+     */
+    public void setLastStatusAt(final Date lastStatusAt) {
+        this.lastStatusAt = lastStatusAt;
+    }
+
+    /**
+     * Gets version. The version is increased on every change of the order.
+     *
+     * @return the version
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets version.
+     *
+     * @param version the version
+     */
+    public void setVersion(final Long version) {
+        this.version = version;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,359 @@
+package com.library.app.order.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * The type Order expiration partition. An expiration run is split into ranges of order ids, and every node of the
+ * cluster claims ranges until none is left, so the nodes share the run without expiring the same orders.
+ * A claim must be renewed while the range is processed; a claim that ran out was abandoned by its node and can be
+ * claimed again.
+ */
+@Entity
+@Table(name = "lib_order_expiration_partition", indexes = @Index(name = "idx_order_expiration_partition_status", columnList = "status"))
+public class OrderExpirationPartition implements Serializable {
+    private static final long serialVersionUID = 2409478105625497370L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", updatable = false)
+    @NotNull
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_until", updatable = false)
+    @NotNull
+    private Date createdUntil;
+
+    @Column(name = "start_id", updatable = false)
+    @NotNull
+    private Long startId;
+
+    @Column(name = "end_id", updatable = false)
+    @NotNull
+    private Long endId;
+
+    /**
+     * The enum Partition status.
+     */
+    public enum PartitionStatus {
+        /**
+         * Available partition status.
+         */
+        AVAILABLE,
+        /**
+         * Claimed partition status.
+         */
+        CLAIMED,
+        /**
+         * Done partition status.
+         */
+        DONE
+    }
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private PartitionStatus status;
+
+    private String owner;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "claimed_at")
+    private Date claimedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "claim_expires_at")
+    private Date claimExpiresAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "finished_at")
+    private Date finishedAt;
+
+    @Column(name = "expired_orders")
+    @NotNull
+    private Integer expiredOrders;
+
+    /**
+     * Instantiates a new Order expiration partition.
+     */
+    public OrderExpirationPartition() {
+        this.createdAt = new Date();
+        this.status = PartitionStatus.AVAILABLE;
+        this.expiredOrders = 0;
+    }
+
+    /**
+     * Instantiates a new Order expiration partition.
+     *
+     * @param createdUntil the date until the orders to be expired were created
+     * @param startId      the first id of the range
+     * @param endId        the last id of the range
+     */
+    public OrderExpirationPartition(final Date createdUntil, final Long startId, final Long endId) {
+        this();
+        this.createdUntil = createdUntil;
+        this.startId = startId;
+        this.endId = endId;
+    }
+
+    /**
+     * Is abandoned boolean. A partition is abandoned when its node did not renew the claim in time.
+     *
+     * @param now the current date
+     * @return the boolean
+     */
+    public boolean isAbandoned(final Date now) {
+        return status == PartitionStatus.CLAIMED && claimExpiresAt != null && claimExpiresAt.before(now);
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets id.
+     *
+     * @param id the id
+     */
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets created at.
+     *
+     * @return the created at
+     */
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets created at.
+     *
+     * @param createdAt the created at
+     */
+    public void setCreatedAt(final Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gets created until.
+     *
+     * @return the created until
+     */
+    public Date getCreatedUntil() {
+        return createdUntil;
+    }
+
+    /**
+     * Sets created until.
+     *
+     * @param createdUntil the created until
+     */
+    public void setCreatedUntil(final Date createdUntil) {
+        this.createdUntil = createdUntil;
+    }
+
+    /**
+     * Gets start id.
+     *
+     * @return the start id
+     */
+    public Long getStartId() {
+        return startId;
+    }
+
+    /**
+     * Sets start id.
+     *
+     * @param startId the start id
+     */
+    public void setStartId(final Long startId) {
+        this.startId = startId;
+    }
+
+    /**
+     * Gets end id.
+     *
+     * @return the end id
+     */
+    public Long getEndId() {
+        return endId;
+    }
+
+    /**
+     * Sets end id.
+     *
+     * @param endId the end id
+     */
+    public void setEndId(final Long endId) {
+        this.endId = endId;
+    }
+
+    /**
+     * Gets status.
+     *
+     * @return the status
+     */
+    public PartitionStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets status.
+     *
+     * @param status the status
+     */
+    public void setStatus(final PartitionStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets owner.
+     *
+     * @return the owner
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Sets owner.
+     *
+     * @param owner the owner
+     */
+    public void setOwner(final String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Gets claimed at.
+     *
+     * @return the claimed at
+     */
+    public Date getClaimedAt() {
+        return claimedAt;
+    }
+
+    /**
+     * Sets claimed at.
+     *
+     * @param claimedAt the claimed at
+     */
+    public void setClaimedAt(final Date claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    /**
+     * Gets claim expires at.
+     *
+     * @return the claim expires at
+     */
+    public Date getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+
+    /**
+     * Sets claim expires at.
+     *
+     * @param claimExpiresAt the claim expires at
+     */
+    public void setClaimExpiresAt(final Date claimExpiresAt) {
+        this.claimExpiresAt = claimExpiresAt;
+    }
+
+    /**
+     * Gets finished at.
+     *
+     * @return the finished at
+     */
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Sets finished at.
+     *
+     * @param finishedAt the finished at
+     */
+    public void setFinishedAt(final Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Gets expired orders.
+     *
+     * @return the expired orders
+     */
+    public Integer getExpiredOrders() {
+        return expiredOrders;
+    }
+
+    /**
+     * Sets expired orders.
+     *
+     * @param expiredOrders the expired orders
+     */
+    public void setExpiredOrders(final Integer expiredOrders) {
+        this.expiredOrders = expiredOrders;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final OrderExpirationPartition other = (OrderExpirationPartition) obj;
+        if (id == null) {
+            if (other.id != null) {
+                return false;
+            }
+        } else if (!id.equals(other.id)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderExpirationPartition [id=" + id + ", createdUntil=" + createdUntil + ", startId=" + startId
+                + ", endId=" + endId + ", status=" + status + ", owner=" + owner + ", claimExpiresAt="
+                + claimExpiresAt + ", expiredOrders=" + expiredOrders + "]";
+    }
+
+}
@@ -3,9 +3,17 @@ package com.library.app.order.model;
 import com.library.app.order.model.Order.OrderStatus;
 
 import javax.persistence.Column;
-import javax.persistence.Embeddable;
+import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.validation.constraints.NotNull;
@@ -13,18 +21,30 @@ import java.io.Serializable;
 import java.util.Date;
 
 /**
- * The type Order history entry.
+ * The type Order history entry. Entries are insert only: a new status adds one row to the history of the order and
+ * never rewrites the rows already there. An order goes through a status at most once, so entries are equal when they
+ * have the same status.
  */
-@Embeddable
+@Entity
+@Table(name = "lib_order_history", indexes = @Index(name = "idx_order_history_order", columnList = "order_id"))
 public class OrderHistoryEntry implements Serializable {
     private static final long serialVersionUID = -5544853563085399050L;
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", updatable = false)
+    private Order order;
+
     @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
     @NotNull
     private OrderStatus status;
 
     @Temporal(TemporalType.TIMESTAMP)
-    @Column(name = "created_at")
+    @Column(name = "created_at", updatable = false)
     @NotNull
     private Date createdAt;
 
@@ -44,6 +64,53 @@ public class OrderHistoryEntry implements Serializable {
         this.createdAt = new Date();
     }
 
+    /**
+     * Instantiates a new Order history entry of an order.
+     *
+     * @param order  the order
+     * @param status the status
+     */
+    public OrderHistoryEntry(final Order order, final OrderStatus status) {
+        this(status);
+        this.order = order;
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Sets id.
+     *
+     * @param id the id
+     */
+    public void setId(final Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets order.
+     *
+     * @return the order
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Sets order.
+     *
+     * @param order the order
+     */
+    public void setOrder(final Order order) {
+        this.order = order;
+    }
+
     /**
      * Gets status.
      *
@@ -108,7 +175,7 @@ public class OrderHistoryEntry implements Serializable {
 
     @Override
     public String toString() {
-        return "OrderHistoryEntry [status=" + status + ", createdAt=" + createdAt + "]";
+        return "OrderHistoryEntry [id=" + id + ", status=" + status + ", createdAt=" + createdAt + "]";
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.library.app.order.repository;
+
+import com.library.app.common.repository.GenericRepository;
+import com.library.app.order.model.OrderExpirationPartition;
+import com.library.app.order.model.OrderExpirationPartition.PartitionStatus;
+
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TemporalType;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The type Order expiration partition repository. Partitions are claimed, renewed and finished with conditional
+ * updates, so two nodes never hold the same partition.
+ */
+@Stateless
+public class OrderExpirationPartitionRepository extends GenericRepository<OrderExpirationPartition> {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Override
+    protected Class<OrderExpirationPartition> getPersistentClass() {
+        return OrderExpirationPartition.class;
+    }
+
+    @Override
+    protected EntityManager getEntityManager() {
+        return em;
+    }
+
+    /**
+     * Exists unfinished boolean.
+     *
+     * @return whether any partition is not done yet
+     */
+    public boolean existsUnfinished() {
+        return em.createQuery("Select 1 From OrderExpirationPartition e Where e.status <> :status")
+                .setParameter("status", PartitionStatus.DONE)
+                .setMaxResults(1)
+                .getResultList().size() > 0;
+    }
+
+    /**
+     * Find the id of the first partition that can be claimed: an available one or one whose claim ran out.
+     *
+     * @param now the current date
+     * @return the id or null when no partition can be claimed
+     */
+    @SuppressWarnings("unchecked")
+    public Long findClaimableId(final Date now) {
+        final List<Long> ids = em.createQuery("Select e.id From OrderExpirationPartition e"
+                + " Where e.status = :available Or (e.status = :claimed And e.claimExpiresAt < :now) Order by e.id")
+                .setParameter("available", PartitionStatus.AVAILABLE)
+                .setParameter("claimed", PartitionStatus.CLAIMED)
+                .setParameter("now", now, TemporalType.TIMESTAMP)
+                .setMaxResults(1)
+                .getResultList();
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Claim a partition. The claim only succeeds when the partition is still available or its claim ran out.
+     *
+     * @param id             the id
+     * @param owner          the owner
+     * @param now            the current date
+     * @param claimExpiresAt the date the claim runs out when not renewed
+     * @return whether the partition was claimed
+     */
+    public boolean claim(final Long id, final String owner, final Date now, final Date claimExpiresAt) {
+        return em.createQuery("Update OrderExpirationPartition e Set e.status = :claimed, e.owner = :owner,"
+                + " e.claimedAt = :now, e.claimExpiresAt = :claimExpiresAt"
+                + " Where e.id = :id And (e.status = :available Or (e.status = :claimed And e.claimExpiresAt < :now))")
+                .setParameter("claimed", PartitionStatus.CLAIMED)
+                .setParameter("owner", owner)
+                .setParameter("now", now, TemporalType.TIMESTAMP)
+                .setParameter("claimExpiresAt", claimExpiresAt, TemporalType.TIMESTAMP)
+                .setParameter("id", id)
+                .setParameter("available", PartitionStatus.AVAILABLE)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * Renew the claim of a partition and add the orders expired since the last renewal.
+     *
+     * @param id             the id
+     * @param owner          the owner
+     * @param expiredOrders  the orders expired since the last renewal
+     * @param claimExpiresAt the date the claim runs out when not renewed
+     * @return whether the partition is still claimed by the owner
+     */
+    public boolean renewClaim(final Long id, final String owner, final int expiredOrders, final Date claimExpiresAt) {
+        return em.createQuery("Update OrderExpirationPartition e Set e.claimExpiresAt = :claimExpiresAt,"
+                + " e.expiredOrders = e.expiredOrders + :expiredOrders"
+                + " Where e.id = :id And e.owner = :owner And e.status = :claimed")
+                .setParameter("claimExpiresAt", claimExpiresAt, TemporalType.TIMESTAMP)
+                .setParameter("expiredOrders", expiredOrders)
+                .setParameter("id", id)
+                .setParameter("owner", owner)
+                .setParameter("claimed", PartitionStatus.CLAIMED)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * Finish a partition claimed by the owner.
+     *
+     * @param id         the id
+     * @param owner      the owner
+     * @param finishedAt the finished at
+     * @return whether the partition was finished
+     */
+    public boolean finish(final Long id, final String owner, final Date finishedAt) {
+        return em.createQuery("Update OrderExpirationPartition e Set e.status = :done, e.finishedAt = :finishedAt"
+                + " Where e.id = :id And e.owner = :owner And e.status = :claimed")
+                .setParameter("done", PartitionStatus.DONE)
+                .setParameter("finishedAt", finishedAt, TemporalType.TIMESTAMP)
+                .setParameter("id", id)
+                .setParameter("owner", owner)
+                .setParameter("claimed", PartitionStatus.CLAIMED)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * Delete the partitions finished before a date.
+     *
+     * @param finishedBefore the finished before
+     * @return the number of partitions deleted
+     */
+    public int deleteFinishedBefore(final Date finishedBefore) {
+        return em.createQuery("Delete From OrderExpirationPartition e Where e.status = :done"
+                + " And e.finishedAt < :finishedBefore")
+                .setParameter("done", PartitionStatus.DONE)
+                .setParameter("finishedBefore", finishedBefore, TemporalType.TIMESTAMP)
+                .executeUpdate();
+    }
+
+    /**
+     * Find the latest partitions, newest first.
+     *
+     * @param maxResults the max results
+     * @return the partitions
+     */
+    @SuppressWarnings("unchecked")
+    public List<OrderExpirationPartition> findLatest(final int maxResults) {
+        return em.createQuery("Select e From OrderExpirationPartition e Order by e.id Desc")
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+}
@@ -3,12 +3,20 @@ package com.library.app.order.repository;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.repository.GenericRepository;
 import com.library.app.order.model.Order;
+import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderHistoryEntry;
 import com.library.app.order.model.filter.OrderFilter;
 
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,15 +40,8 @@ public class OrderRepository extends GenericRepository<Order> {
 
     @Override
     public Order findById(final Long id) {
-        //Override the find by id method to for the laziness collection on order to be fetched from the database before the connection closes.
-        final Order order = super.findById(id);
-        if (order != null) {
-            //load all of its lazinees collections
-            order.getItems().size();
-            order.getHistoryEntries().size();
-        }
-
-        return order;
+        //Override the find by id method for the lazy collections of the order to be fetched with it on a single query
+        return findById(id, Order.FETCH_PLAN_WITH_CUSTOMER_ITEMS_AND_HISTORY);
     }
 
     /**
@@ -70,7 +71,188 @@ public class OrderRepository extends GenericRepository<Order> {
             queryParameters.put("endDate", orderFilter.getEndDate());
         }
 
-        return findByParameters(clause.toString(), orderFilter.getPaginationData(), queryParameters, "createdAt Desc");
+        return findByParameters(clause.toString(), orderFilter.getPaginationData(), queryParameters, "createdAt Desc",
+                Order.FETCH_PLAN_WITH_CUSTOMER);
+    }
+
+    /**
+     * Find ids of orders with a status created until a date, oldest first. The scan is backed by the index on
+     * (current_status, created_at).
+     *
+     * @param status       the status
+     * @param createdUntil the created until
+     * @param maxResults   the max results
+     * @return the ids
+     */
+    public List<Long> findIdsByStatusCreatedUntil(final OrderStatus status, final Date createdUntil,
+                                                  final int maxResults) {
+        return findIdsByStatusCreatedUntil(status, createdUntil, null, null, maxResults);
+    }
+
+    /**
+     * Find ids of orders with a status created until a date within a range of ids, oldest first.
+     *
+     * @param status       the status
+     * @param createdUntil the created until
+     * @param startId      the first id of the range, or null for no lower bound
+     * @param endId        the last id of the range, or null for no upper bound
+     * @param maxResults   the max results
+     * @return the ids
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> findIdsByStatusCreatedUntil(final OrderStatus status, final Date createdUntil,
+                                                  final Long startId, final Long endId, final int maxResults) {
+        final StringBuilder jpql = new StringBuilder(
+                "Select e.id From Order e Where e.currentStatus = :status And e.createdAt <= :createdUntil");
+        if (startId != null) {
+            jpql.append(" And e.id >= :startId");
+        }
+        if (endId != null) {
+            jpql.append(" And e.id <= :endId");
+        }
+        jpql.append(" Order by e.createdAt, e.id");
+
+        final Query query = em.createQuery(jpql.toString())
+                .setParameter("status", status)
+                .setParameter("createdUntil", createdUntil)
+                .setMaxResults(maxResults);
+        if (startId != null) {
+            query.setParameter("startId", startId);
+        }
+        if (endId != null) {
+            query.setParameter("endId", endId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Find the lowest and the highest id of the orders with a status created until a date.
+     *
+     * @param status       the status
+     * @param createdUntil the created until
+     * @return the lowest and the highest id, or null when there is no such order
+     */
+    public Long[] findIdRangeByStatusCreatedUntil(final OrderStatus status, final Date createdUntil) {
+        final Object[] range = (Object[]) em.createQuery("Select min(e.id), max(e.id) From Order e"
+                + " Where e.currentStatus = :status And e.createdAt <= :createdUntil")
+                .setParameter("status", status)
+                .setParameter("createdUntil", createdUntil)
+                .getSingleResult();
+        if (range[0] == null) {
+            return null;
+        }
+        return new Long[]{(Long) range[0], (Long) range[1]};
+    }
+
+    /**
+     * Find ids and expiration dates of orders with a status expiring within a period, soonest first. The scan is backed
+     * by the index on (current_status, expires_at).
+     *
+     * @param status        the status
+     * @param expiringAfter the start of the period, exclusive, or null for every order expiring until the end
+     * @param expiringUntil the end of the period, inclusive
+     * @return the rows holding the id and the expiration date of each order
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findIdsAndExpiresAtByStatusExpiringBetween(final OrderStatus status,
+                                                                     final Date expiringAfter,
+                                                                     final Date expiringUntil) {
+        final StringBuilder jpql = new StringBuilder(
+                "Select e.id, e.expiresAt From Order e Where e.currentStatus = :status And e.expiresAt <= :expiringUntil");
+        if (expiringAfter != null) {
+            jpql.append(" And e.expiresAt > :expiringAfter");
+        }
+        jpql.append(" Order by e.expiresAt");
+
+        final Query query = em.createQuery(jpql.toString())
+                .setParameter("status", status)
+                .setParameter("expiringUntil", expiringUntil, TemporalType.TIMESTAMP);
+        if (expiringAfter != null) {
+            query.setParameter("expiringAfter", expiringAfter, TemporalType.TIMESTAMP);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Change status of orders in bulk. The orders still on the expected status are selected and locked first, so
+     * exactly the ones selected are changed: their history entries are inserted with one statement, then their status is
+     * updated with another one. The persistence context is cleared afterwards as the bulk statements bypass it.
+     *
+     * @param ids            the ids of the orders
+     * @param expectedStatus the status the orders must have to be changed
+     * @param newStatus      the new status
+     * @return the ids of the orders changed
+     */
+    public List<Long> changeStatus(final List<Long> ids, final OrderStatus expectedStatus,
+                                   final OrderStatus newStatus) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Long> idsToChange = em.createQuery("Select e.id From Order e"
+                + " Where e.id in :ids And e.currentStatus = :expectedStatus", Long.class)
+                .setParameter("ids", ids)
+                .setParameter("expectedStatus", expectedStatus)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (idsToChange.isEmpty()) {
+            return idsToChange;
+        }
+        final Date changedAt = new Date();
+
+        em.createNativeQuery("Insert into lib_order_history (order_id, status, created_at)"
+                + " Select o.id, :newStatus, :changedAt From lib_order o"
+                + " Where o.id in (:ids) And o.current_status = :expectedStatus")
+                .setParameter("newStatus", newStatus.name())
+                .setParameter("changedAt", changedAt, TemporalType.TIMESTAMP)
+                .setParameter("ids", idsToChange)
+                .setParameter("expectedStatus", expectedStatus.name())
+                .executeUpdate();
+
+        em.createQuery("Update Order e Set e.currentStatus = :newStatus,"
+                + " e.lastStatusAt = :changedAt, e.version = e.version + 1"
+                + " Where e.id in :ids And e.currentStatus = :expectedStatus")
+                .setParameter("newStatus", newStatus)
+                .setParameter("changedAt", changedAt, TemporalType.TIMESTAMP)
+                .setParameter("ids", idsToChange)
+                .setParameter("expectedStatus", expectedStatus)
+                .executeUpdate();
+
+        em.clear();
+        invalidateRowCounts();
+        return idsToChange;
+    }
+
+    /**
+     * Update status of an order read on a version. The status set on the order in memory is written with a single
+     * conditional update, which only succeeds when the order is still reserved and still on the version read, and its
+     * history entry is then inserted. The order is detached first, so the changes made in memory are not flushed.
+     *
+     * @param order           the order with the new status already added to its history
+     * @param expectedVersion the version the order was read on
+     * @return whether the status was updated; false when the order was changed by someone else since it was read
+     */
+    public boolean updateStatus(final Order order, final Long expectedVersion) {
+        em.detach(order);
+
+        final int updatedOrders = em.createQuery("Update Order e Set e.currentStatus = :newStatus,"
+                + " e.lastStatusAt = :lastStatusAt, e.version = e.version + 1"
+                + " Where e.id = :id And e.currentStatus = :reserved And e.version = :version")
+                .setParameter("newStatus", order.getCurrentStatus())
+                .setParameter("lastStatusAt", order.getLastStatusAt(), TemporalType.TIMESTAMP)
+                .setParameter("id", order.getId())
+                .setParameter("reserved", OrderStatus.RESERVED)
+                .setParameter("version", expectedVersion)
+                .executeUpdate();
+        if (updatedOrders == 0) {
+            return false;
+        }
+
+        final OrderHistoryEntry historyEntry = order.getHistoryEntry(order.getCurrentStatus());
+        historyEntry.setOrder(em.getReference(Order.class, order.getId()));
+        em.persist(historyEntry);
+        order.setVersion(expectedVersion + 1);
+        invalidateRowCounts();
+        return true;
     }
 
-}
\ No newline at end of file
+}
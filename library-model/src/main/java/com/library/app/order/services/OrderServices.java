@@ -5,12 +5,15 @@ import com.library.app.common.exception.UserNotAuthorizedException;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.order.exception.OrderNotFoundException;
 import com.library.app.order.exception.OrderStatusCannotBeChangedException;
+import com.library.app.order.exception.OrderStatusConflictException;
 import com.library.app.order.model.Order;
 import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderExpirationPartition;
 import com.library.app.order.model.filter.OrderFilter;
 import com.library.app.user.exception.UserNotFoundException;
 
 import javax.ejb.Local;
+import java.util.List;
 
 /**
  * The interface Order services.
@@ -45,9 +48,10 @@ public interface OrderServices {
      * @throws OrderNotFoundException              the order not found exception
      * @throws OrderStatusCannotBeChangedException the order status cannot be changed exception
      * @throws UserNotAuthorizedException          the user not authorized exception
+     * @throws OrderStatusConflictException        when the order was changed by someone else meanwhile
      */
     void updateStatus(Long id, OrderStatus newStatus) throws OrderNotFoundException,
-            OrderStatusCannotBeChangedException, UserNotAuthorizedException;
+            OrderStatusCannotBeChangedException, UserNotAuthorizedException, OrderStatusConflictException;
 
     /**
      * Find by filter paginated data.
@@ -58,10 +62,27 @@ public interface OrderServices {
     PaginatedData<Order> findByFilter(OrderFilter orderFilter);
 
     /**
-     * Change status of expired orders.
+     * Plan the partitions of an expiration run. Only the node holding the expiration lease plans a run, and only when
+     * the partitions of the previous run are all done.
      *
      * @param daysBeforeOrderExpiration the days before order expiration
+     * @param node                      the name of the node
      */
-    void changeStatusOfExpiredOrders(int daysBeforeOrderExpiration);
+    void planExpirationPartitions(int daysBeforeOrderExpiration, String node);
+
+    /**
+     * Change status of expired orders of the partitions the node can claim, until no partition is left.
+     *
+     * @param node the name of the node
+     * @return the number of orders expired
+     */
+    int changeStatusOfExpiredOrdersOfClaimablePartitions(String node);
+
+    /**
+     * Find the latest expiration partitions, newest first.
+     *
+     * @return the partitions
+     */
+    List<OrderExpirationPartition> findLatestExpirationPartitions();
 
 }
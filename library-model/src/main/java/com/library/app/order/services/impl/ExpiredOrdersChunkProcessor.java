@@ -0,0 +1,68 @@
+package com.library.app.order.services.impl;
+
+import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Resource;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import javax.jms.JMSConnectionFactory;
+import javax.jms.JMSContext;
+import javax.jms.Queue;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Expired orders chunk processor. Expires a chunk of orders on its own transaction, so a backlog of expired
+ * orders is processed as many short transactions instead of a single long one.
+ */
+@Stateless
+public class ExpiredOrdersChunkProcessor {
+
+    /**
+     * Name of the message property telling the event of the message.
+     */
+    public static final String EVENT_PROPERTY = "event";
+
+    /**
+     * Event of the messages holding the ids of the orders expired on a chunk.
+     */
+    public static final String ORDERS_EXPIRED_EVENT = "ORDERS_EXPIRED";
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Resource(mappedName = "java:/jms/queue/Orders")
+    private Queue ordersQueue;
+    @Inject
+    @JMSConnectionFactory("java:jboss/DefaultJMSConnectionFactory")
+    private JMSContext jmsContext;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Expire orders. Only the orders still reserved are expired and a single message with the ids of the orders expired
+     * is published.
+     *
+     * @param ids the ids of the orders
+     * @return the number of orders expired
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public int expireOrders(final List<Long> ids) {
+        final List<Long> expiredIds = orderRepository.changeStatus(ids, OrderStatus.RESERVED,
+                OrderStatus.RESERVATION_EXPIRED);
+        logger.debug("{} of {} orders expired on chunk", expiredIds.size(), ids.size());
+
+        if (!expiredIds.isEmpty()) {
+            jmsContext.createProducer()
+                    .setProperty(EVENT_PROPERTY, ORDERS_EXPIRED_EVENT)
+                    .send(ordersQueue, new ArrayList<>(expiredIds));
+        }
+        return expiredIds.size();
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.library.app.order.services.impl;
+
+import com.library.app.common.appproperties.PropertyValue;
+import com.library.app.common.joblease.repository.JobLeaseRepository;
+import com.library.app.common.utils.HierarchicalTimerWheel;
+import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.ejb.EJBException;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The type Order expiration scheduler. Expires every order within seconds of its expiration date instead of waiting for
+ * the hourly {@link OrderExpiratorJob}, so the expirations are spread as the orders were placed.
+ * The orders expiring within the horizon are held on an in-memory timer wheel, which is rebuilt from the database when
+ * a node takes over the scheduler and is refilled every minute as the horizon moves on. Only the node holding the
+ * scheduler lease runs the wheel; the hourly job is kept as a safety net.
+ */
+@Singleton
+@Startup
+@Lock(LockType.READ)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class OrderExpirationScheduler {
+
+    /**
+     * Name of the lease held by the node running the scheduler.
+     */
+    static final String ORDER_EXPIRATION_SCHEDULER_LEASE = "order-expiration-scheduler";
+
+    private static final String NODE = System.getProperty("jboss.node.name",
+            ManagementFactory.getRuntimeMXBean().getName());
+
+    private static final long TICK_MILLIS = 1000L;
+    private static final int WHEEL_LEVELS = 3;
+    private static final long RETRY_DELAY_MILLIS = 10000L;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    JobLeaseRepository jobLeaseRepository;
+
+    @Inject
+    ExpiredOrdersChunkProcessor expiredOrdersChunkProcessor;
+
+    @PropertyValue(name = "order-expiration-horizon-minutes")
+    Integer orderExpirationHorizonMinutes;
+
+    @PropertyValue(name = "order-expiration-claim-minutes")
+    Integer orderExpirationClaimMinutes;
+
+    @PropertyValue(name = "order-expiration-chunk-size")
+    Integer orderExpirationChunkSize;
+
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private HierarchicalTimerWheel<Long> wheel;
+    private volatile boolean leaseHolder;
+    private volatile Date loadedUntil;
+
+    /**
+     * Init. Creates the wheel and takes over the scheduler when no other node holds it. A failure is left to the refill
+     * of the next minute, not to fail the deployment.
+     */
+    @PostConstruct
+    public void init() {
+        wheel = new HierarchicalTimerWheel<>(TICK_MILLIS, WHEEL_LEVELS, System.currentTimeMillis());
+        refill();
+    }
+
+    /**
+     * Schedule the expiration of an order. Orders expiring beyond the loaded horizon are left to be loaded by the refill,
+     * as are all orders when this node does not run the scheduler.
+     *
+     * @param orderId   the order id
+     * @param expiresAt the expires at
+     */
+    public void schedule(final Long orderId, final Date expiresAt) {
+        final Date until = loadedUntil;
+        if (leaseHolder && until != null && !expiresAt.after(until)) {
+            wheel.schedule(orderId, expiresAt.getTime());
+        }
+    }
+
+    /**
+     * Refill. Renews the scheduler lease and loads the orders expiring up to the end of the horizon. The wheel is rebuilt
+     * from the database when this node takes over the scheduler and dropped when it loses it.
+     */
+    @Schedule(hour = "*", minute = "*", second = "0", persistent = false)
+    public void refill() {
+        try {
+            refill(new Date());
+        } catch (final EJBException e) {
+            //another node created the lease at the same time, or the database is not reachable; retried next minute
+            logger.warn("Order expiration scheduler could not be refilled on {}", NODE, e);
+        }
+    }
+
+    /**
+     * Tick. Expires the orders that became due, in chunks. When a chunk fails, its orders and the ones of the following
+     * chunks are scheduled again to be retried.
+     */
+    @Schedule(hour = "*", minute = "*", second = "*", persistent = false)
+    public void tick() {
+        if (!leaseHolder || !ticking.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final List<Long> ids = wheel.advance(System.currentTimeMillis());
+            for (int start = 0; start < ids.size(); start += orderExpirationChunkSize) {
+                final List<Long> chunk = new ArrayList<>(
+                        ids.subList(start, Math.min(start + orderExpirationChunkSize, ids.size())));
+                try {
+                    final int expiredOrders = expiredOrdersChunkProcessor.expireOrders(chunk);
+                    logger.debug("{} of {} due orders expired", expiredOrders, chunk.size());
+                } catch (final EJBException e) {
+                    logger.warn("{} due orders could not be expired, retrying them", ids.size() - start, e);
+                    reschedule(ids.subList(start, ids.size()));
+                    return;
+                }
+            }
+        } finally {
+            ticking.set(false);
+        }
+    }
+
+    /**
+     * Gets number of scheduled orders.
+     *
+     * @return the number of orders held on the wheel
+     */
+    int getNumberOfScheduledOrders() {
+        return wheel.size();
+    }
+
+    /**
+     * Refill from a time.
+     *
+     * @param now the now
+     */
+    private void refill(final Date now) {
+        if (!jobLeaseRepository.acquire(ORDER_EXPIRATION_SCHEDULER_LEASE, NODE, now,
+                plusMinutes(now, orderExpirationClaimMinutes))) {
+            if (leaseHolder) {
+                logger.info("Order expiration scheduler taken over by another node, dropping the wheel of {}", NODE);
+                leaseHolder = false;
+                loadedUntil = null;
+                wheel.clear(now.getTime());
+            }
+            return;
+        }
+
+        final Date expiringAfter = leaseHolder ? loadedUntil : null;
+        if (!leaseHolder) {
+            wheel.clear(now.getTime());
+        }
+        final Date expiringUntil = plusMinutes(now, orderExpirationHorizonMinutes);
+        final List<Object[]> orders = orderRepository.findIdsAndExpiresAtByStatusExpiringBetween(OrderStatus.RESERVED,
+                expiringAfter, expiringUntil);
+        for (final Object[] order : orders) {
+            wheel.schedule((Long) order[0], ((Date) order[1]).getTime());
+        }
+        loadedUntil = expiringUntil;
+        if (!leaseHolder) {
+            logger.info("Order expiration scheduler running on {} with {} orders", NODE, orders.size());
+            leaseHolder = true;
+        }
+        logger.debug("{} orders loaded, {} orders expiring until {}", orders.size(), wheel.size(), expiringUntil);
+    }
+
+    /**
+     * Reschedule orders to be expired after the retry delay.
+     *
+     * @param ids the ids
+     */
+    private void reschedule(final List<Long> ids) {
+        final long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+        for (final Long id : ids) {
+            wheel.schedule(id, retryAt);
+        }
+    }
+
+    private Date plusMinutes(final Date date, final int minutes) {
+        return new Date(date.getTime() + TimeUnit.MINUTES.toMillis(minutes));
+    }
+
+}
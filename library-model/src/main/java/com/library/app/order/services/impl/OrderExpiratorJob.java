@@ -5,18 +5,32 @@ import com.library.app.order.services.OrderServices;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ejb.EJBException;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
 import javax.ejb.Schedule;
 import javax.ejb.Singleton;
 import javax.inject.Inject;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The type Order expirator job. This singleton bean will be used to run as batchlet every hour to mark the orders as expired.
+ * The job is scheduled on every node of the cluster: the node holding the expiration lease splits the run into
+ * partitions of order ids, and all the nodes claim partitions until none is left. A sweep every minute picks up
+ * partitions planned after the run of the node and partitions abandoned by a node that went down.
  */
 @Singleton
+@Lock(LockType.READ)
 public class OrderExpiratorJob {
 
+    private static final String NODE = System.getProperty("jboss.node.name",
+            ManagementFactory.getRuntimeMXBean().getName());
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private final AtomicBoolean claimingPartitions = new AtomicBoolean();
+
     @Inject
     private OrderServices orderServices;
 
@@ -30,8 +44,36 @@ public class OrderExpiratorJob {
     //@Schedule(hour = "*", minute = "*", persistent = false)
     @Schedule(hour = "*/1", minute = "0", second = "0", persistent = false)
     public void run() {
-        logger.debug("Executing order expirator job");
-        orderServices.changeStatusOfExpiredOrders(daysBeforeOrderExpiration);
+        logger.debug("Executing order expirator job on {}", NODE);
+        try {
+            orderServices.planExpirationPartitions(daysBeforeOrderExpiration, NODE);
+        } catch (final EJBException e) {
+            //another node created the lease at the same time
+            logger.warn("Expiration run could not be planned by {}", NODE, e);
+        }
+        claimPartitions();
+    }
+
+    /**
+     * Sweep. Claims the partitions left to be processed.
+     */
+    @Schedule(hour = "*", minute = "*", second = "30", persistent = false)
+    public void sweep() {
+        claimPartitions();
+    }
+
+    /**
+     * Claim partitions. A node claims partitions from a single thread at a time.
+     */
+    private void claimPartitions() {
+        if (!claimingPartitions.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            orderServices.changeStatusOfExpiredOrdersOfClaimablePartitions(NODE);
+        } finally {
+            claimingPartitions.set(false);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import javax.ejb.MessageDriven;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageListener;
+import java.util.List;
 
 /**
  * The type Order notification receiver jms. This class will be responsible for handling the messages on the queue.
@@ -24,6 +25,11 @@ public class OrderNotificationReceiverJMS implements MessageListener {
     @Override
     public void onMessage(final Message message) {
         try {
+            if (ExpiredOrdersChunkProcessor.ORDERS_EXPIRED_EVENT.equals(
+                    message.getStringProperty(ExpiredOrdersChunkProcessor.EVENT_PROPERTY))) {
+                logger.debug("Orders expired notification received for orders: {}", message.getBody(List.class));
+                return;
+            }
             logger.debug("Order notification received for order: {}", message.getBody(Order.class));
         } catch (final JMSException e) {
             e.printStackTrace();
@@ -2,33 +2,43 @@ package com.library.app.order.services.impl;
 
 import com.library.app.book.model.Book;
 import com.library.app.book.services.BookServices;
+import com.library.app.common.appproperties.PropertyValue;
 import com.library.app.common.exception.UserNotAuthorizedException;
+import com.library.app.common.joblease.repository.JobLeaseRepository;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.utils.DateUtils;
 import com.library.app.common.utils.ValidationUtils;
 import com.library.app.order.exception.OrderNotFoundException;
 import com.library.app.order.exception.OrderStatusCannotBeChangedException;
+import com.library.app.order.exception.OrderStatusConflictException;
 import com.library.app.order.model.Order;
 import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderExpirationPartition;
 import com.library.app.order.model.OrderItem;
 import com.library.app.order.model.filter.OrderFilter;
+import com.library.app.order.repository.OrderExpirationPartitionRepository;
 import com.library.app.order.repository.OrderRepository;
 import com.library.app.order.services.OrderServices;
 import com.library.app.user.model.Customer;
-import com.library.app.user.model.User;
 import com.library.app.user.model.User.Roles;
 import com.library.app.user.services.UserServices;
+import com.library.app.user.token.AuthenticatedCaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Resource;
 import javax.ejb.SessionContext;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 import javax.inject.Inject;
 import javax.jms.JMSConnectionFactory;
 import javax.jms.JMSContext;
 import javax.jms.Queue;
 import javax.validation.Validator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The type Order services.
@@ -36,6 +46,14 @@ import javax.validation.Validator;
 @Stateless
 public class OrderServicesImpl implements OrderServices {
 
+    /**
+     * Name of the lease held by the node planning the expiration runs.
+     */
+    static final String ORDER_EXPIRATION_LEASE = "order-expiration";
+
+    private static final int DAYS_TO_KEEP_FINISHED_PARTITIONS = 1;
+    private static final int MAX_LATEST_EXPIRATION_PARTITIONS = 100;
+
     @Inject
     OrderRepository orderRepository;
 
@@ -63,6 +81,36 @@ public class OrderServicesImpl implements OrderServices {
     @Resource
     SessionContext sessionContext;
 
+    @Inject
+    AuthenticatedCaller authenticatedCaller;
+
+    @Inject
+    ExpiredOrdersChunkProcessor expiredOrdersChunkProcessor;
+
+    @PropertyValue(name = "order-expiration-chunk-size")
+    Integer orderExpirationChunkSize;
+
+    @Inject
+    OrderExpirationPartitionRepository orderExpirationPartitionRepository;
+
+    @Inject
+    JobLeaseRepository jobLeaseRepository;
+
+    @PropertyValue(name = "order-expiration-partition-size")
+    Integer orderExpirationPartitionSize;
+
+    @PropertyValue(name = "order-expiration-claim-minutes")
+    Integer orderExpirationClaimMinutes;
+
+    @PropertyValue(name = "order-expiration-lease-minutes")
+    Integer orderExpirationLeaseMinutes;
+
+    @PropertyValue(name = "days-before-order-expiration")
+    Integer daysBeforeOrderExpiration;
+
+    @Inject
+    OrderExpirationScheduler orderExpirationScheduler;
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     @Override
@@ -72,6 +120,7 @@ public class OrderServicesImpl implements OrderServices {
 
         order.setInitialStatus();
         order.calculateTotal();
+        order.setExpiresAt(DateUtils.datePlusDays(order.getCreatedAt(), daysBeforeOrderExpiration));
 
         //validate base entity
         ValidationUtils.validateEntityFields(validator, order);
@@ -79,7 +128,9 @@ public class OrderServicesImpl implements OrderServices {
         //publish the event when order was placed
         sendEvent(order);
 
-        return orderRepository.add(order);
+        final Order orderAdded = orderRepository.add(order);
+        orderExpirationScheduler.schedule(orderAdded.getId(), orderAdded.getExpiresAt());
+        return orderAdded;
     }
 
     @Override
@@ -97,30 +148,34 @@ public class OrderServicesImpl implements OrderServices {
 
         //check that is an employee who is setting the order to delivered
         if (newStatus == OrderStatus.DELIVERED) {
-            if (!sessionContext.isCallerInRole(Roles.EMPLOYEE.name())) {
+            if (!isCallerInRole(Roles.EMPLOYEE)) {
                 throw new UserNotAuthorizedException();
             }
         }
 
         //check that is a customer cancelling the order, and is order owner
         if (newStatus == OrderStatus.CANCELLED) {
-            if (sessionContext.isCallerInRole(Roles.CUSTOMER.name())) {
-                if (!order.getCustomer().getEmail().equals(sessionContext.getCallerPrincipal().getName())) {
+            if (isCallerInRole(Roles.CUSTOMER)) {
+                if (!order.getCustomer().getEmail().equals(getCallerEmail())) {
                     throw new UserNotAuthorizedException();
                 }
             }
         }
 
+        final Long readVersion = order.getVersion();
         try {
             order.addHistoryEntry(newStatus);
         } catch (final IllegalArgumentException e) {
             throw new OrderStatusCannotBeChangedException(e.getMessage());
         }
 
+        //the database checks the order was not changed since it was read, so concurrent changes do not overwrite it
+        if (!orderRepository.updateStatus(order, readVersion)) {
+            throw new OrderStatusConflictException();
+        }
+
         //publish the event when order was updated
         sendEvent(order);
-
-        orderRepository.update(order);
     }
 
     @Override
@@ -128,33 +183,148 @@ public class OrderServicesImpl implements OrderServices {
         return orderRepository.findByFilter(orderFilter);
     }
 
+    /**
+     * Plan the partitions of an expiration run. The lease is taken with a conditional update on this transaction, so a
+     * node planning at the same time waits for this one to commit and then finds the lease held.
+     *
+     * @param daysBeforeOrderExpiration the days before order expiration
+     * @param node                      the name of the node
+     */
+    @Override
+    public void planExpirationPartitions(final int daysBeforeOrderExpiration, final String node) {
+        final Date now = new Date();
+        if (!jobLeaseRepository.acquire(ORDER_EXPIRATION_LEASE, node, now,
+                plusMinutes(now, orderExpirationLeaseMinutes))) {
+            logger.debug("Expiration lease held by another node, {} will only claim partitions", node);
+            return;
+        }
+        if (orderExpirationPartitionRepository.existsUnfinished()) {
+            logger.info("The partitions of the previous expiration run are not done, skipping the planning");
+            return;
+        }
+        orderExpirationPartitionRepository.deleteFinishedBefore(
+                DateUtils.currentDatePlusDays(-DAYS_TO_KEEP_FINISHED_PARTITIONS));
+
+        final Date createdUntil = DateUtils.currentDatePlusDays(-daysBeforeOrderExpiration);
+        final Long[] idRange = orderRepository.findIdRangeByStatusCreatedUntil(OrderStatus.RESERVED, createdUntil);
+        if (idRange == null) {
+            logger.debug("No order to be expired");
+            return;
+        }
+
+        int partitions = 0;
+        for (long startId = idRange[0]; startId <= idRange[1]; startId += orderExpirationPartitionSize) {
+            final long endId = Math.min(startId + orderExpirationPartitionSize - 1, idRange[1]);
+            orderExpirationPartitionRepository.add(new OrderExpirationPartition(createdUntil, startId, endId));
+            partitions++;
+        }
+        logger.info("{} expiration partitions planned by {} for the orders {} to {}", partitions, node, idRange[0],
+                idRange[1]);
+    }
+
+    /**
+     * Change status of expired orders of the partitions the node can claim. Every claim, renewal and chunk runs on its
+     * own transaction, so this method does not run in a transaction.
+     *
+     * @param node the name of the node
+     * @return the number of orders expired
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int changeStatusOfExpiredOrdersOfClaimablePartitions(final String node) {
+        int totalExpiredOrders = 0;
+        Long partitionId = orderExpirationPartitionRepository.findClaimableId(new Date());
+        while (partitionId != null) {
+            final Date now = new Date();
+            //another node may claim the partition in between, then the next one is tried
+            if (orderExpirationPartitionRepository.claim(partitionId, node, now,
+                    plusMinutes(now, orderExpirationClaimMinutes))) {
+                totalExpiredOrders += changeStatusOfExpiredOrdersOfPartition(
+                        orderExpirationPartitionRepository.findById(partitionId), node);
+            }
+            partitionId = orderExpirationPartitionRepository.findClaimableId(new Date());
+        }
+        logger.debug("{} orders expired by {}", totalExpiredOrders, node);
+        return totalExpiredOrders;
+    }
+
     @Override
-    public void changeStatusOfExpiredOrders(final int daysBeforeOrderExpiration) {
-        logger.debug("Finding order to be expired that are reserved with more than {} days", daysBeforeOrderExpiration);
-
-        //create a filter to get orders by specific date
-        final OrderFilter orderFilter = new OrderFilter();
-        orderFilter.setEndDate(DateUtils.currentDatePlusDays(-daysBeforeOrderExpiration));
-        orderFilter.setStatus(OrderStatus.RESERVED);
-
-        //get every order that should be changed to expired status
-        final PaginatedData<Order> ordersToBeExpired = findByFilter(orderFilter);
-        logger.debug("Found {} orders to be expired", ordersToBeExpired.getNumberOfRows());
-        for (final Order order : ordersToBeExpired.getRows()) {
-            //update the status of the order
-            updateStatus(order.getId(), OrderStatus.RESERVATION_EXPIRED);
+    public List<OrderExpirationPartition> findLatestExpirationPartitions() {
+        return orderExpirationPartitionRepository.findLatest(MAX_LATEST_EXPIRATION_PARTITIONS);
+    }
+
+    /**
+     * Change status of expired orders of a claimed partition. The claim is renewed after each chunk and the partition is
+     * left as soon as the claim is lost.
+     *
+     * @param partition the partition
+     * @param node      the name of the node
+     * @return the number of orders expired
+     */
+    private int changeStatusOfExpiredOrdersOfPartition(final OrderExpirationPartition partition, final String node) {
+        logger.debug("Expiring the orders of the partition {}", partition);
+        int expiredOrdersOfPartition = 0;
+        List<Long> ids = findIdsToBeExpired(partition);
+        while (!ids.isEmpty()) {
+            final int expiredOrders = expiredOrdersChunkProcessor.expireOrders(ids);
+            expiredOrdersOfPartition += expiredOrders;
+            if (!orderExpirationPartitionRepository.renewClaim(partition.getId(), node, expiredOrders,
+                    plusMinutes(new Date(), orderExpirationClaimMinutes))) {
+                logger.warn("The claim of the partition {} was lost by {}, leaving it", partition.getId(), node);
+                return expiredOrdersOfPartition;
+            }
+            if (expiredOrders == 0) {
+                logger.warn("No order of the chunk {} could be expired, stopping", ids);
+                break;
+            }
+            ids = findIdsToBeExpired(partition);
         }
-        logger.debug("Orders expired!");
+        orderExpirationPartitionRepository.finish(partition.getId(), node, new Date());
+        return expiredOrdersOfPartition;
+    }
+
+    private List<Long> findIdsToBeExpired(final OrderExpirationPartition partition) {
+        return orderRepository.findIdsByStatusCreatedUntil(OrderStatus.RESERVED, partition.getCreatedUntil(),
+                partition.getStartId(), partition.getEndId(), orderExpirationChunkSize);
+    }
+
+    private Date plusMinutes(final Date date, final int minutes) {
+        return new Date(date.getTime() + TimeUnit.MINUTES.toMillis(minutes));
     }
 
     /**
-     * Check customer and set it on order.
+     * Check customer and set it on order. The customer is a reference built from the identity of the caller, so the
+     * user is not read on every order.
      *
      * @param order the order
      */
     private void checkCustomerAndSetItOnOrder(final Order order) {
-        final User user = userServices.findByEmail(sessionContext.getCallerPrincipal().getName());
-        order.setCustomer((Customer) user);
+        order.setCustomer((Customer) userServices.findReferenceByEmail(getCallerEmail()));
+    }
+
+    /**
+     * Gets the email of the caller, from its token when the request was authenticated with one.
+     *
+     * @return the caller email
+     */
+    private String getCallerEmail() {
+        if (authenticatedCaller.isAuthenticated()) {
+            return authenticatedCaller.getUserIdentity().getEmail();
+        }
+        return sessionContext.getCallerPrincipal().getName();
+    }
+
+    /**
+     * Is caller in role boolean, from its token when the request was authenticated with one.
+     *
+     * @param role the role
+     * @return the boolean
+     */
+    private boolean isCallerInRole(final Roles role) {
+        if (authenticatedCaller.isAuthenticated()) {
+            return authenticatedCaller.isCallerInRole(role);
+        }
+        return sessionContext.isCallerInRole(role.name());
     }
 
     /**
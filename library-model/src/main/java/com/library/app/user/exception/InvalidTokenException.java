@@ -0,0 +1,22 @@
+package com.library.app.user.exception;
+
+import javax.ejb.ApplicationException;
+
+/**
+ * The type Invalid token exception. Thrown when an authentication token is malformed, was not signed by the
+ * application, has expired or was revoked.
+ */
+@ApplicationException
+public class InvalidTokenException extends RuntimeException {
+    private static final long serialVersionUID = 2893158620334876211L;
+
+    /**
+     * Instantiates a new Invalid token exception.
+     *
+     * @param message the message
+     */
+    public InvalidTokenException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.library.app.user.exception;
+
+import javax.ejb.ApplicationException;
+
+/**
+ * The type Password hashing busy exception. Thrown when a password can not be hashed because as many passwords as
+ * the hashing queue holds are already waiting for a worker, so the caller is told to retry later instead of waiting.
+ */
+@ApplicationException
+public class PasswordHashingBusyException extends RuntimeException {
+    private static final long serialVersionUID = -4470693457237402815L;
+
+    /**
+     * Instantiates a new Password hashing busy exception.
+     *
+     * @param message the message
+     */
+    public PasswordHashingBusyException(final String message) {
+        super(message);
+    }
+
+}
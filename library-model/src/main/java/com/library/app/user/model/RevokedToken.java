@@ -0,0 +1,89 @@
+package com.library.app.user.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * The type Revoked token. A row of this table holds the id of an authentication token revoked before it expires, so
+ * every node of the cluster rejects it. The row is only needed until the token expires.
+ */
+@Entity
+@Table(name = "lib_revoked_token")
+public class RevokedToken implements Serializable {
+    private static final long serialVersionUID = -2790465118430216532L;
+
+    @Id
+    @Column(name = "token_id")
+    private String tokenId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "expires_at")
+    @NotNull
+    private Date expiresAt;
+
+    /**
+     * Instantiates a new Revoked token.
+     */
+    public RevokedToken() {
+    }
+
+    /**
+     * Instantiates a new Revoked token.
+     *
+     * @param tokenId   the token id
+     * @param expiresAt the expires at
+     */
+    public RevokedToken(final String tokenId, final Date expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Gets token id.
+     *
+     * @return the token id
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * Sets token id.
+     *
+     * @param tokenId the token id
+     */
+    public void setTokenId(final String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    /**
+     * Gets expires at.
+     *
+     * @return the expires at
+     */
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Sets expires at.
+     *
+     * @param expiresAt the expires at
+     */
+    public void setExpiresAt(final Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RevokedToken [tokenId=" + tokenId + ", expiresAt=" + expiresAt + "]";
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.library.app.user.model;
+
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.User.UserType;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The type User identity. Immutable view of the columns of a user needed to tell who is logged in and what they are
+ * allowed to do, read with a projection instead of loading the user entity.
+ */
+public final class UserIdentity implements Serializable {
+    private static final long serialVersionUID = -6712436630952313873L;
+
+    private final Long id;
+    private final String email;
+    private final UserType userType;
+    private final List<Roles> roles;
+
+    /**
+     * Instantiates a new User identity.
+     *
+     * @param id       the id
+     * @param email    the email
+     * @param userType the user type
+     * @param roles    the roles
+     */
+    public UserIdentity(final Long id, final String email, final UserType userType, final List<Roles> roles) {
+        this.id = id;
+        this.email = email;
+        this.userType = userType;
+        this.roles = Collections.unmodifiableList(roles);
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets email.
+     *
+     * @return the email
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Gets user type.
+     *
+     * @return the user type
+     */
+    public UserType getUserType() {
+        return userType;
+    }
+
+    /**
+     * Gets roles.
+     *
+     * @return the roles
+     */
+    public List<Roles> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Has role boolean.
+     *
+     * @param role the role
+     * @return the boolean
+     */
+    public boolean hasRole(final Roles role) {
+        return roles.contains(role);
+    }
+
+    @Override
+    public String toString() {
+        return "UserIdentity [id=" + id + ", email=" + email + ", userType=" + userType + ", roles=" + roles + "]";
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.library.app.user.password;
+
+import com.library.app.common.appproperties.PropertyValue;
+import com.library.app.common.utils.PasswordUtils;
+import com.library.app.user.exception.PasswordHashingBusyException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.enterprise.context.ApplicationScoped;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Password hashing service. Hashes the passwords with PBKDF2-HMAC-SHA256 and a random salt, stored as
+ * "$pbkdf2-sha256$iterations$salt$hash" so the cost can be raised later without invalidating the stored passwords.
+ * The hashes are computed by a fixed number of workers: as hashing is meant to be slow, a burst of logins would
+ * otherwise take every request thread. When as many passwords as the queue holds are waiting for a worker the caller
+ * fails fast with {@link PasswordHashingBusyException} instead of queuing without bound.
+ * The passwords stored with the legacy SHA-256 hash of {@link PasswordUtils} are still verified, and reported by
+ * {@link #needsRehash(String)} so they are hashed again when their user logs in.
+ */
+@ApplicationScoped
+public class PasswordHashingService {
+
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "$pbkdf2-sha256$";
+    private static final String FIELD_SEPARATOR = "\\$";
+    private static final int NUMBER_OF_FIELDS = 5;
+    private static final int SALT_SIZE_IN_BYTES = 16;
+    private static final int HASH_SIZE_IN_BYTES = 32;
+
+    //SecretKeyFactory instances are not thread safe, each worker keeps its own instead of looking one up per password
+    private static final ThreadLocal<SecretKeyFactory> SECRET_KEY_FACTORIES =
+            ThreadLocal.withInitial(PasswordHashingService::createSecretKeyFactory);
+
+    @PropertyValue(name = "password-hash-iterations")
+    Integer iterations;
+
+    @PropertyValue(name = "password-hashing-threads")
+    Integer threads;
+
+    @PropertyValue(name = "password-hashing-queue-size")
+    Integer queueSize;
+
+    @Resource
+    ManagedThreadFactory managedThreadFactory;
+
+    ThreadPoolExecutor executor;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+    private final Base64.Decoder decoder = Base64.getDecoder();
+
+    /**
+     * Init. Starts the workers, on threads of the container when it provides them.
+     */
+    @PostConstruct
+    public void init() {
+        final ThreadFactory threadFactory = managedThreadFactory != null ? managedThreadFactory
+                : Executors.defaultThreadFactory();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Shutdown. Stops the workers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hash a password with a new salt.
+     *
+     * @param password the password
+     * @return the hash to be stored
+     * @throws PasswordHashingBusyException when the hashing queue is full
+     */
+    public String hash(final String password) throws PasswordHashingBusyException {
+        final byte[] salt = new byte[SALT_SIZE_IN_BYTES];
+        secureRandom.nextBytes(salt);
+        final int hashIterations = iterations;
+
+        final byte[] hash = execute(() -> pbkdf2(password, salt, hashIterations));
+        return PREFIX + hashIterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Matches boolean. Whether a password is the one a stored hash was computed from, either a PBKDF2 hash or a
+     * legacy SHA-256 hash.
+     *
+     * @param password   the password
+     * @param storedHash the stored hash
+     * @return the boolean
+     * @throws PasswordHashingBusyException when the hashing queue is full
+     */
+    public boolean matches(final String password, final String storedHash) throws PasswordHashingBusyException {
+        if (!isPbkdf2Hash(storedHash)) {
+            //the legacy hash is cheap, it is not worth a worker
+            return MessageDigest.isEqual(storedHash.getBytes(StandardCharsets.UTF_8),
+                    PasswordUtils.encryptPassword(password).getBytes(StandardCharsets.UTF_8));
+        }
+
+        final String[] fields = storedHash.split(FIELD_SEPARATOR);
+        if (fields.length != NUMBER_OF_FIELDS) {
+            return false;
+        }
+        final int hashIterations;
+        final byte[] salt;
+        final byte[] expectedHash;
+        try {
+            hashIterations = Integer.parseInt(fields[2]);
+            salt = decoder.decode(fields[3]);
+            expectedHash = decoder.decode(fields[4]);
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+
+        final byte[] hash = execute(() -> pbkdf2(password, salt, hashIterations));
+        return MessageDigest.isEqual(expectedHash, hash);
+    }
+
+    /**
+     * Needs rehash boolean. Whether a stored hash is a legacy SHA-256 hash or was computed with fewer iterations than
+     * the current ones, so it should be replaced once the password is known.
+     *
+     * @param storedHash the stored hash
+     * @return the boolean
+     */
+    public boolean needsRehash(final String storedHash) {
+        if (!isPbkdf2Hash(storedHash)) {
+            return true;
+        }
+        final String[] fields = storedHash.split(FIELD_SEPARATOR);
+        try {
+            return fields.length != NUMBER_OF_FIELDS || Integer.parseInt(fields[2]) < iterations;
+        } catch (final NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Execute a hashing task on a worker, waiting for its result.
+     *
+     * @param task the task
+     * @param <T>  the type of the result
+     * @return the result
+     * @throws PasswordHashingBusyException when the hashing queue is full
+     */
+    private <T> T execute(final Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (final RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("The password hashing queue is full");
+        }
+
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Error while hashing a password", e.getCause());
+        }
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256 of a password, from the JDK, deriving {@value #HASH_SIZE_IN_BYTES} bytes.
+     *
+     * @param password   the password
+     * @param salt       the salt
+     * @param iterations the iterations
+     * @return the hash
+     */
+    static byte[] pbkdf2(final String password, final byte[] salt, final int iterations) {
+        final PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_SIZE_IN_BYTES * 8);
+        try {
+            return SECRET_KEY_FACTORIES.get().generateSecret(keySpec).getEncoded();
+        } catch (final InvalidKeySpecException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+
+    /**
+     * Is pbkdf 2 hash boolean.
+     *
+     * @param storedHash the stored hash
+     * @return the boolean
+     */
+    private static boolean isPbkdf2Hash(final String storedHash) {
+        return storedHash.startsWith(PREFIX);
+    }
+
+    /**
+     * Create secret key factory.
+     *
+     * @return the secret key factory
+     */
+    private static SecretKeyFactory createSecretKeyFactory() {
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.library.app.user.repository;
+
+import com.library.app.user.model.RevokedToken;
+
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TemporalType;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The type Revoked token repository. Holds the denylist of the revoked authentication tokens shared by the nodes of the
+ * cluster, which every node copies to memory.
+ */
+@Stateless
+public class RevokedTokenRepository {
+
+    @PersistenceContext
+    EntityManager em;
+
+    /**
+     * Add a revoked token. A token revoked twice keeps its first row.
+     *
+     * @param revokedToken the revoked token
+     */
+    public void add(final RevokedToken revokedToken) {
+        if (em.find(RevokedToken.class, revokedToken.getTokenId()) == null) {
+            em.persist(revokedToken);
+        }
+    }
+
+    /**
+     * Find the revoked tokens which did not expire yet.
+     *
+     * @param now the current date
+     * @return the revoked tokens
+     */
+    @SuppressWarnings("unchecked")
+    public List<RevokedToken> findAllNotExpired(final Date now) {
+        return em.createQuery("Select e From RevokedToken e Where e.expiresAt > :now")
+                .setParameter("now", now, TemporalType.TIMESTAMP)
+                .getResultList();
+    }
+
+    /**
+     * Delete the revoked tokens which already expired, as they are rejected anyway.
+     *
+     * @param now the current date
+     * @return the number of revoked tokens deleted
+     */
+    public int deleteExpired(final Date now) {
+        return em.createQuery("Delete From RevokedToken e Where e.expiresAt <= :now")
+                .setParameter("now", now, TemporalType.TIMESTAMP)
+                .executeUpdate();
+    }
+
+}
@@ -2,14 +2,23 @@ package com.library.app.user.repository;
 
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.repository.GenericRepository;
+import com.library.app.user.exception.UserExistentException;
+import com.library.app.user.model.Customer;
+import com.library.app.user.model.Employee;
 import com.library.app.user.model.User;
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.User.UserType;
+import com.library.app.user.model.UserIdentity;
 import com.library.app.user.model.filter.UserFilter;
 
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,6 +43,48 @@ public class UserRepository extends GenericRepository<User> {
         return em;
     }
 
+    /**
+     * Add a user. The insert is flushed, so a user with an email already taken is refused here by the unique
+     * constraint of the email even when no query checked it before.
+     *
+     * @param user the user
+     * @return the user
+     * @throws UserExistentException when the email is already taken
+     */
+    @Override
+    public User add(final User user) throws UserExistentException {
+        try {
+            super.add(user);
+            em.flush();
+        } catch (final PersistenceException e) {
+            if (isConstraintViolation(e)) {
+                throw new UserExistentException();
+            }
+            throw e;
+        }
+        return user;
+    }
+
+    /**
+     * Update a user. The update is flushed, so an email changed to one already taken is refused here by the unique
+     * constraint of the email even when no query checked it before.
+     *
+     * @param user the user
+     * @throws UserExistentException when the email is already taken
+     */
+    @Override
+    public void update(final User user) throws UserExistentException {
+        try {
+            super.update(user);
+            em.flush();
+        } catch (final PersistenceException e) {
+            if (isConstraintViolation(e)) {
+                throw new UserExistentException();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Already exists boolean.
      *
@@ -44,6 +95,15 @@ public class UserRepository extends GenericRepository<User> {
         return alreadyExists("email", user.getEmail(), user.getId());
     }
 
+    /**
+     * Find all emails.
+     *
+     * @return the emails of all the users
+     */
+    public List<String> findAllEmails() {
+        return findAllValuesOf("email");
+    }
+
     /**
      * Find user by email user.
      *
@@ -60,6 +120,44 @@ public class UserRepository extends GenericRepository<User> {
         }
     }
 
+    /**
+     * Find the identity of a user by email, reading its id, type and roles on a single query without loading the user.
+     *
+     * @param email the email
+     * @return the user identity, null when there is no user with the email
+     */
+    @SuppressWarnings("unchecked")
+    public UserIdentity findIdentityByEmail(final String email) {
+        final List<Object[]> rows = em.createQuery(
+                "Select e.id, e.userType, r From User e Left Join e.roles r Where e.email = :email")
+                .setParameter("email", email)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        final List<Roles> roles = new ArrayList<>(rows.size());
+        for (final Object[] row : rows) {
+            if (row[2] != null) {
+                roles.add((Roles) row[2]);
+            }
+        }
+        return new UserIdentity((Long) rows.get(0)[0], email, (UserType) rows.get(0)[1], roles);
+    }
+
+    /**
+     * Gets a reference to a user, of the class of its type, without reading it. The user is only read if the
+     * reference is used for more than its id.
+     *
+     * @param userIdentity the user identity
+     * @return the user
+     */
+    public User getReference(final UserIdentity userIdentity) {
+        final Class<? extends User> userClass = userIdentity.getUserType() == UserType.EMPLOYEE ? Employee.class
+                : Customer.class;
+        return em.getReference(userClass, userIdentity.getId());
+    }
+
     /**
      * Find users by filter paginated data.
      *
@@ -5,6 +5,7 @@ import com.library.app.common.model.PaginatedData;
 import com.library.app.user.exception.UserExistentException;
 import com.library.app.user.exception.UserNotFoundException;
 import com.library.app.user.model.User;
+import com.library.app.user.model.UserIdentity;
 import com.library.app.user.model.filter.UserFilter;
 
 import javax.ejb.Local;
@@ -63,7 +64,27 @@ public interface UserServices {
     User findByEmail(String email) throws UserNotFoundException;
 
     /**
-     * Find by email and password user.
+     * Find the identity of a user by email. The identity is read once per request and kept on a bounded cache shared by
+     * the requests.
+     *
+     * @param email the email
+     * @return the user identity
+     * @throws UserNotFoundException the user not found exception
+     */
+    UserIdentity findIdentityByEmail(String email) throws UserNotFoundException;
+
+    /**
+     * Find a reference to a user by email, to be set on an association without reading the user.
+     *
+     * @param email the email
+     * @return the user
+     * @throws UserNotFoundException the user not found exception
+     */
+    User findReferenceByEmail(String email) throws UserNotFoundException;
+
+    /**
+     * Find by email and password user. A password stored with a legacy or weaker hash is hashed again, now that it
+     * is known.
      *
      * @param email    the email
      * @param password the password
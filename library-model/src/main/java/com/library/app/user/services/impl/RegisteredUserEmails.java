@@ -0,0 +1,69 @@
+package com.library.app.user.services.impl;
+
+import com.library.app.common.utils.UniqueValuesFilter;
+import com.library.app.user.repository.UserRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.inject.Inject;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The type Registered user emails. The emails of the users, loaded on start up, so registering a user only queries
+ * whether its email is taken when it might be.
+ */
+@Singleton
+@Startup
+@Lock(LockType.READ)
+@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+public class RegisteredUserEmails {
+
+    @Inject
+    UserRepository userRepository;
+
+    @Resource
+    ManagedExecutorService managedExecutorService;
+
+    private UniqueValuesFilter emails;
+
+    /**
+     * Init. Loads the emails of the users, to be loaded again on threads of the container when it provides them.
+     */
+    @PostConstruct
+    public void init() {
+        emails = new UniqueValuesFilter(userRepository::findAllEmails, getReloadExecutor());
+        emails.load();
+    }
+
+    private Executor getReloadExecutor() {
+        return managedExecutorService != null ? managedExecutorService : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Might exist boolean. False when no user certainly has the email.
+     *
+     * @param email the email
+     * @return the boolean
+     */
+    public boolean mightExist(final String email) {
+        return emails.mightExist(email);
+    }
+
+    /**
+     * Add the email of a user.
+     *
+     * @param email the email
+     */
+    public void add(final String email) {
+        emails.add(email);
+    }
+
+}
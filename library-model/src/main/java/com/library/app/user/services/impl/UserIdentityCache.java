@@ -0,0 +1,50 @@
+package com.library.app.user.services.impl;
+
+import com.library.app.common.utils.FrequencyAwareCache;
+import com.library.app.user.model.UserIdentity;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type User identity cache. Bounded application wide cache of the identities of the users by email, shared by
+ * all the requests so the logged user is not read from the database on each call.
+ */
+@ApplicationScoped
+public class UserIdentityCache {
+
+    private static final long TIME_TO_LIVE_IN_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int MAX_ENTRIES = 10000;
+
+    private final FrequencyAwareCache<String, UserIdentity> identitiesByEmail = new FrequencyAwareCache<>(
+            TIME_TO_LIVE_IN_MILLIS, MAX_ENTRIES);
+
+    /**
+     * Gets the identity of an email.
+     *
+     * @param email the email
+     * @return the user identity, null when it is not cached
+     */
+    public UserIdentity get(final String email) {
+        return identitiesByEmail.get(email);
+    }
+
+    /**
+     * Put the identity of a user.
+     *
+     * @param userIdentity the user identity
+     */
+    public void put(final UserIdentity userIdentity) {
+        identitiesByEmail.put(userIdentity.getEmail(), userIdentity);
+    }
+
+    /**
+     * Invalidate the identity of an email.
+     *
+     * @param email the email
+     */
+    public void invalidate(final String email) {
+        identitiesByEmail.invalidate(email);
+    }
+
+}
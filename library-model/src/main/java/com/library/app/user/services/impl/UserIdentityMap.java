@@ -0,0 +1,46 @@
+package com.library.app.user.services.impl;
+
+import com.library.app.user.model.UserIdentity;
+
+import javax.enterprise.context.RequestScoped;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The type User identity map. Holds the identities already read during the current request, so the logged user is
+ * looked up once per request whatever the number of services asking for it.
+ */
+@RequestScoped
+public class UserIdentityMap {
+
+    private final Map<String, UserIdentity> identitiesByEmail = new HashMap<>();
+
+    /**
+     * Gets the identity of an email.
+     *
+     * @param email the email
+     * @return the user identity, null when it was not read during the request
+     */
+    public UserIdentity get(final String email) {
+        return identitiesByEmail.get(email);
+    }
+
+    /**
+     * Put the identity of a user.
+     *
+     * @param userIdentity the user identity
+     */
+    public void put(final UserIdentity userIdentity) {
+        identitiesByEmail.put(userIdentity.getEmail(), userIdentity);
+    }
+
+    /**
+     * Remove the identity of an email.
+     *
+     * @param email the email
+     */
+    public void remove(final String email) {
+        identitiesByEmail.remove(email);
+    }
+
+}
@@ -1,24 +1,31 @@
 package com.library.app.user.services.impl;
 
+import com.library.app.cache.interceptor.CachedResult;
+import com.library.app.cache.interceptor.InvalidatesCache;
+import com.library.app.cache.interceptor.ResultCacheInterceptor;
+import com.library.app.cache.interceptor.ResultCaches;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.model.PaginatedData;
-import com.library.app.common.utils.PasswordUtils;
 import com.library.app.common.utils.ValidationUtils;
 import com.library.app.user.exception.UserExistentException;
 import com.library.app.user.exception.UserNotFoundException;
 import com.library.app.user.model.User;
+import com.library.app.user.model.UserIdentity;
 import com.library.app.user.model.filter.UserFilter;
+import com.library.app.user.password.PasswordHashingService;
 import com.library.app.user.repository.UserRepository;
 import com.library.app.user.services.UserServices;
 
 import javax.ejb.Stateless;
 import javax.inject.Inject;
+import javax.interceptor.Interceptors;
 import javax.validation.Validator;
 
 /**
  * The type User services business logic.
  */
 @Stateless
+@Interceptors(ResultCacheInterceptor.class)
 public class UserServicesImpl implements UserServices {
 
     @Inject
@@ -27,14 +34,32 @@ public class UserServicesImpl implements UserServices {
     @Inject
     Validator validator;
 
+    @Inject
+    UserIdentityCache userIdentityCache;
+
+    @Inject
+    UserIdentityMap userIdentityMap;
+
+    @Inject
+    PasswordHashingService passwordHashingService;
+
+    @Inject
+    RegisteredUserEmails registeredUserEmails;
+
+    @Inject
+    ResultCaches resultCaches;
+
     @Override
+    @InvalidatesCache(name = "users")
     public User add(final User user) {
 
         //validate and encrypt user password
         validateUser(user);
-        user.setPassword(PasswordUtils.encryptPassword(user.getPassword()));
+        user.setPassword(passwordHashingService.hash(user.getPassword()));
 
-        return userRepository.add(user);
+        final User userAdded = userRepository.add(user);
+        registeredUserEmails.add(userAdded.getEmail());
+        return userAdded;
     }
 
     @Override
@@ -47,6 +72,7 @@ public class UserServicesImpl implements UserServices {
     }
 
     @Override
+    @InvalidatesCache(name = "users")
     public void update(final User user) {
         //find the user
         final User existentUser = findById(user.getId());
@@ -56,17 +82,23 @@ public class UserServicesImpl implements UserServices {
         validateUser(user);
 
         userRepository.update(user);
+        registeredUserEmails.add(user.getEmail());
+        invalidateIdentity(existentUser.getEmail());
+        invalidateIdentity(user.getEmail());
     }
 
     @Override
+    @InvalidatesCache(name = "users")
     public void updatePassword(final Long id, final String password) {
         final User user = findById(id);
-        user.setPassword(PasswordUtils.encryptPassword(password));
+        user.setPassword(passwordHashingService.hash(password));
 
         userRepository.update(user);
+        invalidateIdentity(user.getEmail());
     }
 
     @Override
+    @CachedResult(name = "users")
     public User findByEmail(final String email) throws UserNotFoundException {
         final User user = userRepository.findByEmail(email);
         if (user == null) {
@@ -75,14 +107,45 @@ public class UserServicesImpl implements UserServices {
         return user;
     }
 
+    @Override
+    public UserIdentity findIdentityByEmail(final String email) throws UserNotFoundException {
+        UserIdentity userIdentity = userIdentityMap.get(email);
+        if (userIdentity != null) {
+            return userIdentity;
+        }
+
+        userIdentity = userIdentityCache.get(email);
+        if (userIdentity == null) {
+            userIdentity = userRepository.findIdentityByEmail(email);
+            if (userIdentity == null) {
+                throw new UserNotFoundException();
+            }
+            userIdentityCache.put(userIdentity);
+        }
+        userIdentityMap.put(userIdentity);
+        return userIdentity;
+    }
+
+    @Override
+    public User findReferenceByEmail(final String email) throws UserNotFoundException {
+        return userRepository.getReference(findIdentityByEmail(email));
+    }
+
     @Override
     public User findByEmailAndPassword(final String email, final String password) {
         final User user = findByEmail(email);
 
-        if (!user.getPassword().equals(PasswordUtils.encryptPassword(password))) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
             throw new UserNotFoundException();
         }
 
+        //the password is known now, replace a legacy or weaker hash
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.hash(password));
+            userRepository.update(user);
+            resultCaches.invalidate("users");
+        }
+
         return user;
     }
 
@@ -92,17 +155,29 @@ public class UserServicesImpl implements UserServices {
     }
 
     /**
-     * Validate user.
+     * Validate user. Whether the email is taken is only queried when it might be, the unique constraint of the email
+     * refusing the rare user the filter of the emails let through.
      *
      * @param user the user
      * @throws FieldNotValidException the field not valid exception
      * @throws UserExistentException  the user existent exception
      */
     private void validateUser(final User user) {
-        if (userRepository.alreadyExists(user)) {
+        if (registeredUserEmails.mightExist(user.getEmail()) && userRepository.alreadyExists(user)) {
             throw new UserExistentException();
         }
 
         ValidationUtils.validateEntityFields(validator, user);
     }
+
+    /**
+     * Invalidate the identity of an email, on the cache shared by the requests and on the current request.
+     *
+     * @param email the email
+     */
+    private void invalidateIdentity(final String email) {
+        userIdentityCache.invalidate(email);
+        userIdentityMap.remove(email);
+    }
+
 }
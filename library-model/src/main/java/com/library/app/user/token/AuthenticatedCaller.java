@@ -0,0 +1,55 @@
+package com.library.app.user.token;
+
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.UserIdentity;
+
+import javax.enterprise.context.RequestScoped;
+
+/**
+ * The type Authenticated caller. Holds the identity of the user of the current request when it was authenticated with
+ * a token or BASIC credentials. The anonymous requests and the calls not coming from a request, as the timers, leave it empty and the
+ * caller principal is used instead.
+ */
+@RequestScoped
+public class AuthenticatedCaller {
+
+    private UserIdentity userIdentity;
+
+    /**
+     * Gets user identity.
+     *
+     * @return the user identity, null when the request was not authenticated
+     */
+    public UserIdentity getUserIdentity() {
+        return userIdentity;
+    }
+
+    /**
+     * Sets user identity.
+     *
+     * @param userIdentity the user identity
+     */
+    public void setUserIdentity(final UserIdentity userIdentity) {
+        this.userIdentity = userIdentity;
+    }
+
+    /**
+     * Is authenticated boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isAuthenticated() {
+        return userIdentity != null;
+    }
+
+    /**
+     * Is caller in role boolean. Only to be called when the request was authenticated.
+     *
+     * @param role the role
+     * @return the boolean
+     */
+    public boolean isCallerInRole(final Roles role) {
+        return userIdentity.hasRole(role);
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.library.app.user.token;
+
+import com.library.app.common.appproperties.PropertyValue;
+import com.library.app.user.exception.InvalidTokenException;
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.User.UserType;
+import com.library.app.user.model.UserIdentity;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Authentication token service. Issues the tokens returned when a user authenticates and verifies them in
+ * memory, so an authenticated request does not read the user nor hash its password.
+ * A token is the Base64 URL encoded payload (token id, user id, email, type, roles and expiration) followed by a dot
+ * and the Base64 URL encoded HMAC-SHA256 of the payload. Tokens are revoked by id until they expire.
+ */
+@ApplicationScoped
+public class AuthenticationTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SECRET_SYSTEM_PROPERTY = "library.authentication-token-secret";
+    private static final int TOKEN_ID_SIZE_IN_BYTES = 16;
+    private static final String FIELD_SEPARATOR = "\n";
+    private static final String ROLE_SEPARATOR = ",";
+    private static final int NUMBER_OF_FIELDS = 6;
+
+    @PropertyValue(name = "authentication-token-minutes")
+    Integer tokenMinutes;
+
+    @PropertyValue(name = "authentication-token-secret")
+    String tokenSecret;
+
+    @Inject
+    RevokedTokens revokedTokens;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    private SecretKeySpec key;
+
+    //Mac instances are not thread safe, each thread keeps its own instead of creating one per token
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::createMac);
+
+    /**
+     * Init. Reads the signing key from the application.properties file, or from the
+     * {@value #SECRET_SYSTEM_PROPERTY} system property so it can be kept out of the deployment. The start up fails when
+     * no key is configured, as every node must sign and verify the tokens with the same key.
+     */
+    @PostConstruct
+    public void init() {
+        final String secret = tokenSecret == null || tokenSecret.trim().isEmpty()
+                ? System.getProperty(SECRET_SYSTEM_PROPERTY) : tokenSecret;
+        if (secret == null || secret.trim().isEmpty()) {
+            throw new IllegalStateException("No authentication token secret configured, set authentication-token-secret"
+                    + " or the " + SECRET_SYSTEM_PROPERTY + " system property with the same key on every node");
+        }
+        key = new SecretKeySpec(Base64.getDecoder().decode(secret.trim()), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Issue a token for a user.
+     *
+     * @param userIdentity the user identity
+     * @return the token
+     */
+    public String issue(final UserIdentity userIdentity) {
+        return issue(userIdentity, System.currentTimeMillis());
+    }
+
+    /**
+     * Issue a token for a user at a given time.
+     *
+     * @param userIdentity the user identity
+     * @param nowMillis    the current time in milliseconds
+     * @return the token
+     */
+    String issue(final UserIdentity userIdentity, final long nowMillis) {
+        final byte[] tokenId = new byte[TOKEN_ID_SIZE_IN_BYTES];
+        secureRandom.nextBytes(tokenId);
+
+        final List<String> roles = new ArrayList<>();
+        for (final Roles role : userIdentity.getRoles()) {
+            roles.add(role.name());
+        }
+
+        final String payload = String.join(FIELD_SEPARATOR, encoder.encodeToString(tokenId),
+                userIdentity.getId().toString(), userIdentity.getEmail(), userIdentity.getUserType().name(),
+                String.join(ROLE_SEPARATOR, roles),
+                Long.toString(nowMillis + TimeUnit.MINUTES.toMillis(tokenMinutes)));
+        final String encodedPayload = encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+        return encodedPayload + "." + sign(encodedPayload);
+    }
+
+    /**
+     * Verify a token.
+     *
+     * @param token the token
+     * @return the identity of the user the token was issued for
+     * @throws InvalidTokenException when the token is not valid
+     */
+    public UserIdentity verify(final String token) throws InvalidTokenException {
+        return verify(token, System.currentTimeMillis());
+    }
+
+    /**
+     * Verify a token at a given time.
+     *
+     * @param token     the token
+     * @param nowMillis the current time in milliseconds
+     * @return the identity of the user the token was issued for
+     * @throws InvalidTokenException when the token is not valid
+     */
+    UserIdentity verify(final String token, final long nowMillis) throws InvalidTokenException {
+        final String[] fields = verifySignatureAndGetFields(token);
+        final String tokenId = fields[0];
+        final long expiresAt = Long.parseLong(fields[5]);
+        if (expiresAt <= nowMillis) {
+            throw new InvalidTokenException("Token expired");
+        }
+        if (revokedTokens.isRevoked(tokenId)) {
+            throw new InvalidTokenException("Token revoked");
+        }
+
+        final List<Roles> roles = new ArrayList<>();
+        if (!fields[4].isEmpty()) {
+            for (final String role : fields[4].split(ROLE_SEPARATOR)) {
+                roles.add(Roles.valueOf(role));
+            }
+        }
+        return new UserIdentity(Long.valueOf(fields[1]), fields[2], UserType.valueOf(fields[3]), roles);
+    }
+
+    /**
+     * Revoke a token. It is rejected from then on until it expires.
+     *
+     * @param token the token
+     * @throws InvalidTokenException when the token is not valid
+     */
+    public void revoke(final String token) throws InvalidTokenException {
+        final String[] fields = verifySignatureAndGetFields(token);
+        revokedTokens.revoke(fields[0], Long.parseLong(fields[5]));
+    }
+
+    /**
+     * Verify the signature of a token and get the fields of its payload.
+     *
+     * @param token the token
+     * @return the fields
+     * @throws InvalidTokenException when the token is malformed or its signature does not match
+     */
+    private String[] verifySignatureAndGetFields(final String token) throws InvalidTokenException {
+        final int separatorIndex = token == null ? -1 : token.indexOf('.');
+        if (separatorIndex <= 0) {
+            throw new InvalidTokenException("Malformed token");
+        }
+
+        final String encodedPayload = token.substring(0, separatorIndex);
+        final byte[] expectedSignature = sign(encodedPayload).getBytes(StandardCharsets.US_ASCII);
+        final byte[] signature = token.substring(separatorIndex + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expectedSignature, signature)) {
+            throw new InvalidTokenException("Invalid token signature");
+        }
+
+        try {
+            final String[] fields = new String(decoder.decode(encodedPayload), StandardCharsets.UTF_8)
+                    .split(FIELD_SEPARATOR, -1);
+            if (fields.length != NUMBER_OF_FIELDS) {
+                throw new InvalidTokenException("Malformed token");
+            }
+            return fields;
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+
+    /**
+     * Sign a payload.
+     *
+     * @param encodedPayload the encoded payload
+     * @return the Base64 URL encoded signature
+     */
+    private String sign(final String encodedPayload) {
+        return encoder.encodeToString(macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Create the mac of the current thread.
+     *
+     * @return the mac
+     */
+    private Mac createMac() {
+        try {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.library.app.user.token;
+
+import com.library.app.user.model.RevokedToken;
+import com.library.app.user.repository.RevokedTokenRepository;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Revoked tokens. In memory denylist of the ids of the tokens revoked before they expire, so a token is checked
+ * without reading the database. A token id is only kept until the token expires, so the list stays as small as the
+ * number of tokens revoked in a token lifetime.
+ * The revocations are written to the database too, and every node copies the ones of the other nodes to its list when
+ * it is refreshed by the {@link RevokedTokensRefreshJob}, so a token revoked on a node is rejected by the others after
+ * the next refresh.
+ */
+@ApplicationScoped
+public class RevokedTokens {
+
+    @Inject
+    RevokedTokenRepository revokedTokenRepository;
+
+    private final Map<String, Long> expirationsByTokenId = new ConcurrentHashMap<>();
+
+    /**
+     * Revoke a token id until the token expires.
+     *
+     * @param tokenId   the token id
+     * @param expiresAt when the token expires in milliseconds
+     */
+    public void revoke(final String tokenId, final long expiresAt) {
+        final long nowMillis = System.currentTimeMillis();
+        expirationsByTokenId.values().removeIf(tokenExpiresAt -> tokenExpiresAt <= nowMillis);
+        revokedTokenRepository.deleteExpired(new Date(nowMillis));
+        revokedTokenRepository.add(new RevokedToken(tokenId, new Date(expiresAt)));
+        expirationsByTokenId.put(tokenId, expiresAt);
+    }
+
+    /**
+     * Refresh the list with the tokens revoked by every node of the cluster.
+     */
+    public void refresh() {
+        final long nowMillis = System.currentTimeMillis();
+        for (final RevokedToken revokedToken : revokedTokenRepository.findAllNotExpired(new Date(nowMillis))) {
+            expirationsByTokenId.put(revokedToken.getTokenId(), revokedToken.getExpiresAt().getTime());
+        }
+        expirationsByTokenId.values().removeIf(tokenExpiresAt -> tokenExpiresAt <= nowMillis);
+    }
+
+    /**
+     * Is revoked boolean.
+     *
+     * @param tokenId the token id
+     * @return the boolean
+     */
+    public boolean isRevoked(final String tokenId) {
+        return expirationsByTokenId.containsKey(tokenId);
+    }
+
+    /**
+     * Size int.
+     *
+     * @return the number of revoked token ids kept
+     */
+    public int size() {
+        return expirationsByTokenId.size();
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.library.app.user.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.ejb.EJBException;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.inject.Inject;
+
+/**
+ * The type Revoked tokens refresh job. Copies the tokens revoked by the nodes of the cluster to the in memory denylist
+ * of this node on start up and every ten seconds, so the authenticated requests never read the database to check a
+ * token.
+ */
+@Singleton
+@Startup
+public class RevokedTokensRefreshJob {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Inject
+    RevokedTokens revokedTokens;
+
+    /**
+     * Init. Loads the tokens revoked before this node started.
+     */
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Refresh the revoked tokens.
+     */
+    @Schedule(hour = "*", minute = "*", second = "*/10", persistent = false)
+    public void refresh() {
+        try {
+            revokedTokens.refresh();
+        } catch (final EJBException e) {
+            //the tokens revoked by the other nodes are copied on the next refresh
+            logger.warn("Revoked tokens could not be refreshed", e);
+        }
+    }
+
+}
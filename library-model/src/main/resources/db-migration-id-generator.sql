@@ -0,0 +1,21 @@
+--MySQL
+--migration of a schema created before the ids were allocated by the application from lib_id_generator
+--the ids of the existing rows are kept, the generators allocate their blocks of 50 ids, the ones before next_val, after
+--the highest of them
+create table if not exists lib_id_generator (
+	name                varchar(50)       not null primary key,
+	next_val            bigint            not null
+);
+
+insert into lib_id_generator (name, next_val) select 'lib_category', coalesce(max(id), 0) + 51 from lib_category
+	on duplicate key update next_val = greatest(next_val, values(next_val));
+insert into lib_id_generator (name, next_val) select 'lib_author', coalesce(max(id), 0) + 51 from lib_author
+	on duplicate key update next_val = greatest(next_val, values(next_val));
+insert into lib_id_generator (name, next_val) select 'lib_user', coalesce(max(id), 0) + 51 from lib_user
+	on duplicate key update next_val = greatest(next_val, values(next_val));
+insert into lib_id_generator (name, next_val) select 'lib_book', coalesce(max(id), 0) + 51 from lib_book
+	on duplicate key update next_val = greatest(next_val, values(next_val));
+insert into lib_id_generator (name, next_val) select 'lib_order', coalesce(max(id), 0) + 51 from lib_order
+	on duplicate key update next_val = greatest(next_val, values(next_val));
+insert into lib_id_generator (name, next_val) select 'lib_log_audit', coalesce(max(id), 0) + 51 from lib_log_audit
+	on duplicate key update next_val = greatest(next_val, values(next_val));
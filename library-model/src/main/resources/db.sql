@@ -6,21 +6,30 @@ CREATE TABLE lib_category (
 );*/
 
 --MySQL
+--next id of each table, ids are allocated by the application in blocks of 50; seeded at the end of this script, and
+--by db-migration-id-generator.sql on a schema created before
+create table lib_id_generator (
+	name                varchar(50)       not null primary key,
+	next_val            bigint            not null
+);
+
 CREATE TABLE lib_category (
-	id      bigint           NOT NULL PRIMARY KEY AUTO_INCREMENT DEFAULT NULL,
-	name    varchar(25)      NOT NULL UNIQUE
+	id      bigint           NOT NULL PRIMARY KEY,
+	name    varchar(25)      NOT NULL UNIQUE,
+	version bigint           NOT NULL DEFAULT 0
 );
 
 CREATE TABLE lib_author (
-	id       bigint          NOT NULL PRIMARY KEY AUTO_INCREMENT DEFAULT NULL,
-	name     varchar(40)     NOT NULL
+	id       bigint          NOT NULL PRIMARY KEY,
+	name     varchar(40)     NOT NULL,
+	version  bigint          NOT NULL DEFAULT 0
 );
 --Create an index on the author table for the name column because it is used for search
 create index idx_author_name on lib_author(name);
 
 
 create table lib_user (
-	id                bigint          not null primary key AUTO_INCREMENT DEFAULT NULL,
+	id                bigint          not null primary key,
 	created_at        timestamp       not null,
 	name              varchar(40)     not null,
 	email             varchar(70)     not null unique,
@@ -35,16 +44,17 @@ create table lib_user_role (
 	constraint fk_user_roles_user foreign key(user_id) references lib_user(id)
 );
 
-insert into lib_user (created_at, name, email, password, type) values(current_timestamp, 'Admin', 'adm@domain.com', 'jZae727K08KaOmKSgOaGzww/XVqGr/PKEgIMkjrcbJI=', 'EMPLOYEE');
+insert into lib_user (id, created_at, name, email, password, type) values(1, current_timestamp, 'Admin', 'adm@domain.com', 'jZae727K08KaOmKSgOaGzww/XVqGr/PKEgIMkjrcbJI=', 'EMPLOYEE');
 insert into lib_user_role (user_id, role) values((select id from lib_user where email = 'adm@domain.com'), 'EMPLOYEE');
 insert into lib_user_role (user_id, role) values((select id from lib_user where email = 'adm@domain.com'), 'ADMINISTRATOR');
 
 create table lib_book (
-	id                bigint              not null primary key AUTO_INCREMENT DEFAULT NULL,
+	id                bigint              not null primary key,
 	title             varchar(150)        not null,
 	description       text                not null,
 	category_id	      bigint              not null,
 	price             decimal(5,2)        not null,
+	version           bigint              not null default 0,
 	constraint fk_book_category foreign key(category_id) references lib_category(id)
 );
 
@@ -59,13 +69,20 @@ create table lib_book_author (
 
 --table to hold orders
 create table lib_order (
-	id                bigint            not null primary key AUTO_INCREMENT DEFAULT NULL,
+	id                bigint            not null primary key,
 	created_at        timestamp         not null,
+	expires_at        timestamp         null,
 	customer_id       bigint            not null,
 	total             decimal(5,2)      not null,
 	current_status    varchar(20)       not null,
+	last_status_at    timestamp         null,
+	version           bigint            not null default 0,
 	constraint fk_order_customer foreign key(customer_id) references lib_user(id)
 );
+--backs the scan for orders to be expired
+create index idx_order_status_created_at on lib_order(current_status, created_at);
+--backs the load of the orders to be expired by the expiration scheduler
+create index idx_order_status_expires_at on lib_order(current_status, expires_at);
 
 create table lib_order_item (
 	order_id            bigint          not null,
@@ -77,19 +94,62 @@ create table lib_order_item (
 	constraint fk_order_item_book foreign key(book_id) references lib_book(id)
 );
 
+--history of the statuses of orders, rows are only inserted
 create table lib_order_history (
+	id                  bigint            not null primary key AUTO_INCREMENT DEFAULT NULL,
 	order_id            bigint            not null,
 	status              varchar(20)       not null,
 	created_at          timestamp         not null,
-	primary key(order_id, status),
+	constraint uk_order_history_order_status unique(order_id, status),
 	constraint fk_order_history_order foreign key(order_id) references lib_order(id)
 );
+create index idx_order_history_order on lib_order_history(order_id);
 
 create table lib_log_audit (
-	id                  bigint            not null primary key AUTO_INCREMENT DEFAULT NULL,
+	id                  bigint            not null primary key,
 	created_at          timestamp         not null,
 	user_id             bigint            not null,
 	action              varchar(15)       not null,
 	element             varchar(30)       not null,
 	constraint fk_logaudit_user foreign key(user_id) references lib_user(id)
-);
\ No newline at end of file
+);
+
+--leases held by the node planning the order expiration runs and by the node running the expiration scheduler
+create table lib_job_lease (
+	name                varchar(50)       not null primary key,
+	owner               varchar(100),
+	leased_until        timestamp         not null
+);
+insert into lib_job_lease (name, owner, leased_until) values('order-expiration', null, current_timestamp);
+insert into lib_job_lease (name, owner, leased_until) values('order-expiration-scheduler', null, current_timestamp);
+
+--ranges of order ids of an expiration run, claimed by the nodes of the cluster
+create table lib_order_expiration_partition (
+	id                  bigint            not null primary key AUTO_INCREMENT DEFAULT NULL,
+	created_at          timestamp         not null,
+	created_until       timestamp         not null,
+	start_id            bigint            not null,
+	end_id              bigint            not null,
+	status              varchar(20)       not null,
+	owner               varchar(100),
+	claimed_at          timestamp         null,
+	claim_expires_at    timestamp         null,
+	finished_at         timestamp         null,
+	expired_orders      int               not null
+);
+create index idx_order_expiration_partition_status on lib_order_expiration_partition(status);
+
+--ids of the authentication tokens revoked before they expire, checked by every node of the cluster
+create table lib_revoked_token (
+	token_id            varchar(50)       not null primary key,
+	expires_at          timestamp         not null
+);
+create index idx_revoked_token_expires_at on lib_revoked_token(expires_at);
+
+--first id blocks of the generators, after the ids already used: a block holds the 50 ids before next_val
+insert into lib_id_generator (name, next_val) select 'lib_category', coalesce(max(id), 0) + 51 from lib_category;
+insert into lib_id_generator (name, next_val) select 'lib_author', coalesce(max(id), 0) + 51 from lib_author;
+insert into lib_id_generator (name, next_val) select 'lib_user', coalesce(max(id), 0) + 51 from lib_user;
+insert into lib_id_generator (name, next_val) select 'lib_book', coalesce(max(id), 0) + 51 from lib_book;
+insert into lib_id_generator (name, next_val) select 'lib_order', coalesce(max(id), 0) + 51 from lib_order;
+insert into lib_id_generator (name, next_val) select 'lib_log_audit', coalesce(max(id), 0) + 51 from lib_log_audit;
@@ -131,7 +131,7 @@ public class AuthorServicesUTest {
      */
     @Test(expected = AuthorNotFoundException.class)
     public void updateAuthorNotFound() throws Exception {
-        when(authorRepository.existsById(1L)).thenReturn(false);
+        when(authorRepository.findVersionById(1L)).thenReturn(null);
 
         authorServices.update(authorWithId(robertMartin(), 1L));
     }
@@ -144,7 +144,7 @@ public class AuthorServicesUTest {
     @Test
     public void updateValidAuthor() throws Exception {
         final Author authorToUpdate = authorWithId(robertMartin(), 1L);
-        when(authorRepository.existsById(1L)).thenReturn(true);
+        when(authorRepository.findVersionById(1L)).thenReturn(0L);
 
         authorServices.update(authorToUpdate);
         verify(authorRepository).update(authorToUpdate);
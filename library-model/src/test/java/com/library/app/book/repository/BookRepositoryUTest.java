@@ -2,11 +2,18 @@ package com.library.app.book.repository;
 
 import com.library.app.author.model.Author;
 import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookVersion;
 import com.library.app.book.model.filter.BookFilter;
+import com.library.app.common.exception.InvalidPaginationException;
 import com.library.app.common.model.PaginatedData;
+import com.library.app.common.model.filter.CountStrategy;
+import com.library.app.common.model.filter.PaginationCursor;
 import com.library.app.common.model.filter.PaginationData;
 import com.library.app.commontests.book.BookForTestsRepository;
 import com.library.app.commontests.utils.TestBaseRepository;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -124,6 +131,23 @@ public class BookRepositoryUTest extends TestBaseRepository {
         assertThat(bookRepository.existsById(999l), is(equalTo(false)));
     }
 
+    /**
+     * Find the version of a book with the versions of its category and its authors, the same as the one of the book
+     * loaded.
+     */
+    @Test
+    public void findBookVersionById() {
+        final Book designPatterns = normalizeDependencies(designPatterns(), em);
+        final Long bookAddedId = dbCommandExecutor.executeCommand(() -> {
+            return bookRepository.add(designPatterns).getId();
+        });
+
+        final BookVersion bookVersion = bookRepository.findBookVersionById(bookAddedId);
+        assertThat(bookVersion.getBookVersion(), is(equalTo(0L)));
+        assertThat(bookVersion, is(equalTo(BookVersion.of(bookRepository.findById(bookAddedId)))));
+        assertThat(bookRepository.findBookVersionById(999L), is(nullValue()));
+    }
+
     /**
      * Find by filter no filter.
      */
@@ -167,6 +191,149 @@ public class BookRepositoryUTest extends TestBaseRepository {
         assertThat(result.getRow(1).getTitle(), is(equalTo(BookForTestsRepository.cleanCode().getTitle())));
     }
 
+    /**
+     * Find by filter with keyset paging. Walks all the pages following the next cursor.
+     */
+    @Test
+    public void findByFilterWithKeysetPaging() {
+        loadBooksForFindByFilter();
+
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 2, "title", PaginationData.OrderMode.DESCENDING));
+        PaginatedData<Book> result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getNumberOfRows(), is(equalTo(5)));
+        assertThat(result.getRows().size(), is(equalTo(2)));
+        assertThat(result.getRow(0).getTitle(), is(equalTo(refactoring().getTitle())));
+        assertThat(result.getRow(1).getTitle(), is(equalTo(peaa().getTitle())));
+        assertThat(result.hasNextCursor(), is(equalTo(true)));
+
+        bookFilter.setPaginationData(new PaginationData(0, 2, "title", PaginationData.OrderMode.DESCENDING,
+                PaginationCursor.fromToken(result.getNextCursor().toToken())));
+        result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getNumberOfRows(), is(equalTo(5)));
+        assertThat(result.getRows().size(), is(equalTo(2)));
+        assertThat(result.getRow(0).getTitle(), is(equalTo(effectiveJava().getTitle())));
+        assertThat(result.getRow(1).getTitle(), is(equalTo(designPatterns().getTitle())));
+
+        bookFilter.setPaginationData(new PaginationData(0, 2, "title", PaginationData.OrderMode.DESCENDING,
+                result.getNextCursor()));
+        result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getRows().size(), is(equalTo(1)));
+        assertThat(result.getRow(0).getTitle(), is(equalTo(BookForTestsRepository.cleanCode().getTitle())));
+        assertThat(result.hasNextCursor(), is(equalTo(false)));
+    }
+
+    /**
+     * Find by filter with keyset paging and a cursor issued for another sort.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void findByFilterWithKeysetPagingAndCursorOfAnotherSort() {
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 2, "title", PaginationData.OrderMode.DESCENDING,
+                new PaginationCursor("price", false, 10D, 1L)));
+        bookRepository.findByFilter(bookFilter);
+    }
+
+    /**
+     * Find by filter sorting on a field which is not an attribute of the book. The field is refused before it reaches
+     * the query.
+     */
+    @Test(expected = InvalidPaginationException.class)
+    public void findByFilterSortingOnInvalidField() {
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 2, "title, (Select u.password From User u)",
+                PaginationData.OrderMode.ASCENDING));
+        bookRepository.findByFilter(bookFilter);
+    }
+
+    /**
+     * Find by filter with keyset paging and a tampered cursor, whose sort field is not an attribute of the book.
+     */
+    @Test(expected = InvalidPaginationException.class)
+    public void findByFilterWithKeysetPagingAndTamperedCursor() {
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 2, "category.name", PaginationData.OrderMode.ASCENDING,
+                new PaginationCursor("category.name", true, "Java", 1L)));
+        bookRepository.findByFilter(bookFilter);
+    }
+
+    /**
+     * Find by filter with has next count. No count is done and one extra row tells whether there is a next page.
+     */
+    @Test
+    public void findByFilterWithHasNextCount() {
+        loadBooksForFindByFilter();
+
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 4, "title", PaginationData.OrderMode.ASCENDING, null,
+                CountStrategy.HAS_NEXT));
+        PaginatedData<Book> result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getCountStrategy(), is(equalTo(CountStrategy.HAS_NEXT)));
+        assertThat(result.hasNumberOfRows(), is(equalTo(false)));
+        assertThat(result.getHasNext(), is(equalTo(true)));
+        assertThat(result.getRows().size(), is(equalTo(4)));
+        assertThat(result.getRow(3).getTitle(), is(equalTo(peaa().getTitle())));
+
+        bookFilter.setPaginationData(new PaginationData(0, 5, "title", PaginationData.OrderMode.ASCENDING, null,
+                CountStrategy.HAS_NEXT));
+        result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getHasNext(), is(equalTo(false)));
+        assertThat(result.getRows().size(), is(equalTo(5)));
+        assertThat(result.hasNextCursor(), is(equalTo(false)));
+    }
+
+    /**
+     * Find by filter with estimated and cached counts. The test database keeps no statistics of the tables, so even
+     * the search without filters falls back to the cached count, which is dropped when a book is added.
+     */
+    @Test
+    public void findByFilterWithEstimatedAndCachedCounts() {
+        loadBooksForFindByFilter();
+
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 2, "title", PaginationData.OrderMode.ASCENDING, null,
+                CountStrategy.ESTIMATED));
+        PaginatedData<Book> result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getCountStrategy(), is(equalTo(CountStrategy.CACHED)));
+        assertThat(result.getNumberOfRows(), is(equalTo(5)));
+
+        bookFilter.setTitle("Pattern");
+        result = bookRepository.findByFilter(bookFilter);
+        assertThat(result.getCountStrategy(), is(equalTo(CountStrategy.CACHED)));
+        assertThat(result.getNumberOfRows(), is(equalTo(2)));
+
+        dbCommandExecutor.executeCommand(() -> {
+            bookRepository.add(normalizeDependencies(designPatterns(), em));
+            return null;
+        });
+        result = bookRepository.findByFilter(bookFilter);
+        assertThat(result.getCountStrategy(), is(equalTo(CountStrategy.CACHED)));
+        assertThat(result.getNumberOfRows(), is(equalTo(3)));
+    }
+
+    /**
+     * Find by filter with the last page not full. The number of rows is known without counting.
+     */
+    @Test
+    public void findByFilterWithLastPageNotFull() {
+        loadBooksForFindByFilter();
+
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(3, 3, "title", PaginationData.OrderMode.ASCENDING, null,
+                CountStrategy.CACHED));
+        final PaginatedData<Book> result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getCountStrategy(), is(equalTo(CountStrategy.EXACT)));
+        assertThat(result.getNumberOfRows(), is(equalTo(5)));
+        assertThat(result.getHasNext(), is(equalTo(false)));
+    }
+
     /**
      * Find by filter filtering by category and title.
      */
@@ -188,6 +355,80 @@ public class BookRepositoryUTest extends TestBaseRepository {
         assertThat(result.getRow(0).getTitle(), is(equalTo(designPatterns().getTitle())));
     }
 
+    /**
+     * Find by id loads the book with its category and authors on a single query.
+     */
+    @Test
+    public void findByIdOnASingleQuery() {
+        final Long bookAddedId = dbCommandExecutor.executeCommand(() -> {
+            return bookRepository.add(normalizeDependencies(designPatterns(), em)).getId();
+        });
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final Book book = bookRepository.findById(bookAddedId);
+        assertThat(book.getCategory().getName(), is(equalTo(designPatterns().getCategory().getName())));
+        assertAuthors(book, erichGamma(), johnVlissides(), ralphJohnson(), richardHelm());
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(1L)));
+    }
+
+    /**
+     * Find by filter loads a page with everything its json needs on 3 queries whatever the number of books: the page
+     * joined with the categories, a batch of the authors of all the books and the count. With the eager associations
+     * loaded one by one it cost a query per book and per category.
+     */
+    @Test
+    public void findByFilterOnBoundedNumberOfQueries() {
+        loadBooksForFindByFilter();
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 4, "title", PaginationData.OrderMode.ASCENDING));
+        final PaginatedData<Book> result = bookRepository.findByFilter(bookFilter);
+
+        assertThat(result.getRows().size(), is(equalTo(4)));
+        for (final Book book : result.getRows()) {
+            assertThat(book.getCategory().getName(), is(notNullValue()));
+            assertThat(book.getAuthors().isEmpty(), is(equalTo(false)));
+        }
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(3L)));
+    }
+
+    /**
+     * Find summaries by filter reads the columns of the list and the authors of the page on 2 queries plus the count,
+     * without loading any book, and only reads the description when asked for.
+     */
+    @Test
+    public void findSummariesByFilterWithoutLoadingBooks() {
+        loadBooksForFindByFilter();
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setPaginationData(new PaginationData(0, 2, "title", PaginationData.OrderMode.ASCENDING));
+        PaginatedData<BookSummary> result = bookRepository.findSummariesByFilter(bookFilter);
+
+        assertThat(result.getNumberOfRows(), is(equalTo(5)));
+        assertThat(result.getRows().size(), is(equalTo(2)));
+        final BookSummary designPatternsSummary = result.getRow(1);
+        assertThat(designPatternsSummary.getTitle(), is(equalTo(designPatterns().getTitle())));
+        assertThat(designPatternsSummary.getCategoryName(), is(equalTo(architecture().getName())));
+        assertThat(designPatternsSummary.getPrice(), is(equalTo(48.94D)));
+        assertThat(designPatternsSummary.getDescription(), is(nullValue()));
+        assertThat(designPatternsSummary.getAuthors().size(), is(equalTo(4)));
+        assertThat(designPatternsSummary.getAuthors().get(0).getName(), is(equalTo(erichGamma().getName())));
+        assertThat(designPatternsSummary.getAuthors().get(3).getName(), is(equalTo(richardHelm().getName())));
+        assertThat(designPatternsSummary.getVersion().toString(), is(equalTo("0.0.0")));
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(3L)));
+        assertThat(statistics.getEntityLoadCount(), is(equalTo(0L)));
+
+        bookFilter.setWithDescription(true);
+        result = bookRepository.findSummariesByFilter(bookFilter);
+        assertThat(result.getRow(1).getDescription(), is(equalTo(designPatterns().getDescription())));
+        assertThat(result.hasNextCursor(), is(equalTo(true)));
+    }
+
     /**
      * Load books for find by filter.
      */
@@ -7,8 +7,10 @@ import com.library.app.book.model.Book;
 import com.library.app.book.model.filter.BookFilter;
 import com.library.app.book.repository.BookRepository;
 import com.library.app.book.services.BookServices;
+import com.library.app.cache.interceptor.RequestCoalescer;
 import com.library.app.category.exception.CategoryNotFoundException;
 import com.library.app.category.services.CategoryServices;
+import com.library.app.common.exception.EntityVersionConflictException;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.model.PaginatedData;
 import org.junit.Before;
@@ -21,6 +23,7 @@ import javax.validation.Validation;
 import javax.validation.Validator;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
 
 import static com.library.app.commontests.author.AuthorForTestsRepository.erichGamma;
 import static com.library.app.commontests.author.AuthorForTestsRepository.robertMartin;
@@ -35,6 +38,8 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -55,6 +60,9 @@ public class BookServicesUTest {
     @Mock
     private AuthorServices authorServices;
 
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
     /**
      * Init test class.
      */
@@ -64,11 +72,16 @@ public class BookServicesUTest {
     }
 
     /**
-     * Init test case.
+     * Init test case. The coalescer runs the calls as they come.
+     *
+     * @throws Exception the exception
      */
     @Before
-    public void initTestCase() {
+    @SuppressWarnings("unchecked")
+    public void initTestCase() throws Exception {
         MockitoAnnotations.initMocks(this);
+        when(requestCoalescer.executeDetached(anyString(), anyString(), (Callable<Book>) anyObject()))
+                .thenAnswer(invocation -> ((Callable<?>) invocation.getArguments()[2]).call());
 
         bookServices = new BookServicesImpl();
 
@@ -76,6 +89,7 @@ public class BookServicesUTest {
         ((BookServicesImpl) bookServices).validator = validator;
         ((BookServicesImpl) bookServices).categoryServices = categoryServices;
         ((BookServicesImpl) bookServices).authorServices = authorServices;
+        ((BookServicesImpl) bookServices).requestCoalescer = requestCoalescer;
     }
 
     /**
@@ -206,7 +220,7 @@ public class BookServicesUTest {
      */
     @Test(expected = BookNotFoundException.class)
     public void updateBookNotFound() throws Exception {
-        when(bookRepository.existsById(1L)).thenReturn(false);
+        when(bookRepository.findVersionById(1L)).thenReturn(null);
 
         bookServices.update(bookWithId(cleanCode(), 1L));
     }
@@ -218,7 +232,7 @@ public class BookServicesUTest {
      */
     @Test(expected = CategoryNotFoundException.class)
     public void updateBookWithInexistentCategory() throws Exception {
-        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findVersionById(1L)).thenReturn(0L);
         when(categoryServices.findById(1L)).thenThrow(new CategoryNotFoundException());
 
         final Book book = bookWithId(cleanCode(), 1L);
@@ -234,7 +248,7 @@ public class BookServicesUTest {
      */
     @Test(expected = AuthorNotFoundException.class)
     public void updateBookWithInexistentAuthor() throws Exception {
-        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findVersionById(1L)).thenReturn(0L);
         when(categoryServices.findById(anyLong())).thenReturn(cleanCode().getCategory());
         when(authorServices.findById(1L)).thenReturn(erichGamma());
         when(authorServices.findById(2L)).thenThrow(new AuthorNotFoundException());
@@ -263,12 +277,26 @@ public class BookServicesUTest {
 
         when(categoryServices.findById(anyLong())).thenReturn(cleanCode().getCategory());
         when(authorServices.findById(anyLong())).thenReturn(robertMartin());
-        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findVersionById(1L)).thenReturn(0L);
 
         bookServices.update(bookToUpdate);
         verify(bookRepository).update(bookEq(bookToUpdate));
     }
 
+    /**
+     * Update book read on a version which is not its current one.
+     *
+     * @throws Exception the exception
+     */
+    @Test(expected = EntityVersionConflictException.class)
+    public void updateBookOnOldVersion() throws Exception {
+        when(bookRepository.findVersionById(1L)).thenReturn(2L);
+
+        final Book book = bookWithId(cleanCode(), 1L);
+        book.setVersion(1L);
+        bookServices.update(book);
+    }
+
     /**
      * Find book by id not found.
      *
@@ -295,17 +323,19 @@ public class BookServicesUTest {
     }
 
     /**
-     * Find book by id.
+     * Find book by id, coalesced with the concurrent reads of the book.
      *
-     * @throws BookNotFoundException the book not found exception
+     * @throws Exception the exception
      */
     @Test
-    public void findBookById() throws BookNotFoundException {
+    @SuppressWarnings("unchecked")
+    public void findBookById() throws Exception {
         when(bookRepository.findById(1L)).thenReturn(bookWithId(cleanCode(), 1L));
 
         final Book book = bookServices.findById(1L);
         assertThat(book, is(notNullValue()));
         assertThat(book.getTitle(), is(equalTo(cleanCode().getTitle())));
+        verify(requestCoalescer).executeDetached(eq("books"), eq("findById(1)"), (Callable<Book>) anyObject());
     }
 
     /**
@@ -0,0 +1,212 @@
+package com.library.app.cache.interceptor;
+
+import com.library.app.book.model.Book;
+import com.library.app.cache.model.CoalescingStatistics;
+import com.library.app.common.exception.EntityVersionConflictException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.library.app.commontests.book.BookForTestsRepository.bookWithId;
+import static com.library.app.commontests.book.BookForTestsRepository.designPatterns;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * The type Request coalescer unit test.
+ */
+public class RequestCoalescerUTest {
+
+    private static final String BOOKS = "books";
+
+    private RequestCoalescer requestCoalescer;
+    private ResultCaches resultCaches;
+    private ExecutorService executorService;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        resultCaches = new ResultCaches();
+
+        requestCoalescer = new RequestCoalescer();
+        requestCoalescer.resultCaches = resultCaches;
+        requestCoalescer.timeoutMillis = 5000;
+
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    /**
+     * Stop the threads running the calls.
+     */
+    @After
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * The calls arriving while an equal call runs share its result, and the later ones run again.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void concurrentCallsShareTheResult() throws Exception {
+        final Object result = new Object();
+        final CountDownLatch finishCall = new CountDownLatch(1);
+        final Future<Object> firstCall = startBlockedCall("book:1", finishCall, result);
+
+        final AtomicInteger runCount = new AtomicInteger();
+        final Future<Object> coalescedCall = executorService.submit(() -> executeCounting("book:1", runCount));
+        waitForCoalescedCount(1L);
+        finishCall.countDown();
+
+        assertThat(firstCall.get(), is(sameInstance(result)));
+        assertThat(coalescedCall.get(), is(sameInstance(result)));
+        assertThat(runCount.get(), is(equalTo(0)));
+
+        executeCounting("book:1", runCount);
+        assertThat(runCount.get(), is(equalTo(1)));
+        final CoalescingStatistics statistics = requestCoalescer.getStatistics().get(0);
+        assertThat(statistics.getExecutedCount(), is(equalTo(2L)));
+        assertThat(statistics.getCoalescedCount(), is(equalTo(1L)));
+        assertThat(statistics.getCoalescedRatio(), is(equalTo(1D / 3)));
+    }
+
+    /**
+     * The calls waiting for an equal call share the exception it threw.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void concurrentCallsShareTheException() throws Exception {
+        final CountDownLatch finishCall = new CountDownLatch(1);
+        final Future<Object> firstCall = executorService.submit(() -> requestCoalescer.execute(BOOKS, "book:1", () -> {
+            finishCall.await();
+            throw new EntityVersionConflictException();
+        }));
+        waitForExecutedCount(1L);
+
+        final Future<Object> coalescedCall = executorService.submit(
+                () -> requestCoalescer.execute(BOOKS, "book:1", Object::new));
+        waitForCoalescedCount(1L);
+        finishCall.countDown();
+
+        assertThrowsConflict(firstCall);
+        assertThrowsConflict(coalescedCall);
+    }
+
+    /**
+     * The calls returning entities share a single run, each of them getting its own copy of the result.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void concurrentDetachedCallsGetTheirOwnCopy() throws Exception {
+        final Book book = bookWithId(designPatterns(), 1L);
+        final CountDownLatch finishCall = new CountDownLatch(1);
+        final Future<Book> firstCall = executorService.submit(() -> requestCoalescer.executeDetached(BOOKS,
+                "findById(1)", () -> {
+                    finishCall.await();
+                    return book;
+                }));
+        waitForExecutedCount(1L);
+
+        final Future<Book> coalescedCall = executorService.submit(
+                () -> requestCoalescer.executeDetached(BOOKS, "findById(1)", Book::new));
+        waitForCoalescedCount(1L);
+        finishCall.countDown();
+
+        assertThat(firstCall.get(), is(not(sameInstance(book))));
+        assertThat(coalescedCall.get(), is(not(sameInstance(firstCall.get()))));
+        assertThat(firstCall.get().getTitle(), is(equalTo(book.getTitle())));
+        assertThat(coalescedCall.get().getTitle(), is(equalTo(book.getTitle())));
+        assertThat(coalescedCall.get().getCategory(), is(not(sameInstance(firstCall.get().getCategory()))));
+    }
+
+    /**
+     * A call waiting longer than the timeout runs itself.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void callRunsItselfOnTimeout() throws Exception {
+        requestCoalescer.timeoutMillis = 10;
+        final CountDownLatch finishCall = new CountDownLatch(1);
+        startBlockedCall("book:1", finishCall, new Object());
+
+        assertThat(requestCoalescer.execute(BOOKS, "book:1", () -> "own result"), is(equalTo("own result")));
+        finishCall.countDown();
+        assertThat(requestCoalescer.getStatistics().get(0).getTimedOutCount(), is(equalTo(1L)));
+    }
+
+    /**
+     * A call arriving after the cache of its name was invalidated does not share the result of the call running.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void callAfterInvalidationRunsItself() throws Exception {
+        final CountDownLatch finishCall = new CountDownLatch(1);
+        startBlockedCall("book:1", finishCall, new Object());
+
+        resultCaches.invalidate(BOOKS);
+        assertThat(requestCoalescer.execute(BOOKS, "book:1", () -> "new result"), is(equalTo("new result")));
+        assertThat(requestCoalescer.execute(BOOKS, "book:2", () -> "other result"), is(equalTo("other result")));
+        finishCall.countDown();
+        assertThat(requestCoalescer.getStatistics().get(0).getCoalescedCount(), is(equalTo(0L)));
+    }
+
+    private Object executeCounting(final String key, final AtomicInteger runCount) throws Exception {
+        return requestCoalescer.execute(BOOKS, key, () -> {
+            runCount.incrementAndGet();
+            return new Object();
+        });
+    }
+
+    private Future<Object> startBlockedCall(final String key, final CountDownLatch finishCall, final Object result)
+            throws InterruptedException {
+        final Future<Object> call = executorService.submit(() -> requestCoalescer.execute(BOOKS, key, () -> {
+            finishCall.await();
+            return result;
+        }));
+        waitForExecutedCount(1L);
+        return call;
+    }
+
+    private void waitForExecutedCount(final long executedCount) throws InterruptedException {
+        while (requestCoalescer.getStatistics().isEmpty()
+                || requestCoalescer.getStatistics().get(0).getExecutedCount() < executedCount) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    private void waitForCoalescedCount(final long coalescedCount) throws InterruptedException {
+        while (requestCoalescer.getStatistics().get(0).getCoalescedCount() < coalescedCount) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    private static void assertThrowsConflict(final Future<Object> call) throws InterruptedException {
+        try {
+            call.get();
+            fail("An exception should have been thrown");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(EntityVersionConflictException.class)));
+        }
+    }
+
+}
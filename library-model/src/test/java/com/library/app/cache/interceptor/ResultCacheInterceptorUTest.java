@@ -0,0 +1,188 @@
+package com.library.app.cache.interceptor;
+
+import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.filter.BookFilter;
+import com.library.app.book.services.impl.BookServicesImpl;
+import com.library.app.common.model.PaginatedData;
+import com.library.app.common.model.filter.PaginationData;
+import com.library.app.common.model.filter.PaginationData.OrderMode;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.Collections;
+
+import static com.library.app.commontests.book.BookForTestsRepository.bookWithId;
+import static com.library.app.commontests.book.BookForTestsRepository.designPatterns;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Result cache interceptor unit test.
+ */
+public class ResultCacheInterceptorUTest {
+    private ResultCacheInterceptor resultCacheInterceptor;
+
+    @Mock
+    private InvocationContext invocationContext;
+
+    private Method findSummariesByFilter;
+    private Method findByFilter;
+    private Method add;
+
+    /**
+     * Init test case.
+     *
+     * @throws Exception the exception
+     */
+    @Before
+    public void initTestCase() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        resultCacheInterceptor = new ResultCacheInterceptor();
+        resultCacheInterceptor.resultCaches = new ResultCaches();
+
+        findSummariesByFilter = BookServicesImpl.class.getMethod("findSummariesByFilter", BookFilter.class);
+        findByFilter = BookServicesImpl.class.getMethod("findByFilter", BookFilter.class);
+        add = BookServicesImpl.class.getMethod("add", Book.class);
+    }
+
+    /**
+     * Equal filters share the cached result, even being different instances.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void equalFiltersShareTheCachedResult() throws Exception {
+        final PaginatedData<BookSummary> result = new PaginatedData<>(0, Collections.<BookSummary>emptyList());
+        when(invocationContext.getMethod()).thenReturn(findSummariesByFilter);
+        when(invocationContext.proceed()).thenReturn(result);
+
+        when(invocationContext.getParameters()).thenReturn(new Object[] {bookFilter("Java", 1L)});
+        assertThat(resultCacheInterceptor.intercept(invocationContext), is(sameInstance((Object) result)));
+        when(invocationContext.getParameters()).thenReturn(new Object[] {bookFilter("Java", 1L)});
+        assertThat(resultCacheInterceptor.intercept(invocationContext), is(sameInstance((Object) result)));
+
+        verify(invocationContext, times(1)).proceed();
+        assertThat(resultCacheInterceptor.resultCaches.getStatistics().get(0).getHitCount(), is(equalTo(1L)));
+    }
+
+    /**
+     * Different filters do not share the cached result.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void differentFiltersDoNotShareTheCachedResult() throws Exception {
+        when(invocationContext.getMethod()).thenReturn(findSummariesByFilter);
+        when(invocationContext.proceed()).thenReturn(new PaginatedData<>(0, Collections.<BookSummary>emptyList()));
+
+        when(invocationContext.getParameters()).thenReturn(new Object[] {bookFilter("Java", 1L)});
+        resultCacheInterceptor.intercept(invocationContext);
+        when(invocationContext.getParameters()).thenReturn(new Object[] {bookFilter("Java", 2L)});
+        resultCacheInterceptor.intercept(invocationContext);
+
+        verify(invocationContext, times(2)).proceed();
+    }
+
+    /**
+     * Invalidating methods drop the cached results.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void invalidatingMethodDropsTheCachedResults() throws Exception {
+        final InvocationContext addInvocationContext = mock(InvocationContext.class);
+        when(addInvocationContext.getMethod()).thenReturn(add);
+        when(invocationContext.getMethod()).thenReturn(findSummariesByFilter);
+        when(invocationContext.getParameters()).thenReturn(new Object[] {bookFilter("Java", 1L)});
+        when(invocationContext.proceed()).thenReturn(new PaginatedData<>(0, Collections.<BookSummary>emptyList()));
+
+        resultCacheInterceptor.intercept(invocationContext);
+        resultCacheInterceptor.intercept(addInvocationContext);
+        resultCacheInterceptor.intercept(invocationContext);
+
+        verify(invocationContext, times(2)).proceed();
+        verify(addInvocationContext).proceed();
+    }
+
+    /**
+     * Invalidating method increases the version of the caches it names, even when none of their results was cached.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void invalidatingMethodIncreasesTheVersion() throws Exception {
+        final ResultCaches resultCaches = resultCacheInterceptor.resultCaches;
+        when(invocationContext.getMethod()).thenReturn(add);
+        assertThat(resultCaches.getVersion("books"), is(equalTo(0L)));
+
+        resultCacheInterceptor.intercept(invocationContext);
+
+        assertThat(resultCaches.getVersion("books"), is(equalTo(1L)));
+        assertThat(resultCaches.getVersion("users"), is(equalTo(0L)));
+    }
+
+    /**
+     * Results holding entities are cached as a snapshot, every caller getting its own copy of the entities.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void resultHoldingEntitiesIsCopiedForEveryCaller() throws Exception {
+        when(invocationContext.getMethod()).thenReturn(findByFilter);
+        when(invocationContext.getParameters()).thenReturn(new Object[] {bookFilter("Java", 1L)});
+        when(invocationContext.proceed()).thenReturn(new PaginatedData<>(1,
+                Collections.singletonList(bookWithId(designPatterns(), 1L))));
+
+        resultCacheInterceptor.intercept(invocationContext);
+        final PaginatedData<Book> firstCopy = (PaginatedData<Book>) resultCacheInterceptor.intercept(invocationContext);
+        firstCopy.getRow(0).setTitle("Changed by a caller");
+        final PaginatedData<Book> secondCopy = (PaginatedData<Book>) resultCacheInterceptor.intercept(invocationContext);
+
+        verify(invocationContext, times(1)).proceed();
+        assertThat(secondCopy, is(not(sameInstance(firstCopy))));
+        assertThat(secondCopy.getRow(0).getTitle(), is(equalTo(designPatterns().getTitle())));
+        assertThat(secondCopy.getRow(0).getAuthors().size(), is(equalTo(designPatterns().getAuthors().size())));
+        assertThat(ResultCacheInterceptor.holdsEntities(secondCopy), is(equalTo(true)));
+        assertThat(ResultCacheInterceptor.holdsEntities(Collections.singletonList("Java")), is(equalTo(false)));
+    }
+
+    /**
+     * The canonical key holds the fields of the filter sorted by name, including the ones of the super class.
+     */
+    @Test
+    public void canonicalKeyOfFilter() {
+        final String key = CacheKeys.canonicalKey(findSummariesByFilter, new Object[] {bookFilter("Java", 1L)});
+
+        assertThat(key, is(equalTo(BookServicesImpl.class.getName() + ".findSummariesByFilter(BookFilter{"
+                + "categoryId=1,paginationData=PaginationData{afterCursor=null,countStrategy=null,firstResult=0,maxResults=10,"
+                + "orderField=\"title\",orderMode=ASCENDING},title=\"Java\",withDescription=false})")));
+        assertThat(CacheKeys.canonicalKey(findSummariesByFilter, new Object[] {null}),
+                is(equalTo(BookServicesImpl.class.getName() + ".findSummariesByFilter(null)")));
+        assertThat(CacheKeys.canonicalForm(bookFilter("Java", 1L)), is(equalTo("BookFilter{categoryId=1,"
+                + "paginationData=PaginationData{afterCursor=null,countStrategy=null,firstResult=0,maxResults=10,"
+                + "orderField=\"title\",orderMode=ASCENDING},title=\"Java\",withDescription=false}")));
+    }
+
+    private BookFilter bookFilter(final String title, final Long categoryId) {
+        final BookFilter bookFilter = new BookFilter();
+        bookFilter.setTitle(title);
+        bookFilter.setCategoryId(categoryId);
+        bookFilter.setPaginationData(new PaginationData(0, 10, "title", OrderMode.ASCENDING));
+        return bookFilter;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.library.app.cache.repository;
+
+import com.library.app.author.model.Author;
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.commontests.utils.TestBaseRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static com.library.app.commontests.author.AuthorForTestsRepository.robertMartin;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Cache statistics repository unit test.
+ */
+public class CacheStatisticsRepositoryUTest extends TestBaseRepository {
+
+    private CacheStatisticsRepository cacheStatisticsRepository;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        initializeTestDB();
+
+        cacheStatisticsRepository = new CacheStatisticsRepository();
+        cacheStatisticsRepository.em = em;
+    }
+
+    /**
+     * Sets down test case.
+     */
+    @After
+    public void setDownTestCase() {
+        closeEntityManager();
+    }
+
+    /**
+     * Find all with the hits and misses of the author region.
+     */
+    @Test
+    public void findAllWithHitsAndMisses() {
+        final Long authorAddedId = dbCommandExecutor.executeCommand(() -> {
+            final Author author = robertMartin();
+            em.persist(author);
+            return author.getId();
+        });
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        //each read on a new entity manager, as the cache only serves entries put before it was opened
+        for (int i = 0; i < 3; i++) {
+            final EntityManager entityManager = em.getEntityManagerFactory().createEntityManager();
+            entityManager.find(Author.class, authorAddedId);
+            entityManager.close();
+        }
+
+        final CacheStatistics authorStatistics = findByName(cacheStatisticsRepository.findAll(),
+                Author.class.getName());
+        assertThat(authorStatistics, is(notNullValue()));
+        assertThat(authorStatistics.getHitCount(), is(equalTo(2L)));
+        assertThat(authorStatistics.getMissCount(), is(equalTo(1L)));
+        assertThat(authorStatistics.getSize(), is(equalTo(1L)));
+        assertThat(authorStatistics.getHitRatio(), is(equalTo(2D / 3D)));
+        assertThat(authorStatistics.getMissRatio(), is(equalTo(1D / 3D)));
+    }
+
+    /**
+     * Find by name.
+     *
+     * @param cachesStatistics the caches statistics
+     * @param name             the name
+     * @return the cache statistics
+     */
+    private CacheStatistics findByName(final List<CacheStatistics> cachesStatistics, final String name) {
+        for (final CacheStatistics cacheStatistics : cachesStatistics) {
+            if (cacheStatistics.getName().equals(name)) {
+                return cacheStatistics;
+            }
+        }
+        return null;
+    }
+
+}
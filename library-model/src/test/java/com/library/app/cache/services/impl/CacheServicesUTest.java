@@ -0,0 +1,59 @@
+package com.library.app.cache.services.impl;
+
+import com.library.app.cache.interceptor.ResultCaches;
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.cache.repository.CacheStatisticsRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Cache services unit test.
+ */
+public class CacheServicesUTest {
+    private CacheServicesImpl cacheServices;
+
+    @Mock
+    private CacheStatisticsRepository cacheStatisticsRepository;
+
+    @Mock
+    private ResultCaches resultCaches;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        cacheServices = new CacheServicesImpl();
+        cacheServices.cacheStatisticsRepository = cacheStatisticsRepository;
+        cacheServices.resultCaches = resultCaches;
+    }
+
+    /**
+     * Find statistics, the second level cache regions before the result caches.
+     */
+    @Test
+    public void findStatistics() {
+        when(cacheStatisticsRepository.findAll()).thenReturn(Collections.singletonList(
+                new CacheStatistics("com.library.app.author.model.Author", 3L, 1L, 1L, 1L)));
+        when(resultCaches.getStatistics()).thenReturn(Collections.singletonList(
+                new CacheStatistics("books", 1L, 3L, 3L, 2L)));
+
+        final List<CacheStatistics> cachesStatistics = cacheServices.findStatistics();
+        assertThat(cachesStatistics.size(), is(equalTo(2)));
+        assertThat(cachesStatistics.get(0).getName(), is(equalTo("com.library.app.author.model.Author")));
+        assertThat(cachesStatistics.get(1).getName(), is(equalTo("books")));
+    }
+
+}
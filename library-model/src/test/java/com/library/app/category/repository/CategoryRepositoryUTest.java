@@ -1,11 +1,17 @@
 package com.library.app.category.repository;
 
+import com.library.app.category.exception.CategoryExistentException;
 import com.library.app.category.model.Category;
 import com.library.app.commontests.utils.TestBaseRepository;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static com.library.app.commontests.category.CategoryForTestsRepository.allCategories;
@@ -14,10 +20,13 @@ import static com.library.app.commontests.category.CategoryForTestsRepository.cl
 import static com.library.app.commontests.category.CategoryForTestsRepository.java;
 import static com.library.app.commontests.category.CategoryForTestsRepository.networks;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * Unit test for Repository.
@@ -180,6 +189,29 @@ public class CategoryRepositoryUTest extends TestBaseRepository {
         assertThat(categoryRepository.alreadyExists(cleanCode()), is(equalTo(false)));
     }
 
+    /**
+     * Test a category whose name is already taken is refused by the unique constraint of the name when it is added,
+     * and the names of all the categories are found.
+     */
+    @Test
+    public void addCategoryWithExistentNameAndFindAllNames() {
+        dbCommandExecutor.executeCommand(() -> {
+            categoryRepository.add(java());
+            return categoryRepository.add(cleanCode());
+        });
+
+        try {
+            dbCommandExecutor.executeCommand(() -> categoryRepository.add(java()));
+            fail("An error should have been thrown");
+        } catch (final IllegalStateException e) {
+            assertThat(e.getCause(), is(instanceOf(CategoryExistentException.class)));
+        }
+
+        final List<String> names = categoryRepository.findAllNames();
+        Collections.sort(names);
+        assertThat(names, is(equalTo(Arrays.asList(cleanCode().getName(), java().getName()))));
+    }
+
     /**
      * Test to identify if a category name is not already defined on the database by querying its id.
      */
@@ -219,5 +251,129 @@ public class CategoryRepositoryUTest extends TestBaseRepository {
         assertThat(categoryRepository.existsById(categoryAddedId), is(equalTo(true)));
         assertThat(categoryRepository.existsById(999L), is(equalTo(false)));
     }
-}
 
+    /**
+     * Test the version of a category and of the content of all categories are read without loading them, and both are
+     * increased when a category is updated.
+     */
+    @Test
+    public void findVersionByIdAndContentVersion() {
+        final String emptyContentVersion = categoryRepository.findContentVersion();
+        final Long categoryAddedId = dbCommandExecutor.executeCommand(() -> {
+            return categoryRepository.add(java()).getId();
+        });
+        final String contentVersionAfterAdd = categoryRepository.findContentVersion();
+
+        assertThat(categoryRepository.findVersionById(categoryAddedId), is(equalTo(0L)));
+        assertThat(categoryRepository.findVersionById(999L), is(nullValue()));
+        assertThat(contentVersionAfterAdd, is(not(equalTo(emptyContentVersion))));
+
+        final Category category = categoryRepository.findById(categoryAddedId);
+        category.setName(cleanCode().getName());
+        dbCommandExecutor.executeCommand(() -> {
+            categoryRepository.update(category);
+            return null;
+        });
+
+        assertThat(categoryRepository.findVersionById(categoryAddedId), is(equalTo(1L)));
+        assertThat(categoryRepository.findContentVersion(), is(not(equalTo(contentVersionAfterAdd))));
+    }
+
+    /**
+     * Add all the categories of a load, the inserts are sent in JDBC batches instead of one statement per category.
+     */
+    @Test
+    public void addAllInBatches() {
+        final List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            categories.add(new Category("Category " + i));
+        }
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final Integer numberOfCategoriesAdded = dbCommandExecutor.executeCommand(() -> {
+            return categoryRepository.addAll(categories);
+        });
+
+        assertThat(numberOfCategoriesAdded, is(equalTo(120)));
+        assertThat(statistics.getEntityInsertCount(), is(equalTo(120L)));
+        assertThat(statistics.getPrepareStatementCount() < 10L, is(equalTo(true)));
+        assertThat(em.contains(categories.get(0)), is(equalTo(false)));
+        assertThat(categoryRepository.findAll("name").size(), is(equalTo(120)));
+    }
+
+    /**
+     * Ids are allocated after the ones of the rows already on the table, its generator being seeded from max(id) as
+     * db.sql does.
+     */
+    @Test
+    public void addAfterGeneratorSeededFromExistingIds() {
+        dbCommandExecutor.executeCommand(() -> {
+            em.createNativeQuery("insert into lib_category (id, name, version) values(120, 'Existing', 0)")
+                    .executeUpdate();
+            return em.createNativeQuery("insert into lib_id_generator (name, next_val)"
+                    + " select 'lib_category', coalesce(max(id), 0) + 51 from lib_category").executeUpdate();
+        });
+
+        final List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            categories.add(new Category("Category " + i));
+        }
+        dbCommandExecutor.executeCommand(() -> {
+            return categoryRepository.addAll(categories);
+        });
+
+        assertThat(categories.get(0).getId(), is(equalTo(121L)));
+        assertThat(categories.get(59).getId(), is(equalTo(180L)));
+        assertThat(categoryRepository.findAll("name").size(), is(equalTo(61)));
+    }
+
+    /**
+     * Find by id and find all read the categories from the second level cache and the query cache, with no statement
+     * on the database, until a category is updated. Each read is done on a new entity manager as each request of the
+     * application is, as the cache only serves entries put before the entity manager was opened.
+     */
+    @Test
+    public void findByIdAndFindAllFromCacheUntilUpdate() {
+        final Long categoryAddedId = dbCommandExecutor.executeCommand(() -> {
+            categoryRepository.add(cleanCode());
+            return categoryRepository.add(java()).getId();
+        });
+        categoryRepositoryOnNewEntityManager().findAll("name");
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final CategoryRepository categoryRepositoryReading = categoryRepositoryOnNewEntityManager();
+        assertThat(categoryRepositoryReading.findById(categoryAddedId).getName(), is(equalTo(java().getName())));
+        assertThat(categoryRepositoryReading.findAll("name").size(), is(equalTo(2)));
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(0L)));
+        assertThat(statistics.getQueryCacheHitCount(), is(equalTo(1L)));
+        assertThat(statistics.getSecondLevelCacheHitCount() > 0L, is(equalTo(true)));
+
+        dbCommandExecutor.executeCommand(() -> {
+            final Category category = categoryRepository.findById(categoryAddedId);
+            category.setName(networks().getName());
+            categoryRepository.update(category);
+            return null;
+        });
+
+        statistics.clear();
+        final CategoryRepository categoryRepositoryAfterUpdate = categoryRepositoryOnNewEntityManager();
+        final List<Category> categories = categoryRepositoryAfterUpdate.findAll("name");
+        assertThat(categories.get(1).getName(), is(equalTo(networks().getName())));
+        assertThat(statistics.getQueryCacheMissCount(), is(equalTo(1L)));
+        assertThat(categoryRepositoryOnNewEntityManager().findById(categoryAddedId).getName(),
+                is(equalTo(networks().getName())));
+    }
+
+    /**
+     * Category repository on a new entity manager.
+     *
+     * @return the category repository
+     */
+    private CategoryRepository categoryRepositoryOnNewEntityManager() {
+        final CategoryRepository categoryRepositoryOnNewEntityManager = new CategoryRepository();
+        categoryRepositoryOnNewEntityManager.em = em.getEntityManagerFactory().createEntityManager();
+        return categoryRepositoryOnNewEntityManager;
+    }
+}
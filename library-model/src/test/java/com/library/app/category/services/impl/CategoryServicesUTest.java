@@ -5,6 +5,7 @@ import com.library.app.category.exception.CategoryNotFoundException;
 import com.library.app.category.model.Category;
 import com.library.app.category.repository.CategoryRepository;
 import com.library.app.category.services.CategoryServices;
+import com.library.app.common.exception.EntityVersionConflictException;
 import com.library.app.common.exception.FieldNotValidException;
 import org.junit.Before;
 import org.junit.Test;
@@ -60,6 +61,13 @@ public class CategoryServicesUTest {
         // cast the category services to the implementation to get access to the category repository which should be a
         // mock, with this we can mock DB calls
         ((CategoryServicesImpl) categoryServices).categoryRepository = categoryRepository;
+
+        // the names of the categories loaded on start up, only Java is taken
+        final RegisteredCategoryNames registeredCategoryNames = new RegisteredCategoryNames();
+        registeredCategoryNames.categoryRepository = categoryRepository;
+        when(categoryRepository.findAllNames()).thenReturn(Arrays.asList(java().getName()));
+        registeredCategoryNames.init();
+        ((CategoryServicesImpl) categoryServices).registeredCategoryNames = registeredCategoryNames;
     }
 
     /**
@@ -98,6 +106,21 @@ public class CategoryServicesUTest {
         categoryServices.add(java());
     }
 
+    /**
+     * Test add a category whose name is certainly not taken. Whether the name is taken is not queried.
+     */
+    @Test
+    public void addCategoryWithNameNotTaken() {
+        when(categoryRepository.add((Category) anyObject())).thenReturn(categoryWithId(networks(), 1L));
+
+        categoryServices.add(networks());
+        verify(categoryRepository, never()).alreadyExists(networks());
+
+        // the name is taken from now on
+        categoryServices.add(networks());
+        verify(categoryRepository).alreadyExists(networks());
+    }
+
     /**
      * Test add a valid category.
      */
@@ -155,7 +178,7 @@ public class CategoryServicesUTest {
     public void updateCategoryNotFound() {
         // mock category does not exists
         when(categoryRepository.alreadyExists(categoryWithId(java(), 1L))).thenReturn(false);
-        when(categoryRepository.existsById(1L)).thenReturn(false);
+        when(categoryRepository.findVersionById(1L)).thenReturn(null);
 
         categoryServices.update(categoryWithId(java(), 1L));
     }
@@ -167,7 +190,7 @@ public class CategoryServicesUTest {
     public void updateValidCategory() {
         // mock values from database.
         when(categoryRepository.alreadyExists(categoryWithId(java(), 1L))).thenReturn(false);
-        when(categoryRepository.existsById(1L)).thenReturn(true);
+        when(categoryRepository.findVersionById(1L)).thenReturn(0L);
 
         categoryServices.update(categoryWithId(java(), 1L));
 
@@ -175,6 +198,19 @@ public class CategoryServicesUTest {
         verify(categoryRepository).update(categoryWithId(java(), 1L));
     }
 
+    /**
+     * Test a category read on a version which is not its current one can not be updated.
+     */
+    @Test(expected = EntityVersionConflictException.class)
+    public void updateCategoryOnOldVersion() {
+        when(categoryRepository.alreadyExists(categoryWithId(java(), 1L))).thenReturn(false);
+        when(categoryRepository.findVersionById(1L)).thenReturn(2L);
+
+        final Category category = categoryWithId(java(), 1L);
+        category.setVersion(1L);
+        categoryServices.update(category);
+    }
+
     /**
      * test find category by id.
      */
@@ -33,5 +33,45 @@ public class ApplicationPropertiesTest {
         assertThat(applicationProperties.getDaysBeforeOrderExpiration(), is(equalTo(7)));
     }
 
+    /**
+     * Gets order expiration chunk size.
+     */
+    @Test
+    public void getOrderExpirationChunkSize() {
+        assertThat(applicationProperties.getOrderExpirationChunkSize(), is(equalTo(500)));
+    }
+
+    /**
+     * Gets order expiration partition size.
+     */
+    @Test
+    public void getOrderExpirationPartitionSize() {
+        assertThat(applicationProperties.getOrderExpirationPartitionSize(), is(equalTo(10000)));
+    }
+
+    /**
+     * Gets order expiration claim minutes.
+     */
+    @Test
+    public void getOrderExpirationClaimMinutes() {
+        assertThat(applicationProperties.getOrderExpirationClaimMinutes(), is(equalTo(5)));
+    }
+
+    /**
+     * Gets order expiration lease minutes.
+     */
+    @Test
+    public void getOrderExpirationLeaseMinutes() {
+        assertThat(applicationProperties.getOrderExpirationLeaseMinutes(), is(equalTo(30)));
+    }
+
+    /**
+     * Gets order expiration horizon minutes.
+     */
+    @Test
+    public void getOrderExpirationHorizonMinutes() {
+        assertThat(applicationProperties.getOrderExpirationHorizonMinutes(), is(equalTo(120)));
+    }
+
 
 }
\ No newline at end of file
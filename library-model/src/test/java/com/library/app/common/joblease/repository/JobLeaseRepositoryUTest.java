@@ -0,0 +1,97 @@
+package com.library.app.common.joblease.repository;
+
+import com.library.app.common.joblease.model.JobLease;
+import com.library.app.commontests.utils.TestBaseRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Job lease repository u test.
+ */
+public class JobLeaseRepositoryUTest extends TestBaseRepository {
+
+    private static final String LEASE = "order-expiration";
+    private static final long MINUTE = 60000L;
+
+    private JobLeaseRepository jobLeaseRepository;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        initializeTestDB();
+
+        jobLeaseRepository = new JobLeaseRepository();
+        jobLeaseRepository.em = em;
+    }
+
+    /**
+     * Sets down test case.
+     */
+    @After
+    public void setDownTestCase() {
+        closeEntityManager();
+    }
+
+    /**
+     * Acquire a lease that does not exist yet.
+     */
+    @Test
+    public void acquireInexistentLease() {
+        final Date now = new Date();
+        assertThat(acquire("node1", now, new Date(now.getTime() + MINUTE)), is(equalTo(true)));
+
+        final JobLease lease = em.find(JobLease.class, LEASE);
+        assertThat(lease.getOwner(), is(equalTo("node1")));
+    }
+
+    /**
+     * Acquire a lease held by another node.
+     */
+    @Test
+    public void acquireLeaseHeldByAnotherNode() {
+        final Date now = new Date();
+        acquire("node1", now, new Date(now.getTime() + MINUTE));
+
+        assertThat(acquire("node2", now, new Date(now.getTime() + MINUTE)), is(equalTo(false)));
+        assertThat(em.find(JobLease.class, LEASE).getOwner(), is(equalTo("node1")));
+    }
+
+    /**
+     * Acquire a lease held by the same node.
+     */
+    @Test
+    public void acquireLeaseHeldBySameNode() {
+        final Date now = new Date();
+        acquire("node1", now, new Date(now.getTime() + MINUTE));
+
+        assertThat(acquire("node1", now, new Date(now.getTime() + 2 * MINUTE)), is(equalTo(true)));
+    }
+
+    /**
+     * Acquire a lease that ran out.
+     */
+    @Test
+    public void acquireLeaseThatRanOut() {
+        final Date now = new Date();
+        acquire("node1", new Date(now.getTime() - 2 * MINUTE), new Date(now.getTime() - MINUTE));
+
+        assertThat(acquire("node2", now, new Date(now.getTime() + MINUTE)), is(equalTo(true)));
+        assertThat(em.find(JobLease.class, LEASE).getOwner(), is(equalTo("node2")));
+    }
+
+    private boolean acquire(final String owner, final Date now, final Date leasedUntil) {
+        return dbCommandExecutor.executeCommand(() -> {
+            return jobLeaseRepository.acquire(LEASE, owner, now, leasedUntil);
+        });
+    }
+
+}
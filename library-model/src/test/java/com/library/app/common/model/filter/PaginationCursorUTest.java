@@ -0,0 +1,52 @@
+package com.library.app.common.model.filter;
+
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Pagination cursor unit test.
+ */
+public class PaginationCursorUTest {
+
+    /**
+     * Token round trip with string value holding the separator.
+     */
+    @Test
+    public void tokenRoundTripWithStringValue() {
+        final PaginationCursor cursor = PaginationCursor.fromToken(
+                new PaginationCursor("title", false, "Design | Patterns", 4L).toToken());
+
+        assertThat(cursor.getSortField(), is(equalTo("title")));
+        assertThat(cursor.isAscending(), is(equalTo(false)));
+        assertThat(cursor.getSortValue(), is(equalTo("Design | Patterns")));
+        assertThat(cursor.getId(), is(equalTo(4L)));
+    }
+
+    /**
+     * Token round trip with date value.
+     */
+    @Test
+    public void tokenRoundTripWithDateValue() {
+        final Date createdAt = new Date();
+        final PaginationCursor cursor = PaginationCursor.fromToken(
+                new PaginationCursor("createdAt", true, createdAt, 10L).toToken());
+
+        assertThat(cursor.isAscending(), is(equalTo(true)));
+        assertThat(cursor.getSortValue(), is(equalTo(createdAt)));
+        assertThat(cursor.getId(), is(equalTo(10L)));
+    }
+
+    /**
+     * Invalid token.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidToken() {
+        PaginationCursor.fromToken("dGl0bGV8QQ");
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.library.app.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Bloom filter unit test.
+ */
+public class BloomFilterUTest {
+
+    private static final int EXPECTED_INSERTIONS = 10000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01D;
+
+    /**
+     * The strings added are always found, the others rarely.
+     */
+    @Test
+    public void addedStringsAreFoundOthersRarely() {
+        final BloomFilter bloomFilter = new BloomFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+        assertThat(bloomFilter.getNumberOfHashes(), is(equalTo(7)));
+
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            bloomFilter.add("user" + i + "@domain.com");
+        }
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            assertThat(bloomFilter.mightContain("user" + i + "@domain.com"), is(equalTo(true)));
+        }
+
+        int falsePositives = 0;
+        for (int i = EXPECTED_INSERTIONS; i < EXPECTED_INSERTIONS * 2; i++) {
+            if (bloomFilter.mightContain("user" + i + "@domain.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positives: " + falsePositives, falsePositives < EXPECTED_INSERTIONS * 0.02);
+        assertThat(bloomFilter.isSaturated(), is(equalTo(false)));
+
+        bloomFilter.add("one more");
+        assertThat(bloomFilter.isSaturated(), is(equalTo(true)));
+    }
+
+    /**
+     * The unique values filter finds the values loaded and added, and is loaded again in the background, once,
+     * when saturated.
+     */
+    @Test
+    public void uniqueValuesFilterIsLoadedAgainOnceSaturated() {
+        final AtomicInteger numberOfLoads = new AtomicInteger();
+        final List<String> values = Arrays.asList("Java", "Networks");
+        final List<Runnable> reloads = new ArrayList<>();
+        final UniqueValuesFilter uniqueValuesFilter = new UniqueValuesFilter(() -> {
+            numberOfLoads.incrementAndGet();
+            return values;
+        }, reloads::add);
+        assertThat(uniqueValuesFilter.mightExist("Java"), is(equalTo(true)));
+
+        uniqueValuesFilter.load();
+        assertThat(uniqueValuesFilter.mightExist("Java"), is(equalTo(true)));
+        assertThat(uniqueValuesFilter.mightExist("Clean Code"), is(equalTo(false)));
+
+        uniqueValuesFilter.add("Clean Code");
+        assertThat(uniqueValuesFilter.mightExist("Clean Code"), is(equalTo(true)));
+        assertThat(numberOfLoads.get(), is(equalTo(1)));
+
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            uniqueValuesFilter.add("Category " + i);
+        }
+        uniqueValuesFilter.add("Category while loading again");
+        assertThat(numberOfLoads.get(), is(equalTo(1)));
+        assertThat(reloads.size(), is(equalTo(1)));
+        assertThat(uniqueValuesFilter.mightExist("Category 0"), is(equalTo(true)));
+
+        reloads.get(0).run();
+        assertThat(numberOfLoads.get(), is(equalTo(2)));
+        assertThat(uniqueValuesFilter.mightExist("Networks"), is(equalTo(true)));
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.library.app.common.utils;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Frequency aware cache unit test.
+ */
+public class FrequencyAwareCacheUTest {
+
+    private static final long TTL = 1000L;
+    private static final long START = 1000000L;
+
+    /**
+     * Values are read until they expire, and counted as hits and misses.
+     */
+    @Test
+    public void valuesAreReadUntilTheyExpire() {
+        final FrequencyAwareCache<String, String> cache = new FrequencyAwareCache<>(TTL, 10);
+        assertThat(cache.put("key", "value", START), is(equalTo(true)));
+
+        assertThat(cache.get("key", START + TTL - 1), is(equalTo("value")));
+        assertThat(cache.get("key", START + TTL), is(nullValue()));
+        assertThat(cache.get("other", START), is(nullValue()));
+
+        assertThat(cache.size(), is(equalTo(0)));
+        assertThat(cache.getHitCount(), is(equalTo(1L)));
+        assertThat(cache.getMissCount(), is(equalTo(2L)));
+        assertThat(cache.getPutCount(), is(equalTo(1L)));
+    }
+
+    /**
+     * A full cache keeps the frequent keys instead of admitting keys read once.
+     */
+    @Test
+    public void fullCacheKeepsTheFrequentKeys() {
+        final FrequencyAwareCache<Integer, String> cache = new FrequencyAwareCache<>(TTL, 10);
+        for (int key = 0; key < 10; key++) {
+            for (int read = 0; read < 5; read++) {
+                cache.get(key, START);
+            }
+            cache.put(key, "value" + key, START);
+        }
+
+        for (int key = 100; key < 130; key++) {
+            cache.get(key, START);
+            assertThat(cache.put(key, "value" + key, START), is(equalTo(false)));
+        }
+
+        assertThat(cache.size(), is(equalTo(10)));
+        assertThat(cache.getEvictionCount(), is(equalTo(0L)));
+        for (int key = 0; key < 10; key++) {
+            assertThat(cache.get(key, START), is(equalTo("value" + key)));
+        }
+    }
+
+    /**
+     * A full cache evicts a less frequent key for a key read more often.
+     */
+    @Test
+    public void fullCacheEvictsForMoreFrequentKey() {
+        final FrequencyAwareCache<Integer, String> cache = new FrequencyAwareCache<>(TTL, 10);
+        for (int key = 0; key < 10; key++) {
+            cache.put(key, "value" + key, START);
+        }
+        for (int read = 0; read < 5; read++) {
+            cache.get(100, START);
+        }
+
+        assertThat(cache.put(100, "value100", START), is(equalTo(true)));
+        assertThat(cache.size(), is(equalTo(10)));
+        assertThat(cache.getEvictionCount(), is(equalTo(1L)));
+        assertThat(cache.get(100, START), is(equalTo("value100")));
+    }
+
+    /**
+     * A full cache evicts the expired entries first, whatever their frequency.
+     */
+    @Test
+    public void fullCacheEvictsExpiredEntries() {
+        final FrequencyAwareCache<Integer, String> cache = new FrequencyAwareCache<>(TTL, 1);
+        for (int read = 0; read < 5; read++) {
+            cache.get(1, START);
+        }
+        cache.put(1, "value1", START);
+
+        assertThat(cache.put(2, "value2", START + TTL), is(equalTo(true)));
+        assertThat(cache.get(1, START + TTL), is(nullValue()));
+        assertThat(cache.get(2, START + TTL), is(equalTo("value2")));
+    }
+
+    /**
+     * Put replaces the value of a key, and invalidations drop the values.
+     */
+    @Test
+    public void putReplacesAndInvalidateDrops() {
+        final FrequencyAwareCache<String, String> cache = new FrequencyAwareCache<>(TTL, 10);
+        cache.put("first", "value", START);
+        cache.put("first", "new value", START);
+        cache.put("second", "value", START);
+        assertThat(cache.size(), is(equalTo(2)));
+        assertThat(cache.get("first", START), is(equalTo("new value")));
+
+        cache.invalidate("first");
+        assertThat(cache.get("first", START), is(nullValue()));
+        assertThat(cache.size(), is(equalTo(1)));
+
+        cache.invalidateAll();
+        assertThat(cache.get("second", START), is(nullValue()));
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+}
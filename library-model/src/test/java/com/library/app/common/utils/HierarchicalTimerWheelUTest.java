@@ -0,0 +1,92 @@
+package com.library.app.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Hierarchical timer wheel unit test.
+ */
+public class HierarchicalTimerWheelUTest {
+
+    private static final long TICK = 1000L;
+    private static final long START = 1000000L;
+
+    /**
+     * Values are due on their deadline tick, never before.
+     */
+    @Test
+    public void valuesAreDueOnTheirDeadline() {
+        final HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, 3, START);
+        wheel.schedule("first", START + 1500);
+        wheel.schedule("second", START + 3000);
+
+        assertThat(wheel.advance(START + 1999), is(equalTo(Collections.<String>emptyList())));
+        assertThat(wheel.advance(START + 2000), is(equalTo(Arrays.asList("first"))));
+        assertThat(wheel.advance(START + 2999), is(equalTo(Collections.<String>emptyList())));
+        assertThat(wheel.advance(START + 3000), is(equalTo(Arrays.asList("second"))));
+        assertThat(wheel.size(), is(equalTo(0)));
+    }
+
+    /**
+     * Values past their deadline are due on the next advance.
+     */
+    @Test
+    public void valuesPastTheirDeadlineAreDueOnNextAdvance() {
+        final HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, 3, START);
+        wheel.schedule("overdue", START - 5000);
+
+        assertThat(wheel.size(), is(equalTo(1)));
+        assertThat(wheel.advance(START), is(equalTo(Arrays.asList("overdue"))));
+    }
+
+    /**
+     * Values on upper levels and beyond the last level cascade down to their deadline.
+     */
+    @Test
+    public void valuesCascadeDownToTheirDeadline() {
+        final HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK, 2, START);
+        final Random random = new Random(7);
+        final List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            //up to twice the range of the two levels
+            final long deadline = START + (long) (random.nextDouble() * 2 * 4096 * TICK);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        int dueValues = 0;
+        for (long now = START; now <= START + 2 * 4096 * TICK + TICK; now += TICK) {
+            for (final Long deadline : wheel.advance(now)) {
+                //due on the first tick that is not before the deadline
+                assertThat(deadline <= now && now - deadline < TICK, is(equalTo(true)));
+                dueValues++;
+            }
+        }
+        assertThat(dueValues, is(equalTo(deadlines.size())));
+        assertThat(wheel.size(), is(equalTo(0)));
+    }
+
+    /**
+     * Clear drops all the values.
+     */
+    @Test
+    public void clearDropsAllValues() {
+        final HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, 3, START);
+        wheel.schedule("first", START + 1000);
+
+        wheel.clear(START);
+
+        assertThat(wheel.size(), is(equalTo(0)));
+        assertThat(wheel.advance(START + 2000), is(equalTo(Collections.<String>emptyList())));
+    }
+
+}
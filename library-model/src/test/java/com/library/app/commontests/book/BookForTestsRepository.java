@@ -157,6 +157,7 @@ public final class BookForTestsRepository {
         for (final Author author : book.getAuthors()) {
             final Author managedAuthor = findByPropertyNameAndValue(em, Author.class, "name", author.getName());
             author.setId(managedAuthor.getId());
+            author.setVersion(managedAuthor.getVersion());
         }
 
         return book;
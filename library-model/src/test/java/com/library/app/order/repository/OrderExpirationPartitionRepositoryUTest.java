@@ -0,0 +1,142 @@
+package com.library.app.order.repository;
+
+import com.library.app.commontests.utils.TestBaseRepository;
+import com.library.app.order.model.OrderExpirationPartition;
+import com.library.app.order.model.OrderExpirationPartition.PartitionStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Order expiration partition repository u test.
+ */
+public class OrderExpirationPartitionRepositoryUTest extends TestBaseRepository {
+
+    private static final long MINUTE = 60000L;
+
+    private OrderExpirationPartitionRepository orderExpirationPartitionRepository;
+
+    private Long firstPartitionId;
+    private Long secondPartitionId;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        initializeTestDB();
+
+        orderExpirationPartitionRepository = new OrderExpirationPartitionRepository();
+        orderExpirationPartitionRepository.em = em;
+
+        firstPartitionId = dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.add(new OrderExpirationPartition(new Date(), 1L, 10L)).getId();
+        });
+        secondPartitionId = dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.add(new OrderExpirationPartition(new Date(), 11L, 20L)).getId();
+        });
+    }
+
+    /**
+     * Sets down test case.
+     */
+    @After
+    public void setDownTestCase() {
+        closeEntityManager();
+    }
+
+    /**
+     * Claim partitions until none is left.
+     */
+    @Test
+    public void claimPartitionsUntilNoneIsLeft() {
+        final Date now = new Date();
+        assertThat(orderExpirationPartitionRepository.findClaimableId(now), is(equalTo(firstPartitionId)));
+        assertThat(claim(firstPartitionId, "node1", now), is(equalTo(true)));
+        assertThat(claim(firstPartitionId, "node2", now), is(equalTo(false)));
+
+        assertThat(orderExpirationPartitionRepository.findClaimableId(now), is(equalTo(secondPartitionId)));
+        assertThat(claim(secondPartitionId, "node2", now), is(equalTo(true)));
+
+        assertThat(orderExpirationPartitionRepository.findClaimableId(now), is(nullValue()));
+        assertThat(orderExpirationPartitionRepository.existsUnfinished(), is(equalTo(true)));
+    }
+
+    /**
+     * Renew and finish a claimed partition.
+     */
+    @Test
+    public void renewAndFinishClaimedPartition() {
+        final Date now = new Date();
+        claim(firstPartitionId, "node1", now);
+
+        assertThat(dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.renewClaim(firstPartitionId, "node2", 3,
+                    new Date(now.getTime() + MINUTE));
+        }), is(equalTo(false)));
+        assertThat(dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.renewClaim(firstPartitionId, "node1", 3,
+                    new Date(now.getTime() + MINUTE));
+        }), is(equalTo(true)));
+        assertThat(dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.finish(firstPartitionId, "node1", new Date());
+        }), is(equalTo(true)));
+
+        final OrderExpirationPartition partition = orderExpirationPartitionRepository.findById(firstPartitionId);
+        assertThat(partition.getStatus(), is(equalTo(PartitionStatus.DONE)));
+        assertThat(partition.getOwner(), is(equalTo("node1")));
+        assertThat(partition.getExpiredOrders(), is(equalTo(3)));
+    }
+
+    /**
+     * Claim a partition abandoned by another node.
+     */
+    @Test
+    public void claimAbandonedPartition() {
+        final Date claimedAt = new Date(System.currentTimeMillis() - 2 * MINUTE);
+        claim(firstPartitionId, "node1", claimedAt);
+        claim(secondPartitionId, "node1", new Date());
+
+        final Date now = new Date();
+        assertThat(orderExpirationPartitionRepository.findById(firstPartitionId).isAbandoned(now), is(equalTo(true)));
+        assertThat(orderExpirationPartitionRepository.findClaimableId(now), is(equalTo(firstPartitionId)));
+        assertThat(claim(firstPartitionId, "node2", now), is(equalTo(true)));
+        assertThat(orderExpirationPartitionRepository.findById(firstPartitionId).getOwner(), is(equalTo("node2")));
+    }
+
+    /**
+     * Delete finished partitions and find the latest.
+     */
+    @Test
+    public void deleteFinishedPartitionsAndFindLatest() {
+        final Date now = new Date();
+        claim(firstPartitionId, "node1", now);
+        dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.finish(firstPartitionId, "node1", now);
+        });
+
+        final int deletedPartitions = dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.deleteFinishedBefore(new Date(now.getTime() + MINUTE));
+        });
+        assertThat(deletedPartitions, is(equalTo(1)));
+
+        final List<OrderExpirationPartition> partitions = orderExpirationPartitionRepository.findLatest(10);
+        assertThat(partitions.size(), is(equalTo(1)));
+        assertThat(partitions.get(0).getId(), is(equalTo(secondPartitionId)));
+    }
+
+    private boolean claim(final Long id, final String owner, final Date now) {
+        return dbCommandExecutor.executeCommand(() -> {
+            return orderExpirationPartitionRepository.claim(id, owner, now, new Date(now.getTime() + MINUTE));
+        });
+    }
+
+}
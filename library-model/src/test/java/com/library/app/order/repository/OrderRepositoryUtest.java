@@ -10,10 +10,17 @@ import com.library.app.order.model.Order;
 import com.library.app.order.model.Order.OrderStatus;
 import com.library.app.order.model.OrderItem;
 import com.library.app.order.model.filter.OrderFilter;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
 import static com.library.app.commontests.author.AuthorForTestsRepository.allAuthors;
 import static com.library.app.commontests.book.BookForTestsRepository.allBooks;
 import static com.library.app.commontests.book.BookForTestsRepository.normalizeDependencies;
@@ -72,6 +79,27 @@ public class OrderRepositoryUtest extends TestBaseRepository {
         assertActualOrderWithExpectedOrder(orderAdded, normalizeDependencies(orderDelivered(), em));
     }
 
+    /**
+     * Find by id loads the order with the customer, the items with their books and the history on a single query.
+     * It cost 3 queries when the collections were initialized one by one.
+     */
+    @Test
+    public void findByIdOnBoundedNumberOfQueries() {
+        final Long orderAddedId = dbCommandExecutor.executeCommand(() -> {
+            return orderRepository.add(normalizeDependencies(orderDelivered(), em)).getId();
+        });
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final Order order = orderRepository.findById(orderAddedId);
+        assertThat(order.getCustomer().getName(), is(notNullValue()));
+        assertThat(order.getHistoryEntries().size(), is(equalTo(2)));
+        for (final OrderItem orderItem : order.getItems()) {
+            assertThat(orderItem.getBook().getTitle(), is(notNullValue()));
+        }
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(1L)));
+    }
+
     /**
      * Find order by id not found.
      */
@@ -106,6 +134,75 @@ public class OrderRepositoryUtest extends TestBaseRepository {
         assertThat(orderAfterUpdate.getCurrentStatus(), is(equalTo(OrderStatus.DELIVERED)));
     }
 
+    /**
+     * Benchmark of the statements run to change the status of an order, on the same transaction the order is loaded as
+     * the services do. When the history was an element collection the change cost 4 statements for an order with one
+     * entry (an update of the order, a delete of the whole history and an insert per entry, growing with the history);
+     * it now costs an insert of the new entry and an update of the order.
+     */
+    @Test
+    public void changeStatusCostsOneInsertAndOneUpdate() {
+        final Long orderAddedId = dbCommandExecutor.executeCommand(() -> {
+            return orderRepository.add(normalizeDependencies(orderReserved(), em)).getId();
+        });
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        dbCommandExecutor.executeCommand(() -> {
+            final Order order = orderRepository.findById(orderAddedId);
+            statistics.clear();
+
+            order.addHistoryEntry(OrderStatus.DELIVERED);
+            orderRepository.update(order);
+            em.flush();
+            return null;
+        });
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(2L)));
+        assertThat(statistics.getEntityInsertCount(), is(equalTo(1L)));
+        assertThat(statistics.getEntityUpdateCount(), is(equalTo(1L)));
+
+        final Order orderAfterUpdate = orderRepository.findById(orderAddedId);
+        assertThat(orderAfterUpdate.getHistoryEntries().size(), is(equalTo(2)));
+        assertThat(orderAfterUpdate.getLastStatusAt(), is(notNullValue()));
+    }
+
+    /**
+     * Update status with a single conditional update, which fails for an order changed since it was read.
+     */
+    @Test
+    public void updateStatusOnlyForVersionRead() {
+        final Long orderAddedId = dbCommandExecutor.executeCommand(() -> {
+            return orderRepository.add(normalizeDependencies(orderReserved(), em)).getId();
+        });
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        final boolean updated = dbCommandExecutor.executeCommand(() -> {
+            final Order order = orderRepository.findById(orderAddedId);
+            statistics.clear();
+
+            order.addHistoryEntry(OrderStatus.DELIVERED);
+            return orderRepository.updateStatus(order, 0L);
+        });
+        assertThat(updated, is(equalTo(true)));
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(2L)));
+
+        final Order orderDeliveredRead = orderRepository.findById(orderAddedId);
+        assertThat(orderDeliveredRead.getCurrentStatus(), is(equalTo(OrderStatus.DELIVERED)));
+        assertThat(orderDeliveredRead.getVersion(), is(equalTo(1L)));
+        assertThat(orderDeliveredRead.getHistoryEntries().size(), is(equalTo(2)));
+
+        final boolean updatedOnStaleVersion = dbCommandExecutor.executeCommand(() -> {
+            final Order order = orderRepository.findById(orderAddedId);
+            order.setCurrentStatus(OrderStatus.RESERVED);
+            order.addHistoryEntry(OrderStatus.CANCELLED);
+            return orderRepository.updateStatus(order, 0L);
+        });
+        assertThat(updatedOnStaleVersion, is(equalTo(false)));
+
+        final Order orderAfterConflict = orderRepository.findById(orderAddedId);
+        assertThat(orderAfterConflict.getCurrentStatus(), is(equalTo(OrderStatus.DELIVERED)));
+        assertThat(orderAfterConflict.getHistoryEntries().size(), is(equalTo(2)));
+    }
+
     /**
      * Exists by id.
      */
@@ -134,6 +231,23 @@ public class OrderRepositoryUtest extends TestBaseRepository {
         assertThat(DateUtils.formatDateTime(orders.getRow(2).getCreatedAt()), is(equalTo("2015-01-06T10:10:21Z")));
     }
 
+    /**
+     * Find by filter loads the page with the customers joined, on a query for the page and one for the count, without
+     * a query for each customer.
+     */
+    @Test
+    public void findByFilterOnBoundedNumberOfQueries() {
+        loadForFindByFilter();
+
+        final Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+        final PaginatedData<Order> orders = orderRepository.findByFilter(new OrderFilter());
+        for (final Order order : orders.getRows()) {
+            assertThat(order.getCustomer().getName(), is(notNullValue()));
+        }
+        assertThat(statistics.getPrepareStatementCount(), is(equalTo(2L)));
+    }
+
     /**
      * Find by filter filtering by status.
      */
@@ -183,6 +297,116 @@ public class OrderRepositoryUtest extends TestBaseRepository {
         assertThat(DateUtils.formatDateTime(orders.getRow(1).getCreatedAt()), is(equalTo("2015-01-07T10:10:21Z")));
     }
 
+    /**
+     * Find ids by status created until and change their status in bulk.
+     */
+    @Test
+    public void findIdsByStatusCreatedUntilAndChangeStatus() {
+        final Order reservedFirst = orderCreatedAt(normalizeDependencies(orderReserved(), em), "2015-01-06T10:10:21Z");
+        final Order reservedSecond = orderCreatedAt(normalizeDependencies(orderReserved(), em), "2015-01-07T10:10:21Z");
+        final Order delivered = orderCreatedAt(normalizeDependencies(orderDelivered(), em), "2015-01-07T10:10:21Z");
+        final Order reservedAfterDate = orderCreatedAt(normalizeDependencies(orderReserved(), em),
+                "2015-01-09T10:10:21Z");
+        dbCommandExecutor.executeCommand(() -> {
+            orderRepository.add(reservedFirst);
+            orderRepository.add(reservedSecond);
+            orderRepository.add(delivered);
+            orderRepository.add(reservedAfterDate);
+            return null;
+        });
+
+        final Date createdUntil = DateUtils.getAsDateTime("2015-01-08T10:10:21Z");
+        assertThat(orderRepository.findIdsByStatusCreatedUntil(OrderStatus.RESERVED, createdUntil, 1),
+                is(equalTo(Arrays.asList(reservedFirst.getId()))));
+        final List<Long> ids = orderRepository.findIdsByStatusCreatedUntil(OrderStatus.RESERVED, createdUntil, 10);
+        assertThat(ids, is(equalTo(Arrays.asList(reservedFirst.getId(), reservedSecond.getId()))));
+
+        final List<Long> idsWithDelivered = new ArrayList<>(ids);
+        idsWithDelivered.add(delivered.getId());
+        final List<Long> changedIds = dbCommandExecutor.executeCommand(() -> {
+            return orderRepository.changeStatus(idsWithDelivered, OrderStatus.RESERVED,
+                    OrderStatus.RESERVATION_EXPIRED);
+        });
+        assertThat(changedIds, is(equalTo(ids)));
+
+        final Order expiredOrder = orderRepository.findById(reservedSecond.getId());
+        assertThat(expiredOrder.getCurrentStatus(), is(equalTo(OrderStatus.RESERVATION_EXPIRED)));
+        assertThat(expiredOrder.getHistoryEntries().size(), is(equalTo(2)));
+        assertThat(orderRepository.findById(delivered.getId()).getHistoryEntries().size(),
+                is(equalTo(delivered.getHistoryEntries().size())));
+        assertThat(orderRepository.findIdsByStatusCreatedUntil(OrderStatus.RESERVED, createdUntil, 10).isEmpty(),
+                is(equalTo(true)));
+
+        final List<Long> changedIdsAgain = dbCommandExecutor.executeCommand(() -> {
+            return orderRepository.changeStatus(ids, OrderStatus.RESERVED, OrderStatus.RESERVATION_EXPIRED);
+        });
+        assertThat(changedIdsAgain.isEmpty(), is(equalTo(true)));
+    }
+
+    /**
+     * Find id range and ids within a range by status created until.
+     */
+    @Test
+    public void findIdRangeAndIdsWithinRangeByStatusCreatedUntil() {
+        final Order reservedFirst = orderCreatedAt(normalizeDependencies(orderReserved(), em), "2015-01-06T10:10:21Z");
+        final Order reservedSecond = orderCreatedAt(normalizeDependencies(orderReserved(), em), "2015-01-07T10:10:21Z");
+        final Order reservedAfterDate = orderCreatedAt(normalizeDependencies(orderReserved(), em),
+                "2015-01-09T10:10:21Z");
+        dbCommandExecutor.executeCommand(() -> {
+            orderRepository.add(reservedFirst);
+            orderRepository.add(reservedSecond);
+            orderRepository.add(reservedAfterDate);
+            return null;
+        });
+
+        final Date createdUntil = DateUtils.getAsDateTime("2015-01-08T10:10:21Z");
+        final Long[] idRange = orderRepository.findIdRangeByStatusCreatedUntil(OrderStatus.RESERVED, createdUntil);
+        assertThat(idRange[0], is(equalTo(reservedFirst.getId())));
+        assertThat(idRange[1], is(equalTo(reservedSecond.getId())));
+        assertThat(orderRepository.findIdRangeByStatusCreatedUntil(OrderStatus.DELIVERED, createdUntil),
+                is(nullValue()));
+
+        assertThat(orderRepository.findIdsByStatusCreatedUntil(OrderStatus.RESERVED, createdUntil,
+                reservedSecond.getId(), reservedAfterDate.getId(), 10),
+                is(equalTo(Arrays.asList(reservedSecond.getId()))));
+    }
+
+    /**
+     * Find ids and expires at by status expiring between.
+     */
+    @Test
+    public void findIdsAndExpiresAtByStatusExpiringBetween() {
+        final Order expiringFirst = orderExpiringAt(orderReserved(), "2015-01-13T10:10:21Z");
+        final Order expiringSecond = orderExpiringAt(orderReserved(), "2015-01-14T10:10:21Z");
+        final Order delivered = orderExpiringAt(orderDelivered(), "2015-01-13T10:10:21Z");
+        dbCommandExecutor.executeCommand(() -> {
+            orderRepository.add(expiringSecond);
+            orderRepository.add(expiringFirst);
+            orderRepository.add(delivered);
+            return null;
+        });
+
+        final List<Object[]> orders = orderRepository.findIdsAndExpiresAtByStatusExpiringBetween(
+                OrderStatus.RESERVED, null, DateUtils.getAsDateTime("2015-01-15T10:10:21Z"));
+        assertThat(orders.size(), is(equalTo(2)));
+        assertThat(orders.get(0)[0], is(equalTo(expiringFirst.getId())));
+        assertThat(orders.get(1)[0], is(equalTo(expiringSecond.getId())));
+        assertThat(((Date) orders.get(1)[1]).getTime(),
+                is(equalTo(DateUtils.getAsDateTime("2015-01-14T10:10:21Z").getTime())));
+
+        final List<Object[]> ordersAfterFirst = orderRepository.findIdsAndExpiresAtByStatusExpiringBetween(
+                OrderStatus.RESERVED, DateUtils.getAsDateTime("2015-01-13T10:10:21Z"),
+                DateUtils.getAsDateTime("2015-01-15T10:10:21Z"));
+        assertThat(ordersAfterFirst.size(), is(equalTo(1)));
+        assertThat(ordersAfterFirst.get(0)[0], is(equalTo(expiringSecond.getId())));
+    }
+
+    private Order orderExpiringAt(final Order order, final String expiresAt) {
+        final Order orderExpiring = normalizeDependencies(order, em);
+        orderExpiring.setExpiresAt(DateUtils.getAsDateTime(expiresAt));
+        return orderExpiring;
+    }
+
     /**
      * Load for find by filter. Helper method to help with find orders by filter.
      */
@@ -0,0 +1,181 @@
+package com.library.app.order.services.impl;
+
+import com.library.app.common.joblease.repository.JobLeaseRepository;
+import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.repository.OrderRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ejb.EJBException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Order expiration scheduler unit test.
+ */
+public class OrderExpirationSchedulerUTest {
+
+    private OrderExpirationScheduler orderExpirationScheduler;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Mock
+    private ExpiredOrdersChunkProcessor expiredOrdersChunkProcessor;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        orderExpirationScheduler = new OrderExpirationScheduler();
+        orderExpirationScheduler.orderRepository = orderRepository;
+        orderExpirationScheduler.jobLeaseRepository = jobLeaseRepository;
+        orderExpirationScheduler.expiredOrdersChunkProcessor = expiredOrdersChunkProcessor;
+        orderExpirationScheduler.orderExpirationHorizonMinutes = 120;
+        orderExpirationScheduler.orderExpirationClaimMinutes = 5;
+        orderExpirationScheduler.orderExpirationChunkSize = 2;
+    }
+
+    /**
+     * Orders loaded when taking over the scheduler are expired once due, in chunks.
+     */
+    @Test
+    public void ordersLoadedOnTakeOverAreExpiredWhenDue() {
+        setUpLease(true);
+        final Date overdue = new Date(System.currentTimeMillis() - 1000);
+        final Date dueLater = new Date(System.currentTimeMillis() + 3600000);
+        when(orderRepository.findIdsAndExpiresAtByStatusExpiringBetween(eq(OrderStatus.RESERVED), (Date) isNull(),
+                (Date) anyObject())).thenReturn(Arrays.asList(new Object[]{1L, overdue}, new Object[]{2L, overdue},
+                new Object[]{3L, overdue}, new Object[]{4L, dueLater}));
+
+        orderExpirationScheduler.init();
+        orderExpirationScheduler.tick();
+
+        verify(expiredOrdersChunkProcessor).expireOrders(Arrays.asList(1L, 2L));
+        verify(expiredOrdersChunkProcessor).expireOrders(Arrays.asList(3L));
+        verify(expiredOrdersChunkProcessor, never()).expireOrders(Arrays.asList(4L));
+    }
+
+    /**
+     * Orders scheduled within the loaded horizon are expired once due.
+     */
+    @Test
+    public void orderScheduledWithinHorizonIsExpiredWhenDue() {
+        setUpLease(true);
+        setUpNoOrdersToLoad();
+        orderExpirationScheduler.init();
+
+        orderExpirationScheduler.schedule(5L, new Date(System.currentTimeMillis() - 1000));
+        orderExpirationScheduler.tick();
+
+        verify(expiredOrdersChunkProcessor).expireOrders(Arrays.asList(5L));
+    }
+
+    /**
+     * Nothing is expired by a node not holding the scheduler lease.
+     */
+    @Test
+    public void nothingIsExpiredWithoutLease() {
+        setUpLease(false);
+        orderExpirationScheduler.init();
+
+        orderExpirationScheduler.schedule(5L, new Date(System.currentTimeMillis() - 1000));
+        orderExpirationScheduler.tick();
+
+        verify(orderRepository, never()).findIdsAndExpiresAtByStatusExpiringBetween(eq(OrderStatus.RESERVED),
+                (Date) anyObject(), (Date) anyObject());
+        verify(expiredOrdersChunkProcessor, never()).expireOrders(anyListOf(Long.class));
+    }
+
+    /**
+     * The wheel is dropped when the lease is lost.
+     */
+    @Test
+    public void wheelIsDroppedWhenLeaseIsLost() {
+        setUpLease(true);
+        setUpNoOrdersToLoad();
+        orderExpirationScheduler.init();
+        orderExpirationScheduler.schedule(5L, new Date(System.currentTimeMillis() - 1000));
+
+        setUpLease(false);
+        orderExpirationScheduler.refill();
+        orderExpirationScheduler.tick();
+
+        verify(expiredOrdersChunkProcessor, never()).expireOrders(anyListOf(Long.class));
+    }
+
+    /**
+     * A failure to take over the scheduler does not fail its start, the next refill tries again.
+     */
+    @Test
+    public void failedRefillIsRetried() {
+        when(jobLeaseRepository.acquire(eq(OrderExpirationScheduler.ORDER_EXPIRATION_SCHEDULER_LEASE), anyString(),
+                (Date) anyObject(), (Date) anyObject())).thenThrow(new EJBException("Duplicate lease"));
+        orderExpirationScheduler.init();
+
+        doReturn(true).when(jobLeaseRepository).acquire(eq(OrderExpirationScheduler.ORDER_EXPIRATION_SCHEDULER_LEASE),
+                anyString(), (Date) anyObject(), (Date) anyObject());
+        setUpNoOrdersToLoad();
+        orderExpirationScheduler.refill();
+        orderExpirationScheduler.schedule(5L, new Date(System.currentTimeMillis() - 1000));
+        orderExpirationScheduler.tick();
+
+        verify(expiredOrdersChunkProcessor).expireOrders(Arrays.asList(5L));
+    }
+
+    /**
+     * The orders of a failed chunk, and of the chunks after it, are kept to be retried.
+     */
+    @Test
+    public void ordersOfFailedChunkAreRetried() {
+        setUpLease(true);
+        final Date overdue = new Date(System.currentTimeMillis() - 1000);
+        when(orderRepository.findIdsAndExpiresAtByStatusExpiringBetween(eq(OrderStatus.RESERVED), (Date) isNull(),
+                (Date) anyObject())).thenReturn(Arrays.asList(new Object[]{1L, overdue}, new Object[]{2L, overdue},
+                new Object[]{3L, overdue}, new Object[]{4L, overdue}, new Object[]{5L, overdue}));
+        when(expiredOrdersChunkProcessor.expireOrders(Arrays.asList(3L, 4L))).thenThrow(
+                new EJBException("Lock wait timeout"));
+
+        orderExpirationScheduler.init();
+        orderExpirationScheduler.tick();
+
+        verify(expiredOrdersChunkProcessor).expireOrders(Arrays.asList(1L, 2L));
+        verify(expiredOrdersChunkProcessor, never()).expireOrders(Arrays.asList(5L));
+        assertThat(orderExpirationScheduler.getNumberOfScheduledOrders(), is(equalTo(3)));
+    }
+
+    private void setUpLease(final boolean acquired) {
+        when(jobLeaseRepository.acquire(eq(OrderExpirationScheduler.ORDER_EXPIRATION_SCHEDULER_LEASE), anyString(),
+                (Date) anyObject(), (Date) anyObject())).thenReturn(acquired);
+    }
+
+    private void setUpNoOrdersToLoad() {
+        final List<Object[]> noOrders = Collections.emptyList();
+        when(orderRepository.findIdsAndExpiresAtByStatusExpiringBetween(eq(OrderStatus.RESERVED), (Date) anyObject(),
+                (Date) anyObject())).thenReturn(noOrders);
+    }
+
+}
@@ -4,19 +4,25 @@ import com.library.app.book.exception.BookNotFoundException;
 import com.library.app.book.services.BookServices;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.exception.UserNotAuthorizedException;
+import com.library.app.common.joblease.repository.JobLeaseRepository;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.order.exception.OrderNotFoundException;
 import com.library.app.order.exception.OrderStatusCannotBeChangedException;
+import com.library.app.order.exception.OrderStatusConflictException;
 import com.library.app.order.model.Order;
 import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderExpirationPartition;
 import com.library.app.order.model.filter.OrderFilter;
+import com.library.app.order.repository.OrderExpirationPartitionRepository;
 import com.library.app.order.repository.OrderRepository;
 import com.library.app.order.services.OrderServices;
 import com.library.app.user.exception.UserNotFoundException;
 import com.library.app.user.model.User.Roles;
 import com.library.app.user.services.UserServices;
+import com.library.app.user.token.AuthenticatedCaller;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -25,6 +31,8 @@ import javax.validation.Validation;
 import javax.validation.Validator;
 import java.security.Principal;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 
 import static com.library.app.commontests.book.BookForTestsRepository.bookWithId;
 import static com.library.app.commontests.book.BookForTestsRepository.designPatterns;
@@ -39,10 +47,14 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -66,6 +78,20 @@ public class OrderServicesUtest {
     @Mock
     private SessionContext sessionContext;
 
+    @Mock
+    private ExpiredOrdersChunkProcessor expiredOrdersChunkProcessor;
+
+    @Mock
+    private OrderExpirationPartitionRepository orderExpirationPartitionRepository;
+
+    @Mock
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Mock
+    private OrderExpirationScheduler orderExpirationScheduler;
+
+    private static final String NODE = "node1";
+
     private static final String LOGGED_EMAIL = "anyemail@domain.com";
 
     /**
@@ -84,6 +110,16 @@ public class OrderServicesUtest {
         ((OrderServicesImpl) orderServices).userServices = userServices;
         ((OrderServicesImpl) orderServices).bookServices = bookServices;
         ((OrderServicesImpl) orderServices).sessionContext = sessionContext;
+        ((OrderServicesImpl) orderServices).authenticatedCaller = new AuthenticatedCaller();
+        ((OrderServicesImpl) orderServices).expiredOrdersChunkProcessor = expiredOrdersChunkProcessor;
+        ((OrderServicesImpl) orderServices).orderExpirationChunkSize = 2;
+        ((OrderServicesImpl) orderServices).orderExpirationPartitionRepository = orderExpirationPartitionRepository;
+        ((OrderServicesImpl) orderServices).jobLeaseRepository = jobLeaseRepository;
+        ((OrderServicesImpl) orderServices).orderExpirationPartitionSize = 10;
+        ((OrderServicesImpl) orderServices).orderExpirationClaimMinutes = 5;
+        ((OrderServicesImpl) orderServices).orderExpirationLeaseMinutes = 30;
+        ((OrderServicesImpl) orderServices).daysBeforeOrderExpiration = 7;
+        ((OrderServicesImpl) orderServices).orderExpirationScheduler = orderExpirationScheduler;
 
         setUpLoggedEmail(LOGGED_EMAIL, Roles.ADMINISTRATOR);
     }
@@ -95,7 +131,7 @@ public class OrderServicesUtest {
      */
     @Test(expected = UserNotFoundException.class)
     public void addOrderWithInexistentCustomer() throws Exception {
-        when(userServices.findByEmail(LOGGED_EMAIL)).thenThrow(new UserNotFoundException());
+        when(userServices.findReferenceByEmail(LOGGED_EMAIL)).thenThrow(new UserNotFoundException());
 
         orderServices.add(orderReserved());
     }
@@ -105,7 +141,7 @@ public class OrderServicesUtest {
      */
     @Test(expected = BookNotFoundException.class)
     public void addOrderWithInexistentBook() {
-        when(userServices.findByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
+        when(userServices.findReferenceByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
         when(bookServices.findById(anyLong())).thenThrow(new BookNotFoundException());
 
         orderServices.add(orderReserved());
@@ -116,7 +152,7 @@ public class OrderServicesUtest {
      */
     @Test
     public void addOrderWithNullQuantityInOneItem() {
-        when(userServices.findByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
+        when(userServices.findReferenceByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
         when(bookServices.findById(1L)).thenReturn(bookWithId(designPatterns(), 1L));
         when(bookServices.findById(2L)).thenReturn(bookWithId(refactoring(), 2L));
 
@@ -133,7 +169,7 @@ public class OrderServicesUtest {
      */
     @Test
     public void addOrderWithoutItems() throws Exception {
-        when(userServices.findByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
+        when(userServices.findReferenceByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
 
         final Order order = orderReserved();
         order.setItems(null);
@@ -147,7 +183,7 @@ public class OrderServicesUtest {
      */
     @Test
     public void addOrderWithNullBookInOneItem() throws Exception {
-        when(userServices.findByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
+        when(userServices.findReferenceByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
 
         final Order order = orderReserved();
         order.getItems().iterator().next().setBook(null);
@@ -160,7 +196,7 @@ public class OrderServicesUtest {
      */
     @Test
     public void addValidOrder() {
-        when(userServices.findByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
+        when(userServices.findReferenceByEmail(LOGGED_EMAIL)).thenReturn(johnDoe());
         when(bookServices.findById(1L)).thenReturn(bookWithId(designPatterns(), 1L));
         when(bookServices.findById(2L)).thenReturn(bookWithId(refactoring(), 2L));
         when(orderRepository.add(orderEq(orderReserved()))).thenReturn(orderWithId(orderReserved(), 1L));
@@ -247,12 +283,27 @@ public class OrderServicesUtest {
     public void updateStatusDeliveredAsEmployee() throws Exception {
         setUpLoggedEmail(LOGGED_EMAIL, Roles.EMPLOYEE);
         when(orderRepository.findById(1L)).thenReturn(orderWithId(orderReserved(), 1L));
+        when(orderRepository.updateStatus((Order) anyObject(), (Long) anyObject())).thenReturn(true);
 
         orderServices.updateStatus(1L, OrderStatus.DELIVERED);
 
         final Order expectedOrder = orderWithId(orderReserved(), 1L);
         expectedOrder.addHistoryEntry(OrderStatus.DELIVERED);
-        verify(orderRepository).update(orderEq(expectedOrder));
+        verify(orderRepository).updateStatus(orderEq(expectedOrder), (Long) anyObject());
+    }
+
+    /**
+     * Update status of an order changed by someone else since it was read.
+     */
+    @Test(expected = OrderStatusConflictException.class)
+    public void updateStatusChangedMeanwhile() {
+        setUpLoggedEmail(LOGGED_EMAIL, Roles.EMPLOYEE);
+        final Order order = orderWithId(orderReserved(), 1L);
+        order.setVersion(3L);
+        when(orderRepository.findById(1L)).thenReturn(order);
+        when(orderRepository.updateStatus(order, 3L)).thenReturn(false);
+
+        orderServices.updateStatus(1L, OrderStatus.DELIVERED);
     }
 
     /**
@@ -277,12 +328,13 @@ public class OrderServicesUtest {
     public void updateStatusCancelledAsCustomerTheOrderCustomer() throws Exception {
         setUpLoggedEmail(orderReserved().getCustomer().getEmail(), Roles.CUSTOMER);
         when(orderRepository.findById(1L)).thenReturn(orderWithId(orderReserved(), 1L));
+        when(orderRepository.updateStatus((Order) anyObject(), (Long) anyObject())).thenReturn(true);
 
         orderServices.updateStatus(1L, OrderStatus.CANCELLED);
 
         final Order expectedOrder = orderWithId(orderReserved(), 1L);
         expectedOrder.addHistoryEntry(OrderStatus.CANCELLED);
-        verify(orderRepository).update(orderEq(expectedOrder));
+        verify(orderRepository).updateStatus(orderEq(expectedOrder), (Long) anyObject());
     }
 
     /**
@@ -299,6 +351,112 @@ public class OrderServicesUtest {
         assertThat(ordersReturned.getRows().size(), is(equalTo(2)));
     }
 
+    /**
+     * Plan expiration partitions splits the ids of the orders to be expired.
+     */
+    @Test
+    public void planExpirationPartitionsSplitsIdRange() {
+        when(jobLeaseRepository.acquire(eq(OrderServicesImpl.ORDER_EXPIRATION_LEASE), eq(NODE), (Date) anyObject(),
+                (Date) anyObject())).thenReturn(true);
+        when(orderRepository.findIdRangeByStatusCreatedUntil(eq(OrderStatus.RESERVED), (Date) anyObject()))
+                .thenReturn(new Long[]{5L, 25L});
+
+        orderServices.planExpirationPartitions(7, NODE);
+
+        final ArgumentCaptor<OrderExpirationPartition> partitions = ArgumentCaptor
+                .forClass(OrderExpirationPartition.class);
+        verify(orderExpirationPartitionRepository, times(3)).add(partitions.capture());
+        assertPartitionRange(partitions.getAllValues().get(0), 5L, 14L);
+        assertPartitionRange(partitions.getAllValues().get(1), 15L, 24L);
+        assertPartitionRange(partitions.getAllValues().get(2), 25L, 25L);
+    }
+
+    /**
+     * Plan expiration partitions without the lease.
+     */
+    @Test
+    public void planExpirationPartitionsWithoutLease() {
+        when(jobLeaseRepository.acquire(eq(OrderServicesImpl.ORDER_EXPIRATION_LEASE), eq(NODE), (Date) anyObject(),
+                (Date) anyObject())).thenReturn(false);
+
+        orderServices.planExpirationPartitions(7, NODE);
+
+        verify(orderRepository, never()).findIdRangeByStatusCreatedUntil(eq(OrderStatus.RESERVED),
+                (Date) anyObject());
+        verify(orderExpirationPartitionRepository, never()).add((OrderExpirationPartition) anyObject());
+    }
+
+    /**
+     * Plan expiration partitions while the previous run is not done.
+     */
+    @Test
+    public void planExpirationPartitionsWithPreviousRunNotDone() {
+        when(jobLeaseRepository.acquire(eq(OrderServicesImpl.ORDER_EXPIRATION_LEASE), eq(NODE), (Date) anyObject(),
+                (Date) anyObject())).thenReturn(true);
+        when(orderExpirationPartitionRepository.existsUnfinished()).thenReturn(true);
+
+        orderServices.planExpirationPartitions(7, NODE);
+
+        verify(orderExpirationPartitionRepository, never()).add((OrderExpirationPartition) anyObject());
+    }
+
+    /**
+     * Change status of expired orders of claimable partitions skips the partitions claimed by other nodes.
+     */
+    @Test
+    public void changeStatusOfExpiredOrdersOfClaimablePartitions() {
+        final OrderExpirationPartition partition = new OrderExpirationPartition(new Date(), 1L, 10L);
+        partition.setId(2L);
+        when(orderExpirationPartitionRepository.findClaimableId((Date) anyObject())).thenReturn(1L, 2L, null);
+        when(orderExpirationPartitionRepository.claim(eq(1L), eq(NODE), (Date) anyObject(), (Date) anyObject()))
+                .thenReturn(false);
+        when(orderExpirationPartitionRepository.claim(eq(2L), eq(NODE), (Date) anyObject(), (Date) anyObject()))
+                .thenReturn(true);
+        when(orderExpirationPartitionRepository.findById(2L)).thenReturn(partition);
+        when(orderRepository.findIdsByStatusCreatedUntil(OrderStatus.RESERVED, partition.getCreatedUntil(), 1L, 10L,
+                2)).thenReturn(Arrays.asList(1L, 2L), Arrays.asList(7L), Collections.<Long>emptyList());
+        when(expiredOrdersChunkProcessor.expireOrders(Arrays.asList(1L, 2L))).thenReturn(2);
+        when(expiredOrdersChunkProcessor.expireOrders(Arrays.asList(7L))).thenReturn(1);
+        when(orderExpirationPartitionRepository.renewClaim(eq(2L), eq(NODE), anyInt(), (Date) anyObject()))
+                .thenReturn(true);
+
+        final int expiredOrders = orderServices.changeStatusOfExpiredOrdersOfClaimablePartitions(NODE);
+
+        assertThat(expiredOrders, is(equalTo(3)));
+        verify(orderExpirationPartitionRepository, never()).findById(1L);
+        verify(orderExpirationPartitionRepository).finish(eq(2L), eq(NODE), (Date) anyObject());
+    }
+
+    /**
+     * Change status of expired orders of claimable partitions leaves a partition whose claim was lost.
+     */
+    @Test
+    public void changeStatusOfExpiredOrdersOfClaimablePartitionsWithClaimLost() {
+        final OrderExpirationPartition partition = new OrderExpirationPartition(new Date(), 1L, 10L);
+        partition.setId(1L);
+        when(orderExpirationPartitionRepository.findClaimableId((Date) anyObject())).thenReturn(1L, null);
+        when(orderExpirationPartitionRepository.claim(eq(1L), eq(NODE), (Date) anyObject(), (Date) anyObject()))
+                .thenReturn(true);
+        when(orderExpirationPartitionRepository.findById(1L)).thenReturn(partition);
+        when(orderRepository.findIdsByStatusCreatedUntil(OrderStatus.RESERVED, partition.getCreatedUntil(), 1L, 10L,
+                2)).thenReturn(Arrays.asList(1L, 2L));
+        when(expiredOrdersChunkProcessor.expireOrders(Arrays.asList(1L, 2L))).thenReturn(2);
+        when(orderExpirationPartitionRepository.renewClaim(eq(1L), eq(NODE), eq(2), (Date) anyObject()))
+                .thenReturn(false);
+
+        final int expiredOrders = orderServices.changeStatusOfExpiredOrdersOfClaimablePartitions(NODE);
+
+        assertThat(expiredOrders, is(equalTo(2)));
+        verify(expiredOrdersChunkProcessor, times(1)).expireOrders(Arrays.asList(1L, 2L));
+        verify(orderExpirationPartitionRepository, never()).finish(eq(1L), eq(NODE), (Date) anyObject());
+    }
+
+    private void assertPartitionRange(final OrderExpirationPartition partition, final Long startId,
+                                      final Long endId) {
+        assertThat(partition.getStartId(), is(equalTo(startId)));
+        assertThat(partition.getEndId(), is(equalTo(endId)));
+    }
+
     /**
      * Add order with invalid field.
      *
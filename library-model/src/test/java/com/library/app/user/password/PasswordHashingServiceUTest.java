@@ -0,0 +1,164 @@
+package com.library.app.user.password;
+
+import com.library.app.common.utils.PasswordUtils;
+import com.library.app.user.exception.PasswordHashingBusyException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * The type Password hashing service unit test.
+ */
+public class PasswordHashingServiceUTest {
+
+    private static final int ITERATIONS = 1000;
+
+    private PasswordHashingService passwordHashingService;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        passwordHashingService = newPasswordHashingService(ITERATIONS, 1);
+    }
+
+    /**
+     * Stop the workers.
+     */
+    @After
+    public void tearDownTestCase() {
+        passwordHashingService.shutdown();
+    }
+
+    /**
+     * A password matches its hash, and only its hash.
+     */
+    @Test
+    public void hashAndMatch() {
+        final String hash = passwordHashingService.hash("123456");
+
+        assertThat(hash.startsWith("$pbkdf2-sha256$1000$"), is(equalTo(true)));
+        assertThat(passwordHashingService.matches("123456", hash), is(equalTo(true)));
+        assertThat(passwordHashingService.matches("1234567", hash), is(equalTo(false)));
+        assertThat(passwordHashingService.needsRehash(hash), is(equalTo(false)));
+    }
+
+    /**
+     * The same password is hashed with different salts.
+     */
+    @Test
+    public void hashWithRandomSalt() {
+        final String hash = passwordHashingService.hash("123456");
+
+        assertThat(passwordHashingService.hash("123456"), is(not(equalTo(hash))));
+        assertThat(passwordHashingService.matches("123456", passwordHashingService.hash("123456")), is(equalTo(true)));
+    }
+
+    /**
+     * The hash is the one of the PBKDF2 implementation of the JDK, the empty password included.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void pbkdf2AsTheJdk() throws Exception {
+        final byte[] salt = "salt-of-the-test".getBytes(StandardCharsets.UTF_8);
+        final SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+
+        for (final String password : new String[] {"123456", "pässwörd", ""}) {
+            final byte[] expectedHash = secretKeyFactory.generateSecret(
+                    new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, 256)).getEncoded();
+
+            assertThat(PasswordHashingService.pbkdf2(password, salt, ITERATIONS), is(equalTo(expectedHash)));
+        }
+    }
+
+    /**
+     * A legacy SHA-256 hash still matches its password, and needs to be hashed again.
+     */
+    @Test
+    public void legacyHash() {
+        final String legacyHash = PasswordUtils.encryptPassword("123456");
+
+        assertThat(passwordHashingService.matches("123456", legacyHash), is(equalTo(true)));
+        assertThat(passwordHashingService.matches("1234567", legacyHash), is(equalTo(false)));
+        assertThat(passwordHashingService.needsRehash(legacyHash), is(equalTo(true)));
+    }
+
+    /**
+     * A hash of fewer iterations than the current ones still matches its password, and needs to be hashed again.
+     */
+    @Test
+    public void hashOfFewerIterations() {
+        final PasswordHashingService weakerPasswordHashingService = newPasswordHashingService(ITERATIONS / 2, 1);
+        try {
+            final String hash = weakerPasswordHashingService.hash("123456");
+
+            assertThat(passwordHashingService.matches("123456", hash), is(equalTo(true)));
+            assertThat(passwordHashingService.needsRehash(hash), is(equalTo(true)));
+        } finally {
+            weakerPasswordHashingService.shutdown();
+        }
+    }
+
+    /**
+     * When the workers are busy and the queue is full a password is refused instead of waiting.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void fullQueueFailsFast() throws Exception {
+        final CountDownLatch workerStarted = new CountDownLatch(1);
+        final CountDownLatch releaseWorker = new CountDownLatch(1);
+        Future<Object> queuedTask = null;
+        try {
+            passwordHashingService.executor.submit(() -> {
+                workerStarted.countDown();
+                releaseWorker.await();
+                return null;
+            });
+            workerStarted.await();
+            queuedTask = passwordHashingService.executor.submit(() -> null);
+
+            passwordHashingService.hash("123456");
+            fail("An error should have been thrown");
+        } catch (final PasswordHashingBusyException e) {
+            assertThat(e.getMessage(), is(equalTo("The password hashing queue is full")));
+        } finally {
+            releaseWorker.countDown();
+        }
+
+        //once the queue is drained the passwords are hashed again
+        queuedTask.get();
+        assertThat(passwordHashingService.matches("123456", passwordHashingService.hash("123456")), is(equalTo(true)));
+    }
+
+    /**
+     * New password hashing service.
+     *
+     * @param iterations the iterations
+     * @param queueSize  the queue size
+     * @return the password hashing service
+     */
+    private PasswordHashingService newPasswordHashingService(final int iterations, final int queueSize) {
+        final PasswordHashingService newPasswordHashingService = new PasswordHashingService();
+        newPasswordHashingService.iterations = iterations;
+        newPasswordHashingService.threads = 1;
+        newPasswordHashingService.queueSize = queueSize;
+        newPasswordHashingService.init();
+        return newPasswordHashingService;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.library.app.user.repository;
+
+import com.library.app.commontests.utils.TestBaseRepository;
+import com.library.app.user.model.RevokedToken;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Revoked token repository u test.
+ */
+public class RevokedTokenRepositoryUTest extends TestBaseRepository {
+
+    private static final long MINUTE = 60000L;
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        initializeTestDB();
+
+        revokedTokenRepository = new RevokedTokenRepository();
+        revokedTokenRepository.em = em;
+    }
+
+    /**
+     * Sets down test case.
+     */
+    @After
+    public void setDownTestCase() {
+        closeEntityManager();
+    }
+
+    /**
+     * Add a revoked token, twice, and find the ones not expired.
+     */
+    @Test
+    public void addAndFindAllNotExpired() {
+        final Date now = new Date();
+        dbCommandExecutor.executeCommand(() -> {
+            revokedTokenRepository.add(new RevokedToken("token1", new Date(now.getTime() + MINUTE)));
+            revokedTokenRepository.add(new RevokedToken("token1", new Date(now.getTime() + MINUTE)));
+            revokedTokenRepository.add(new RevokedToken("expired", new Date(now.getTime() - MINUTE)));
+            return null;
+        });
+
+        final List<RevokedToken> revokedTokens = revokedTokenRepository.findAllNotExpired(now);
+        assertThat(revokedTokens.size(), is(equalTo(1)));
+        assertThat(revokedTokens.get(0).getTokenId(), is(equalTo("token1")));
+    }
+
+    /**
+     * Delete the revoked tokens which already expired.
+     */
+    @Test
+    public void deleteExpired() {
+        final Date now = new Date();
+        dbCommandExecutor.executeCommand(() -> {
+            revokedTokenRepository.add(new RevokedToken("expired", new Date(now.getTime() - MINUTE)));
+            revokedTokenRepository.add(new RevokedToken("valid", new Date(now.getTime() + MINUTE)));
+            return null;
+        });
+
+        final int deleted = dbCommandExecutor.executeCommand(() -> revokedTokenRepository.deleteExpired(now));
+
+        assertThat(deleted, is(equalTo(1)));
+        em.clear();
+        assertThat(em.find(RevokedToken.class, "expired"), is(nullValue()));
+        assertThat(em.find(RevokedToken.class, "valid").getTokenId(), is(equalTo("valid")));
+    }
+
+}
@@ -4,23 +4,32 @@ import com.library.app.common.model.PaginatedData;
 import com.library.app.common.model.filter.PaginationData;
 import com.library.app.common.model.filter.PaginationData.OrderMode;
 import com.library.app.commontests.utils.TestBaseRepository;
+import com.library.app.user.exception.UserExistentException;
+import com.library.app.user.model.Employee;
 import com.library.app.user.model.User;
 import com.library.app.user.model.User.UserType;
+import com.library.app.user.model.UserIdentity;
 import com.library.app.user.model.filter.UserFilter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static com.library.app.commontests.user.UserForTestsRepository.admin;
 import static com.library.app.commontests.user.UserForTestsRepository.allUsers;
 import static com.library.app.commontests.user.UserForTestsRepository.johnDoe;
 import static com.library.app.commontests.user.UserForTestsRepository.mary;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * The type User repository u test.
@@ -94,6 +103,53 @@ public class UserRepositoryUTest extends TestBaseRepository {
         assertThat(userAfterUpdate.getName(), is(equalTo("New name")));
     }
 
+    /**
+     * A user whose email is already taken is refused by the unique constraint of the email when it is added, and the
+     * emails of all the users are found.
+     */
+    @Test
+    public void addUserWithExistentEmailAndFindAllEmails() {
+        dbCommandExecutor.executeCommand(() -> {
+            userRepository.add(johnDoe());
+            return userRepository.add(admin());
+        });
+
+        try {
+            dbCommandExecutor.executeCommand(() -> userRepository.add(johnDoe()));
+            fail("An error should have been thrown");
+        } catch (final IllegalStateException e) {
+            assertThat(e.getCause(), is(instanceOf(UserExistentException.class)));
+        }
+
+        final List<String> emails = userRepository.findAllEmails();
+        Collections.sort(emails);
+        assertThat(emails, is(equalTo(Arrays.asList(admin().getEmail(), johnDoe().getEmail()))));
+    }
+
+    /**
+     * A user whose email is changed to one already taken is refused by the unique constraint of the email when it is
+     * updated.
+     */
+    @Test
+    public void updateUserWithExistentEmail() {
+        final Long userAddedId = dbCommandExecutor.executeCommand(() -> {
+            userRepository.add(admin());
+            return userRepository.add(johnDoe()).getId();
+        });
+
+        final User user = userRepository.findById(userAddedId);
+        user.setEmail(admin().getEmail());
+        try {
+            dbCommandExecutor.executeCommand(() -> {
+                userRepository.update(user);
+                return null;
+            });
+            fail("An error should have been thrown");
+        } catch (final IllegalStateException e) {
+            assertThat(e.getCause(), is(instanceOf(UserExistentException.class)));
+        }
+    }
+
     /**
      * Already exists user without id.
      */
@@ -148,6 +204,29 @@ public class UserRepositoryUTest extends TestBaseRepository {
         assertThat(user, is(nullValue()));
     }
 
+    /**
+     * Find the identity of a user by email with its roles, and a reference of the class of its type.
+     */
+    @Test
+    public void findIdentityByEmailAndGetReference() {
+        final Long adminId = dbCommandExecutor.executeCommand(() -> {
+            return userRepository.add(admin()).getId();
+        });
+
+        final UserIdentity userIdentity = userRepository.findIdentityByEmail(admin().getEmail());
+        assertThat(userIdentity.getId(), is(equalTo(adminId)));
+        assertThat(userIdentity.getEmail(), is(equalTo(admin().getEmail())));
+        assertThat(userIdentity.getUserType(), is(equalTo(UserType.EMPLOYEE)));
+        assertThat(userIdentity.getRoles().size(), is(equalTo(admin().getRoles().size())));
+        assertThat(userIdentity.getRoles().containsAll(admin().getRoles()), is(equalTo(true)));
+
+        final User reference = userRepository.getReference(userIdentity);
+        assertThat(reference, is(instanceOf(Employee.class)));
+        assertThat(reference.getId(), is(equalTo(adminId)));
+
+        assertThat(userRepository.findIdentityByEmail(johnDoe().getEmail()), is(nullValue()));
+    }
+
     /**
      * Find by filter with paging ordering by name descending.
      */
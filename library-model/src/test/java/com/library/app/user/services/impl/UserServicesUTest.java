@@ -1,12 +1,16 @@
 package com.library.app.user.services.impl;
 
+import com.library.app.cache.interceptor.ResultCaches;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.model.PaginatedData;
-import com.library.app.common.utils.PasswordUtils;
 import com.library.app.user.exception.UserExistentException;
 import com.library.app.user.exception.UserNotFoundException;
 import com.library.app.user.model.User;
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.User.UserType;
+import com.library.app.user.model.UserIdentity;
 import com.library.app.user.model.filter.UserFilter;
+import com.library.app.user.password.PasswordHashingService;
 import com.library.app.user.repository.UserRepository;
 import com.library.app.user.services.UserServices;
 import org.junit.Before;
@@ -17,9 +21,11 @@ import org.mockito.MockitoAnnotations;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import java.util.Arrays;
+import java.util.Collections;
 
 import static com.library.app.commontests.user.UserArgumentMatcher.userEq;
 import static com.library.app.commontests.user.UserForTestsRepository.johnDoe;
+import static com.library.app.commontests.user.UserForTestsRepository.mary;
 import static com.library.app.commontests.user.UserForTestsRepository.userWithEncryptedPassword;
 import static com.library.app.commontests.user.UserForTestsRepository.userWithIdAndCreatedAt;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -28,6 +34,8 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,12 +44,17 @@ import static org.mockito.Mockito.when;
  */
 public class UserServicesUTest {
 
+    private static final String PASSWORD_HASH = "$pbkdf2-sha256$1000$c2FsdA$aGFzaA";
+
     private Validator validator;
     private UserServices userServices;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
     /**
      * Init test case.
      */
@@ -54,6 +67,16 @@ public class UserServicesUTest {
         userServices = new UserServicesImpl();
         ((UserServicesImpl) userServices).userRepository = userRepository;
         ((UserServicesImpl) userServices).validator = validator;
+        ((UserServicesImpl) userServices).userIdentityCache = new UserIdentityCache();
+        ((UserServicesImpl) userServices).userIdentityMap = new UserIdentityMap();
+        ((UserServicesImpl) userServices).passwordHashingService = passwordHashingService;
+        ((UserServicesImpl) userServices).resultCaches = new ResultCaches();
+
+        final RegisteredUserEmails registeredUserEmails = new RegisteredUserEmails();
+        registeredUserEmails.userRepository = userRepository;
+        when(userRepository.findAllEmails()).thenReturn(Arrays.asList(johnDoe().getEmail()));
+        registeredUserEmails.init();
+        ((UserServicesImpl) userServices).registeredUserEmails = registeredUserEmails;
     }
 
     /**
@@ -116,14 +139,31 @@ public class UserServicesUTest {
         userServices.add(johnDoe());
     }
 
+    /**
+     * Add user with an email certainly not taken. Whether the email is taken is not queried.
+     */
+    @Test
+    public void addUserWithEmailNotTaken() {
+        when(userRepository.add((User) anyObject())).thenReturn(userWithIdAndCreatedAt(mary(), 2L));
+
+        userServices.add(mary());
+        verify(userRepository, never()).alreadyExists((User) anyObject());
+
+        //the email is taken from now on
+        userServices.add(mary());
+        verify(userRepository).alreadyExists((User) anyObject());
+    }
+
     /**
      * Add valid user. Encrypt the password.
      */
     @Test
     public void addValidUser() {
+        final User expectedUser = johnDoe();
+        expectedUser.setPassword(PASSWORD_HASH);
         when(userRepository.alreadyExists(johnDoe())).thenReturn(false);
-        when(userRepository.add(userEq(userWithEncryptedPassword(johnDoe()))))
-                .thenReturn(userWithIdAndCreatedAt(johnDoe(), 1L));
+        when(passwordHashingService.hash(johnDoe().getPassword())).thenReturn(PASSWORD_HASH);
+        when(userRepository.add(userEq(expectedUser))).thenReturn(userWithIdAndCreatedAt(johnDoe(), 1L));
 
         final User user = userServices.add(johnDoe());
         assertThat(user.getId(), is(equalTo(1L)));
@@ -233,11 +273,12 @@ public class UserServicesUTest {
     public void updatePassword() throws Exception {
         final User user = userWithIdAndCreatedAt(johnDoe(), 1L);
         when(userRepository.findById(1L)).thenReturn(user);
+        when(passwordHashingService.hash("654654")).thenReturn(PASSWORD_HASH);
 
         userServices.updatePassword(1L, "654654");
 
         final User expectedUser = userWithIdAndCreatedAt(johnDoe(), 1L);
-        expectedUser.setPassword(PasswordUtils.encryptPassword("654654"));
+        expectedUser.setPassword(PASSWORD_HASH);
 
         verify(userRepository).update(userEq(expectedUser));
     }
@@ -268,6 +309,36 @@ public class UserServicesUTest {
         assertThat(user.getName(), is(equalTo(johnDoe().getName())));
     }
 
+    /**
+     * Find user identity by email not found.
+     */
+    @Test(expected = UserNotFoundException.class)
+    public void findUserIdentityByEmailNotFound() {
+        when(userRepository.findIdentityByEmail(johnDoe().getEmail())).thenReturn(null);
+
+        userServices.findIdentityByEmail(johnDoe().getEmail());
+    }
+
+    /**
+     * Find user identity by email reads it once, until the user is updated.
+     */
+    @Test
+    public void findUserIdentityByEmailReadOnceUntilUpdate() {
+        final String email = johnDoe().getEmail();
+        when(userRepository.findIdentityByEmail(email)).thenReturn(
+                new UserIdentity(1L, email, UserType.CUSTOMER, Collections.singletonList(Roles.CUSTOMER)));
+        when(userRepository.findById(1L)).thenReturn(userWithIdAndCreatedAt(johnDoe(), 1L));
+
+        assertThat(userServices.findIdentityByEmail(email).getId(), is(equalTo(1L)));
+        assertThat(userServices.findIdentityByEmail(email).getId(), is(equalTo(1L)));
+        verify(userRepository, times(1)).findIdentityByEmail(email);
+
+        userServices.updatePassword(1L, "654654");
+
+        assertThat(userServices.findIdentityByEmail(email).getId(), is(equalTo(1L)));
+        verify(userRepository, times(2)).findIdentityByEmail(email);
+    }
+
     /**
      * Find user by email and password not found.
      */
@@ -293,6 +364,7 @@ public class UserServicesUTest {
         userReturned = userWithEncryptedPassword(userReturned);
 
         when(userRepository.findByEmail(user.getEmail())).thenReturn(userReturned);
+        when(passwordHashingService.matches("1111", userReturned.getPassword())).thenReturn(false);
 
         userServices.findByEmailAndPassword(user.getEmail(), user.getPassword());
     }
@@ -306,14 +378,40 @@ public class UserServicesUTest {
     public void findUserByAndPasswordEmail() throws UserNotFoundException {
         User user = johnDoe();
 
-        User userReturned = userWithIdAndCreatedAt(johnDoe(), 1L);
-        userReturned = userWithEncryptedPassword(userReturned);
+        final User userReturned = userWithIdAndCreatedAt(johnDoe(), 1L);
+        userReturned.setPassword(PASSWORD_HASH);
 
         when(userRepository.findByEmail(user.getEmail())).thenReturn(userReturned);
+        when(passwordHashingService.matches(user.getPassword(), PASSWORD_HASH)).thenReturn(true);
+        when(passwordHashingService.needsRehash(PASSWORD_HASH)).thenReturn(false);
 
         user = userServices.findByEmailAndPassword(user.getEmail(), user.getPassword());
         assertThat(user, is(notNullValue()));
         assertThat(user.getName(), is(equalTo(johnDoe().getName())));
+        verify(userRepository, never()).update((User) anyObject());
+    }
+
+    /**
+     * Find user by email and password replaces the legacy hash of the password, and drops the cached users.
+     */
+    @Test
+    public void findUserByEmailAndPasswordRehashesLegacyPassword() {
+        final User user = johnDoe();
+
+        final User userReturned = userWithEncryptedPassword(userWithIdAndCreatedAt(johnDoe(), 1L));
+        final String legacyHash = userReturned.getPassword();
+
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(userReturned);
+        when(passwordHashingService.matches(user.getPassword(), legacyHash)).thenReturn(true);
+        when(passwordHashingService.needsRehash(legacyHash)).thenReturn(true);
+        when(passwordHashingService.hash(user.getPassword())).thenReturn(PASSWORD_HASH);
+
+        userServices.findByEmailAndPassword(user.getEmail(), user.getPassword());
+
+        final User expectedUser = userWithIdAndCreatedAt(johnDoe(), 1L);
+        expectedUser.setPassword(PASSWORD_HASH);
+        verify(userRepository).update(userEq(expectedUser));
+        assertThat(((UserServicesImpl) userServices).resultCaches.getVersion("users"), is(equalTo(1L)));
     }
 
     /**
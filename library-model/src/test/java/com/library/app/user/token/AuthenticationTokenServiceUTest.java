@@ -0,0 +1,191 @@
+package com.library.app.user.token;
+
+import com.library.app.user.exception.InvalidTokenException;
+import com.library.app.user.model.RevokedToken;
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.User.UserType;
+import com.library.app.user.model.UserIdentity;
+import com.library.app.user.repository.RevokedTokenRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Authentication token service unit test.
+ */
+public class AuthenticationTokenServiceUTest {
+
+    private static final long NOW = 1000000L;
+    private static final String SECRET = "c2VjcmV0LWtleS1vZi10aGUtdW5pdC10ZXN0cy0zMmI=";
+    private static final String OTHER_SECRET = "b3RoZXIta2V5LW9mLXRoZS11bml0LXRlc3RzLTMyYg==";
+
+    private AuthenticationTokenService authenticationTokenService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        authenticationTokenService = newAuthenticationTokenService(SECRET);
+    }
+
+    /**
+     * A token issued for a user is verified as the identity of the user.
+     */
+    @Test
+    public void issueAndVerify() {
+        final String token = authenticationTokenService.issue(admin(), NOW);
+
+        final UserIdentity userIdentity = authenticationTokenService.verify(token, NOW + 1);
+        assertThat(userIdentity.getId(), is(equalTo(1L)));
+        assertThat(userIdentity.getEmail(), is(equalTo("admin@domain.com")));
+        assertThat(userIdentity.getUserType(), is(equalTo(UserType.EMPLOYEE)));
+        assertThat(userIdentity.getRoles(), is(equalTo(Arrays.asList(Roles.EMPLOYEE, Roles.ADMINISTRATOR))));
+    }
+
+    /**
+     * A token is verified by other nodes sharing the secret.
+     */
+    @Test
+    public void verifyOnOtherNodeWithSameSecret() {
+        final String token = authenticationTokenService.issue(admin(), NOW);
+
+        assertThat(newAuthenticationTokenService(SECRET).verify(token, NOW).getId(), is(equalTo(1L)));
+    }
+
+    /**
+     * A token revoked on another node is rejected once the revoked tokens are refreshed, the verification itself does
+     * not read the database.
+     */
+    @Test
+    public void verifyTokenRevokedOnOtherNode() {
+        final long nowMillis = System.currentTimeMillis();
+        final String token = authenticationTokenService.issue(admin(), nowMillis);
+        final AuthenticationTokenService otherNode = newAuthenticationTokenService(SECRET);
+        otherNode.revoke(token);
+        final ArgumentCaptor<RevokedToken> revokedToken = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).add(revokedToken.capture());
+
+        assertThat(authenticationTokenService.verify(token, nowMillis).getId(), is(equalTo(1L)));
+        when(revokedTokenRepository.findAllNotExpired(any(Date.class)))
+                .thenReturn(Collections.singletonList(revokedToken.getValue()));
+        authenticationTokenService.revokedTokens.refresh();
+
+        try {
+            authenticationTokenService.verify(token, nowMillis);
+            fail("Revoked token verified");
+        } catch (final InvalidTokenException e) {
+            assertThat(e.getMessage(), is(equalTo("Token revoked")));
+        }
+        verify(revokedTokenRepository, times(1)).findAllNotExpired(any(Date.class));
+    }
+
+    /**
+     * The start up fails when no secret is configured.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void initWithoutSecret() {
+        newAuthenticationTokenService(null);
+    }
+
+    /**
+     * A token signed with another secret is rejected.
+     */
+    @Test(expected = InvalidTokenException.class)
+    public void verifyTokenOfOtherSecret() {
+        final String token = newAuthenticationTokenService(OTHER_SECRET).issue(admin(), NOW);
+
+        authenticationTokenService.verify(token, NOW);
+    }
+
+    /**
+     * A token whose payload was changed is rejected.
+     */
+    @Test(expected = InvalidTokenException.class)
+    public void verifyTamperedToken() {
+        final String token = authenticationTokenService.issue(admin(), NOW);
+        final String otherToken = authenticationTokenService.issue(customer(), NOW);
+
+        authenticationTokenService.verify(otherToken.substring(0, otherToken.indexOf('.'))
+                + token.substring(token.indexOf('.')), NOW);
+    }
+
+    /**
+     * A malformed token is rejected.
+     */
+    @Test(expected = InvalidTokenException.class)
+    public void verifyMalformedToken() {
+        authenticationTokenService.verify("not-a-token", NOW);
+    }
+
+    /**
+     * An expired token is rejected.
+     */
+    @Test(expected = InvalidTokenException.class)
+    public void verifyExpiredToken() {
+        final String token = authenticationTokenService.issue(admin(), NOW);
+
+        authenticationTokenService.verify(token, NOW + TimeUnit.MINUTES.toMillis(60));
+    }
+
+    /**
+     * A revoked token is rejected, the other tokens of the user are not.
+     */
+    @Test
+    public void verifyRevokedToken() {
+        final String token = authenticationTokenService.issue(admin(), System.currentTimeMillis());
+        final String otherToken = authenticationTokenService.issue(admin(), System.currentTimeMillis());
+
+        authenticationTokenService.revoke(token);
+
+        try {
+            authenticationTokenService.verify(token);
+            fail("Revoked token verified");
+        } catch (final InvalidTokenException e) {
+            assertThat(e.getMessage(), is(equalTo("Token revoked")));
+        }
+        assertThat(authenticationTokenService.verify(otherToken).getId(), is(equalTo(1L)));
+    }
+
+    private AuthenticationTokenService newAuthenticationTokenService(final String secret) {
+        final AuthenticationTokenService newAuthenticationTokenService = new AuthenticationTokenService();
+        newAuthenticationTokenService.tokenMinutes = 60;
+        newAuthenticationTokenService.tokenSecret = secret;
+        final RevokedTokens revokedTokens = new RevokedTokens();
+        revokedTokens.revokedTokenRepository = revokedTokenRepository;
+        newAuthenticationTokenService.revokedTokens = revokedTokens;
+        newAuthenticationTokenService.init();
+        return newAuthenticationTokenService;
+    }
+
+    private UserIdentity admin() {
+        return new UserIdentity(1L, "admin@domain.com", UserType.EMPLOYEE,
+                Arrays.asList(Roles.EMPLOYEE, Roles.ADMINISTRATOR));
+    }
+
+    private UserIdentity customer() {
+        return new UserIdentity(2L, "john@domain.com", UserType.CUSTOMER, Arrays.asList(Roles.CUSTOMER));
+    }
+
+}
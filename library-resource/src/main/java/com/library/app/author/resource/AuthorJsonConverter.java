@@ -2,32 +2,35 @@ package com.library.app.author.resource;
 
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.library.app.author.model.Author;
 import com.library.app.common.json.EntityJsonConverter;
 import com.library.app.common.json.JsonReader;
+import com.library.app.common.json.JsonUtils;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
 
 @ApplicationScoped
 public class AuthorJsonConverter implements EntityJsonConverter<Author> {
 
     @Override
     public Author convertFrom(final String json) {
-        final JsonObject jsonObject = JsonReader.readAsJsonObject(json);
-
-        final Author author = new Author();
-        author.setName(JsonReader.getStringOrNull(jsonObject, "name"));
-
-        return author;
+        return JsonReader.readJson(json, reader -> {
+            final Author author = new Author();
+            AuthorJsonViewCodec.read(reader, author);
+            return author;
+        });
     }
 
     @Override
     public JsonElement convertToJsonElement(final Author author) {
-        final JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("id", author.getId());
-        jsonObject.addProperty("name", author.getName());
-        return jsonObject;
+        return JsonUtils.toJsonElement(jsonWriter -> AuthorJsonViewCodec.write(jsonWriter, author));
+    }
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final Author author) throws IOException {
+        AuthorJsonViewCodec.write(jsonWriter, author);
     }
 
-}
\ No newline at end of file
+}
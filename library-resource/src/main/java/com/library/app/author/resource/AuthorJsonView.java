@@ -0,0 +1,18 @@
+package com.library.app.author.resource;
+
+import com.library.app.author.model.Author;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+
+/**
+ * The type Author json view. The Json of an author, written and read by the generated AuthorJsonViewCodec.
+ */
+@JsonView(Author.class)
+public interface AuthorJsonView {
+
+    Long getId();
+
+    @JsonProperty(readable = true)
+    String getName();
+
+}
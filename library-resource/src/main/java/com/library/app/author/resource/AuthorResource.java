@@ -1,18 +1,18 @@
 package com.library.app.author.resource;
 
-import com.google.gson.JsonElement;
 import com.library.app.author.exception.AuthorNotFoundException;
 import com.library.app.author.model.Author;
 import com.library.app.author.model.filter.AuthorFilter;
 import com.library.app.author.services.AuthorServices;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.json.JsonUtils;
-import com.library.app.common.json.JsonWriter;
 import com.library.app.common.json.OperationResultJsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.OperationResult;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.model.ResourceMessage;
+import com.library.app.common.resource.CborMessageBodyWriter;
+import com.library.app.common.resource.HttpCaching;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,16 +21,21 @@ import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.core.StreamingOutput;
 
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultInvalidField;
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultNotFound;
@@ -39,7 +44,7 @@ import static com.library.app.common.model.StandardsOperationResults.getOperatio
  * The type Author resource end points.
  */
 @Path("/authors")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
 @Consumes(MediaType.APPLICATION_JSON)
 @RolesAllowed({"EMPLOYEE"})
 public class AuthorResource {
@@ -57,6 +62,9 @@ public class AuthorResource {
     @Context
     UriInfo uriInfo;
 
+    @Context
+    Request request;
+
     /**
      * Add author end point response.
      *
@@ -86,15 +94,18 @@ public class AuthorResource {
     }
 
     /**
-     * Update author response.
+     * Update author response. When the If-Match header is given, the author is only updated while it is still on the
+     * entity tag of the header.
      *
-     * @param id   the id
-     * @param body the body
+     * @param id      the id
+     * @param ifMatch the If-Match header, null when the author is updated on any version
+     * @param body    the body
      * @return the response
      */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") final Long id, final String body) {
+    public Response update(@PathParam("id") final Long id, @HeaderParam(HttpHeaders.IF_MATCH) final String ifMatch,
+                           final String body) {
         logger.debug("Updating the author {} with body {}", id, body);
         final Author author = authorJsonConverter.convertFrom(body);
         author.setId(id);
@@ -102,6 +113,16 @@ public class AuthorResource {
         HttpCode httpCode = HttpCode.OK;
         OperationResult result;
         try {
+            if (ifMatch != null) {
+                final Long version = authorServices.findVersionById(id);
+                final ResponseBuilder preconditionFailed = request.evaluatePreconditions(
+                        HttpCaching.getEntityTag(version));
+                if (preconditionFailed != null) {
+                    logger.debug("The author {} changed since the entity tag {}", id, ifMatch);
+                    return preconditionFailed.build();
+                }
+                author.setVersion(version);
+            }
             authorServices.update(author);
             result = OperationResult.success();
         } catch (final FieldNotValidException e) {
@@ -144,13 +165,22 @@ public class AuthorResource {
 
 
     /**
-     * Find authors by filter response.
+     * Find authors by filter response. Authors not modified since the entity tag of the If-None-Match header are
+     * answered with a 304 without being read.
      *
      * @return the response
      */
     @GET
     @PermitAll
     public Response findByFilter() {
+        final EntityTag entityTag = HttpCaching.getEntityTag(authorServices.findContentVersion());
+        final Response notModified = HttpCaching.getNotModifiedResponse(request, entityTag,
+                HttpCaching.getPublicCacheControl());
+        if (notModified != null) {
+            logger.debug("Authors not modified since {}", entityTag);
+            return notModified;
+        }
+
         final AuthorFilter authorFilter = new AuthorFilterExtractorFromUrl(uriInfo).getFilter();
         logger.debug("Finding authors using filter: {}", authorFilter);
 
@@ -158,10 +188,10 @@ public class AuthorResource {
         logger.debug("Found {} authors", authors.getNumberOfRows());
 
         //convert response to Json
-        final JsonElement jsonWithPagingAndEntries = JsonUtils.getJsonElementWithPagingAndEntries(authors,
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(authors,
                 authorJsonConverter);
 
-        return Response.status(HttpCode.OK.getCode()).entity(JsonWriter.writeToString(jsonWithPagingAndEntries))
-                .build();
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).tag(entityTag)
+                .cacheControl(HttpCaching.getPublicCacheControl()).build();
     }
 }
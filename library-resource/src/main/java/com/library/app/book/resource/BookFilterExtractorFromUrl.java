@@ -4,6 +4,7 @@ import com.library.app.book.model.filter.BookFilter;
 import com.library.app.common.resource.AbstractFilterExtractorFromUrl;
 
 import javax.ws.rs.core.UriInfo;
+import java.util.Arrays;
 
 /**
  * The type Book filter extractor from url. Extract query params from the path.
@@ -35,6 +36,12 @@ public class BookFilterExtractorFromUrl extends AbstractFilterExtractorFromUrl {
             bookFilter.setCategoryId(Long.valueOf(categoryIdStr));
         }
 
+        //the optional fields to be added to the list, comma separated
+        final String fields = getUriInfo().getQueryParameters().getFirst("fields");
+        if (fields != null) {
+            bookFilter.setWithDescription(Arrays.asList(fields.split("\\s*,\\s*")).contains("description"));
+        }
+
         return bookFilter;
     }
 
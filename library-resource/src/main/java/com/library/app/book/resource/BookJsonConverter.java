@@ -1,18 +1,17 @@
 package com.library.app.book.resource;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.library.app.author.model.Author;
-import com.library.app.author.resource.AuthorJsonConverter;
 import com.library.app.book.model.Book;
 import com.library.app.category.model.Category;
-import com.library.app.category.resource.CategoryJsonConverter;
 import com.library.app.common.json.EntityJsonConverter;
 import com.library.app.common.json.JsonReader;
+import com.library.app.common.json.JsonUtils;
+import com.library.app.common.json.LimitedJsonReader;
 
 import javax.enterprise.context.ApplicationScoped;
-import javax.inject.Inject;
+import java.io.IOException;
 
 /**
  * The type Book json converter.
@@ -20,57 +19,70 @@ import javax.inject.Inject;
 @ApplicationScoped
 public class BookJsonConverter implements EntityJsonConverter<Book> {
 
-    /**
-     * The Category json converter.
-     */
-    @Inject
-    CategoryJsonConverter categoryJsonConverter;
-
-    /**
-     * The Author json converter.
-     */
-    @Inject
-    AuthorJsonConverter authorJsonConverter;
-
     @Override
     public Book convertFrom(final String json) {
-        final JsonObject jsonObject = JsonReader.readAsJsonObject(json);
-
-        final Book book = new Book();
-        book.setTitle(JsonReader.getStringOrNull(jsonObject, "title"));
-        book.setDescription(JsonReader.getStringOrNull(jsonObject, "description"));
+        //read with the pull parser, so the authors ids are not held in a Json tree before being read
+        return JsonReader.readJson(json, reader -> {
+            final Book book = new Book();
+            final Category category = new Category();
+            book.setCategory(category);
 
-        final Category category = new Category();
-        category.setId(JsonReader.getLongOrNull(jsonObject, "categoryId"));
-        book.setCategory(category);
-
-        //The author sis an array of author Ids rather than the object itself
-        final JsonArray authorsIdsJsonArray = jsonObject.getAsJsonArray("authorsIds");
-        if (authorsIdsJsonArray != null) {
-            for (final JsonElement authorIdJsonElement : authorsIdsJsonArray) {
-                final Author author = new Author();
-                author.setId(authorIdJsonElement.getAsLong());
-                book.addAuthor(author);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "title":
+                        book.setTitle(JsonReader.nextStringOrNull(reader));
+                        break;
+                    case "description":
+                        book.setDescription(JsonReader.nextStringOrNull(reader));
+                        break;
+                    case "categoryId":
+                        category.setId(JsonReader.nextLongOrNull(reader));
+                        break;
+                    case "authorsIds":
+                        readAuthorsIds(reader, book);
+                        break;
+                    case "price":
+                        book.setPrice(JsonReader.nextDoubleOrNull(reader));
+                        break;
+                    default:
+                        reader.skipValue();
+                }
             }
-        }
+            reader.endObject();
 
-        book.setPrice(JsonReader.getDoubeOrNull(jsonObject, "price"));
+            return book;
+        });
+    }
 
-        return book;
+    /**
+     * Read the authors ids of a book. The authors are an array of author ids rather than the objects themselves.
+     *
+     * @param reader the reader, at the authors ids
+     * @param book   the book
+     * @throws IOException when the Json is malformed
+     */
+    private void readAuthorsIds(final LimitedJsonReader reader, final Book book) throws IOException {
+        if (JsonReader.nextIsNull(reader)) {
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            final Author author = new Author();
+            author.setId(reader.nextLong());
+            book.addAuthor(author);
+        }
+        reader.endArray();
     }
 
     @Override
     public JsonElement convertToJsonElement(final Book book) {
-        final JsonObject jsonObject = new JsonObject();
-
-        //reuse category and author Json converter
-        jsonObject.addProperty("id", book.getId());
-        jsonObject.addProperty("title", book.getTitle());
-        jsonObject.addProperty("description", book.getDescription());
-        jsonObject.add("category", categoryJsonConverter.convertToJsonElement(book.getCategory()));
-        jsonObject.add("authors", authorJsonConverter.convertToJsonElement(book.getAuthors()));
-        jsonObject.addProperty("price", book.getPrice());
+        return JsonUtils.toJsonElement(jsonWriter -> BookJsonViewCodec.write(jsonWriter, book));
+    }
 
-        return jsonObject;
+    @Override
+    public void write(final JsonWriter jsonWriter, final Book book) throws IOException {
+        BookJsonViewCodec.write(jsonWriter, book);
     }
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,34 @@
+package com.library.app.book.resource;
+
+import com.library.app.author.model.Author;
+import com.library.app.author.resource.AuthorJsonView;
+import com.library.app.book.model.Book;
+import com.library.app.category.model.Category;
+import com.library.app.category.resource.CategoryJsonView;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+
+import java.util.List;
+
+/**
+ * The type Book json view. The Json of a book, with its category and authors, written by the generated
+ * BookJsonViewCodec.
+ */
+@JsonView(Book.class)
+public interface BookJsonView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    @JsonProperty(view = CategoryJsonView.class)
+    Category getCategory();
+
+    @JsonProperty(view = AuthorJsonView.class)
+    List<Author> getAuthors();
+
+    Double getPrice();
+
+}
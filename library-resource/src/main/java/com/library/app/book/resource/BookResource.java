@@ -1,20 +1,28 @@
 package com.library.app.book.resource;
 
-import com.google.gson.JsonElement;
 import com.library.app.author.exception.AuthorNotFoundException;
 import com.library.app.book.exception.BookNotFoundException;
 import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookVersion;
 import com.library.app.book.model.filter.BookFilter;
 import com.library.app.book.services.BookServices;
+import com.library.app.cache.interceptor.CacheKeys;
+import com.library.app.cache.interceptor.RequestCoalescer;
 import com.library.app.category.exception.CategoryNotFoundException;
 import com.library.app.common.exception.FieldNotValidException;
+import com.library.app.common.json.JsonFragmentCache;
 import com.library.app.common.json.JsonUtils;
-import com.library.app.common.json.JsonWriter;
 import com.library.app.common.json.OperationResultJsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.OperationResult;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.model.ResourceMessage;
+import com.library.app.common.resource.CborMessageBodyWriter;
+import com.library.app.common.resource.HttpCaching;
+import com.library.app.common.responsecache.CachedResponse;
+import com.library.app.common.responsecache.CachingStreamingOutput;
+import com.library.app.common.responsecache.ResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,16 +31,22 @@ import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.concurrent.Callable;
 
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultDependencyNotFound;
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultInvalidField;
@@ -42,7 +56,7 @@ import static com.library.app.common.model.StandardsOperationResults.getOperatio
  * The type Book resource.
  */
 @Path("/books")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
 @Consumes(MediaType.APPLICATION_JSON)
 @RolesAllowed({"EMPLOYEE"})
 public class BookResource {
@@ -51,15 +65,36 @@ public class BookResource {
 
     private static final ResourceMessage RESOURCE_MESSAGE = new ResourceMessage("book");
 
+    /**
+     * The name of the cache of the results of the book services, invalidated when a book, a category or an author
+     * changes.
+     */
+    private static final String BOOKS_CACHE = "books";
+
     @Inject
     BookServices bookServices;
 
     @Inject
     BookJsonConverter bookJsonConverter;
 
+    @Inject
+    BookSummaryJsonConverter bookSummaryJsonConverter;
+
+    @Inject
+    ResponseCache responseCache;
+
+    @Inject
+    JsonFragmentCache jsonFragmentCache;
+
+    @Inject
+    RequestCoalescer requestCoalescer;
+
     @Context
     UriInfo uriInfo;
 
+    @Context
+    Request request;
+
     /**
      * Add response.
      *
@@ -95,15 +130,18 @@ public class BookResource {
     }
 
     /**
-     * Update response.
+     * Update response. When the If-Match header is given, the book is only updated while it is still on the entity
+     * tag of the header.
      *
-     * @param id   the id
-     * @param body the body
+     * @param id      the id
+     * @param ifMatch the If-Match header, null when the book is updated on any version
+     * @param body    the body
      * @return the response
      */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") final Long id, final String body) {
+    public Response update(@PathParam("id") final Long id, @HeaderParam(HttpHeaders.IF_MATCH) final String ifMatch,
+                           final String body) {
         logger.debug("Updating the book {} with body {}", id, body);
         final Book book = bookJsonConverter.convertFrom(body);
         book.setId(id);
@@ -111,6 +149,16 @@ public class BookResource {
         HttpCode httpCode = HttpCode.OK;
         OperationResult result;
         try {
+            if (ifMatch != null) {
+                final BookVersion bookVersion = bookServices.findVersionById(id);
+                final ResponseBuilder preconditionFailed = request.evaluatePreconditions(
+                        HttpCaching.getEntityTag(bookVersion));
+                if (preconditionFailed != null) {
+                    logger.debug("The book {} changed since the entity tag {}", id, ifMatch);
+                    return preconditionFailed.build();
+                }
+                book.setVersion(bookVersion.getBookVersion());
+            }
             bookServices.update(book);
             result = OperationResult.success();
         } catch (final FieldNotValidException e) {
@@ -136,7 +184,9 @@ public class BookResource {
     }
 
     /**
-     * Find by id response.
+     * Find by id response. The version of the book is read first, so a book not modified since the entity tag of the
+     * If-None-Match header is answered with a 304 without being loaded. The concurrent requests of the same version
+     * of the book share the json of the first one.
      *
      * @param id the id
      * @return the response
@@ -147,10 +197,22 @@ public class BookResource {
         logger.debug("Find book: {}", id);
         ResponseBuilder responseBuilder;
         try {
-            final Book book = bookServices.findById(id);
-            final OperationResult result = OperationResult.success(bookJsonConverter.convertToJsonElement(book));
-            responseBuilder = Response.status(HttpCode.OK.getCode()).entity(OperationResultJsonWriter.toJson(result));
-            logger.debug("Book found: {}", book);
+            final EntityTag entityTag = HttpCaching.getEntityTag(bookServices.findVersionById(id));
+            final Response notModified = HttpCaching.getNotModifiedResponse(request, entityTag,
+                    HttpCaching.getPrivateCacheControl());
+            if (notModified != null) {
+                logger.debug("Book {} not modified", id);
+                return notModified;
+            }
+
+            final String json = coalesce("book:" + id + ':' + entityTag.getValue(), () -> {
+                final Book book = bookServices.findById(id);
+                logger.debug("Book found: {}", book);
+                return OperationResultJsonWriter.toJson(
+                        OperationResult.success(bookJsonConverter.convertToJsonElement(book)));
+            });
+            responseBuilder = Response.status(HttpCode.OK.getCode()).entity(json).tag(entityTag)
+                    .cacheControl(HttpCaching.getPrivateCacheControl());
         } catch (final BookNotFoundException e) {
             logger.error("No book found for id", id);
             responseBuilder = Response.status(HttpCode.NOT_FOUND.getCode());
@@ -160,25 +222,92 @@ public class BookResource {
     }
 
     /**
-     * Find by filter response.
+     * Find by filter response. The books are read as summaries holding only the fields of the list, the description
+     * is only added when asked for with "fields=description". Books not modified since the entity tag of the
+     * If-None-Match header are answered with a 304 without being read.
+     * <p>
+     * The encoded responses are kept on the {@link ResponseCache} by the canonical form of their filter, so the
+     * filters asked again are answered without calling the services until a book, a category or an author changes.
+     * The concurrent requests of a filter not kept yet share the books read by the first one.
      *
      * @return the response
      */
     @GET
     @PermitAll
     public Response findByFilter() {
-
         final BookFilter bookFilter = new BookFilterExtractorFromUrl(uriInfo).getFilter();
+        final String cacheKey = CacheKeys.canonicalForm(bookFilter);
+        if (cacheKey != null) {
+            final CachedResponse cachedResponse = responseCache.get(BOOKS_CACHE, cacheKey);
+            if (cachedResponse != null) {
+                logger.debug("Books found on the response cache for filter: {}", bookFilter);
+                return getCachedResponse(cachedResponse);
+            }
+        }
+        final long cacheVersion = responseCache.getVersion(BOOKS_CACHE);
+
+        final EntityTag entityTag = HttpCaching.getEntityTag(bookServices.findContentVersion());
+        final Response notModified = HttpCaching.getNotModifiedResponse(request, entityTag,
+                HttpCaching.getPublicCacheControl());
+        if (notModified != null) {
+            logger.debug("Books not modified since {}", entityTag);
+            return notModified;
+        }
+
         logger.debug("Finding books using filter: {}", bookFilter);
 
-        final PaginatedData<Book> books = bookServices.findByFilter(bookFilter);
+        final PaginatedData<BookSummary> books = cacheKey == null ? bookServices.findSummariesByFilter(bookFilter)
+                : coalesce("summaries:" + cacheKey + ':' + entityTag.getValue(),
+                () -> bookServices.findSummariesByFilter(bookFilter));
 
         logger.debug("Found {} books", books.getNumberOfRows());
 
-        final JsonElement jsonWithPagingAndEntries = JsonUtils.getJsonElementWithPagingAndEntries(books,
-                bookJsonConverter);
-        return Response.status(HttpCode.OK.getCode()).entity(JsonWriter.writeToString(jsonWithPagingAndEntries))
-                .build();
+        StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(books,
+                bookSummaryJsonConverter, jsonFragmentCache);
+        if (cacheKey != null) {
+            jsonWithPagingAndEntries = new CachingStreamingOutput(jsonWithPagingAndEntries,
+                    responseCache.getMaxEntryBytes(), body -> responseCache.put(BOOKS_CACHE, cacheKey,
+                    new CachedResponse(body, entityTag, cacheVersion)));
+        }
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).tag(entityTag)
+                .cacheControl(HttpCaching.getPublicCacheControl()).build();
+    }
+
+    /**
+     * Runs a read of the books, or waits for the result of the equal read already running for another request, see
+     * {@link RequestCoalescer}. The key holds the entity tag, so the reads of different contents are never shared.
+     *
+     * @param <T>  the type of the result
+     * @param key  the key of the read
+     * @param read the read
+     * @return the result
+     */
+    private <T> T coalesce(final String key, final Callable<T> read) {
+        try {
+            return requestCoalescer.execute(BOOKS_CACHE, key, read);
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the response of the books found on the response cache, not modified when the client already has them.
+     *
+     * @param cachedResponse the cached response
+     * @return the response
+     */
+    private Response getCachedResponse(final CachedResponse cachedResponse) {
+        final Response notModified = HttpCaching.getNotModifiedResponse(request, cachedResponse.getEntityTag(),
+                HttpCaching.getPublicCacheControl());
+        if (notModified != null) {
+            return notModified;
+        }
+
+        final StreamingOutput body = output -> output.write(cachedResponse.getBody());
+        return Response.status(HttpCode.OK.getCode()).entity(body).tag(cachedResponse.getEntityTag())
+                .cacheControl(HttpCaching.getPublicCacheControl()).build();
     }
 
 }
\ No newline at end of file
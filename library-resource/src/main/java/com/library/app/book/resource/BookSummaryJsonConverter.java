@@ -0,0 +1,94 @@
+package com.library.app.book.resource;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookSummary.AuthorSummary;
+import com.library.app.common.json.EntityJsonConverter;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+
+/**
+ * The type Book summary json converter. Writes a book of the list with the same fields {@link BookJsonConverter}
+ * writes for a book, the description being left out when it was not read. The json of the summaries read with their
+ * version is kept by the {@link com.library.app.common.json.JsonFragmentCache}, with and without the description.
+ */
+@ApplicationScoped
+public class BookSummaryJsonConverter implements EntityJsonConverter<BookSummary> {
+
+    @Override
+    public BookSummary convertFrom(final String json) {
+        throw new UnsupportedOperationException("Book summaries are only written");
+    }
+
+    @Override
+    public JsonElement convertToJsonElement(final BookSummary bookSummary) {
+        final JsonObject jsonObject = new JsonObject();
+
+        jsonObject.addProperty("id", bookSummary.getId());
+        jsonObject.addProperty("title", bookSummary.getTitle());
+        if (bookSummary.hasDescription()) {
+            jsonObject.addProperty("description", bookSummary.getDescription());
+        }
+
+        final JsonObject categoryJsonObject = new JsonObject();
+        categoryJsonObject.addProperty("id", bookSummary.getCategoryId());
+        categoryJsonObject.addProperty("name", bookSummary.getCategoryName());
+        jsonObject.add("category", categoryJsonObject);
+
+        final JsonArray authorsJsonArray = new JsonArray();
+        for (final AuthorSummary author : bookSummary.getAuthors()) {
+            final JsonObject authorJsonObject = new JsonObject();
+            authorJsonObject.addProperty("id", author.getId());
+            authorJsonObject.addProperty("name", author.getName());
+            authorsJsonArray.add(authorJsonObject);
+        }
+        jsonObject.add("authors", authorsJsonArray);
+        jsonObject.addProperty("price", bookSummary.getPrice());
+
+        return jsonObject;
+    }
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final BookSummary bookSummary) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name("id").value(bookSummary.getId());
+        jsonWriter.name("title").value(bookSummary.getTitle());
+        if (bookSummary.hasDescription()) {
+            jsonWriter.name("description").value(bookSummary.getDescription());
+        }
+
+        jsonWriter.name("category").beginObject();
+        jsonWriter.name("id").value(bookSummary.getCategoryId());
+        jsonWriter.name("name").value(bookSummary.getCategoryName());
+        jsonWriter.endObject();
+
+        jsonWriter.name("authors").beginArray();
+        for (final AuthorSummary author : bookSummary.getAuthors()) {
+            jsonWriter.beginObject();
+            jsonWriter.name("id").value(author.getId());
+            jsonWriter.name("name").value(author.getName());
+            jsonWriter.endObject();
+        }
+        jsonWriter.endArray();
+        jsonWriter.name("price").value(bookSummary.getPrice());
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public String getFragmentId(final BookSummary bookSummary) {
+        if (bookSummary.getVersion() == null) {
+            return null;
+        }
+        return "book:" + bookSummary.getId() + (bookSummary.hasDescription() ? ":description" : "");
+    }
+
+    @Override
+    public Object getFragmentVersion(final BookSummary bookSummary) {
+        return bookSummary.getVersion();
+    }
+
+}
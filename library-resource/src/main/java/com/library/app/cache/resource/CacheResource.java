@@ -0,0 +1,67 @@
+package com.library.app.cache.resource;
+
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.cache.services.CacheServices;
+import com.library.app.common.json.JsonFragmentCache;
+import com.library.app.common.json.JsonUtils;
+import com.library.app.common.model.HttpCode;
+import com.library.app.common.model.PaginatedData;
+import com.library.app.common.resource.CborMessageBodyWriter;
+import com.library.app.common.responsecache.ResponseCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Cache resource. Shows the hits and misses of the caches, the regions of the second level cache followed by
+ * the caches of the service results, so their sizes and times to live can be tuned.
+ */
+@Path("/caches")
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
+@Consumes(MediaType.APPLICATION_JSON)
+@RolesAllowed({"ADMINISTRATOR"})
+public class CacheResource {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Inject
+    CacheServices cacheServices;
+
+    @Inject
+    ResponseCache responseCache;
+
+    @Inject
+    JsonFragmentCache jsonFragmentCache;
+
+    @Inject
+    CacheStatisticsJsonConverter cacheStatisticsJsonConverter;
+
+    /**
+     * Find statistics response.
+     *
+     * @return the response
+     */
+    @GET
+    public Response findStatistics() {
+        final List<CacheStatistics> cachesStatistics = new ArrayList<>(cacheServices.findStatistics());
+        cachesStatistics.add(responseCache.getStatistics());
+        cachesStatistics.add(jsonFragmentCache.getStatistics());
+        logger.debug("Found statistics of {} caches", cachesStatistics.size());
+
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(
+                new PaginatedData<>(cachesStatistics.size(), cachesStatistics), cacheStatisticsJsonConverter);
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).build();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.library.app.cache.resource;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.common.json.EntityJsonConverter;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+
+/**
+ * The type Cache statistics json converter.
+ */
+@ApplicationScoped
+public class CacheStatisticsJsonConverter implements EntityJsonConverter<CacheStatistics> {
+
+    @Override
+    public CacheStatistics convertFrom(final String json) {
+        //this method will not be used.
+        throw new UnsupportedOperationException("Method not implemented");
+    }
+
+    @Override
+    public JsonElement convertToJsonElement(final CacheStatistics cacheStatistics) {
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("name", cacheStatistics.getName());
+        jsonObject.addProperty("hitCount", cacheStatistics.getHitCount());
+        jsonObject.addProperty("missCount", cacheStatistics.getMissCount());
+        jsonObject.addProperty("putCount", cacheStatistics.getPutCount());
+        jsonObject.addProperty("size", cacheStatistics.getSize());
+        jsonObject.addProperty("hitRatio", cacheStatistics.getHitRatio());
+        jsonObject.addProperty("missRatio", cacheStatistics.getMissRatio());
+
+        return jsonObject;
+    }
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final CacheStatistics cacheStatistics) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name("name").value(cacheStatistics.getName());
+        jsonWriter.name("hitCount").value(cacheStatistics.getHitCount());
+        jsonWriter.name("missCount").value(cacheStatistics.getMissCount());
+        jsonWriter.name("putCount").value(cacheStatistics.getPutCount());
+        jsonWriter.name("size").value(cacheStatistics.getSize());
+        jsonWriter.name("hitRatio").value(cacheStatistics.getHitRatio());
+        jsonWriter.name("missRatio").value(cacheStatistics.getMissRatio());
+        jsonWriter.endObject();
+    }
+
+}
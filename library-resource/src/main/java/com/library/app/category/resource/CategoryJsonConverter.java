@@ -1,12 +1,14 @@
 package com.library.app.category.resource;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.library.app.category.model.Category;
 import com.library.app.common.json.EntityJsonConverter;
 import com.library.app.common.json.JsonReader;
+import com.library.app.common.json.JsonUtils;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
 
 /**
  * Class to Convert Json to Java object. Using GSON Google Library. This class is to be called once and dies therefore
@@ -20,22 +22,22 @@ public class CategoryJsonConverter implements EntityJsonConverter<Category> {
 
     @Override
     public Category convertFrom(final String json) {
-        // get the json string and convert into JSON object
-        final JsonObject jsonObject = JsonReader.readAsJsonObject(json);
-
-        // Create a java object to be populated from the JSON
-        final Category category = new Category();
-        category.setName(JsonReader.getStringOrNull(jsonObject, "name"));
-
-        return category;
+        // read the json string into a java object, with the codec generated from the view
+        return JsonReader.readJson(json, reader -> {
+            final Category category = new Category();
+            CategoryJsonViewCodec.read(reader, category);
+            return category;
+        });
     }
 
     @Override
     public JsonElement convertToJsonElement(final Category category) {
-        final JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("id", category.getId());
-        jsonObject.addProperty("name", category.getName());
+        return JsonUtils.toJsonElement(jsonWriter -> CategoryJsonViewCodec.write(jsonWriter, category));
+    }
 
-        return jsonObject;
+    @Override
+    public void write(final JsonWriter jsonWriter, final Category category) throws IOException {
+        CategoryJsonViewCodec.write(jsonWriter, category);
     }
+
 }
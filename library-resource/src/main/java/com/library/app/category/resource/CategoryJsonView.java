@@ -0,0 +1,18 @@
+package com.library.app.category.resource;
+
+import com.library.app.category.model.Category;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+
+/**
+ * The type Category json view. The Json of a category, written and read by the generated CategoryJsonViewCodec.
+ */
+@JsonView(Category.class)
+public interface CategoryJsonView {
+
+    Long getId();
+
+    @JsonProperty(readable = true)
+    String getName();
+
+}
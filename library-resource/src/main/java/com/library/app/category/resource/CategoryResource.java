@@ -1,18 +1,18 @@
 package com.library.app.category.resource;
 
-import com.google.gson.JsonElement;
 import com.library.app.category.exception.CategoryExistentException;
 import com.library.app.category.exception.CategoryNotFoundException;
 import com.library.app.category.model.Category;
 import com.library.app.category.services.CategoryServices;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.json.JsonUtils;
-import com.library.app.common.json.JsonWriter;
 import com.library.app.common.json.OperationResultJsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.OperationResult;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.model.ResourceMessage;
+import com.library.app.common.resource.CborMessageBodyWriter;
+import com.library.app.common.resource.HttpCaching;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,14 +21,20 @@ import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.List;
 
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultExistent;
@@ -41,7 +47,7 @@ import static com.library.app.common.model.StandardsOperationResults.getOperatio
  * @author wilferaciolli
  */
 @Path("/categories")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
 @Consumes(MediaType.APPLICATION_JSON)
 @RolesAllowed({"EMPLOYEE"})
 public class CategoryResource {
@@ -60,6 +66,10 @@ public class CategoryResource {
     @Inject
     CategoryJsonConverter categoryJsonConverter;
 
+    // The request, to evaluate its If-None-Match and If-Match headers
+    @Context
+    Request request;
+
     /**
      * Method to add a category.
      *
@@ -102,13 +112,18 @@ public class CategoryResource {
      * Method to update a category. It takes a category id and the body (Json). Then it validates it by parsing from
      * Json into Java object. If any exception get thrown it will be handled..
      *
-     * @param id   The category id
-     * @param body The JSON body
+     * When the If-Match header is given, the category is only updated while it is still on the entity tag of the
+     * header.
+     *
+     * @param id      The category id
+     * @param ifMatch The If-Match header, null when the category is updated on any version
+     * @param body    The JSON body
      * @return JSON response.
      */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") final Long id, final String body) {
+    public Response update(@PathParam("id") final Long id, @HeaderParam(HttpHeaders.IF_MATCH) final String ifMatch,
+                           final String body) {
         logger.debug("Updating the category {} with body {}", id, body);
 
         // create the category object.
@@ -120,6 +135,17 @@ public class CategoryResource {
         OperationResult result;
 
         try {
+            // only update the category on the version of the If-Match header, when given
+            if (ifMatch != null) {
+                final Long version = categoryServices.findVersionById(id);
+                final ResponseBuilder preconditionFailed = request.evaluatePreconditions(
+                        HttpCaching.getEntityTag(version));
+                if (preconditionFailed != null) {
+                    logger.debug("The category {} changed since the entity tag {}", id, ifMatch);
+                    return preconditionFailed.build();
+                }
+                category.setVersion(version);
+            }
             categoryServices.update(category);
             result = OperationResult.success();
 
@@ -176,7 +202,8 @@ public class CategoryResource {
     }
 
     /**
-     * Method to get all categories.
+     * Method to get all categories. Categories not modified since the entity tag of the If-None-Match header are
+     * answered with a 304 without being read.
      *
      * @return All categories or empty list.
      */
@@ -185,16 +212,25 @@ public class CategoryResource {
     public Response findAll() {
         logger.debug("Find all categories");
 
+        // answer a client which already has the current categories without reading them
+        final EntityTag entityTag = HttpCaching.getEntityTag(categoryServices.findContentVersion());
+        final Response notModified = HttpCaching.getNotModifiedResponse(request, entityTag,
+                HttpCaching.getPublicCacheControl());
+        if (notModified != null) {
+            logger.debug("Categories not modified since {}", entityTag);
+            return notModified;
+        }
+
         // get all categories
         final List<Category> categories = categoryServices.findAll();
         logger.debug("Found {} categories", categories.size());
 
         // get all categories and convert into json
-        final JsonElement jsonWithPagingAndEntries = JsonUtils.getJsonElementWithPagingAndEntries(new PaginatedData<Category>(categories.size(), categories),
-                categoryJsonConverter);
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(
+                new PaginatedData<Category>(categories.size(), categories), categoryJsonConverter);
 
-        // return the converted json
-        return Response.status(HttpCode.OK.getCode()).entity(JsonWriter.writeToString(jsonWithPagingAndEntries))
-                .build();
+        // return the converted json, with its entity tag
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).tag(entityTag)
+                .cacheControl(HttpCaching.getPublicCacheControl()).build();
     }
 }
@@ -0,0 +1,57 @@
+package com.library.app.coalescing.resource;
+
+import com.library.app.cache.interceptor.RequestCoalescer;
+import com.library.app.cache.model.CoalescingStatistics;
+import com.library.app.common.json.JsonUtils;
+import com.library.app.common.model.HttpCode;
+import com.library.app.common.model.PaginatedData;
+import com.library.app.common.resource.CborMessageBodyWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.List;
+
+/**
+ * The type Coalescing resource. Shows how many concurrent reads waited for an equal read instead of running
+ * themselves, and how many of them timed out, so the timeout of the coalescing can be tuned.
+ */
+@Path("/coalescing")
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
+@Consumes(MediaType.APPLICATION_JSON)
+@RolesAllowed({"ADMINISTRATOR"})
+public class CoalescingResource {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Inject
+    RequestCoalescer requestCoalescer;
+
+    @Inject
+    CoalescingStatisticsJsonConverter coalescingStatisticsJsonConverter;
+
+    /**
+     * Find statistics response.
+     *
+     * @return the response
+     */
+    @GET
+    public Response findStatistics() {
+        final List<CoalescingStatistics> coalescingStatistics = requestCoalescer.getStatistics();
+        logger.debug("Found coalescing statistics of {} names", coalescingStatistics.size());
+
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(
+                new PaginatedData<>(coalescingStatistics.size(), coalescingStatistics),
+                coalescingStatisticsJsonConverter);
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).build();
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.library.app.coalescing.resource;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.library.app.cache.model.CoalescingStatistics;
+import com.library.app.common.json.EntityJsonConverter;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * The type Coalescing statistics json converter.
+ */
+@ApplicationScoped
+public class CoalescingStatisticsJsonConverter implements EntityJsonConverter<CoalescingStatistics> {
+
+    @Override
+    public CoalescingStatistics convertFrom(final String json) {
+        //this method will not be used.
+        throw new UnsupportedOperationException("Method not implemented");
+    }
+
+    @Override
+    public JsonElement convertToJsonElement(final CoalescingStatistics coalescingStatistics) {
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("name", coalescingStatistics.getName());
+        jsonObject.addProperty("executedCount", coalescingStatistics.getExecutedCount());
+        jsonObject.addProperty("coalescedCount", coalescingStatistics.getCoalescedCount());
+        jsonObject.addProperty("timedOutCount", coalescingStatistics.getTimedOutCount());
+        jsonObject.addProperty("coalescedRatio", coalescingStatistics.getCoalescedRatio());
+
+        return jsonObject;
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.library.app.common.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The type Compressing output stream. Holds the first bytes of a response until it reaches the min size: smaller
+ * responses are written as they are when finished, larger ones are compressed from then on with a deflater borrowed
+ * from the pool, the response being told to set its Content-Encoding header before the first compressed byte.
+ * Only the time spent deflating is counted as the cpu time of the compression, not the time writing to the client.
+ */
+public class CompressingOutputStream extends OutputStream {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+    private static final int DEFLATED_BUFFER_SIZE = 8192;
+
+    private final OutputStream output;
+    private final DeflaterPool deflaterPool;
+    private final ResponseCompressor responseCompressor;
+    private final Runnable beforeCompressing;
+    private final byte[] heldBytes;
+    private int heldCount;
+
+    private Deflater deflater;
+    private byte[] deflatedBuffer;
+    private CRC32 crc;
+    private long uncompressedBytes;
+    private long compressedBytes;
+    private long cpuTimeNanos;
+    private boolean finished;
+
+    /**
+     * Instantiates a new Compressing output stream.
+     *
+     * @param output             the output, of the response
+     * @param deflaterPool       the pool of the deflaters of the content coding
+     * @param responseCompressor the response compressor, counting the responses written
+     * @param minSize            the min size of the responses compressed, in bytes
+     * @param beforeCompressing  run once the response is to be compressed, before any byte is written
+     */
+    public CompressingOutputStream(final OutputStream output, final DeflaterPool deflaterPool,
+                                   final ResponseCompressor responseCompressor, final int minSize,
+                                   final Runnable beforeCompressing) {
+        this.output = output;
+        this.deflaterPool = deflaterPool;
+        this.responseCompressor = responseCompressor;
+        this.beforeCompressing = beforeCompressing;
+        this.heldBytes = new byte[minSize];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (finished) {
+            throw new IOException("The response was already finished");
+        }
+        if (deflater == null) {
+            if (heldCount + length < heldBytes.length) {
+                System.arraycopy(bytes, offset, heldBytes, heldCount, length);
+                heldCount += length;
+                return;
+            }
+            startCompressing();
+        }
+        deflate(bytes, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // the held bytes are only written when the response is finished, and the deflated ones as the deflater
+        // outputs them
+    }
+
+    /**
+     * Finish the response: write the bytes held or the end of the compressed data, and release the deflater.
+     *
+     * @throws IOException the io exception
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        if (deflater == null) {
+            output.write(heldBytes, 0, heldCount);
+            output.flush();
+            responseCompressor.recordSkipped();
+            return;
+        }
+
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                writeDeflated();
+            }
+            if (crc != null) {
+                writeGzipTrailer();
+            }
+            output.flush();
+        } finally {
+            discard();
+        }
+        responseCompressor.recordCompressed(uncompressedBytes, compressedBytes, cpuTimeNanos);
+    }
+
+    /**
+     * Release the deflater without writing anything else, when the response could not be written.
+     */
+    public void discard() {
+        finished = true;
+        if (deflater != null) {
+            deflaterPool.release(deflater);
+            deflater = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        output.close();
+    }
+
+    private void startCompressing() throws IOException {
+        beforeCompressing.run();
+
+        deflater = deflaterPool.borrow();
+        deflatedBuffer = new byte[DEFLATED_BUFFER_SIZE];
+        if (deflaterPool.getContentCoding() == ContentCoding.GZIP) {
+            crc = new CRC32();
+            output.write(GZIP_HEADER);
+            compressedBytes += GZIP_HEADER.length;
+        }
+        deflate(heldBytes, 0, heldCount);
+    }
+
+    private void deflate(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        if (crc != null) {
+            crc.update(bytes, offset, length);
+        }
+        uncompressedBytes += length;
+
+        deflater.setInput(bytes, offset, length);
+        while (!deflater.needsInput()) {
+            writeDeflated();
+        }
+    }
+
+    private void writeDeflated() throws IOException {
+        final long start = currentTimeNanos();
+        final int deflatedCount = deflater.deflate(deflatedBuffer);
+        cpuTimeNanos += currentTimeNanos() - start;
+
+        if (deflatedCount > 0) {
+            output.write(deflatedBuffer, 0, deflatedCount);
+            compressedBytes += deflatedCount;
+        }
+    }
+
+    private void writeGzipTrailer() throws IOException {
+        final byte[] trailer = new byte[8];
+        writeIntLittleEndian(trailer, 0, (int) crc.getValue());
+        writeIntLittleEndian(trailer, 4, (int) uncompressedBytes);
+        output.write(trailer);
+        compressedBytes += trailer.length;
+    }
+
+    private static void writeIntLittleEndian(final byte[] bytes, final int offset, final int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >> 8);
+        bytes[offset + 2] = (byte) (value >> 16);
+        bytes[offset + 3] = (byte) (value >> 24);
+    }
+
+    private static long currentTimeNanos() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+}
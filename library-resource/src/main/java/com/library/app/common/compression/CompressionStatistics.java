@@ -0,0 +1,106 @@
+package com.library.app.common.compression;
+
+/**
+ * The type Compression statistics. The counters of the responses compressed since the application started, so the
+ * min size and the level of the compression can be tuned.
+ */
+public class CompressionStatistics {
+
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private final long compressedCount;
+    private final long skippedCount;
+    private final long uncompressedBytes;
+    private final long compressedBytes;
+    private final long cpuTimeNanos;
+
+    /**
+     * Instantiates a new Compression statistics.
+     *
+     * @param compressedCount   the number of responses compressed
+     * @param skippedCount      the number of responses accepting compression left uncompressed, below the min size
+     * @param uncompressedBytes the size of the responses compressed, before the compression
+     * @param compressedBytes   the size of the responses compressed, after the compression
+     * @param cpuTimeNanos      the cpu time spent compressing the responses
+     */
+    public CompressionStatistics(final long compressedCount, final long skippedCount, final long uncompressedBytes,
+                                 final long compressedBytes, final long cpuTimeNanos) {
+        this.compressedCount = compressedCount;
+        this.skippedCount = skippedCount;
+        this.uncompressedBytes = uncompressedBytes;
+        this.compressedBytes = compressedBytes;
+        this.cpuTimeNanos = cpuTimeNanos;
+    }
+
+    /**
+     * Gets compressed count.
+     *
+     * @return the compressed count
+     */
+    public long getCompressedCount() {
+        return compressedCount;
+    }
+
+    /**
+     * Gets skipped count.
+     *
+     * @return the skipped count
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Gets uncompressed bytes.
+     *
+     * @return the uncompressed bytes
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    /**
+     * Gets compressed bytes.
+     *
+     * @return the compressed bytes
+     */
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    /**
+     * Gets cpu time nanos.
+     *
+     * @return the cpu time nanos
+     */
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    /**
+     * Gets compression ratio. The size of the responses before the compression divided by their size after it, zero
+     * when no response was compressed.
+     *
+     * @return the compression ratio
+     */
+    public double getCompressionRatio() {
+        return compressedBytes == 0 ? 0D : (double) uncompressedBytes / compressedBytes;
+    }
+
+    /**
+     * Gets average cpu time micros. The cpu time spent compressing a response, zero when no response was compressed.
+     *
+     * @return the average cpu time micros
+     */
+    public double getAverageCpuTimeMicros() {
+        return compressedCount == 0 ? 0D : (double) cpuTimeNanos / NANOS_PER_MICRO / compressedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStatistics [compressedCount=" + compressedCount + ", skippedCount=" + skippedCount
+                + ", uncompressedBytes=" + uncompressedBytes + ", compressedBytes=" + compressedBytes
+                + ", cpuTimeNanos=" + cpuTimeNanos + "]";
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.library.app.common.compression;
+
+/**
+ * The enum Content coding. The codings the responses can be compressed with, both written with a
+ * {@link java.util.zip.Deflater}: gzip wraps the deflated body with its own header and trailer, deflate is the zlib
+ * format.
+ */
+public enum ContentCoding {
+
+    /**
+     * Gzip content coding.
+     */
+    GZIP("gzip", true),
+    /**
+     * Deflate content coding.
+     */
+    DEFLATE("deflate", false);
+
+    private final String name;
+    private final boolean nowrap;
+
+    ContentCoding(final String name, final boolean nowrap) {
+        this.name = name;
+        this.nowrap = nowrap;
+    }
+
+    /**
+     * Gets name, as written on the Accept-Encoding and Content-Encoding headers.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the deflater writes the deflated data without the zlib header and checksum.
+     *
+     * @return the boolean
+     */
+    boolean isNowrap() {
+        return nowrap;
+    }
+
+    /**
+     * Negotiate the coding of a response from the Accept-Encoding header of the request: the coding with the highest
+     * quality, gzip when both have the same. "x-gzip" is taken as gzip and "*" as any coding not listed.
+     *
+     * @param acceptEncoding the Accept-Encoding header, may be null
+     * @return the coding, null when the response is not to be compressed
+     */
+    public static ContentCoding negotiate(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+
+        Double gzipQuality = null;
+        Double deflateQuality = null;
+        Double anyQuality = null;
+        for (final String codingWithParameters : acceptEncoding.split(",")) {
+            final String[] parts = codingWithParameters.split(";");
+            final String coding = parts[0].trim().toLowerCase();
+            final double quality = getQuality(parts);
+
+            if (GZIP.name.equals(coding) || "x-gzip".equals(coding)) {
+                gzipQuality = quality;
+            } else if (DEFLATE.name.equals(coding)) {
+                deflateQuality = quality;
+            } else if ("*".equals(coding)) {
+                anyQuality = quality;
+            }
+        }
+        final double gzip = gzipQuality != null ? gzipQuality : anyQuality != null ? anyQuality : 0D;
+        final double deflate = deflateQuality != null ? deflateQuality : anyQuality != null ? anyQuality : 0D;
+
+        if (gzip > 0D && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0D ? DEFLATE : null;
+    }
+
+    private static double getQuality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (final NumberFormatException e) {
+                    return 0D;
+                }
+            }
+        }
+        return 1D;
+    }
+
+}
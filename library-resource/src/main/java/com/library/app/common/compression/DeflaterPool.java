@@ -0,0 +1,87 @@
+package com.library.app.common.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * The type Deflater pool. Keeps the deflaters of a coding once their response is written, reset, so the next
+ * responses reuse them instead of allocating the native memory of a new one each time. Deflaters released when the
+ * pool is full are ended.
+ */
+public class DeflaterPool {
+
+    private final ContentCoding contentCoding;
+    private final int level;
+    private final BlockingQueue<Deflater> idleDeflaters;
+    private final LongAdder createdCount = new LongAdder();
+
+    /**
+     * Instantiates a new Deflater pool.
+     *
+     * @param contentCoding the content coding the deflaters write
+     * @param level         the compression level, from 0 to 9
+     * @param maxIdle       the max number of deflaters kept
+     */
+    public DeflaterPool(final ContentCoding contentCoding, final int level, final int maxIdle) {
+        this.contentCoding = contentCoding;
+        this.level = level;
+        this.idleDeflaters = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Borrow a deflater, creating it when none is kept.
+     *
+     * @return the deflater
+     */
+    public Deflater borrow() {
+        final Deflater deflater = idleDeflaters.poll();
+        if (deflater != null) {
+            return deflater;
+        }
+        createdCount.increment();
+        return new Deflater(level, contentCoding.isNowrap());
+    }
+
+    /**
+     * Release a deflater borrowed from the pool.
+     *
+     * @param deflater the deflater
+     */
+    public void release(final Deflater deflater) {
+        deflater.reset();
+        if (!idleDeflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * End the deflaters kept, when the pool is not used anymore.
+     */
+    public void endIdle() {
+        Deflater deflater;
+        while ((deflater = idleDeflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Gets content coding.
+     *
+     * @return the content coding
+     */
+    public ContentCoding getContentCoding() {
+        return contentCoding;
+    }
+
+    /**
+     * Gets the number of deflaters created by the pool.
+     *
+     * @return the created count
+     */
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.library.app.common.compression;
+
+import com.library.app.common.appproperties.PropertyValue;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Response compressor. Compresses the responses whose size reaches the min size, with the deflaters of a pool
+ * for each content coding, and counts the responses compressed, their sizes and the cpu time spent on them.
+ */
+@ApplicationScoped
+public class ResponseCompressor {
+
+    @PropertyValue(name = "response-compression-min-size")
+    Integer minSize;
+
+    @PropertyValue(name = "response-compression-level")
+    Integer level;
+
+    @PropertyValue(name = "response-compression-pool-size")
+    Integer poolSize;
+
+    private final Map<ContentCoding, DeflaterPool> deflaterPools = new EnumMap<>(ContentCoding.class);
+
+    private final LongAdder compressedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder cpuTimeNanos = new LongAdder();
+
+    /**
+     * Init the pools of the deflaters.
+     */
+    @PostConstruct
+    public void init() {
+        for (final ContentCoding contentCoding : ContentCoding.values()) {
+            deflaterPools.put(contentCoding, new DeflaterPool(contentCoding, level, poolSize));
+        }
+    }
+
+    /**
+     * End the deflaters kept by the pools.
+     */
+    @PreDestroy
+    public void destroy() {
+        for (final DeflaterPool deflaterPool : deflaterPools.values()) {
+            deflaterPool.endIdle();
+        }
+    }
+
+    /**
+     * Gets the output stream compressing a response, when it reaches the min size, with a content coding.
+     *
+     * @param output            the output of the response
+     * @param contentCoding     the content coding
+     * @param beforeCompressing run once the response is to be compressed, before any byte is written, to set the
+     *                          headers of the response
+     * @return the compressing output stream, to be finished once the response is written
+     */
+    public CompressingOutputStream compress(final OutputStream output, final ContentCoding contentCoding,
+                                            final Runnable beforeCompressing) {
+        return new CompressingOutputStream(output, deflaterPools.get(contentCoding), this, minSize,
+                beforeCompressing);
+    }
+
+    /**
+     * Gets the statistics of the responses written since the application started.
+     *
+     * @return the statistics
+     */
+    public CompressionStatistics getStatistics() {
+        return new CompressionStatistics(compressedCount.sum(), skippedCount.sum(), uncompressedBytes.sum(),
+                compressedBytes.sum(), cpuTimeNanos.sum());
+    }
+
+    void recordCompressed(final long uncompressed, final long compressed, final long cpuTime) {
+        compressedCount.increment();
+        uncompressedBytes.add(uncompressed);
+        compressedBytes.add(compressed);
+        cpuTimeNanos.add(cpuTime);
+    }
+
+    void recordSkipped() {
+        skippedCount.increment();
+    }
+
+}
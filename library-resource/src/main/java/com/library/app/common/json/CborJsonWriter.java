@@ -0,0 +1,180 @@
+package com.library.app.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The type Cbor json writer. A Gson json writer writing CBOR with a Jackson generator instead of json text, so the
+ * codecs generated from the json views and the paginated data streaming output write CBOR as they write json.
+ * As Gson does, a property whose value is null is left out when the nulls are not serialized; the name of a property
+ * is held until its value is known for that.
+ */
+public class CborJsonWriter extends com.google.gson.stream.JsonWriter {
+
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+        @Override
+        public void write(final char[] buffer, final int offset, final int counter) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final JsonGenerator generator;
+    private String deferredName;
+
+    /**
+     * Instantiates a new Cbor json writer.
+     *
+     * @param generator the generator, of a CBOR factory
+     */
+    public CborJsonWriter(final JsonGenerator generator) {
+        super(UNWRITABLE_WRITER);
+        this.generator = generator;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter beginArray() throws IOException {
+        writeDeferredName();
+        generator.writeStartArray();
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter endArray() throws IOException {
+        generator.writeEndArray();
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter beginObject() throws IOException {
+        writeDeferredName();
+        generator.writeStartObject();
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter endObject() throws IOException {
+        generator.writeEndObject();
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter name(final String name) throws IOException {
+        if (name == null) {
+            throw new NullPointerException("name == null");
+        }
+        if (deferredName != null) {
+            throw new IllegalStateException("The value of " + deferredName + " was not written");
+        }
+        deferredName = name;
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter value(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        generator.writeString(value);
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter nullValue() throws IOException {
+        if (deferredName != null && !getSerializeNulls()) {
+            deferredName = null;
+            return this;
+        }
+        writeDeferredName();
+        generator.writeNull();
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter value(final boolean value) throws IOException {
+        writeDeferredName();
+        generator.writeBoolean(value);
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter value(final double value) throws IOException {
+        writeDeferredName();
+        generator.writeNumber(value);
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter value(final long value) throws IOException {
+        writeDeferredName();
+        generator.writeNumber(value);
+        return this;
+    }
+
+    @Override
+    public com.google.gson.stream.JsonWriter value(final Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(value.longValue());
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else {
+            generator.writeNumber(value.doubleValue());
+        }
+        return this;
+    }
+
+    /**
+     * Write a number read as json text, as an integer when it is one.
+     *
+     * @param value the number, as written in json
+     * @return the json writer
+     * @throws IOException the io exception
+     */
+    public com.google.gson.stream.JsonWriter numberValue(final String value) throws IOException {
+        writeDeferredName();
+        try {
+            generator.writeNumber(Long.parseLong(value));
+        } catch (final NumberFormatException e) {
+            generator.writeNumber(Double.parseDouble(value));
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeDeferredName() throws IOException {
+        if (deferredName != null) {
+            generator.writeFieldName(deferredName);
+            deferredName = null;
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.library.app.common.json;
+
+import com.library.app.common.utils.DateUtils;
+
+import java.util.Date;
+
+/**
+ * The type Date time json formatter. Formats the dates written by the Json views, as {@link DateUtils} does.
+ */
+public final class DateTimeJsonFormatter {
+
+    private DateTimeJsonFormatter() {
+    }
+
+    /**
+     * Format a date and time.
+     *
+     * @param date the date
+     * @return the formatted date, null when the date is null
+     */
+    public static String format(final Date date) {
+        return date == null ? null : DateUtils.formatDateTime(date);
+    }
+
+}
@@ -1,8 +1,10 @@
 package com.library.app.common.json;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -44,4 +46,54 @@ public interface EntityJsonConverter<T> {
         return jsonArray;
     }
 
+    /**
+     * Write an entity with a json writer, writing the same json {@link #convertToJsonElement(Object)} converts it to.
+     * This default converts the entity to a json element first; the converters of the entities written on lists
+     * write the fields straight away, so no tree of the page is built.
+     *
+     * @param jsonWriter the json writer
+     * @param entity     the entity
+     * @throws IOException the io exception
+     */
+    default void write(final com.google.gson.stream.JsonWriter jsonWriter, final T entity) throws IOException {
+        new Gson().toJson(convertToJsonElement(entity), jsonWriter);
+    }
+
+    /**
+     * Write entities with a json writer, writing the same json {@link #convertToJsonElement(List)} converts them to.
+     *
+     * @param jsonWriter the json writer
+     * @param entities   the entities
+     * @throws IOException the io exception
+     */
+    default void write(final com.google.gson.stream.JsonWriter jsonWriter, final List<T> entities)
+            throws IOException {
+        jsonWriter.beginArray();
+        for (final T entity : entities) {
+            write(jsonWriter, entity);
+        }
+        jsonWriter.endArray();
+    }
+
+    /**
+     * Gets the id the json of an entity is kept under by the {@link JsonFragmentCache}, which must tell apart the
+     * entities and the variants of the json written for them. By default the json of the entities is not kept.
+     *
+     * @param entity the entity
+     * @return the fragment id, null when the json of the entity is not kept
+     */
+    default String getFragmentId(final T entity) {
+        return null;
+    }
+
+    /**
+     * Gets the version of the json of an entity, which changes whenever anything written for the entity changes.
+     *
+     * @param entity the entity
+     * @return the fragment version, null when the json of the entity is not kept
+     */
+    default Object getFragmentVersion(final T entity) {
+        return null;
+    }
+
 }
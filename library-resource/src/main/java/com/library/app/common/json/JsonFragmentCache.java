@@ -0,0 +1,144 @@
+package com.library.app.common.json;
+
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.common.appproperties.PropertyValue;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Json fragment cache. Keeps the json of each entity written on the lists, as utf-8 bytes, by its fragment id
+ * and along with its fragment version, see {@link EntityJsonConverter#getFragmentId(Object)}, so the pages are written
+ * by joining the json kept, see {@link PaginatedDataStreamingOutput}. An entity read on a new version has its json
+ * written again, replacing the one kept, so a change to the entity is never written stale. The json kept is bounded
+ * by its total size in bytes, the json of the entities written the least recently being dropped first.
+ */
+@ApplicationScoped
+public class JsonFragmentCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    @PropertyValue(name = "json-fragment-cache-max-bytes")
+    Integer maxBytes;
+
+    private final Map<String, JsonFragment> fragmentsById = new LinkedHashMap<>(16, 0.75F, true);
+    private long totalBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+
+    /**
+     * Gets the json of an entity, as utf-8 bytes: the json kept for its current version, or else the json written by
+     * its converter, which is kept unless the converter keeps none for the entity.
+     *
+     * @param <T>                 the type parameter
+     * @param entity              the entity
+     * @param entityJsonConverter the entity json converter
+     * @return the json of the entity
+     * @throws IOException the io exception
+     */
+    public <T> byte[] getFragment(final T entity, final EntityJsonConverter<T> entityJsonConverter)
+            throws IOException {
+        final String id = entityJsonConverter.getFragmentId(entity);
+        final Object version = entityJsonConverter.getFragmentVersion(entity);
+        if (id == null || version == null) {
+            return write(entity, entityJsonConverter);
+        }
+
+        synchronized (this) {
+            final JsonFragment fragment = fragmentsById.get(id);
+            if (fragment != null && fragment.version.equals(version)) {
+                hitCount.increment();
+                return fragment.json;
+            }
+        }
+        missCount.increment();
+
+        final byte[] json = write(entity, entityJsonConverter);
+        put(id, new JsonFragment(version, json));
+        return json;
+    }
+
+    /**
+     * Gets the total size of the json kept, in bytes.
+     *
+     * @return the total bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the statistics of the json kept.
+     *
+     * @return the statistics
+     */
+    public CacheStatistics getStatistics() {
+        final int size;
+        synchronized (this) {
+            size = fragmentsById.size();
+        }
+        return new CacheStatistics("json-fragments", hitCount.sum(), missCount.sum(), putCount.sum(), size);
+    }
+
+    private void put(final String id, final JsonFragment fragment) {
+        if (getSize(id, fragment) > maxBytes) {
+            return;
+        }
+
+        synchronized (this) {
+            final JsonFragment replaced = fragmentsById.put(id, fragment);
+            if (replaced != null) {
+                totalBytes -= getSize(id, replaced);
+            }
+            totalBytes += getSize(id, fragment);
+
+            final Iterator<Map.Entry<String, JsonFragment>> leastRecentlyWritten = fragmentsById.entrySet().iterator();
+            while (totalBytes > maxBytes && leastRecentlyWritten.hasNext()) {
+                final Map.Entry<String, JsonFragment> entry = leastRecentlyWritten.next();
+                totalBytes -= getSize(entry.getKey(), entry.getValue());
+                leastRecentlyWritten.remove();
+            }
+        }
+        putCount.increment();
+    }
+
+    private static <T> byte[] write(final T entity, final EntityJsonConverter<T> entityJsonConverter)
+            throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+        final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        final com.google.gson.stream.JsonWriter jsonWriter = PaginatedDataStreamingOutput.newJsonWriter(writer);
+        entityJsonConverter.write(jsonWriter, entity);
+        jsonWriter.flush();
+        return output.toByteArray();
+    }
+
+    private static long getSize(final String id, final JsonFragment fragment) {
+        return fragment.json.length + 2L * id.length() + ENTRY_OVERHEAD_BYTES;
+    }
+
+    /**
+     * The json of an entity, written on a version of it.
+     */
+    private static final class JsonFragment {
+
+        private final Object version;
+        private final byte[] json;
+
+        private JsonFragment(final Object version, final byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+    }
+
+}
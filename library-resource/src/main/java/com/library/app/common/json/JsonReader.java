@@ -4,17 +4,64 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonToken;
 import com.library.app.common.exception.InvalidJsonException;
 
+import java.io.IOException;
+import java.io.StringReader;
+
 /**
  * Class to read Json files(compressed into 1 string) and format into java variables. This class will have helper
  * methods to convert Json.
+ * The Json is read by a pull parser limited by {@link JsonReadingLimits}, either into a Json tree or, through
+ * {@link #readJson(String, JsonStreamReading)}, straight into the entity so large arrays are not held twice.
  *
  * @author wilferaciolli
  */
 public class JsonReader {
 
+    //Gson is thread safe, a single instance reads every request
+    private static final Gson GSON = new Gson();
+
+    private static volatile JsonReadingLimits limits = JsonReadingLimits.DEFAULT;
+
+    /**
+     * Reading of an entity from a pull parser.
+     *
+     * @param <T> the type of the entity
+     */
+    @FunctionalInterface
+    public interface JsonStreamReading<T> {
+
+        /**
+         * Read the entity.
+         *
+         * @param reader the reader, at the start of the Json
+         * @return the entity
+         * @throws IOException when the Json is malformed
+         */
+        T read(LimitedJsonReader reader) throws IOException;
+    }
+
+    /**
+     * Sets the limits of the Json read from now on.
+     *
+     * @param jsonReadingLimits the json reading limits
+     */
+    public static void setLimits(final JsonReadingLimits jsonReadingLimits) {
+        limits = jsonReadingLimits;
+    }
+
+    /**
+     * Gets the limits of the Json read.
+     *
+     * @return the json reading limits
+     */
+    public static JsonReadingLimits getLimits() {
+        return limits;
+    }
+
     /**
      * Method to convert a String into a Json Objt. Once the Json is an object then its attributes(values) can be
      * accessed.
@@ -48,18 +95,122 @@ public class JsonReader {
      * @throws InvalidJsonException
      */
     public static <T> T readJsonAs(final String json, final Class<T> jsonClass) throws InvalidJsonException {
+        return readJson(json, reader -> {
+            try {
+                return GSON.fromJson(reader, jsonClass);
+            } catch (final JsonParseException e) {
+                throw new InvalidJsonException(e);
+            }
+        });
+    }
+
+    /**
+     * Method to read a Json String with a pull parser, checking the whole String is a single Json value. Any error
+     * reading it, or a limit exceeded, is thrown as {@link InvalidJsonException}.
+     *
+     * @param json        The String containing the Json.
+     * @param jsonReading The reading of the Json value.
+     * @param <T>         The type read.
+     * @return What was read.
+     * @throws InvalidJsonException
+     */
+    public static <T> T readJson(final String json, final JsonStreamReading<T> jsonReading)
+            throws InvalidJsonException {
         // check if Json is null
         if (json == null || json.trim().isEmpty()) {
             throw new InvalidJsonException("Json String can not be null");
         }
 
-        try {
-            return new Gson().fromJson(json, jsonClass);
-        } catch (final JsonSyntaxException e) {
+        final JsonReadingLimits currentLimits = limits;
+        if (json.length() > currentLimits.getMaxBodyLength()) {
+            throw new InvalidJsonException("The JSON is longer than " + currentLimits.getMaxBodyLength()
+                    + " characters");
+        }
+
+        try (LimitedJsonReader reader = new LimitedJsonReader(new StringReader(json), currentLimits)) {
+            //as lenient as Gson reading a String
+            reader.setLenient(true);
+            final T value = jsonReading.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new InvalidJsonException("The JSON document was not fully consumed");
+            }
+            return value;
+        } catch (final IOException | IllegalStateException | NumberFormatException e) {
             throw new InvalidJsonException(e);
         }
     }
 
+    /**
+     * Method to read the next Json value as a Long.
+     *
+     * @param reader The reader.
+     * @return The value, null when it is null.
+     * @throws IOException when the Json is malformed
+     */
+    public static Long nextLongOrNull(final LimitedJsonReader reader) throws IOException {
+        if (nextIsNull(reader)) {
+            return null;
+        }
+        return reader.nextLong();
+    }
+
+    /**
+     * Method to read the next Json value as an Integer.
+     *
+     * @param reader The reader.
+     * @return The value, null when it is null.
+     * @throws IOException when the Json is malformed
+     */
+    public static Integer nextIntegerOrNull(final LimitedJsonReader reader) throws IOException {
+        if (nextIsNull(reader)) {
+            return null;
+        }
+        return reader.nextInt();
+    }
+
+    /**
+     * Method to read the next Json value as a String.
+     *
+     * @param reader The reader.
+     * @return The value, null when it is null.
+     * @throws IOException when the Json is malformed
+     */
+    public static String nextStringOrNull(final LimitedJsonReader reader) throws IOException {
+        if (nextIsNull(reader)) {
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * Method to read the next Json value as a Double.
+     *
+     * @param reader The reader.
+     * @return The value, null when it is null.
+     * @throws IOException when the Json is malformed
+     */
+    public static Double nextDoubleOrNull(final LimitedJsonReader reader) throws IOException {
+        if (nextIsNull(reader)) {
+            return null;
+        }
+        return reader.nextDouble();
+    }
+
+    /**
+     * Method to read the next Json value when it is null.
+     *
+     * @param reader The reader.
+     * @return True if the value was null, and then it was read.
+     * @throws IOException when the Json is malformed
+     */
+    public static boolean nextIsNull(final LimitedJsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Method to get the Json value of a given propertyName.
      *
@@ -0,0 +1,61 @@
+package com.library.app.common.json;
+
+/**
+ * The type Json reading limits. The largest JSON read from a request: bodies, arrays or nesting beyond them are
+ * refused as invalid JSON as soon as they are found, before they are read any further.
+ */
+public class JsonReadingLimits {
+
+    /**
+     * The limits used until the application properties are loaded.
+     */
+    public static final JsonReadingLimits DEFAULT = new JsonReadingLimits(1048576, 1000, 32);
+
+    private final int maxBodyLength;
+    private final int maxArrayLength;
+    private final int maxNestingDepth;
+
+    /**
+     * Instantiates new Json reading limits.
+     *
+     * @param maxBodyLength   the max number of characters of a JSON body
+     * @param maxArrayLength  the max number of elements of an array
+     * @param maxNestingDepth the max number of arrays and objects nested into each other
+     */
+    public JsonReadingLimits(final int maxBodyLength, final int maxArrayLength, final int maxNestingDepth) {
+        if (maxBodyLength <= 0 || maxArrayLength <= 0 || maxNestingDepth <= 0) {
+            throw new IllegalArgumentException("Invalid JSON reading limits");
+        }
+        this.maxBodyLength = maxBodyLength;
+        this.maxArrayLength = maxArrayLength;
+        this.maxNestingDepth = maxNestingDepth;
+    }
+
+    /**
+     * Gets max body length.
+     *
+     * @return the max body length
+     */
+    public int getMaxBodyLength() {
+        return maxBodyLength;
+    }
+
+    /**
+     * Gets max array length.
+     *
+     * @return the max array length
+     */
+    public int getMaxArrayLength() {
+        return maxArrayLength;
+    }
+
+    /**
+     * Gets max nesting depth.
+     *
+     * @return the max nesting depth
+     */
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+}
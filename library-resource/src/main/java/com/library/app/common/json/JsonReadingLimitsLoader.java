@@ -0,0 +1,34 @@
+package com.library.app.common.json;
+
+import com.library.app.common.appproperties.PropertyValue;
+
+import javax.annotation.PostConstruct;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+
+/**
+ * The type Json reading limits loader. Sets the limits of the Json read from the requests from the application
+ * properties when the application starts.
+ */
+@Singleton
+@Startup
+public class JsonReadingLimitsLoader {
+
+    @PropertyValue(name = "json-max-body-length")
+    Integer maxBodyLength;
+
+    @PropertyValue(name = "json-max-array-length")
+    Integer maxArrayLength;
+
+    @PropertyValue(name = "json-max-nesting-depth")
+    Integer maxNestingDepth;
+
+    /**
+     * Init.
+     */
+    @PostConstruct
+    public void init() {
+        JsonReader.setLimits(new JsonReadingLimits(maxBodyLength, maxArrayLength, maxNestingDepth));
+    }
+
+}
@@ -2,8 +2,13 @@ package com.library.app.common.json;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.library.app.common.model.PaginatedData;
 
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.StringWriter;
+
 /**
  * Class responsible for writing to the Java class.
  *
@@ -17,6 +22,39 @@ public class JsonUtils {
     private JsonUtils() {
     }
 
+    /**
+     * Writing with a json writer, such as the write methods of the codecs generated from the json views.
+     */
+    @FunctionalInterface
+    public interface JsonWriting {
+
+        /**
+         * Write.
+         *
+         * @param jsonWriter the json writer
+         * @throws IOException the io exception
+         */
+        void write(com.google.gson.stream.JsonWriter jsonWriter) throws IOException;
+    }
+
+    /**
+     * Method to get the json element written by a json writing. It is written as text, keeping the null properties as
+     * JsonObject.addProperty does, and parsed back, so the element is written as the json writing writes.
+     *
+     * @param jsonWriting The json writing.
+     * @return The json element.
+     */
+    public static JsonElement toJsonElement(final JsonWriting jsonWriting) {
+        final StringWriter stringWriter = new StringWriter();
+        try (com.google.gson.stream.JsonWriter jsonWriter = new com.google.gson.stream.JsonWriter(stringWriter)) {
+            jsonWriter.setSerializeNulls(true);
+            jsonWriting.write(jsonWriter);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new JsonParser().parse(stringWriter.toString());
+    }
+
     /**
      * Method to get the json property value by passing its id.
      *
@@ -31,24 +69,20 @@ public class JsonUtils {
     }
 
     /**
-     * Gets json element with paging and entries. Method to wrap the json into a root,This is the outer wrap of the json response.
-     * It will count how many records there are and display it on the response.
+     * Gets streaming output with paging and entries. Method to wrap the json into a root,This is the outer wrap of the json response.
+     * It will count how many records there are and display it on the response. When the page can be continued by keyset
+     * the paging also holds the "next" cursor to be sent back on the "after" parameter. The paging tells which count
+     * strategy produced the total, which is left out when the search was not counted.
+     * The json is written to the response as the entries are converted, see {@link PaginatedDataStreamingOutput}.
      *
      * @param <T>                 the type parameter
      * @param paginatedData       the paginated data
      * @param entityJsonConverter the entity json converter
-     * @return the json element with paging and entries
+     * @return the streaming output with paging and entries
      */
-    public static <T> JsonElement getJsonElementWithPagingAndEntries(final PaginatedData<T> paginatedData, final EntityJsonConverter<T> entityJsonConverter) {
-        final JsonObject jsonWithEntriesAndPaging = new JsonObject();
-
-        final JsonObject jsonPaging = new JsonObject();
-        jsonPaging.addProperty("totalRecords", paginatedData.getNumberOfRows());
-
-        jsonWithEntriesAndPaging.add("paging", jsonPaging);
-        jsonWithEntriesAndPaging.add("entries", entityJsonConverter.convertToJsonElement(paginatedData.getRows()));
-
-        return jsonWithEntriesAndPaging;
+    public static <T> StreamingOutput getStreamingOutputWithPagingAndEntries(final PaginatedData<T> paginatedData,
+                                                                            final EntityJsonConverter<T> entityJsonConverter) {
+        return getStreamingOutputWithPagingAndEntries(paginatedData, entityJsonConverter, null);
 
         /**
          //         * Example
@@ -70,4 +104,43 @@ public class JsonUtils {
          //         */
     }
 
+    /**
+     * Gets streaming output with paging and entries, as {@link #getStreamingOutputWithPagingAndEntries(PaginatedData,
+     * EntityJsonConverter)} does, joining the json of the entries kept by a json fragment cache.
+     *
+     * @param <T>                 the type parameter
+     * @param paginatedData       the paginated data
+     * @param entityJsonConverter the entity json converter
+     * @param jsonFragmentCache   the json fragment cache, null to convert every entity
+     * @return the streaming output with paging and entries
+     */
+    public static <T> StreamingOutput getStreamingOutputWithPagingAndEntries(final PaginatedData<T> paginatedData,
+                                                                            final EntityJsonConverter<T> entityJsonConverter,
+                                                                            final JsonFragmentCache jsonFragmentCache) {
+        return new PaginatedDataStreamingOutput<>(paginatedData, entityJsonConverter, jsonFragmentCache);
+    }
+
+    /**
+     * Write the paging of a page with a json writer.
+     *
+     * @param jsonWriter    the json writer
+     * @param paginatedData the paginated data
+     * @throws IOException the io exception
+     */
+    static void writePaging(final com.google.gson.stream.JsonWriter jsonWriter, final PaginatedData<?> paginatedData)
+            throws IOException {
+        jsonWriter.beginObject();
+        if (paginatedData.hasNumberOfRows()) {
+            jsonWriter.name("totalRecords").value(paginatedData.getNumberOfRows());
+        }
+        jsonWriter.name("countStrategy").value(paginatedData.getCountStrategy().name());
+        if (paginatedData.getHasNext() != null) {
+            jsonWriter.name("hasNext").value(paginatedData.getHasNext());
+        }
+        if (paginatedData.hasNextCursor()) {
+            jsonWriter.name("next").value(paginatedData.getNextCursor().toToken());
+        }
+        jsonWriter.endObject();
+    }
+
 }
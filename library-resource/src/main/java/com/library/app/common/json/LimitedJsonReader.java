@@ -0,0 +1,82 @@
+package com.library.app.common.json;
+
+import com.library.app.common.exception.InvalidJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The type Limited json reader. A Gson pull parser which refuses, with {@link InvalidJsonException}, arrays longer or
+ * arrays and objects nested deeper than its {@link JsonReadingLimits}.
+ * The elements of an array are counted as {@link #hasNext()} reports them, the way arrays are read in a loop, so
+ * Gson reading a JSON tree or an object through this reader is limited as well.
+ */
+public class LimitedJsonReader extends com.google.gson.stream.JsonReader {
+
+    private static final int OBJECT = -1;
+
+    private final JsonReadingLimits limits;
+    //the number of elements read of each array being read, OBJECT for the objects
+    private final int[] lengths;
+    private int depth;
+
+    /**
+     * Instantiates a new Limited json reader.
+     *
+     * @param reader the reader
+     * @param limits the limits
+     */
+    public LimitedJsonReader(final Reader reader, final JsonReadingLimits limits) {
+        super(reader);
+        this.limits = limits;
+        this.lengths = new int[limits.getMaxNestingDepth()];
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        checkDepth();
+        super.beginArray();
+        lengths[depth++] = 0;
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        super.endArray();
+        depth--;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        checkDepth();
+        super.beginObject();
+        lengths[depth++] = OBJECT;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        super.endObject();
+        depth--;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        final boolean hasNext = super.hasNext();
+        if (hasNext && depth > 0 && lengths[depth - 1] != OBJECT
+                && ++lengths[depth - 1] > limits.getMaxArrayLength()) {
+            throw new InvalidJsonException("The JSON has an array longer than " + limits.getMaxArrayLength()
+                    + " elements");
+        }
+        return hasNext;
+    }
+
+    /**
+     * Check an array or object can be nested into the current one.
+     */
+    private void checkDepth() {
+        if (depth == limits.getMaxNestingDepth()) {
+            throw new InvalidJsonException("The JSON is nested deeper than " + limits.getMaxNestingDepth()
+                    + " levels");
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.library.app.common.json;
+
+import com.library.app.common.model.PaginatedData;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The type Paginated data streaming output. Writes a page as the paging and the entries, as
+ * {@link JsonUtils#getStreamingOutputWithPagingAndEntries(PaginatedData, EntityJsonConverter)} describes, straight
+ * to the response as the entities are converted, instead of building the json tree of the page and then its string.
+ * The json is the same Gson writes: html characters escaped and null properties left out.
+ * <p>
+ * Given a {@link JsonFragmentCache}, the json text of the entries is joined from the json kept for each entity, so
+ * only the paging is written fresh. The other formats written with a json writer convert every entity.
+ *
+ * @param <T> the type parameter
+ */
+public class PaginatedDataStreamingOutput<T> implements StreamingOutput {
+
+    private final PaginatedData<T> paginatedData;
+    private final EntityJsonConverter<T> entityJsonConverter;
+    private final JsonFragmentCache jsonFragmentCache;
+
+    /**
+     * Instantiates a new Paginated data streaming output.
+     *
+     * @param paginatedData       the paginated data
+     * @param entityJsonConverter the entity json converter
+     */
+    public PaginatedDataStreamingOutput(final PaginatedData<T> paginatedData,
+                                        final EntityJsonConverter<T> entityJsonConverter) {
+        this(paginatedData, entityJsonConverter, null);
+    }
+
+    /**
+     * Instantiates a new Paginated data streaming output, joining the json of the entries kept by a json fragment
+     * cache.
+     *
+     * @param paginatedData       the paginated data
+     * @param entityJsonConverter the entity json converter
+     * @param jsonFragmentCache   the json fragment cache, null to convert every entity
+     */
+    public PaginatedDataStreamingOutput(final PaginatedData<T> paginatedData,
+                                        final EntityJsonConverter<T> entityJsonConverter,
+                                        final JsonFragmentCache jsonFragmentCache) {
+        this.paginatedData = paginatedData;
+        this.entityJsonConverter = entityJsonConverter;
+        this.jsonFragmentCache = jsonFragmentCache;
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+        if (jsonFragmentCache != null) {
+            writeWithFragments(output);
+            return;
+        }
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        write(writer);
+        writer.flush();
+    }
+
+    /**
+     * Write the page joining the json of the entries kept by the json fragment cache, the paging being the only json
+     * written.
+     *
+     * @param output the output
+     * @throws IOException the io exception
+     */
+    private void writeWithFragments(final OutputStream output) throws IOException {
+        final OutputStream bufferedOutput = new BufferedOutputStream(output);
+        final Writer writer = new OutputStreamWriter(bufferedOutput, StandardCharsets.UTF_8);
+        writer.write("{\"paging\":");
+        final com.google.gson.stream.JsonWriter pagingJsonWriter = newJsonWriter(writer);
+        JsonUtils.writePaging(pagingJsonWriter, paginatedData);
+        pagingJsonWriter.flush();
+        writer.write(",\"entries\":[");
+        writer.flush();
+
+        boolean first = true;
+        for (final T entity : paginatedData.getRows()) {
+            if (!first) {
+                bufferedOutput.write(',');
+            }
+            bufferedOutput.write(jsonFragmentCache.getFragment(entity, entityJsonConverter));
+            first = false;
+        }
+        bufferedOutput.write(']');
+        bufferedOutput.write('}');
+        bufferedOutput.flush();
+    }
+
+    /**
+     * Write the page with a writer.
+     *
+     * @param writer the writer
+     * @throws IOException the io exception
+     */
+    private void write(final Writer writer) throws IOException {
+        final com.google.gson.stream.JsonWriter jsonWriter = newJsonWriter(writer);
+        write(jsonWriter);
+        jsonWriter.flush();
+    }
+
+    /**
+     * New json writer writing the json Gson writes: html characters escaped and null properties left out.
+     *
+     * @param writer the writer
+     * @return the json writer
+     */
+    static com.google.gson.stream.JsonWriter newJsonWriter(final Writer writer) {
+        final com.google.gson.stream.JsonWriter jsonWriter = new com.google.gson.stream.JsonWriter(writer);
+        jsonWriter.setHtmlSafe(true);
+        jsonWriter.setSerializeNulls(false);
+        return jsonWriter;
+    }
+
+    /**
+     * Write the page with a json writer, which may write other formats than json text, such as the
+     * {@link CborJsonWriter}.
+     *
+     * @param jsonWriter the json writer
+     * @throws IOException the io exception
+     */
+    public void write(final com.google.gson.stream.JsonWriter jsonWriter) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name("paging");
+        JsonUtils.writePaging(jsonWriter, paginatedData);
+        jsonWriter.name("entries");
+        entityJsonConverter.write(jsonWriter, paginatedData.getRows());
+        jsonWriter.endObject();
+    }
+
+    /**
+     * The json of the page, for the logs and the tests.
+     *
+     * @return the json
+     */
+    @Override
+    public String toString() {
+        final StringWriter writer = new StringWriter();
+        try {
+            write(writer);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+}
@@ -12,6 +12,11 @@ public enum HttpCode {
      */
     CREATED(201),
 
+    /**
+     * Bad request http code, the request body could not be read.
+     */
+    BAD_REQUEST(400),
+
     /**
      * Resource failed either to validate or bad data, normally POST/PUT method.
      */
@@ -26,10 +31,22 @@ public enum HttpCode {
      * Resource success, Normally a GET.
      */
     OK(200),
+    /**
+     * Not modified http code, the resource did not change since the entity tag the client has.
+     */
+    NOT_MODIFIED(304),
     /**
      * Forbidden http code.
      */
     FORBIDDEN(403),
+    /**
+     * Conflict http code, the resource was changed by someone else meanwhile.
+     */
+    CONFLICT(409),
+    /**
+     * Precondition failed http code, the resource changed since the entity tag of the If-Match header.
+     */
+    PRECONDITION_FAILED(412),
     /**
      * Internal error http code.
      */
@@ -37,7 +54,11 @@ public enum HttpCode {
     /**
      * Unauthorized http code.
      */
-    UNAUTHORIZED(401);
+    UNAUTHORIZED(401),
+    /**
+     * Service unavailable http code, the request can be retried later.
+     */
+    SERVICE_UNAVAILABLE(503);
 
     private final int code;
 
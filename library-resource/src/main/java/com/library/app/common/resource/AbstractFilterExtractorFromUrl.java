@@ -1,9 +1,12 @@
 package com.library.app.common.resource;
 
+import com.library.app.common.model.filter.CountStrategy;
+import com.library.app.common.model.filter.PaginationCursor;
 import com.library.app.common.model.filter.PaginationData;
 import com.library.app.common.model.filter.PaginationData.OrderMode;
 
 import javax.ws.rs.core.UriInfo;
+import java.util.Locale;
 
 /**
  * The type Abstract filter extractor from url. This is a helper class to extract filter parameters from an URL.
@@ -40,13 +43,22 @@ public abstract class AbstractFilterExtractorFromUrl {
     }
 
     /**
-     * Extract pagination data pagination data.
+     * Extract pagination data pagination data. When the "after" parameter is given the search is paginated by keyset,
+     * the page is ignored and, if no sort was given, the sort the cursor was issued for is used.
+     * The "count" parameter chooses how the total number of rows is produced (exact, cached, estimated, has_next or none).
      *
      * @return the pagination data
      */
     protected PaginationData extractPaginationData() {
         final int perPage = getPerPage();
-        final int firstResult = getPage() * perPage;
+        final PaginationCursor afterCursor = getAfterCursor();
+        final CountStrategy countStrategy = getCountStrategy();
+        if (afterCursor != null && uriInfo.getQueryParameters().getFirst("sort") == null) {
+            return new PaginationData(0, perPage, afterCursor.getSortField(),
+                    afterCursor.isAscending() ? OrderMode.ASCENDING : OrderMode.DESCENDING, afterCursor, countStrategy);
+        }
+
+        final int firstResult = afterCursor == null ? getPage() * perPage : 0;
 
         final String orderField;
         final OrderMode orderMode;
@@ -63,7 +75,33 @@ public abstract class AbstractFilterExtractorFromUrl {
             orderMode = OrderMode.ASCENDING;
         }
 
-        return new PaginationData(firstResult, perPage, orderField, orderMode);
+        return new PaginationData(firstResult, perPage, orderField, orderMode, afterCursor, countStrategy);
+    }
+
+    /**
+     * Gets after cursor.
+     *
+     * @return the after cursor or null when the search is paginated by offset
+     */
+    private PaginationCursor getAfterCursor() {
+        final String after = uriInfo.getQueryParameters().getFirst("after");
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        return PaginationCursor.fromToken(after);
+    }
+
+    /**
+     * Gets count strategy.
+     *
+     * @return the count strategy or null when the default of the repository should be used
+     */
+    private CountStrategy getCountStrategy() {
+        final String count = uriInfo.getQueryParameters().getFirst("count");
+        if (count == null) {
+            return null;
+        }
+        return CountStrategy.valueOf(count.toUpperCase(Locale.ENGLISH));
     }
 
     /**
@@ -0,0 +1,16 @@
+package com.library.app.common.resource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The interface Allow anonymous. Annotation used on the resource methods which can be called without being
+ * authenticated, e.g. registering a user or authenticating. Every other method needs a caller authenticated with a
+ * token.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AllowAnonymous {
+}
@@ -0,0 +1,143 @@
+package com.library.app.common.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.gson.stream.JsonReader;
+import com.library.app.common.json.CborJsonWriter;
+import com.library.app.common.json.PaginatedDataStreamingOutput;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The type Cbor message body writer. Writes the responses of the resources as CBOR when the client accepts it before
+ * json, for the clients polling the lists which spend less time encoding and decoding it than json text.
+ * The pages are written by the {@link PaginatedDataStreamingOutput} straight to CBOR, the other responses, written
+ * by the resources as json, are copied to CBOR token by token. Json stays the default of the resources.
+ */
+@Provider
+@Produces(CborMessageBodyWriter.APPLICATION_CBOR)
+public class CborMessageBodyWriter implements MessageBodyWriter<Object> {
+
+    /**
+     * The CBOR media type.
+     */
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return (String.class.equals(type) || StreamingOutput.class.isAssignableFrom(type))
+                && MediaType.valueOf(APPLICATION_CBOR).isCompatible(mediaType) && !mediaType.isWildcardSubtype();
+    }
+
+    @Override
+    public long getSize(final Object entity, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object entity, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException {
+        if (entity instanceof PaginatedDataStreamingOutput) {
+            final CborJsonWriter cborJsonWriter = newCborJsonWriter(entityStream);
+            ((PaginatedDataStreamingOutput<?>) entity).write(cborJsonWriter);
+            cborJsonWriter.flush();
+        } else if (entity instanceof StreamingOutput) {
+            final ByteArrayOutputStream json = new ByteArrayOutputStream();
+            ((StreamingOutput) entity).write(json);
+            writeJson(new String(json.toByteArray(), StandardCharsets.UTF_8), entityStream);
+        } else {
+            writeJson((String) entity, entityStream);
+        }
+    }
+
+    /**
+     * Write json text as CBOR, nothing when there is no json.
+     *
+     * @param json   the json
+     * @param output the output
+     * @throws IOException the io exception
+     */
+    private static void writeJson(final String json, final OutputStream output) throws IOException {
+        if (json.trim().isEmpty()) {
+            return;
+        }
+        final JsonReader jsonReader = new JsonReader(new StringReader(json));
+        final CborJsonWriter cborJsonWriter = newCborJsonWriter(output);
+        copy(jsonReader, cborJsonWriter);
+        cborJsonWriter.flush();
+    }
+
+    private static CborJsonWriter newCborJsonWriter(final OutputStream output) throws IOException {
+        final JsonGenerator generator = CBOR_FACTORY.createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        final CborJsonWriter cborJsonWriter = new CborJsonWriter(generator);
+        cborJsonWriter.setSerializeNulls(false);
+        return cborJsonWriter;
+    }
+
+    private static void copy(final JsonReader jsonReader, final CborJsonWriter cborJsonWriter) throws IOException {
+        int depth = 0;
+        do {
+            switch (jsonReader.peek()) {
+                case BEGIN_ARRAY:
+                    jsonReader.beginArray();
+                    cborJsonWriter.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    jsonReader.endArray();
+                    cborJsonWriter.endArray();
+                    depth--;
+                    break;
+                case BEGIN_OBJECT:
+                    jsonReader.beginObject();
+                    cborJsonWriter.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    jsonReader.endObject();
+                    cborJsonWriter.endObject();
+                    depth--;
+                    break;
+                case NAME:
+                    cborJsonWriter.name(jsonReader.nextName());
+                    break;
+                case STRING:
+                    cborJsonWriter.value(jsonReader.nextString());
+                    break;
+                case NUMBER:
+                    cborJsonWriter.numberValue(jsonReader.nextString());
+                    break;
+                case BOOLEAN:
+                    cborJsonWriter.value(jsonReader.nextBoolean());
+                    break;
+                case NULL:
+                    jsonReader.nextNull();
+                    cborJsonWriter.nullValue();
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected json token " + jsonReader.peek());
+            }
+        } while (depth > 0);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.exception.EntityVersionConflictException;
+import com.library.app.common.model.HttpCode;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * The type Entity version conflict exception mapper. Intercepts {@link EntityVersionConflictException}, thrown when an
+ * entity is updated on a version which is not its current one, and sets the response to precondition failed as the
+ * entity tag of the If-Match header does not match anymore.
+ */
+@Provider
+public class EntityVersionConflictExceptionMapper implements ExceptionMapper<EntityVersionConflictException> {
+
+    @Override
+    public Response toResponse(final EntityVersionConflictException exception) {
+        return Response.status(HttpCode.PRECONDITION_FAILED.getCode()).build();
+    }
+}
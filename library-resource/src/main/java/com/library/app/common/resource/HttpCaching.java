@@ -0,0 +1,79 @@
+package com.library.app.common.resource;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+/**
+ * The type Http caching. Builds the weak entity tags of the versions of the entities and the Cache-Control of their
+ * responses, which are always revalidated by the clients with their entity tag, so a response not modified since is
+ * answered with a 304 without reading the entity.
+ * The tags are weak as one version is sent as json or CBOR and as identity, gzip or deflate, those representations
+ * are equivalent but not equal byte by byte, which a strong tag shared by all of them would claim.
+ * The If-Match header of the updates is matched on the version held by the tag, as RESTEasy compares their values.
+ */
+public final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    /**
+     * Gets the weak entity tag of a version.
+     *
+     * @param version the version, of an entity or of the content of a list
+     * @return the entity tag
+     */
+    public static EntityTag getEntityTag(final Object version) {
+        return new EntityTag(String.valueOf(version), true);
+    }
+
+    /**
+     * Gets the cache control of the responses shown to anyone, which shared caches can keep too.
+     *
+     * @return the cache control
+     */
+    public static CacheControl getPublicCacheControl() {
+        final CacheControl cacheControl = getCacheControlRevalidated();
+        // JAX-RS has no property for the public directive, it is written as an extension without value
+        cacheControl.getCacheExtension().put("public", null);
+        return cacheControl;
+    }
+
+    /**
+     * Gets the cache control of the responses shown only to the users allowed, which only their own cache can keep.
+     *
+     * @return the cache control
+     */
+    public static CacheControl getPrivateCacheControl() {
+        final CacheControl cacheControl = getCacheControlRevalidated();
+        cacheControl.setPrivate(true);
+        return cacheControl;
+    }
+
+    /**
+     * Gets the not modified response, when the entity tag of the request matches the current one.
+     *
+     * @param request      the request
+     * @param entityTag    the current entity tag
+     * @param cacheControl the cache control of the response
+     * @return the not modified response, null when the response must be written
+     */
+    public static Response getNotModifiedResponse(final Request request, final EntityTag entityTag,
+                                                  final CacheControl cacheControl) {
+        final ResponseBuilder responseBuilder = request.evaluatePreconditions(entityTag);
+        if (responseBuilder == null) {
+            return null;
+        }
+        return responseBuilder.tag(entityTag).cacheControl(cacheControl).build();
+    }
+
+    private static CacheControl getCacheControlRevalidated() {
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        cacheControl.setNoTransform(false);
+        return cacheControl;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.exception.InvalidJsonException;
+import com.library.app.common.json.OperationResultJsonWriter;
+import com.library.app.common.model.HttpCode;
+import com.library.app.common.model.OperationResult;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * The type Invalid json exception mapper. Intercepts {@link InvalidJsonException}, thrown when a request body is not
+ * valid Json or exceeds the Json reading limits, and sets the response to bad request with the reason.
+ */
+@Provider
+public class InvalidJsonExceptionMapper implements ExceptionMapper<InvalidJsonException> {
+
+    @Override
+    public Response toResponse(final InvalidJsonException exception) {
+        final OperationResult result = OperationResult.error("invalidJson", exception.getMessage());
+        return Response.status(HttpCode.BAD_REQUEST.getCode()).type(MediaType.APPLICATION_JSON)
+                .entity(OperationResultJsonWriter.toJson(result)).build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.exception.InvalidPaginationException;
+import com.library.app.common.model.HttpCode;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * The type Invalid pagination exception mapper. Intercepts {@link InvalidPaginationException}, thrown when the sort or
+ * the keyset cursor of a search is not valid, and sets the response to bad request.
+ */
+@Provider
+public class InvalidPaginationExceptionMapper implements ExceptionMapper<InvalidPaginationException> {
+
+    @Override
+    public Response toResponse(final InvalidPaginationException exception) {
+        return Response.status(HttpCode.BAD_REQUEST.getCode()).build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.library.app.common.resource;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+
+/**
+ * The type Media type vary filter. The resources producing CBOR negotiate it or json from the Accept header of the
+ * request, so this class adds "Vary: Accept" to their responses, including the not modified ones, for the shared caches
+ * to keep one response per media type instead of serving the CBOR one to a json client.
+ */
+@Provider
+public class MediaTypeVaryFilter implements ContainerResponseFilter {
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext)
+            throws IOException {
+        if (resourceInfo == null || resourceInfo.getResourceMethod() == null) {
+            return;
+        }
+        if (producesCbor(resourceInfo.getResourceMethod()) || producesCbor(resourceInfo.getResourceClass())) {
+            responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+    }
+
+    private static boolean producesCbor(final AnnotatedElement element) {
+        final Produces produces = element == null ? null : element.getAnnotation(Produces.class);
+        return produces != null && Arrays.asList(produces.value()).contains(CborMessageBodyWriter.APPLICATION_CBOR);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.model.HttpCode;
+import com.library.app.user.exception.PasswordHashingBusyException;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * The type Password hashing busy exception mapper. Intercepts {@link PasswordHashingBusyException}, thrown when too
+ * many passwords are waiting to be hashed, and sets the response to service unavailable so the client retries later.
+ */
+@Provider
+public class PasswordHashingBusyExceptionMapper implements ExceptionMapper<PasswordHashingBusyException> {
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    @Override
+    public Response toResponse(final PasswordHashingBusyException exception) {
+        return Response.status(HttpCode.SERVICE_UNAVAILABLE.getCode())
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.compression.CompressingOutputStream;
+import com.library.app.common.compression.ContentCoding;
+import com.library.app.common.compression.ResponseCompressor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+
+/**
+ * The type Response compression filter. This class negotiates the content coding of the responses with a body from the
+ * Accept-Encoding header of the request, and compresses them with gzip or deflate when they are written, unless they
+ * are smaller than the min size of the {@link ResponseCompressor}.
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class ResponseCompressionFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String CONTENT_CODING_PROPERTY = ResponseCompressionFilter.class.getName() + ".contentCoding";
+
+    @Inject
+    ResponseCompressor responseCompressor;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext)
+            throws IOException {
+        if (!responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        final ContentCoding contentCoding = ContentCoding.negotiate(
+                requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (contentCoding != null) {
+            requestContext.setProperty(CONTENT_CODING_PROPERTY, contentCoding);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final ContentCoding contentCoding = (ContentCoding) context.getProperty(CONTENT_CODING_PROPERTY);
+        if (contentCoding == null) {
+            context.proceed();
+            return;
+        }
+
+        final MultivaluedMap<String, Object> headers = context.getHeaders();
+        final CompressingOutputStream compressingOutputStream = responseCompressor.compress(
+                context.getOutputStream(), contentCoding, () -> {
+                    logger.debug("Compressing the response with {}", contentCoding.getName());
+                    headers.putSingle(HttpHeaders.CONTENT_ENCODING, contentCoding.getName());
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                });
+        context.setOutputStream(compressingOutputStream);
+        try {
+            context.proceed();
+        } catch (final IOException | RuntimeException e) {
+            compressingOutputStream.discard();
+            throw e;
+        }
+        compressingOutputStream.finish();
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.model.HttpCode;
+import com.library.app.user.exception.InvalidTokenException;
+import com.library.app.user.exception.UserNotFoundException;
+import com.library.app.user.model.User;
+import com.library.app.user.model.UserIdentity;
+import com.library.app.user.services.UserServices;
+import com.library.app.user.token.AuthenticatedCaller;
+import com.library.app.user.token.AuthenticationTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The type Token authentication filter. This class intercepts the requests carrying a token on the Authorization header
+ * ("Bearer token") and authenticates them in memory, without reading the user nor hashing its password.
+ * BASIC credentials are verified here too, by {@link UserServices#findByEmailAndPassword(String, String)}, as the
+ * passwords are hashed with PBKDF2, which the security domain of the container can not verify.
+ * Requests without credentials are only let through to the methods annotated with {@link AllowAnonymous}.
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION)
+public class TokenAuthenticationFilter implements ContainerRequestFilter {
+
+    private static final String BEARER_PREFIX = TokenSecurityContext.BEARER_SCHEME + " ";
+    private static final String BASIC_PREFIX = TokenSecurityContext.BASIC_SCHEME + " ";
+    private static final String BASIC_CHALLENGE = TokenSecurityContext.BASIC_SCHEME + " realm=\"library\"";
+
+    @Inject
+    AuthenticationTokenService authenticationTokenService;
+
+    @Inject
+    AuthenticatedCaller authenticatedCaller;
+
+    @Inject
+    UserServices userServices;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) throws IOException {
+        final String authorization = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+        final String token = getToken(authorization);
+        if (token != null) {
+            try {
+                authenticate(requestContext, authenticationTokenService.verify(token),
+                        TokenSecurityContext.BEARER_SCHEME);
+            } catch (final InvalidTokenException e) {
+                logger.debug("Token rejected: {}", e.getMessage());
+                abortUnauthorized(requestContext, TokenSecurityContext.BEARER_SCHEME + " error=\"invalid_token\"");
+            }
+            return;
+        }
+
+        final String[] credentials = getBasicCredentials(authorization);
+        if (credentials != null) {
+            try {
+                final User user = userServices.findByEmailAndPassword(credentials[0], credentials[1]);
+                authenticate(requestContext, new UserIdentity(user.getId(), user.getEmail(), user.getUserType(),
+                        user.getRoles()), TokenSecurityContext.BASIC_SCHEME);
+            } catch (final UserNotFoundException e) {
+                logger.debug("BASIC credentials rejected");
+                abortUnauthorized(requestContext, BASIC_CHALLENGE);
+            }
+            return;
+        }
+
+        if (!isAnonymousAllowed()) {
+            abortUnauthorized(requestContext, TokenSecurityContext.BEARER_SCHEME);
+        }
+    }
+
+    /**
+     * Gets the token of an Authorization header.
+     *
+     * @param authorization the value of the Authorization header
+     * @return the token, null when the header does not carry one
+     */
+    public static String getToken(final String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length()).trim();
+    }
+
+    /**
+     * Gets the email and the password of BASIC credentials.
+     *
+     * @param authorization the value of the Authorization header
+     * @return the email and the password, null when the header does not carry valid BASIC credentials
+     */
+    private static String[] getBasicCredentials(final String authorization) {
+        if (authorization == null || !authorization.startsWith(BASIC_PREFIX)) {
+            return null;
+        }
+        final String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+        final int separator = decoded.indexOf(':');
+        if (separator < 0) {
+            return null;
+        }
+        return new String[] {decoded.substring(0, separator), decoded.substring(separator + 1)};
+    }
+
+    /**
+     * Authenticate the request with the identity of its caller.
+     *
+     * @param requestContext       the request context
+     * @param userIdentity         the user identity
+     * @param authenticationScheme the authentication scheme
+     */
+    private void authenticate(final ContainerRequestContext requestContext, final UserIdentity userIdentity,
+                              final String authenticationScheme) {
+        authenticatedCaller.setUserIdentity(userIdentity);
+        requestContext.setSecurityContext(new TokenSecurityContext(userIdentity,
+                requestContext.getSecurityContext().isSecure(), authenticationScheme));
+    }
+
+    /**
+     * Is anonymous allowed boolean. Requests not matched to a method are let through, so they get their usual response.
+     *
+     * @return the boolean
+     */
+    private boolean isAnonymousAllowed() {
+        final Method resourceMethod = resourceInfo.getResourceMethod();
+        return resourceMethod == null || resourceMethod.isAnnotationPresent(AllowAnonymous.class);
+    }
+
+    /**
+     * Abort the request as unauthorized.
+     *
+     * @param requestContext the request context
+     * @param authenticate   the value of the WWW-Authenticate header
+     */
+    private void abortUnauthorized(final ContainerRequestContext requestContext, final String authenticate) {
+        requestContext.abortWith(Response.status(HttpCode.UNAUTHORIZED.getCode())
+                .header(HttpHeaders.WWW_AUTHENTICATE, authenticate).build());
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.library.app.common.resource;
+
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.UserIdentity;
+
+import javax.ws.rs.core.SecurityContext;
+import java.security.Principal;
+
+/**
+ * The type Token security context. The security context of a request authenticated with a token or BASIC credentials,
+ * answering the role checks of the resources from the roles of the user identity.
+ */
+public class TokenSecurityContext implements SecurityContext {
+
+    /**
+     * The authentication scheme of the requests authenticated with a token.
+     */
+    public static final String BEARER_SCHEME = "Bearer";
+
+    /**
+     * The authentication scheme of the requests authenticated with BASIC credentials.
+     */
+    public static final String BASIC_SCHEME = "Basic";
+
+    private final UserIdentity userIdentity;
+    private final boolean secure;
+    private final String authenticationScheme;
+
+    /**
+     * Instantiates a new Token security context.
+     *
+     * @param userIdentity         the user identity of the caller
+     * @param secure               whether the request was made over a secure channel
+     * @param authenticationScheme the authentication scheme
+     */
+    public TokenSecurityContext(final UserIdentity userIdentity, final boolean secure,
+                                final String authenticationScheme) {
+        this.userIdentity = userIdentity;
+        this.secure = secure;
+        this.authenticationScheme = authenticationScheme;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return userIdentity::getEmail;
+    }
+
+    @Override
+    public boolean isUserInRole(final String role) {
+        for (final Roles userRole : userIdentity.getRoles()) {
+            if (userRole.name().equals(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return secure;
+    }
+
+    @Override
+    public String getAuthenticationScheme() {
+        return authenticationScheme;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.library.app.common.responsecache;
+
+import javax.ws.rs.core.EntityTag;
+
+/**
+ * The type Cached response. Immutable response kept by the {@link ResponseCache}: its encoded body, its entity tag and
+ * the version of the cache it was read on.
+ */
+public final class CachedResponse {
+
+    private final byte[] body;
+    private final EntityTag entityTag;
+    private final long version;
+
+    /**
+     * Instantiates a new Cached response.
+     *
+     * @param body      the encoded body, not to be modified once cached
+     * @param entityTag the entity tag of the response
+     * @param version   the version of the cache when the response started being read
+     */
+    public CachedResponse(final byte[] body, final EntityTag entityTag, final long version) {
+        this.body = body;
+        this.entityTag = entityTag;
+        this.version = version;
+    }
+
+    /**
+     * Gets the encoded body, shared by all the reads of the response.
+     *
+     * @return the body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Gets entity tag.
+     *
+     * @return the entity tag
+     */
+    public EntityTag getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * Gets version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.library.app.common.responsecache;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * The type Caching streaming output. Writes a streaming output to the client as it is, keeping a copy of the bytes
+ * written, which is handed over once the whole body is written, so it can be cached. Bodies larger than the max size
+ * stop being copied and are not handed over.
+ */
+public class CachingStreamingOutput implements StreamingOutput {
+
+    private final StreamingOutput streamingOutput;
+    private final int maxSize;
+    private final Consumer<byte[]> onWritten;
+
+    /**
+     * Instantiates a new Caching streaming output.
+     *
+     * @param streamingOutput the streaming output writing the body
+     * @param maxSize         the max size of the body copied, in bytes
+     * @param onWritten       called with the copy of the body once it is written
+     */
+    public CachingStreamingOutput(final StreamingOutput streamingOutput, final int maxSize,
+                                  final Consumer<byte[]> onWritten) {
+        this.streamingOutput = streamingOutput;
+        this.maxSize = maxSize;
+        this.onWritten = onWritten;
+    }
+
+    @Override
+    public void write(final OutputStream output) throws IOException {
+        final CopyingOutputStream copyingOutputStream = new CopyingOutputStream(output, maxSize);
+        streamingOutput.write(copyingOutputStream);
+        copyingOutputStream.flush();
+
+        final byte[] copy = copyingOutputStream.getCopy();
+        if (copy != null) {
+            onWritten.accept(copy);
+        }
+    }
+
+    /**
+     * The body written, for the logs and the tests.
+     *
+     * @return the body
+     */
+    @Override
+    public String toString() {
+        return streamingOutput.toString();
+    }
+
+    /**
+     * The output stream writing to the client and to a copy, until it reaches the max size.
+     */
+    private static class CopyingOutputStream extends OutputStream {
+
+        private final OutputStream output;
+        private final int maxSize;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CopyingOutputStream(final OutputStream output, final int maxSize) {
+            this.output = output;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            output.write(bytes, offset, length);
+            if (copy != null) {
+                if (copy.size() + length > maxSize) {
+                    copy = null;
+                } else {
+                    copy.write(bytes, offset, length);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            output.flush();
+        }
+
+        byte[] getCopy() {
+            return copy == null ? null : copy.toByteArray();
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.library.app.common.responsecache;
+
+import com.library.app.cache.interceptor.ResultCaches;
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.common.appproperties.PropertyValue;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The type Response cache. Keeps the encoded responses of the last reads, by the name of the cache of the
+ * results they are read from and the canonical form of their filter, so the next equal reads are answered without
+ * calling the services. The responses kept are bounded by their total size in bytes, the ones read the least recently
+ * being dropped first.
+ * <p>
+ * Each response holds the version of its cache when it started being read: once the cache is invalidated by a change,
+ * see {@link ResultCaches#getVersion(String)}, the responses read before are not returned anymore.
+ */
+@ApplicationScoped
+public class ResponseCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    @Inject
+    ResultCaches resultCaches;
+
+    @PropertyValue(name = "response-cache-max-bytes")
+    Integer maxBytes;
+
+    @PropertyValue(name = "response-cache-max-entry-bytes")
+    Integer maxEntryBytes;
+
+    private final Map<String, CachedResponse> responsesByKey = new LinkedHashMap<>(16, 0.75F, true);
+    private long totalBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+
+    /**
+     * Gets the current version of a cache, to be kept with the responses read from now on.
+     *
+     * @param name the name of the cache
+     * @return the version
+     */
+    public long getVersion(final String name) {
+        return resultCaches.getVersion(name);
+    }
+
+    /**
+     * Gets the response of a read, when it was kept on the current version of its cache.
+     *
+     * @param name the name of the cache
+     * @param key  the canonical form of the read
+     * @return the cached response, null when there is none
+     */
+    public CachedResponse get(final String name, final String key) {
+        final long version = getVersion(name);
+        final String fullKey = getFullKey(name, key);
+        synchronized (this) {
+            final CachedResponse cachedResponse = responsesByKey.get(fullKey);
+            if (cachedResponse != null && cachedResponse.getVersion() == version) {
+                hitCount.increment();
+                return cachedResponse;
+            }
+            if (cachedResponse != null) {
+                remove(fullKey);
+            }
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Put the response of a read, unless it is larger than the largest response kept or its cache changed while it
+     * was read.
+     *
+     * @param name           the name of the cache
+     * @param key            the canonical form of the read
+     * @param cachedResponse the cached response
+     */
+    public void put(final String name, final String key, final CachedResponse cachedResponse) {
+        final String fullKey = getFullKey(name, key);
+        if (getSize(fullKey, cachedResponse) > maxEntryBytes || cachedResponse.getVersion() != getVersion(name)) {
+            return;
+        }
+
+        synchronized (this) {
+            remove(fullKey);
+            responsesByKey.put(fullKey, cachedResponse);
+            totalBytes += getSize(fullKey, cachedResponse);
+
+            final Iterator<Map.Entry<String, CachedResponse>> leastRecentlyRead = responsesByKey.entrySet().iterator();
+            while (totalBytes > maxBytes && leastRecentlyRead.hasNext()) {
+                final Map.Entry<String, CachedResponse> entry = leastRecentlyRead.next();
+                totalBytes -= getSize(entry.getKey(), entry.getValue());
+                leastRecentlyRead.remove();
+            }
+        }
+        putCount.increment();
+    }
+
+    /**
+     * Gets the largest body kept, in bytes, so the reads can stop copying the bodies beyond it.
+     *
+     * @return the max entry bytes
+     */
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * Gets the total size of the responses kept, in bytes.
+     *
+     * @return the total bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the statistics of the responses kept.
+     *
+     * @return the statistics
+     */
+    public CacheStatistics getStatistics() {
+        final int size;
+        synchronized (this) {
+            size = responsesByKey.size();
+        }
+        return new CacheStatistics("responses", hitCount.sum(), missCount.sum(), putCount.sum(), size);
+    }
+
+    private void remove(final String fullKey) {
+        final CachedResponse removed = responsesByKey.remove(fullKey);
+        if (removed != null) {
+            totalBytes -= getSize(fullKey, removed);
+        }
+    }
+
+    private static String getFullKey(final String name, final String key) {
+        return name + ':' + key;
+    }
+
+    private static long getSize(final String fullKey, final CachedResponse cachedResponse) {
+        return cachedResponse.getBody().length + 2L * fullKey.length() + ENTRY_OVERHEAD_BYTES;
+    }
+
+}
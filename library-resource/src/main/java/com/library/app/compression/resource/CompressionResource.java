@@ -0,0 +1,54 @@
+package com.library.app.compression.resource;
+
+import com.library.app.common.compression.CompressionStatistics;
+import com.library.app.common.compression.ResponseCompressor;
+import com.library.app.common.json.OperationResultJsonWriter;
+import com.library.app.common.model.HttpCode;
+import com.library.app.common.model.OperationResult;
+import com.library.app.common.resource.CborMessageBodyWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * The type Compression resource. Shows how many responses were compressed, how much smaller they got and the cpu
+ * time it took, so the min size and the level of the compression can be tuned.
+ */
+@Path("/compression")
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
+@Consumes(MediaType.APPLICATION_JSON)
+@RolesAllowed({"ADMINISTRATOR"})
+public class CompressionResource {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Inject
+    ResponseCompressor responseCompressor;
+
+    @Inject
+    CompressionStatisticsJsonConverter compressionStatisticsJsonConverter;
+
+    /**
+     * Find statistics response.
+     *
+     * @return the response
+     */
+    @GET
+    public Response findStatistics() {
+        final CompressionStatistics compressionStatistics = responseCompressor.getStatistics();
+        logger.debug("Found compression statistics: {}", compressionStatistics);
+
+        final OperationResult result = OperationResult.success(
+                compressionStatisticsJsonConverter.convertToJsonElement(compressionStatistics));
+        return Response.status(HttpCode.OK.getCode()).entity(OperationResultJsonWriter.toJson(result)).build();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.library.app.compression.resource;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.library.app.common.compression.CompressionStatistics;
+import com.library.app.common.json.EntityJsonConverter;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * The type Compression statistics json converter.
+ */
+@ApplicationScoped
+public class CompressionStatisticsJsonConverter implements EntityJsonConverter<CompressionStatistics> {
+
+    @Override
+    public CompressionStatistics convertFrom(final String json) {
+        //this method will not be used.
+        throw new UnsupportedOperationException("Method not implemented");
+    }
+
+    @Override
+    public JsonElement convertToJsonElement(final CompressionStatistics compressionStatistics) {
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("compressedCount", compressionStatistics.getCompressedCount());
+        jsonObject.addProperty("skippedCount", compressionStatistics.getSkippedCount());
+        jsonObject.addProperty("uncompressedBytes", compressionStatistics.getUncompressedBytes());
+        jsonObject.addProperty("compressedBytes", compressionStatistics.getCompressedBytes());
+        jsonObject.addProperty("compressionRatio", compressionStatistics.getCompressionRatio());
+        jsonObject.addProperty("cpuTimeNanos", compressionStatistics.getCpuTimeNanos());
+        jsonObject.addProperty("averageCpuTimeMicros", compressionStatistics.getAverageCpuTimeMicros());
+
+        return jsonObject;
+    }
+
+}
@@ -1,13 +1,13 @@
 package com.library.app.logaudit.resource;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.library.app.common.json.EntityJsonConverter;
-import com.library.app.common.utils.DateUtils;
+import com.library.app.common.json.JsonUtils;
 import com.library.app.logaudit.model.LogAudit;
-import com.library.app.user.model.User;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
 
 /**
  * The type Log audit json converter.
@@ -23,22 +23,12 @@ public class LogAuditJsonConverter implements EntityJsonConverter<LogAudit> {
 
     @Override
     public JsonElement convertToJsonElement(final LogAudit logAudit) {
-        final JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("id", logAudit.getId());
-        jsonObject.addProperty("createdAt", DateUtils.formatDateTime(logAudit.getCreatedAt()));
-        jsonObject.add("user", getUserAsJsonElement(logAudit.getUser()));
-        jsonObject.addProperty("action", logAudit.getAction().toString());
-        jsonObject.addProperty("element", logAudit.getElement());
-
-        return jsonObject;
+        return JsonUtils.toJsonElement(jsonWriter -> LogAuditJsonViewCodec.write(jsonWriter, logAudit));
     }
 
-    private JsonElement getUserAsJsonElement(final User user) {
-        final JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("id", user.getId());
-        jsonObject.addProperty("name", user.getName());
-
-        return jsonObject;
+    @Override
+    public void write(final JsonWriter jsonWriter, final LogAudit logAudit) throws IOException {
+        LogAuditJsonViewCodec.write(jsonWriter, logAudit);
     }
 
-}
\ No newline at end of file
+}
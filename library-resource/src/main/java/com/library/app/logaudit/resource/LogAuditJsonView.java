@@ -0,0 +1,31 @@
+package com.library.app.logaudit.resource;
+
+import com.library.app.common.json.DateTimeJsonFormatter;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+import com.library.app.logaudit.model.LogAudit;
+import com.library.app.logaudit.model.LogAudit.Action;
+import com.library.app.user.model.User;
+import com.library.app.user.resource.UserSummaryJsonView;
+
+import java.util.Date;
+
+/**
+ * The type Log audit json view. The Json of a log audit, written by the generated LogAuditJsonViewCodec.
+ */
+@JsonView(LogAudit.class)
+public interface LogAuditJsonView {
+
+    Long getId();
+
+    @JsonProperty(formatter = DateTimeJsonFormatter.class)
+    Date getCreatedAt();
+
+    @JsonProperty(view = UserSummaryJsonView.class)
+    User getUser();
+
+    Action getAction();
+
+    String getElement();
+
+}
@@ -1,10 +1,9 @@
 package com.library.app.logaudit.resource;
 
-import com.google.gson.JsonElement;
 import com.library.app.common.json.JsonUtils;
-import com.library.app.common.json.JsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.PaginatedData;
+import com.library.app.common.resource.CborMessageBodyWriter;
 import com.library.app.logaudit.model.LogAudit;
 import com.library.app.logaudit.model.filter.LogAuditFilter;
 import com.library.app.logaudit.repository.LogAuditRepository;
@@ -21,12 +20,13 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * The type Log audit resource.
  */
 @Path("/logsaudit")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
 @Consumes(MediaType.APPLICATION_JSON)
 @RolesAllowed({"ADMINISTRATOR"})
 public class LogAuditResource {
@@ -56,10 +56,9 @@ public class LogAuditResource {
 
         logger.debug("Found {} logs", logs.getNumberOfRows());
 
-        final JsonElement jsonWithPagingAndEntries = JsonUtils.getJsonElementWithPagingAndEntries(logs,
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(logs,
                 logAuditJsonConverter);
-        return Response.status(HttpCode.OK.getCode()).entity(JsonWriter.writeToString(jsonWithPagingAndEntries))
-                .build();
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).build();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.library.app.order.resource;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.library.app.common.json.EntityJsonConverter;
+import com.library.app.common.utils.DateUtils;
+import com.library.app.order.model.OrderExpirationPartition;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * The type Order expiration partition json converter.
+ */
+@ApplicationScoped
+public class OrderExpirationPartitionJsonConverter implements EntityJsonConverter<OrderExpirationPartition> {
+
+    @Override
+    public OrderExpirationPartition convertFrom(final String json) {
+        //this method will not be used.
+        throw new UnsupportedOperationException("Method not implemented");
+    }
+
+    @Override
+    public JsonElement convertToJsonElement(final OrderExpirationPartition partition) {
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("id", partition.getId());
+        jsonObject.addProperty("createdAt", DateUtils.formatDateTime(partition.getCreatedAt()));
+        jsonObject.addProperty("createdUntil", DateUtils.formatDateTime(partition.getCreatedUntil()));
+        jsonObject.addProperty("startId", partition.getStartId());
+        jsonObject.addProperty("endId", partition.getEndId());
+        jsonObject.addProperty("status", partition.getStatus().toString());
+        jsonObject.addProperty("abandoned", partition.isAbandoned(new Date()));
+        jsonObject.addProperty("owner", partition.getOwner());
+        addDateProperty(jsonObject, "claimedAt", partition.getClaimedAt());
+        addDateProperty(jsonObject, "claimExpiresAt", partition.getClaimExpiresAt());
+        addDateProperty(jsonObject, "finishedAt", partition.getFinishedAt());
+        jsonObject.addProperty("expiredOrders", partition.getExpiredOrders());
+
+        return jsonObject;
+    }
+
+    private void addDateProperty(final JsonObject jsonObject, final String property, final Date date) {
+        if (date != null) {
+            jsonObject.addProperty(property, DateUtils.formatDateTime(date));
+        }
+    }
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final OrderExpirationPartition partition) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name("id").value(partition.getId());
+        jsonWriter.name("createdAt").value(DateUtils.formatDateTime(partition.getCreatedAt()));
+        jsonWriter.name("createdUntil").value(DateUtils.formatDateTime(partition.getCreatedUntil()));
+        jsonWriter.name("startId").value(partition.getStartId());
+        jsonWriter.name("endId").value(partition.getEndId());
+        jsonWriter.name("status").value(partition.getStatus().toString());
+        jsonWriter.name("abandoned").value(partition.isAbandoned(new Date()));
+        jsonWriter.name("owner").value(partition.getOwner());
+        writeDateProperty(jsonWriter, "claimedAt", partition.getClaimedAt());
+        writeDateProperty(jsonWriter, "claimExpiresAt", partition.getClaimExpiresAt());
+        writeDateProperty(jsonWriter, "finishedAt", partition.getFinishedAt());
+        jsonWriter.name("expiredOrders").value(partition.getExpiredOrders());
+        jsonWriter.endObject();
+    }
+
+    private void writeDateProperty(final JsonWriter jsonWriter, final String property, final Date date)
+            throws IOException {
+        if (date != null) {
+            jsonWriter.name(property).value(DateUtils.formatDateTime(date));
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.library.app.order.resource;
+
+import com.library.app.common.json.DateTimeJsonFormatter;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderHistoryEntry;
+
+import java.util.Date;
+
+/**
+ * The type Order history entry json view. The Json of an entry of the history of an order, written by the generated
+ * OrderHistoryEntryJsonViewCodec.
+ */
+@JsonView(OrderHistoryEntry.class)
+public interface OrderHistoryEntryJsonView {
+
+    @JsonProperty(formatter = DateTimeJsonFormatter.class)
+    Date getCreatedAt();
+
+    OrderStatus getStatus();
+
+}
@@ -0,0 +1,21 @@
+package com.library.app.order.resource;
+
+import com.library.app.book.model.Book;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+import com.library.app.order.model.OrderItem;
+
+/**
+ * The type Order item json view. The Json of an item of an order, written by the generated OrderItemJsonViewCodec.
+ */
+@JsonView(OrderItem.class)
+public interface OrderItemJsonView {
+
+    @JsonProperty(view = OrderedBookJsonView.class)
+    Book getBook();
+
+    Integer getQuantity();
+
+    Double getPrice();
+
+}
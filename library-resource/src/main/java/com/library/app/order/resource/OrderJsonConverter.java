@@ -1,18 +1,16 @@
 package com.library.app.order.resource;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.library.app.book.model.Book;
 import com.library.app.common.json.EntityJsonConverter;
 import com.library.app.common.json.JsonReader;
-import com.library.app.common.utils.DateUtils;
+import com.library.app.common.json.JsonUtils;
+import com.library.app.common.json.LimitedJsonReader;
 import com.library.app.order.model.Order;
-import com.library.app.order.model.OrderHistoryEntry;
-import com.library.app.order.model.OrderItem;
-import com.library.app.user.model.User;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -23,95 +21,79 @@ public class OrderJsonConverter implements EntityJsonConverter<Order> {
 
     @Override
     public Order convertFrom(final String json) {
-        final JsonObject jsonObject = JsonReader.readAsJsonObject(json);
+        //read with the pull parser, so the items are not held in a Json tree before being read
+        return JsonReader.readJson(json, reader -> {
+            final Order order = new Order();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("items".equals(reader.nextName()) && !JsonReader.nextIsNull(reader)) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        readItem(reader, order);
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return order;
+        });
+    }
 
-        final Order order = new Order();
-        final JsonArray itemsJsonArray = jsonObject.getAsJsonArray("items");
-        if (itemsJsonArray != null) {
-            for (final JsonElement itemJsonElement : itemsJsonArray) {
-                final Book book = new Book(JsonReader.getLongOrNull(itemJsonElement.getAsJsonObject(), "bookId"));
-                final Integer quantity = JsonReader.getIntegerOrNull(itemJsonElement.getAsJsonObject(), "quantity");
-                order.addItem(book, quantity);
+    /**
+     * Read an item of an order.
+     *
+     * @param reader the reader, at the item
+     * @param order  the order
+     * @throws IOException when the Json is malformed
+     */
+    private void readItem(final LimitedJsonReader reader, final Order order) throws IOException {
+        Long bookId = null;
+        Integer quantity = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "bookId":
+                    bookId = JsonReader.nextLongOrNull(reader);
+                    break;
+                case "quantity":
+                    quantity = JsonReader.nextIntegerOrNull(reader);
+                    break;
+                default:
+                    reader.skipValue();
             }
         }
+        reader.endObject();
 
-        return order;
+        order.addItem(new Book(bookId), quantity);
     }
 
     @Override
     public JsonElement convertToJsonElement(final Order order) {
         //convert single order
-        return getOrderAsJsonElement(order, true);
+        return JsonUtils.toJsonElement(jsonWriter -> OrderJsonViewCodec.write(jsonWriter, order));
     }
 
     @Override
     public JsonElement convertToJsonElement(final List<Order> orders) {
-        //convert list of orders
-        final JsonArray jsonArray = new JsonArray();
-
-        for (final Order order : orders) {
-            jsonArray.add(getOrderAsJsonElement(order, false));
-        }
-
-        return jsonArray;
-    }
-
-    private JsonElement getOrderAsJsonElement(final Order order, final boolean addItemsAndHistory) {
-        final JsonObject jsonObject = new JsonObject();
-
-        jsonObject.addProperty("id", order.getId());
-        jsonObject.addProperty("createdAt", DateUtils.formatDateTime(order.getCreatedAt()));
-        jsonObject.add("customer", getCustomerAsJsonElement(order.getCustomer()));
-
-        if (addItemsAndHistory) {
-            final JsonArray jsonArrayItems = new JsonArray();
-            for (final OrderItem orderItem : order.getItems()) {
-                jsonArrayItems.add(getOrderItemAsJsonElement(orderItem));
-            }
-            jsonObject.add("items", jsonArrayItems);
-
-            final JsonArray jsonArrayHistoryEntries = new JsonArray();
-            for (final OrderHistoryEntry orderHistoryEntry : order.getHistoryEntries()) {
-                jsonArrayHistoryEntries.add(getHistoryEntryAsJsonElement(orderHistoryEntry));
-            }
-            jsonObject.add("historyEntries", jsonArrayHistoryEntries);
-        }
-
-        jsonObject.addProperty("total", order.getTotal());
-        jsonObject.addProperty("currentStatus", order.getCurrentStatus().name());
-
-        return jsonObject;
+        //convert list of orders, without their items nor history
+        return JsonUtils.toJsonElement(jsonWriter -> OrderSummaryJsonViewCodec.write(jsonWriter, orders));
     }
 
-    private JsonElement getCustomerAsJsonElement(final User user) {
-        final JsonObject jsonObject = new JsonObject();
-        jsonObject.addProperty("id", user.getId());
-        jsonObject.addProperty("name", user.getName());
-
-        return jsonObject;
-    }
-
-    private JsonElement getOrderItemAsJsonElement(final OrderItem orderItem) {
-        final JsonObject jsonObject = new JsonObject();
-
-        final JsonObject jsonObjectBook = new JsonObject();
-        jsonObjectBook.addProperty("id", orderItem.getBook().getId());
-        jsonObjectBook.addProperty("title", orderItem.getBook().getTitle());
-
-        jsonObject.add("book", jsonObjectBook);
-        jsonObject.addProperty("quantity", orderItem.getQuantity());
-        jsonObject.addProperty("price", orderItem.getPrice());
-
-        return jsonObject;
+    @Override
+    public void write(final JsonWriter jsonWriter, final Order order) throws IOException {
+        //write single order
+        OrderJsonViewCodec.write(jsonWriter, order);
     }
 
-    private JsonElement getHistoryEntryAsJsonElement(final OrderHistoryEntry orderHistoryEntry) {
-        final JsonObject jsonObject = new JsonObject();
-
-        jsonObject.addProperty("createdAt", DateUtils.formatDateTime(orderHistoryEntry.getCreatedAt()));
-        jsonObject.addProperty("status", orderHistoryEntry.getStatus().name());
-
-        return jsonObject;
+    @Override
+    public void write(final JsonWriter jsonWriter, final List<Order> orders) throws IOException {
+        //write list of orders, without their items nor history
+        OrderSummaryJsonViewCodec.write(jsonWriter, orders);
     }
 
-}
\ No newline at end of file
+}
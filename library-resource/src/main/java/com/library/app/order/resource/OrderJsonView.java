@@ -0,0 +1,41 @@
+package com.library.app.order.resource;
+
+import com.library.app.common.json.DateTimeJsonFormatter;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+import com.library.app.order.model.Order;
+import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderHistoryEntry;
+import com.library.app.order.model.OrderItem;
+import com.library.app.user.model.Customer;
+import com.library.app.user.resource.UserSummaryJsonView;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * The type Order json view. The Json of a single order, with its items and history, written by the generated
+ * OrderJsonViewCodec.
+ */
+@JsonView(Order.class)
+public interface OrderJsonView {
+
+    Long getId();
+
+    @JsonProperty(formatter = DateTimeJsonFormatter.class)
+    Date getCreatedAt();
+
+    @JsonProperty(view = UserSummaryJsonView.class)
+    Customer getCustomer();
+
+    @JsonProperty(view = OrderItemJsonView.class)
+    Set<OrderItem> getItems();
+
+    @JsonProperty(view = OrderHistoryEntryJsonView.class)
+    Set<OrderHistoryEntry> getHistoryEntries();
+
+    Double getTotal();
+
+    OrderStatus getCurrentStatus();
+
+}
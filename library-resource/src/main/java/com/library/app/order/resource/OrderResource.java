@@ -1,21 +1,22 @@
 package com.library.app.order.resource;
 
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.library.app.book.exception.BookNotFoundException;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.json.JsonReader;
 import com.library.app.common.json.JsonUtils;
-import com.library.app.common.json.JsonWriter;
 import com.library.app.common.json.OperationResultJsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.OperationResult;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.model.ResourceMessage;
+import com.library.app.common.resource.CborMessageBodyWriter;
 import com.library.app.order.exception.OrderNotFoundException;
 import com.library.app.order.exception.OrderStatusCannotBeChangedException;
+import com.library.app.order.exception.OrderStatusConflictException;
 import com.library.app.order.model.Order;
 import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderExpirationPartition;
 import com.library.app.order.model.filter.OrderFilter;
 import com.library.app.order.services.OrderServices;
 import com.library.app.user.exception.UserNotFoundException;
@@ -37,6 +38,8 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.List;
 
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultDependencyNotFound;
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultInvalidField;
@@ -45,7 +48,7 @@ import static com.library.app.common.model.StandardsOperationResults.getOperatio
  * The type Order resource.
  */
 @Path("/orders")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
 @Consumes(MediaType.APPLICATION_JSON)
 public class OrderResource {
 
@@ -59,6 +62,9 @@ public class OrderResource {
     @Inject
     OrderJsonConverter orderJsonConverter;
 
+    @Inject
+    OrderExpirationPartitionJsonConverter orderExpirationPartitionJsonConverter;
+
     @Context
     SecurityContext securityContext;
 
@@ -127,6 +133,9 @@ public class OrderResource {
         } catch (final OrderStatusCannotBeChangedException e) {
             logger.error("Error while changing order status {}", e.getMessage());
             return Response.status(HttpCode.VALIDATION_ERROR.getCode()).build();
+        } catch (final OrderStatusConflictException e) {
+            logger.error("Order {} was changed by someone else while adding the status {}", id, status);
+            return Response.status(HttpCode.CONFLICT.getCode()).build();
         }
 
         return Response.status(HttpCode.OK.getCode()).build();
@@ -171,10 +180,27 @@ public class OrderResource {
 
         logger.debug("Found {} orders", orders.getNumberOfRows());
 
-        final JsonElement jsonWithPagingAndEntries = JsonUtils.getJsonElementWithPagingAndEntries(orders,
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(orders,
                 orderJsonConverter);
-        return Response.status(HttpCode.OK.getCode()).entity(JsonWriter.writeToString(jsonWithPagingAndEntries))
-                .build();
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).build();
+    }
+
+    /**
+     * Find expiration partitions response. Shows the latest partitions of the expiration runs, with the node holding
+     * each one, so claimed and abandoned partitions can be followed.
+     *
+     * @return the response
+     */
+    @GET
+    @Path("/expiration/partitions")
+    @RolesAllowed({"EMPLOYEE"})
+    public Response findExpirationPartitions() {
+        final List<OrderExpirationPartition> partitions = orderServices.findLatestExpirationPartitions();
+        logger.debug("Found {} expiration partitions", partitions.size());
+
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(
+                new PaginatedData<>(partitions.size(), partitions), orderExpirationPartitionJsonConverter);
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).build();
     }
 
     private OrderStatus getStatusFromJson(final String body) {
@@ -0,0 +1,32 @@
+package com.library.app.order.resource;
+
+import com.library.app.common.json.DateTimeJsonFormatter;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+import com.library.app.order.model.Order;
+import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.user.model.Customer;
+import com.library.app.user.resource.UserSummaryJsonView;
+
+import java.util.Date;
+
+/**
+ * The type Order summary json view. The Json of an order of a list, without its items and history, written by the
+ * generated OrderSummaryJsonViewCodec.
+ */
+@JsonView(Order.class)
+public interface OrderSummaryJsonView {
+
+    Long getId();
+
+    @JsonProperty(formatter = DateTimeJsonFormatter.class)
+    Date getCreatedAt();
+
+    @JsonProperty(view = UserSummaryJsonView.class)
+    Customer getCustomer();
+
+    Double getTotal();
+
+    OrderStatus getCurrentStatus();
+
+}
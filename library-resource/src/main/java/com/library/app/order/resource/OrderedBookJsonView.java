@@ -0,0 +1,17 @@
+package com.library.app.order.resource;
+
+import com.library.app.book.model.Book;
+import com.library.app.common.json.view.JsonView;
+
+/**
+ * The type Ordered book json view. The Json of the book of an order item, written by the generated
+ * OrderedBookJsonViewCodec.
+ */
+@JsonView(Book.class)
+public interface OrderedBookJsonView {
+
+    Long getId();
+
+    String getTitle();
+
+}
@@ -1,19 +1,18 @@
 package com.library.app.user.resource;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 import com.library.app.common.json.EntityJsonConverter;
 import com.library.app.common.json.JsonReader;
-import com.library.app.common.utils.DateUtils;
+import com.library.app.common.json.JsonUtils;
 import com.library.app.user.model.Customer;
 import com.library.app.user.model.Employee;
 import com.library.app.user.model.User;
-import com.library.app.user.model.User.Roles;
 import com.library.app.user.model.User.UserType;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.io.IOException;
 
 /**
  * The type User json converter. User is an abstract class therefore it is returned a Pperson class instead.s
@@ -35,21 +34,7 @@ public class UserJsonConverter implements EntityJsonConverter<User> {
 
     @Override
     public JsonElement convertToJsonElement(final User user) {
-        final JsonObject jsonObject = new JsonObject();
-
-        jsonObject.addProperty("id", user.getId());
-        jsonObject.addProperty("name", user.getName());
-        jsonObject.addProperty("email", user.getEmail());
-        jsonObject.addProperty("type", user.getUserType().toString());
-
-        final JsonArray roles = new JsonArray();
-        for (final Roles role : user.getRoles()) {
-            roles.add(new JsonPrimitive(role.toString()));
-        }
-        jsonObject.add("roles", roles);
-        jsonObject.addProperty("createdAt", DateUtils.formatDateTime(user.getCreatedAt()));
-
-        return jsonObject;
+        return JsonUtils.toJsonElement(jsonWriter -> UserJsonViewCodec.write(jsonWriter, user));
     }
 
     /**
@@ -66,4 +51,9 @@ public class UserJsonConverter implements EntityJsonConverter<User> {
         return new Customer();
     }
 
-}
\ No newline at end of file
+    @Override
+    public void write(final JsonWriter jsonWriter, final User user) throws IOException {
+        UserJsonViewCodec.write(jsonWriter, user);
+    }
+
+}
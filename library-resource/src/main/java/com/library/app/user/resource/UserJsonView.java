@@ -0,0 +1,33 @@
+package com.library.app.user.resource;
+
+import com.library.app.common.json.DateTimeJsonFormatter;
+import com.library.app.common.json.view.JsonProperty;
+import com.library.app.common.json.view.JsonView;
+import com.library.app.user.model.User;
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.User.UserType;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The type User json view. The Json of a user, written by the generated UserJsonViewCodec.
+ */
+@JsonView(User.class)
+public interface UserJsonView {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    @JsonProperty(name = "type")
+    UserType getUserType();
+
+    List<Roles> getRoles();
+
+    @JsonProperty(formatter = DateTimeJsonFormatter.class)
+    Date getCreatedAt();
+
+}
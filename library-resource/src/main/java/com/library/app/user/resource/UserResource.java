@@ -1,24 +1,27 @@
 package com.library.app.user.resource;
 
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.library.app.common.exception.FieldNotValidException;
 import com.library.app.common.json.JsonReader;
 import com.library.app.common.json.JsonUtils;
-import com.library.app.common.json.JsonWriter;
 import com.library.app.common.json.OperationResultJsonWriter;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.OperationResult;
 import com.library.app.common.model.PaginatedData;
 import com.library.app.common.model.ResourceMessage;
+import com.library.app.common.resource.AllowAnonymous;
+import com.library.app.common.resource.CborMessageBodyWriter;
+import com.library.app.common.resource.TokenAuthenticationFilter;
 import com.library.app.user.exception.UserExistentException;
 import com.library.app.user.exception.UserNotFoundException;
 import com.library.app.user.model.Customer;
 import com.library.app.user.model.User;
 import com.library.app.user.model.User.Roles;
 import com.library.app.user.model.User.UserType;
+import com.library.app.user.model.UserIdentity;
 import com.library.app.user.model.filter.UserFilter;
 import com.library.app.user.services.UserServices;
+import com.library.app.user.token.AuthenticationTokenService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,17 +30,20 @@ import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.core.StreamingOutput;
 
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultExistent;
 import static com.library.app.common.model.StandardsOperationResults.getOperationResultInvalidField;
@@ -47,7 +53,7 @@ import static com.library.app.common.model.StandardsOperationResults.getOperatio
  * The type User resource. This class provides end point for CRUD operation on users.
  */
 @Path("/users")
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborMessageBodyWriter.APPLICATION_CBOR})
 @Consumes(MediaType.APPLICATION_JSON)
 public class UserResource {
 
@@ -61,6 +67,9 @@ public class UserResource {
     @Inject
     UserJsonConverter userJsonConverter;
 
+    @Inject
+    AuthenticationTokenService authenticationTokenService;
+
     @Context
     SecurityContext securityContext;
 
@@ -74,6 +83,7 @@ public class UserResource {
      * @return the response
      */
     @POST
+    @AllowAnonymous
     public Response add(final String body) {
         logger.debug("Adding a new user with body {}", body);
 
@@ -210,7 +220,8 @@ public class UserResource {
     }
 
     /**
-     * Find by email and password response. authenticate method.
+     * Find by email and password response. authenticate method. The user is returned with a token to authenticate the
+     * next requests with the header "Authorization: Bearer token" instead of the email and password.
      *
      * @param body the body
      * @return the response
@@ -218,6 +229,7 @@ public class UserResource {
     @POST
     @Path("/authenticate")
     @PermitAll
+    @AllowAnonymous
     public Response findByEmailAndPassword(final String body) {
         logger.debug("Find user by email and password");
         ResponseBuilder responseBuilder;
@@ -227,7 +239,10 @@ public class UserResource {
             final User userWithEmailAndPassword = getUserWithEmailAndPasswordFromJson(body);
             final User user = userServices.findByEmailAndPassword(userWithEmailAndPassword.getEmail(),
                     userWithEmailAndPassword.getPassword());
-            final OperationResult result = OperationResult.success(userJsonConverter.convertToJsonElement(user));
+            final JsonObject userJsonObject = userJsonConverter.convertToJsonElement(user).getAsJsonObject();
+            userJsonObject.addProperty("token", authenticationTokenService.issue(new UserIdentity(user.getId(),
+                    user.getEmail(), user.getUserType(), user.getRoles())));
+            final OperationResult result = OperationResult.success(userJsonObject);
             responseBuilder = Response.status(HttpCode.OK.getCode()).entity(OperationResultJsonWriter.toJson(result));
             logger.debug("User found by email/password: {}", user);
         } catch (final UserNotFoundException e) {
@@ -238,6 +253,24 @@ public class UserResource {
         return responseBuilder.build();
     }
 
+    /**
+     * Logout response. Revokes the token the request was authenticated with, if any.
+     *
+     * @param authorization the authorization header
+     * @return the response
+     */
+    @POST
+    @Path("/logout")
+    @PermitAll
+    public Response logout(@HeaderParam(HttpHeaders.AUTHORIZATION) final String authorization) {
+        final String token = TokenAuthenticationFilter.getToken(authorization);
+        if (token != null) {
+            authenticationTokenService.revoke(token);
+            logger.debug("Token of {} revoked", securityContext.getUserPrincipal().getName());
+        }
+        return Response.status(HttpCode.OK.getCode()).build();
+    }
+
     /**
      * Find users by filter response.
      *
@@ -253,10 +286,9 @@ public class UserResource {
 
         logger.debug("Found {} users", users.getNumberOfRows());
 
-        final JsonElement jsonWithPagingAndEntries = JsonUtils.getJsonElementWithPagingAndEntries(users,
+        final StreamingOutput jsonWithPagingAndEntries = JsonUtils.getStreamingOutputWithPagingAndEntries(users,
                 userJsonConverter);
-        return Response.status(HttpCode.OK.getCode()).entity(JsonWriter.writeToString(jsonWithPagingAndEntries))
-                .build();
+        return Response.status(HttpCode.OK.getCode()).entity(jsonWithPagingAndEntries).build();
     }
 
 
@@ -268,8 +300,9 @@ public class UserResource {
      */
     private boolean isLoggedUser(final Long id) {
         try {
-            final User loggerUser = userServices.findByEmail(securityContext.getUserPrincipal().getName());
-            if (loggerUser.getId().equals(id)) {
+            final UserIdentity loggedUser = userServices.findIdentityByEmail(
+                    securityContext.getUserPrincipal().getName());
+            if (loggedUser.getId().equals(id)) {
                 return true;
             }
         } catch (final UserNotFoundException e) {
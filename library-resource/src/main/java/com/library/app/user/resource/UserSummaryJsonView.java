@@ -0,0 +1,17 @@
+package com.library.app.user.resource;
+
+import com.library.app.common.json.view.JsonView;
+import com.library.app.user.model.User;
+
+/**
+ * The type User summary json view. The Json of the user of a log audit or the customer of an order, written by the
+ * generated UserSummaryJsonViewCodec.
+ */
+@JsonView(User.class)
+public interface UserSummaryJsonView {
+
+    Long getId();
+
+    String getName();
+
+}
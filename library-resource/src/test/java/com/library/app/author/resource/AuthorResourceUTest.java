@@ -13,7 +13,9 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.Arrays;
@@ -35,6 +37,7 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -55,6 +58,9 @@ public class AuthorResourceUTest {
     @Mock
     private UriInfo uriInfo;
 
+    @Mock
+    private Request request;
+
     /**
      * Init test case.
      */
@@ -67,6 +73,7 @@ public class AuthorResourceUTest {
         authorResource.authorServices = authorServices;
         authorResource.authorJsonConverter = new AuthorJsonConverter();
         authorResource.uriInfo = uriInfo;
+        authorResource.request = request;
     }
 
     /**
@@ -104,7 +111,7 @@ public class AuthorResourceUTest {
      */
     @Test
     public void updateValidAuthor() throws Exception {
-        final Response response = authorResource.update(1L,
+        final Response response = authorResource.update(1L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "robertMartin.json")));
         assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
         assertThat(response.getEntity().toString(), is(equalTo("")));
@@ -122,7 +129,7 @@ public class AuthorResourceUTest {
         doThrow(new FieldNotValidException("name", "may not be null")).when(authorServices).update(
                 (Author) anyObject());
 
-        final Response response = authorResource.update(1L,
+        final Response response = authorResource.update(1L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "authorWithNullName.json")));
         assertThat(response.getStatus(), is(equalTo(HttpCode.VALIDATION_ERROR.getCode())));
         assertJsonResponseWithFile(response, "authorErrorNullName.json");
@@ -137,7 +144,7 @@ public class AuthorResourceUTest {
     public void updateAuthorNotFound() throws Exception {
         doThrow(new AuthorNotFoundException()).when(authorServices).update(authorWithId(robertMartin(), 2L));
 
-        final Response response = authorResource.update(2L,
+        final Response response = authorResource.update(2L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "robertMartin.json")));
         assertThat(response.getStatus(), is(equalTo(HttpCode.NOT_FOUND.getCode())));
     }
@@ -187,6 +194,19 @@ public class AuthorResourceUTest {
         assertJsonResponseWithFile(response, "authorsAllInOnePage.json");
     }
 
+    /**
+     * Find by filter when the authors were not modified since the entity tag of the client.
+     */
+    @Test
+    public void findByFilterNotModified() {
+        when(authorServices.findContentVersion()).thenReturn("4.4.0");
+        when(request.evaluatePreconditions(new EntityTag("4.4.0", true))).thenReturn(Response.notModified());
+
+        final Response response = authorResource.findByFilter();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.NOT_MODIFIED.getCode())));
+        verify(authorServices, never()).findByFilter((AuthorFilter) anyObject());
+    }
+
 
     private void assertJsonResponseWithFile(final Response response, final String fileName) {
         assertJsonMatchesFileContent(response.getEntity().toString(), getPathFileResponse(PATH_RESOURCE, fileName));
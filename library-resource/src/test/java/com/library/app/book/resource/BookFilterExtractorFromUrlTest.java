@@ -1,6 +1,8 @@
 package com.library.app.book.resource;
 
 import com.library.app.book.model.filter.BookFilter;
+import com.library.app.common.model.filter.CountStrategy;
+import com.library.app.common.model.filter.PaginationCursor;
 import com.library.app.common.model.filter.PaginationData;
 import com.library.app.common.model.filter.PaginationData.OrderMode;
 import org.junit.Before;
@@ -17,6 +19,7 @@ import static com.library.app.commontests.utils.FilterExtractorTestUtils.setUpUr
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
 
 /**
  * The type Book filter extractor from url test.
@@ -94,6 +97,61 @@ public class BookFilterExtractorFromUrlTest {
         assertFieldsOnFilter(bookFilter, "Design", 10L);
     }
 
+    /**
+     * With keyset cursor and no sort. The sort the cursor was issued for is used and the page is ignored.
+     */
+    @Test
+    public void withKeysetCursorAndNoSort() {
+        final PaginationCursor cursor = new PaginationCursor("title", false, "Effective Java", 3L);
+        setUpUriInfo("2", "5", null, null, null, cursor.toToken());
+
+        final BookFilterExtractorFromUrl extractor = new BookFilterExtractorFromUrl(uriInfo);
+        final BookFilter bookFilter = extractor.getFilter();
+
+        assertActualPaginationDataWithExpected(bookFilter.getPaginationData(), new PaginationData(0, 5, "title",
+                OrderMode.DESCENDING, cursor));
+        assertFieldsOnFilter(bookFilter, null, null);
+    }
+
+    /**
+     * With keyset cursor and sort.
+     */
+    @Test
+    public void withKeysetCursorAndSort() {
+        final PaginationCursor cursor = new PaginationCursor("id", true, 7L, 7L);
+        setUpUriInfo(null, "5", "Design", null, "+id", cursor.toToken());
+
+        final BookFilterExtractorFromUrl extractor = new BookFilterExtractorFromUrl(uriInfo);
+        final BookFilter bookFilter = extractor.getFilter();
+
+        assertActualPaginationDataWithExpected(bookFilter.getPaginationData(), new PaginationData(0, 5, "id",
+                OrderMode.ASCENDING, cursor));
+        assertFieldsOnFilter(bookFilter, "Design", null);
+    }
+
+    /**
+     * With count strategy.
+     */
+    @Test
+    public void withCountStrategy() {
+        setUpUriInfo(null, null, null, null, null, null);
+        when(uriInfo.getQueryParameters().getFirst("count")).thenReturn("has_next");
+
+        final BookFilter bookFilter = new BookFilterExtractorFromUrl(uriInfo).getFilter();
+
+        assertThat(bookFilter.getPaginationData().getCountStrategy(), is(equalTo(CountStrategy.HAS_NEXT)));
+    }
+
+    /**
+     * With invalid keyset cursor.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void withInvalidKeysetCursor() {
+        setUpUriInfo(null, null, null, null, null, "not-a-cursor");
+
+        new BookFilterExtractorFromUrl(uriInfo).getFilter();
+    }
+
     /**
      * Sets up uri info.
      *
@@ -105,7 +163,23 @@ public class BookFilterExtractorFromUrlTest {
      */
     private void setUpUriInfo(final String page, final String perPage, final String title, final String categoryId,
                               final String sort) {
+        setUpUriInfo(page, perPage, title, categoryId, sort, null);
+    }
+
+    /**
+     * Sets up uri info with the keyset cursor.
+     *
+     * @param page       the page
+     * @param perPage    the per page
+     * @param title      the title
+     * @param categoryId the category id
+     * @param sort       the sort
+     * @param after      the after cursor
+     */
+    private void setUpUriInfo(final String page, final String perPage, final String title, final String categoryId,
+                              final String sort, final String after) {
         final Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("after", after);
         parameters.put("page", page);
         parameters.put("per_page", perPage);
         parameters.put("title", title);
@@ -2,28 +2,42 @@ package com.library.app.book.resource;
 
 import com.library.app.author.exception.AuthorNotFoundException;
 import com.library.app.author.model.Author;
-import com.library.app.author.resource.AuthorJsonConverter;
 import com.library.app.book.exception.BookNotFoundException;
 import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookSummary.AuthorSummary;
+import com.library.app.book.model.BookVersion;
 import com.library.app.book.model.filter.BookFilter;
 import com.library.app.book.services.BookServices;
+import com.library.app.cache.interceptor.RequestCoalescer;
 import com.library.app.category.exception.CategoryNotFoundException;
 import com.library.app.category.model.Category;
-import com.library.app.category.resource.CategoryJsonConverter;
 import com.library.app.common.exception.FieldNotValidException;
+import com.library.app.common.json.JsonFragmentCache;
 import com.library.app.common.model.HttpCode;
 import com.library.app.common.model.PaginatedData;
+import com.library.app.common.responsecache.CachedResponse;
+import com.library.app.common.responsecache.ResponseCache;
 import com.library.app.commontests.utils.ResourceDefinitions;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static com.library.app.commontests.book.BookArgumentMatcher.bookEq;
 import static com.library.app.commontests.book.BookForTestsRepository.bookWithId;
@@ -37,10 +51,16 @@ import static com.library.app.commontests.utils.JsonTestUtils.readJsonFile;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class BookResourceUTest {
@@ -52,21 +72,37 @@ public class BookResourceUTest {
     @Mock
     private UriInfo uriInfo;
 
+    @Mock
+    private Request request;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private JsonFragmentCache jsonFragmentCache;
+
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
     private static final String PATH_RESOURCE = ResourceDefinitions.BOOK.getResourceName();
 
     @Before
-    public void initTestCase() {
+    @SuppressWarnings("unchecked")
+    public void initTestCase() throws Exception {
         MockitoAnnotations.initMocks(this);
+        when(requestCoalescer.execute(anyString(), anyString(), (Callable<Object>) anyObject()))
+                .thenAnswer(invocation -> ((Callable<Object>) invocation.getArguments()[2]).call());
 
         bookResource = new BookResource();
 
-        final BookJsonConverter bookJsonConverter = new BookJsonConverter();
-        bookJsonConverter.categoryJsonConverter = new CategoryJsonConverter();
-        bookJsonConverter.authorJsonConverter = new AuthorJsonConverter();
-
         bookResource.bookServices = bookServices;
         bookResource.uriInfo = uriInfo;
-        bookResource.bookJsonConverter = bookJsonConverter;
+        bookResource.request = request;
+        bookResource.responseCache = responseCache;
+        bookResource.jsonFragmentCache = jsonFragmentCache;
+        bookResource.requestCoalescer = requestCoalescer;
+        bookResource.bookJsonConverter = new BookJsonConverter();
+        bookResource.bookSummaryJsonConverter = new BookSummaryJsonConverter();
     }
 
     @Test
@@ -100,7 +136,7 @@ public class BookResourceUTest {
 
     @Test
     public void updateValidBook() throws Exception {
-        final Response response = bookResource.update(1L,
+        final Response response = bookResource.update(1L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "cleanCode.json")));
 
         assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
@@ -112,6 +148,31 @@ public class BookResourceUTest {
         verify(bookServices).update(bookEq(expectedBook));
     }
 
+    @Test
+    public void updateBookOnEntityTagOfIfMatch() throws Exception {
+        when(bookServices.findVersionById(1L)).thenReturn(new BookVersion(2L, 0L, 0L));
+
+        final Response response = bookResource.update(1L, "\"2.0.0\"",
+                readJsonFile(getPathFileRequest(PATH_RESOURCE, "cleanCode.json")));
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+
+        final ArgumentCaptor<Book> bookCaptor = ArgumentCaptor.forClass(Book.class);
+        verify(bookServices).update(bookCaptor.capture());
+        assertThat(bookCaptor.getValue().getVersion(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void updateBookChangedSinceEntityTagOfIfMatch() throws Exception {
+        when(bookServices.findVersionById(1L)).thenReturn(new BookVersion(2L, 0L, 0L));
+        when(request.evaluatePreconditions(new EntityTag("2.0.0", true)))
+                .thenReturn(Response.status(HttpCode.PRECONDITION_FAILED.getCode()));
+
+        final Response response = bookResource.update(1L, "\"1.0.0\"",
+                readJsonFile(getPathFileRequest(PATH_RESOURCE, "cleanCode.json")));
+        assertThat(response.getStatus(), is(equalTo(HttpCode.PRECONDITION_FAILED.getCode())));
+        verify(bookServices, never()).update((Book) anyObject());
+    }
+
     @Test
     public void updateBookWithNullTitle() throws Exception {
         updateBookWithError(new FieldNotValidException("title", "may not be null"), HttpCode.VALIDATION_ERROR,
@@ -137,7 +198,7 @@ public class BookResourceUTest {
     }
 
     @Test
-    public void findBook() throws BookNotFoundException {
+    public void findBook() throws Exception {
         final Book book = bookWithId(designPatterns(), 1L);
         book.getCategory().setId(1L);
         for (int i = 1; i <= book.getAuthors().size(); i++) {
@@ -146,9 +207,38 @@ public class BookResourceUTest {
 
         when(bookServices.findById(1L)).thenReturn(book);
 
+        when(bookServices.findVersionById(1L)).thenReturn(new BookVersion(1L, 2L, 3L));
+
         final Response response = bookResource.findById(1L);
         assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
         assertJsonResponseWithFile(response, "designPatternsFound.json");
+        assertThat(response.getEntityTag(), is(equalTo(new EntityTag("1.2.3", true))));
+        verify(requestCoalescer).execute(eq("books"), eq("book:1:1.2.3"), (Callable<?>) anyObject());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void findBookSharedWithConcurrentRequest() throws Exception {
+        when(bookServices.findVersionById(1L)).thenReturn(new BookVersion(1L, 2L, 3L));
+        doReturn("{\"id\": 1}").when(requestCoalescer)
+                .execute(eq("books"), eq("book:1:1.2.3"), (Callable<Object>) anyObject());
+
+        final Response response = bookResource.findById(1L);
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertThat(response.getEntity(), is(equalTo((Object) "{\"id\": 1}")));
+        verify(bookServices, never()).findById(anyLong());
+    }
+
+    @Test
+    public void findBookNotModified() throws BookNotFoundException {
+        when(bookServices.findVersionById(1L)).thenReturn(new BookVersion(1L, 2L, 3L));
+        when(request.evaluatePreconditions(new EntityTag("1.2.3", true))).thenReturn(Response.notModified());
+
+        final Response response = bookResource.findById(1L);
+        assertThat(response.getStatus(), is(equalTo(HttpCode.NOT_MODIFIED.getCode())));
+        assertThat(response.getEntityTag(), is(equalTo(new EntityTag("1.2.3", true))));
+        assertThat(response.getHeaderString(HttpHeaders.CACHE_CONTROL), is(equalTo("no-cache, private")));
+        verify(bookServices, never()).findById(anyLong());
     }
 
     @Test
@@ -159,28 +249,106 @@ public class BookResourceUTest {
         assertThat(response.getStatus(), is(equalTo(HttpCode.NOT_FOUND.getCode())));
     }
 
-    @SuppressWarnings("unchecked")
     @Test
     public void findByBookNoFilter() {
+        final MultivaluedMap<String, String> multiMap = mockQueryParameters();
+
+        when(bookServices.findSummariesByFilter((BookFilter) anyObject())).thenReturn(findSummariesOfBooks(false));
+
+        final Response response = bookResource.findByFilter();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertJsonResponseWithFile(response, "booksAllInOnePage.json");
+        verify(multiMap).getFirst("fields");
+    }
+
+    @Test
+    public void findByBookWithDescription() {
+        final MultivaluedMap<String, String> multiMap = mockQueryParameters();
+        when(multiMap.getFirst("fields")).thenReturn("description");
+
+        final ArgumentCaptor<BookFilter> bookFilterCaptor = ArgumentCaptor.forClass(BookFilter.class);
+        when(bookServices.findSummariesByFilter(bookFilterCaptor.capture())).thenReturn(findSummariesOfBooks(true));
+
+        final Response response = bookResource.findByFilter();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertThat(bookFilterCaptor.getValue().isWithDescription(), is(equalTo(true)));
+        assertJsonResponseWithFile(response, "booksAllInOnePageWithDescription.json");
+    }
+
+    @Test
+    public void findByBookNotModified() {
+        mockQueryParameters();
+        when(bookServices.findContentVersion()).thenReturn("2.2.1-3.3.0-4.4.0");
+        when(request.evaluatePreconditions(new EntityTag("2.2.1-3.3.0-4.4.0", true))).thenReturn(Response.notModified());
+
+        final Response response = bookResource.findByFilter();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.NOT_MODIFIED.getCode())));
+        assertThat(response.getHeaderString(HttpHeaders.CACHE_CONTROL), is(equalTo("no-cache, public")));
+        verify(bookServices, never()).findSummariesByFilter((BookFilter) anyObject());
+    }
+
+    @Test
+    public void findByBookKeptOnResponseCache() throws Exception {
+        mockQueryParameters();
+        when(responseCache.getVersion("books")).thenReturn(5L);
+        when(responseCache.getMaxEntryBytes()).thenReturn(1024 * 1024);
+        when(bookServices.findContentVersion()).thenReturn("2.2.1-3.3.0-4.4.0");
+        when(bookServices.findSummariesByFilter((BookFilter) anyObject())).thenReturn(findSummariesOfBooks(false));
+        when(jsonFragmentCache.getFragment((BookSummary) anyObject(), (BookSummaryJsonConverter) anyObject()))
+                .thenAnswer(invocation -> bookResource.bookSummaryJsonConverter
+                        .convertToJsonElement((BookSummary) invocation.getArguments()[0]).toString()
+                        .getBytes(StandardCharsets.UTF_8));
+
+        final Response response = bookResource.findByFilter();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(body);
+        assertThat(body.toString("UTF-8"), is(equalTo(response.getEntity().toString())));
+
+        final ArgumentCaptor<CachedResponse> cachedResponseCaptor = ArgumentCaptor.forClass(CachedResponse.class);
+        verify(responseCache).put(eq("books"), anyString(), cachedResponseCaptor.capture());
+        assertThat(cachedResponseCaptor.getValue().getBody(), is(equalTo(body.toByteArray())));
+        assertThat(cachedResponseCaptor.getValue().getEntityTag(), is(equalTo(new EntityTag("2.2.1-3.3.0-4.4.0", true))));
+        assertThat(cachedResponseCaptor.getValue().getVersion(), is(equalTo(5L)));
+    }
+
+    @Test
+    public void findByBookFromResponseCache() throws Exception {
+        mockQueryParameters();
+        final byte[] cachedBody = "{\"entries\": []}".getBytes(StandardCharsets.UTF_8);
+        when(responseCache.get(eq("books"), anyString()))
+                .thenReturn(new CachedResponse(cachedBody, new EntityTag("2.2.1-3.3.0-4.4.0", true), 5L));
+
+        final Response response = bookResource.findByFilter();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertThat(response.getEntityTag(), is(equalTo(new EntityTag("2.2.1-3.3.0-4.4.0", true))));
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(body);
+        assertThat(body.toByteArray(), is(equalTo(cachedBody)));
+        verifyZeroInteractions(bookServices);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MultivaluedMap<String, String> mockQueryParameters() {
+        final MultivaluedMap<String, String> multiMap = mock(MultivaluedMap.class);
+        when(uriInfo.getQueryParameters()).thenReturn(multiMap);
+        return multiMap;
+    }
+
+    private PaginatedData<BookSummary> findSummariesOfBooks(final boolean withDescription) {
         final List<Book> books = Arrays.asList(bookWithId(cleanCode(), 1L), bookWithId(designPatterns(), 2L));
         Long currentCategoryId = 1L;
         Long currentAuthorId = 1L;
+        final List<BookSummary> summaries = new ArrayList<>();
         for (final Book book : books) {
-            book.getCategory().setId(currentCategoryId++);
-            for (int i = 0; i < book.getAuthors().size(); i++) {
-                book.getAuthors().get(i).setId(currentAuthorId++);
+            final List<AuthorSummary> authors = new ArrayList<>();
+            for (final Author author : book.getAuthors()) {
+                authors.add(new AuthorSummary(currentAuthorId++, author.getName()));
             }
+            summaries.add(new BookSummary(book.getId(), book.getTitle(),
+                    withDescription ? book.getDescription() : null, currentCategoryId++, book.getCategory().getName(),
+                    authors, book.getPrice()));
         }
-
-        final MultivaluedMap<String, String> multiMap = mock(MultivaluedMap.class);
-        when(uriInfo.getQueryParameters()).thenReturn(multiMap);
-
-        when(bookServices.findByFilter((BookFilter) anyObject())).thenReturn(
-                new PaginatedData<Book>(books.size(), books));
-
-        final Response response = bookResource.findByFilter();
-        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
-        assertJsonResponseWithFile(response, "booksAllInOnePage.json");
+        return new PaginatedData<BookSummary>(summaries.size(), summaries);
     }
 
     private void addBookWithValidationError(final Exception exceptionToBeThrown, final String requestFileName,
@@ -197,7 +365,7 @@ public class BookResourceUTest {
                                      final String responseFileName) throws Exception {
         doThrow(exceptionToBeThrown).when(bookServices).update(bookWithId(cleanCode(), 1L));
 
-        final Response response = bookResource.update(1L,
+        final Response response = bookResource.update(1L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, requestFileName)));
         assertThat(response.getStatus(), is(equalTo(expectedHttpCode.getCode())));
         if (expectedHttpCode != HttpCode.NOT_FOUND) {
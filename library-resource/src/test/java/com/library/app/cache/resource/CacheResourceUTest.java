@@ -0,0 +1,75 @@
+package com.library.app.cache.resource;
+
+import com.library.app.cache.model.CacheStatistics;
+import com.library.app.cache.services.CacheServices;
+import com.library.app.common.json.JsonFragmentCache;
+import com.library.app.common.model.HttpCode;
+import com.library.app.common.responsecache.ResponseCache;
+import com.library.app.commontests.utils.ResourceDefinitions;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.core.Response;
+import java.util.Arrays;
+
+import static com.library.app.commontests.utils.FileTestNameUtils.getPathFileResponse;
+import static com.library.app.commontests.utils.JsonTestUtils.assertJsonMatchesFileContent;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Cache resource unit test.
+ */
+public class CacheResourceUTest {
+    private CacheResource cacheResource;
+
+    @Mock
+    private CacheServices cacheServices;
+
+    @Mock
+    private ResponseCache responseCache;
+
+    @Mock
+    private JsonFragmentCache jsonFragmentCache;
+
+    private static final String PATH_RESOURCE = ResourceDefinitions.CACHE.getResourceName();
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        cacheResource = new CacheResource();
+
+        cacheResource.cacheServices = cacheServices;
+        cacheResource.responseCache = responseCache;
+        cacheResource.jsonFragmentCache = jsonFragmentCache;
+        cacheResource.cacheStatisticsJsonConverter = new CacheStatisticsJsonConverter();
+    }
+
+    /**
+     * Find statistics with the hit and miss ratios, the second level cache regions before the result caches and the
+     * response caches.
+     */
+    @Test
+    public void findStatistics() {
+        when(cacheServices.findStatistics()).thenReturn(Arrays.asList(
+                new CacheStatistics("com.library.app.author.model.Author", 3L, 1L, 1L, 1L),
+                new CacheStatistics("com.library.app.category.model.Category", 0L, 0L, 0L, 0L),
+                new CacheStatistics("books", 1L, 3L, 3L, 2L)));
+        when(responseCache.getStatistics()).thenReturn(new CacheStatistics("responses", 4L, 1L, 1L, 1L));
+        when(jsonFragmentCache.getStatistics()).thenReturn(new CacheStatistics("json-fragments", 9L, 3L, 3L, 3L));
+
+        final Response response = cacheResource.findStatistics();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertJsonMatchesFileContent(response.getEntity().toString(),
+                getPathFileResponse(PATH_RESOURCE, "cachesStatistics.json"));
+    }
+
+}
@@ -12,12 +12,15 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
 import com.library.app.common.model.HttpCode;
@@ -50,6 +53,9 @@ public class CategoryResourceUTest {
     @Mock
     private CategoryServices categoryServices;
 
+    @Mock
+    private Request request;
+
     /**
      * Method to initialize he data for the tests.
      */
@@ -62,6 +68,7 @@ public class CategoryResourceUTest {
         // initialize CategoryServices on category resource
         categoryResource.categoryServices = categoryServices;
         categoryResource.categoryJsonConverter = new CategoryJsonConverter();
+        categoryResource.request = request;
     }
 
     /**
@@ -116,7 +123,7 @@ public class CategoryResourceUTest {
      */
     @Test
     public void updateValidCategory() {
-        final Response response = categoryResource.update(1L,
+        final Response response = categoryResource.update(1L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "category.json")));
         assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
         assertThat(response.getEntity().toString(), is(equalTo("")));
@@ -132,7 +139,7 @@ public class CategoryResourceUTest {
     public void updateCategoryWithNameBelongingToOtherCategory() {
         doThrow(new CategoryExistentException()).when(categoryServices).update(categoryWithId(java(), 1L));
 
-        final Response response = categoryResource.update(1L,
+        final Response response = categoryResource.update(1L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "category.json")));
         assertThat(response.getStatus(), is(equalTo(HttpCode.VALIDATION_ERROR.getCode())));
         assertJsonResponseWithFile(response, "categoryAlreadyExists.json");
@@ -146,7 +153,7 @@ public class CategoryResourceUTest {
         doThrow(new FieldNotValidException("name", "may not be null")).when(categoryServices).update(
                 categoryWithId(new Category(), 1L));
 
-        final Response response = categoryResource.update(1L,
+        final Response response = categoryResource.update(1L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "categoryWithNullName.json")));
         assertThat(response.getStatus(), is(equalTo(HttpCode.VALIDATION_ERROR.getCode())));
         assertJsonResponseWithFile(response, "categoryErrorNullName.json");
@@ -159,7 +166,7 @@ public class CategoryResourceUTest {
     public void updateCategoryNotFound() {
         doThrow(new CategoryNotFoundException()).when(categoryServices).update(categoryWithId(java(), 2L));
 
-        final Response response = categoryResource.update(2L,
+        final Response response = categoryResource.update(2L, null,
                 readJsonFile(getPathFileRequest(PATH_RESOURCE, "category.json")));
         assertThat(response.getStatus(), is(equalTo(HttpCode.NOT_FOUND.getCode())));
         assertJsonResponseWithFile(response, "categoryNotFound.json");
@@ -220,6 +227,39 @@ public class CategoryResourceUTest {
         assertJsonResponseWithFile(response, "twoCategories.json");
     }
 
+    /**
+     * Method to test find all categories when they were not modified since the entity tag of the client. It will
+     * return not modified without reading the categories.
+     */
+    @Test
+    public void findAllNotModified() {
+        when(categoryServices.findContentVersion()).thenReturn("2.2.1");
+        when(request.evaluatePreconditions(new EntityTag("2.2.1", true))).thenReturn(Response.notModified());
+
+        final Response response = categoryResource.findAll();
+
+        assertThat(response.getStatus(), is(equalTo(HttpCode.NOT_MODIFIED.getCode())));
+        assertThat(response.getEntityTag(), is(equalTo(new EntityTag("2.2.1", true))));
+        verify(categoryServices, never()).findAll();
+    }
+
+    /**
+     * Method to test update a category changed since the entity tag of the If-Match header. It will return
+     * precondition failed without updating it.
+     */
+    @Test
+    public void updateCategoryChangedSinceEntityTagOfIfMatch() {
+        when(categoryServices.findVersionById(1L)).thenReturn(3L);
+        when(request.evaluatePreconditions(new EntityTag("3", true)))
+                .thenReturn(Response.status(HttpCode.PRECONDITION_FAILED.getCode()));
+
+        final Response response = categoryResource.update(1L, "\"2\"",
+                readJsonFile(getPathFileRequest(PATH_RESOURCE, "category.json")));
+
+        assertThat(response.getStatus(), is(equalTo(HttpCode.PRECONDITION_FAILED.getCode())));
+        verify(categoryServices, never()).update(categoryWithId(java(), 1L));
+    }
+
     /**
      * Helper method to compare REST responses to Json files content. Files in src/test/resources contains error
      * messages that will be compared against Json responses.
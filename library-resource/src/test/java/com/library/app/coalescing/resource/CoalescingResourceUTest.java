@@ -0,0 +1,60 @@
+package com.library.app.coalescing.resource;
+
+import com.library.app.cache.interceptor.RequestCoalescer;
+import com.library.app.cache.model.CoalescingStatistics;
+import com.library.app.common.model.HttpCode;
+import com.library.app.commontests.utils.ResourceDefinitions;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.core.Response;
+import java.util.Collections;
+
+import static com.library.app.commontests.utils.FileTestNameUtils.getPathFileResponse;
+import static com.library.app.commontests.utils.JsonTestUtils.assertJsonMatchesFileContent;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Coalescing resource unit test.
+ */
+public class CoalescingResourceUTest {
+    private CoalescingResource coalescingResource;
+
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
+    private static final String PATH_RESOURCE = ResourceDefinitions.COALESCING.getResourceName();
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        coalescingResource = new CoalescingResource();
+
+        coalescingResource.requestCoalescer = requestCoalescer;
+        coalescingResource.coalescingStatisticsJsonConverter = new CoalescingStatisticsJsonConverter();
+    }
+
+    /**
+     * Find statistics with the share of the reads coalesced.
+     */
+    @Test
+    public void findStatistics() {
+        when(requestCoalescer.getStatistics()).thenReturn(Collections.singletonList(
+                new CoalescingStatistics("books", 6L, 18L, 2L)));
+
+        final Response response = coalescingResource.findStatistics();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertJsonMatchesFileContent(response.getEntity().toString(),
+                getPathFileResponse(PATH_RESOURCE, "coalescingStatistics.json"));
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.library.app.common.compression;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Response compressor unit test.
+ */
+public class ResponseCompressorUTest {
+
+    private static final int MIN_SIZE = 64;
+
+    private ResponseCompressor responseCompressor;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        responseCompressor = new ResponseCompressor();
+        responseCompressor.minSize = MIN_SIZE;
+        responseCompressor.level = Deflater.DEFAULT_COMPRESSION;
+        responseCompressor.poolSize = 1;
+        responseCompressor.init();
+    }
+
+    /**
+     * End the deflaters kept.
+     */
+    @After
+    public void destroy() {
+        responseCompressor.destroy();
+    }
+
+    /**
+     * Compress a response with gzip, written in chunks, and count it.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void compressWithGzip() throws Exception {
+        final byte[] body = getBody(500);
+        final AtomicInteger compressingCount = new AtomicInteger();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CompressingOutputStream compressingOutputStream = responseCompressor.compress(output,
+                ContentCoding.GZIP, compressingCount::incrementAndGet);
+        for (int offset = 0; offset < body.length; offset += 10) {
+            compressingOutputStream.write(body, offset, Math.min(10, body.length - offset));
+        }
+        compressingOutputStream.finish();
+
+        assertThat(compressingCount.get(), is(equalTo(1)));
+        assertThat(readAll(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))), is(equalTo(body)));
+
+        final CompressionStatistics statistics = responseCompressor.getStatistics();
+        assertThat(statistics.getCompressedCount(), is(equalTo(1L)));
+        assertThat(statistics.getSkippedCount(), is(equalTo(0L)));
+        assertThat(statistics.getUncompressedBytes(), is(equalTo((long) body.length)));
+        assertThat(statistics.getCompressedBytes(), is(equalTo((long) output.size())));
+        assertTrue(statistics.getCompressionRatio() > 1D);
+    }
+
+    /**
+     * Compress a response with deflate, as the zlib format.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void compressWithDeflate() throws Exception {
+        final byte[] body = getBody(100);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CompressingOutputStream compressingOutputStream = responseCompressor.compress(output,
+                ContentCoding.DEFLATE, () -> {
+                });
+        compressingOutputStream.write(body);
+        compressingOutputStream.finish();
+
+        assertThat(readAll(new InflaterInputStream(new ByteArrayInputStream(output.toByteArray()))),
+                is(equalTo(body)));
+    }
+
+    /**
+     * Write a response smaller than the min size as it is.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void skipResponseSmallerThanMinSize() throws Exception {
+        final byte[] body = new byte[MIN_SIZE - 1];
+        final AtomicInteger compressingCount = new AtomicInteger();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CompressingOutputStream compressingOutputStream = responseCompressor.compress(output,
+                ContentCoding.GZIP, compressingCount::incrementAndGet);
+        compressingOutputStream.write(body, 0, 10);
+        compressingOutputStream.write(body, 10, body.length - 10);
+        compressingOutputStream.finish();
+
+        assertThat(compressingCount.get(), is(equalTo(0)));
+        assertThat(output.toByteArray(), is(equalTo(body)));
+        assertThat(responseCompressor.getStatistics().getSkippedCount(), is(equalTo(1L)));
+        assertThat(responseCompressor.getStatistics().getCompressedCount(), is(equalTo(0L)));
+    }
+
+    /**
+     * Reuse the deflaters released, reset, and end the ones beyond the pool size.
+     */
+    @Test
+    public void reuseDeflaters() {
+        final DeflaterPool deflaterPool = new DeflaterPool(ContentCoding.GZIP, Deflater.DEFAULT_COMPRESSION, 1);
+
+        final Deflater deflater = deflaterPool.borrow();
+        final Deflater otherDeflater = deflaterPool.borrow();
+        deflater.setInput(new byte[]{1, 2, 3});
+        deflaterPool.release(deflater);
+        deflaterPool.release(otherDeflater);
+
+        final Deflater reusedDeflater = deflaterPool.borrow();
+        assertThat(reusedDeflater, is(sameInstance(deflater)));
+        assertThat(reusedDeflater.getTotalIn(), is(equalTo(0)));
+        assertThat(deflaterPool.getCreatedCount(), is(equalTo(2L)));
+        deflaterPool.release(reusedDeflater);
+        deflaterPool.endIdle();
+    }
+
+    /**
+     * Negotiate the content coding from the Accept-Encoding header.
+     */
+    @Test
+    public void negotiateContentCoding() {
+        assertThat(ContentCoding.negotiate(null), is(nullValue()));
+        assertThat(ContentCoding.negotiate("identity"), is(nullValue()));
+        assertThat(ContentCoding.negotiate("gzip, deflate, br"), is(equalTo(ContentCoding.GZIP)));
+        assertThat(ContentCoding.negotiate("deflate"), is(equalTo(ContentCoding.DEFLATE)));
+        assertThat(ContentCoding.negotiate("gzip;q=0.5, deflate"), is(equalTo(ContentCoding.DEFLATE)));
+        assertThat(ContentCoding.negotiate("GZIP;q=0, *"), is(equalTo(ContentCoding.DEFLATE)));
+        assertThat(ContentCoding.negotiate("x-gzip"), is(equalTo(ContentCoding.GZIP)));
+        assertThat(ContentCoding.negotiate("*;q=0"), is(nullValue()));
+    }
+
+    private static byte[] getBody(final int numberOfBooks) {
+        final StringBuilder body = new StringBuilder("[");
+        for (int i = 1; i <= numberOfBooks; i++) {
+            body.append("{\"id\":").append(i).append(",\"title\":\"Book ").append(i)
+                    .append("\",\"description\":\"A book on the design of software\",\"price\":").append(i * 1.5)
+                    .append('}');
+        }
+        return body.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readAll(final InputStream input) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int count;
+        while ((count = input.read(buffer)) != -1) {
+            output.write(buffer, 0, count);
+        }
+        return output.toByteArray();
+    }
+
+}
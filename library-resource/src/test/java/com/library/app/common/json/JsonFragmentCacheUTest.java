@@ -0,0 +1,98 @@
+package com.library.app.common.json;
+
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookSummary.AuthorSummary;
+import com.library.app.book.model.BookVersion;
+import com.library.app.book.resource.BookSummaryJsonConverter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Json fragment cache unit test.
+ */
+public class JsonFragmentCacheUTest {
+
+    private JsonFragmentCache jsonFragmentCache;
+    private BookSummaryJsonConverter bookSummaryJsonConverter;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        jsonFragmentCache = new JsonFragmentCache();
+        jsonFragmentCache.maxBytes = 1000;
+        bookSummaryJsonConverter = new BookSummaryJsonConverter();
+    }
+
+    /**
+     * Get the json kept for the version of a book, and write it again on a new version of the book.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void getFragmentOfCurrentVersion() throws Exception {
+        final byte[] json = jsonFragmentCache.getFragment(bookSummary(1L, "Clean Code", 0L), bookSummaryJsonConverter);
+        assertThat(new String(json, StandardCharsets.UTF_8), is(equalTo(bookSummaryJsonConverter
+                .convertToJsonElement(bookSummary(1L, "Clean Code", 0L)).toString())));
+        assertThat(jsonFragmentCache.getFragment(bookSummary(1L, "Clean Code", 0L), bookSummaryJsonConverter),
+                is(sameInstance(json)));
+
+        final byte[] renamedJson = jsonFragmentCache.getFragment(bookSummary(1L, "Clean Code 2", 1L),
+                bookSummaryJsonConverter);
+        assertThat(renamedJson, is(not(equalTo(json))));
+        assertThat(jsonFragmentCache.getStatistics().getHitCount(), is(equalTo(1L)));
+        assertThat(jsonFragmentCache.getStatistics().getMissCount(), is(equalTo(2L)));
+        assertThat(jsonFragmentCache.getStatistics().getSize(), is(equalTo(1L)));
+    }
+
+    /**
+     * Do not keep the json of the entities read without their version.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void doNotKeepFragmentsWithoutVersion() throws Exception {
+        final BookSummary bookSummary = new BookSummary(1L, "Clean Code", null, 1L, "Java",
+                Arrays.asList(new AuthorSummary(1L, "Robert Martin")), 35.5D);
+        jsonFragmentCache.getFragment(bookSummary, bookSummaryJsonConverter);
+
+        assertThat(jsonFragmentCache.getStatistics().getPutCount(), is(equalTo(0L)));
+        assertThat(jsonFragmentCache.getTotalBytes(), is(equalTo(0L)));
+    }
+
+    /**
+     * Drop the json written the least recently once the total size is reached.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void boundFragmentsByTheirSize() throws Exception {
+        for (long id = 1; id <= 10; id++) {
+            jsonFragmentCache.getFragment(bookSummary(id, "Clean Code", 0L), bookSummaryJsonConverter);
+            jsonFragmentCache.getFragment(bookSummary(1L, "Clean Code", 0L), bookSummaryJsonConverter);
+        }
+
+        assertTrue(jsonFragmentCache.getTotalBytes() <= 1000);
+        assertTrue(jsonFragmentCache.getStatistics().getSize() < 10L);
+        final long hitCount = jsonFragmentCache.getStatistics().getHitCount();
+        jsonFragmentCache.getFragment(bookSummary(1L, "Clean Code", 0L), bookSummaryJsonConverter);
+        assertThat(jsonFragmentCache.getStatistics().getHitCount(), is(equalTo(hitCount + 1)));
+    }
+
+    private static BookSummary bookSummary(final Long id, final String title, final Long version) {
+        return new BookSummary(id, title, null, 1L, "Java", Arrays.asList(new AuthorSummary(1L, "Robert Martin")),
+                35.5D, new BookVersion(version, 0L, 0L));
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.library.app.common.json;
+
+import com.google.gson.JsonObject;
+import com.library.app.common.exception.InvalidJsonException;
+import com.library.app.order.model.Order;
+import com.library.app.order.model.OrderItem;
+import com.library.app.order.resource.OrderJsonConverter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * The type Json reader unit test.
+ */
+public class JsonReaderUTest {
+
+    /**
+     * Init test case. Limits small enough to be exceeded by the tests.
+     */
+    @Before
+    public void initTestCase() {
+        JsonReader.setLimits(new JsonReadingLimits(200, 3, 3));
+    }
+
+    /**
+     * Restore the default limits.
+     */
+    @After
+    public void restoreLimits() {
+        JsonReader.setLimits(JsonReadingLimits.DEFAULT);
+    }
+
+    /**
+     * Read json object within the limits.
+     */
+    @Test
+    public void readJsonObjectWithinLimits() {
+        final JsonObject jsonObject = JsonReader.readAsJsonObject("{\"name\": \"Java\", \"ids\": [1, 2, [3]]}");
+
+        assertThat(JsonReader.getStringOrNull(jsonObject, "name"), is(equalTo("Java")));
+        assertThat(jsonObject.getAsJsonArray("ids").size(), is(equalTo(3)));
+        assertThat(JsonReader.getLongOrNull(jsonObject, "missing"), is(nullValue()));
+    }
+
+    /**
+     * Read json longer than the max body length.
+     */
+    @Test
+    public void readJsonLongerThanMaxBodyLength() {
+        final StringBuilder json = new StringBuilder("{\"name\": \"");
+        while (json.length() <= 200) {
+            json.append('a');
+        }
+        json.append("\"}");
+
+        assertInvalidJson(json.toString(), "longer than 200 characters");
+    }
+
+    /**
+     * Read json with an array longer than the max array length, in a Json tree and by a converter.
+     */
+    @Test
+    public void readJsonWithArrayLongerThanMaxArrayLength() {
+        assertInvalidJson("{\"ids\": [1, 2, 3, 4]}", "array longer than 3 elements");
+
+        try {
+            new OrderJsonConverter().convertFrom("{\"items\": [{\"bookId\": 1, \"quantity\": 1}, {\"bookId\": 2, "
+                    + "\"quantity\": 1}, {\"bookId\": 3, \"quantity\": 1}, {\"bookId\": 4, \"quantity\": 1}]}");
+            fail("An error should have been thrown");
+        } catch (final InvalidJsonException e) {
+            assertThat(e.getMessage(), containsString("array longer than 3 elements"));
+        }
+    }
+
+    /**
+     * Read json nested deeper than the max nesting depth.
+     */
+    @Test
+    public void readJsonNestedDeeperThanMaxNestingDepth() {
+        assertInvalidJson("{\"a\": {\"b\": {\"c\": {}}}}", "nested deeper than 3 levels");
+        assertInvalidJson("[[[[1]]]]", "nested deeper than 3 levels");
+    }
+
+    /**
+     * Read json with content after the value.
+     */
+    @Test
+    public void readJsonWithContentAfterTheValue() {
+        try {
+            JsonReader.readJson("{} {}", reader -> {
+                reader.beginObject();
+                reader.endObject();
+                return null;
+            });
+            fail("An error should have been thrown");
+        } catch (final InvalidJsonException e) {
+            assertThat(e.getMessage(), containsString("not fully consumed"));
+        }
+    }
+
+    /**
+     * Read order with the pull parser, skipping the unknown properties.
+     */
+    @Test
+    public void readOrderSkippingUnknownProperties() {
+        final Order order = new OrderJsonConverter().convertFrom("{\"customer\": {\"id\": 1}, \"items\": "
+                + "[{\"bookId\": 1, \"quantity\": 2, \"note\": [\"gift\"]}, {\"bookId\": 2, \"quantity\": 1}]}");
+
+        assertThat(order.getItems().size(), is(equalTo(2)));
+        int totalQuantity = 0;
+        for (final OrderItem item : order.getItems()) {
+            totalQuantity += item.getQuantity();
+        }
+        assertThat(totalQuantity, is(equalTo(3)));
+    }
+
+    /**
+     * Read order with a malformed item.
+     */
+    @Test(expected = InvalidJsonException.class)
+    public void readOrderWithMalformedItem() {
+        new OrderJsonConverter().convertFrom("{\"items\": [{\"bookId\": \"one\"}]}");
+    }
+
+    /**
+     * Assert the json is refused when read as a Json tree.
+     *
+     * @param json            the json
+     * @param expectedMessage the expected message
+     */
+    private static void assertInvalidJson(final String json, final String expectedMessage) {
+        try {
+            JsonReader.readJsonAs(json, Object.class);
+            fail("An error should have been thrown");
+        } catch (final InvalidJsonException e) {
+            assertThat(e.getMessage(), containsString(expectedMessage));
+        }
+    }
+
+}
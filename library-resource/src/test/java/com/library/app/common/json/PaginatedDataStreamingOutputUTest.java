@@ -0,0 +1,193 @@
+package com.library.app.common.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.library.app.book.model.Book;
+import com.library.app.book.model.BookSummary;
+import com.library.app.book.model.BookSummary.AuthorSummary;
+import com.library.app.book.model.BookVersion;
+import com.library.app.book.resource.BookSummaryJsonConverter;
+import com.library.app.category.model.Category;
+import com.library.app.category.resource.CategoryJsonConverter;
+import com.library.app.common.model.PaginatedData;
+import com.library.app.common.model.filter.CountStrategy;
+import com.library.app.common.model.filter.PaginationCursor;
+import com.library.app.order.model.Order;
+import com.library.app.order.resource.OrderJsonConverter;
+import com.library.app.user.model.User;
+import com.library.app.user.resource.UserJsonConverter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.library.app.commontests.book.BookForTestsRepository.designPatterns;
+import static com.library.app.commontests.book.BookForTestsRepository.effectiveJava;
+import static com.library.app.commontests.category.CategoryForTestsRepository.architecture;
+import static com.library.app.commontests.category.CategoryForTestsRepository.categoryWithId;
+import static com.library.app.commontests.category.CategoryForTestsRepository.java;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderCreatedAt;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderDelivered;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderReserved;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderWithId;
+import static com.library.app.commontests.user.UserForTestsRepository.allUsers;
+import static com.library.app.commontests.user.UserForTestsRepository.userWithIdAndCreatedAt;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Paginated data streaming output unit test. The JSON written must be the one of the JSON tree it replaced.
+ */
+public class PaginatedDataStreamingOutputUTest {
+
+    /**
+     * Write categories with characters escaped and a null id.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeCategoriesWithEscapedCharactersAndNullId() throws Exception {
+        final Category category = new Category("<Design> & \"Patterns\" 'é'  ");
+        final PaginatedData<Category> categories = new PaginatedData<>(3,
+                Arrays.asList(categoryWithId(java(), 1L), categoryWithId(architecture(), 2L), category));
+
+        assertWritesSameJsonAsTree(categories, new CategoryJsonConverter());
+    }
+
+    /**
+     * Write summaries of books with and without description and a next page.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeBookSummariesWithNextPage() throws Exception {
+        final Book designPatterns = designPatterns();
+        final Book effectiveJava = effectiveJava();
+        final List<BookSummary> summaries = Arrays.asList(
+                new BookSummary(1L, designPatterns.getTitle(), designPatterns.getDescription(), 1L,
+                        designPatterns.getCategory().getName(), Arrays.asList(new AuthorSummary(1L, "Erich <Gamma>"),
+                        new AuthorSummary(2L, "Richard Helm")), designPatterns.getPrice()),
+                new BookSummary(2L, effectiveJava.getTitle(), null, 2L, effectiveJava.getCategory().getName(),
+                        Arrays.asList(new AuthorSummary(3L, "Joshua Bloch")), effectiveJava.getPrice()));
+
+        final PaginatedData<BookSummary> books = new PaginatedData<>(10, summaries,
+                new PaginationCursor("price", false, 48.94D, 2L), CountStrategy.ESTIMATED, true);
+
+        assertWritesSameJsonAsTree(books, new BookSummaryJsonConverter());
+    }
+
+    /**
+     * Write summaries of books joining their json kept by the json fragment cache, the json of a book being written
+     * again on its new version.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeBookSummariesFromFragments() throws Exception {
+        final JsonFragmentCache jsonFragmentCache = new JsonFragmentCache();
+        jsonFragmentCache.maxBytes = 1024 * 1024;
+        final BookSummary designPatternsSummary = new BookSummary(1L, "Design <Patterns>", null, 1L, "Architecture",
+                Arrays.asList(new AuthorSummary(1L, "Erich Gamma")), 48.94D, new BookVersion(0L, 0L, 0L));
+        final BookSummary cleanCodeSummary = new BookSummary(2L, "Clean Code", null, 2L, "Java",
+                Arrays.asList(new AuthorSummary(2L, "Robert Martin")), 35.5D, new BookVersion(0L, 0L, 0L));
+
+        assertWritesSameJsonAsTree(new PaginatedData<>(2, Arrays.asList(designPatternsSummary, cleanCodeSummary)),
+                new BookSummaryJsonConverter(), jsonFragmentCache);
+        assertWritesSameJsonAsTree(new PaginatedData<>(1, Arrays.asList(cleanCodeSummary)),
+                new BookSummaryJsonConverter(), jsonFragmentCache);
+        assertThat(jsonFragmentCache.getStatistics().getHitCount(), is(equalTo(1L)));
+
+        final BookSummary cleanCodeRenamedSummary = new BookSummary(2L, "Clean Code, 2nd edition", null, 2L, "Java",
+                Arrays.asList(new AuthorSummary(2L, "Robert Martin")), 35.5D, new BookVersion(1L, 0L, 0L));
+        assertWritesSameJsonAsTree(new PaginatedData<>(1, Arrays.asList(cleanCodeRenamedSummary)),
+                new BookSummaryJsonConverter(), jsonFragmentCache);
+        assertThat(jsonFragmentCache.getStatistics().getSize(), is(equalTo(2L)));
+    }
+
+    /**
+     * Write users.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeUsers() throws Exception {
+        final List<User> users = allUsers();
+        for (int i = 0; i < users.size(); i++) {
+            userWithIdAndCreatedAt(users.get(i), (long) i + 1);
+        }
+
+        assertWritesSameJsonAsTree(new PaginatedData<>(users.size(), users), new UserJsonConverter());
+    }
+
+    /**
+     * Write orders, without their items nor history.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeOrders() throws Exception {
+        final Order orderDelivered = orderCreatedAt(orderWithId(orderDelivered(), 1L), "2017-08-29T10:10:00Z");
+        final Order orderReserved = orderCreatedAt(orderWithId(orderReserved(), 2L), "2017-08-30T10:10:00Z");
+        orderDelivered.getCustomer().setId(1L);
+        orderReserved.getCustomer().setId(2L);
+
+        assertWritesSameJsonAsTree(new PaginatedData<>(2, Arrays.asList(orderDelivered, orderReserved)),
+                new OrderJsonConverter());
+    }
+
+    /**
+     * Assert the JSON streamed, and the one of its string, is the JSON tree of the paging and entries written by Gson.
+     *
+     * @param paginatedData the paginated data
+     * @param converter     the converter
+     * @param <T>           the type of the entries
+     * @throws IOException the io exception
+     */
+    private static <T> void assertWritesSameJsonAsTree(final PaginatedData<T> paginatedData,
+                                                       final EntityJsonConverter<T> converter) throws IOException {
+        assertWritesSameJsonAsTree(paginatedData, converter, null);
+    }
+
+    /**
+     * Assert the JSON streamed, joining the JSON of the entries kept by a json fragment cache when there is one, is
+     * the JSON tree of the paging and entries written by Gson.
+     *
+     * @param paginatedData     the paginated data
+     * @param converter         the converter
+     * @param jsonFragmentCache the json fragment cache, null to convert every entry
+     * @param <T>               the type of the entries
+     * @throws IOException the io exception
+     */
+    private static <T> void assertWritesSameJsonAsTree(final PaginatedData<T> paginatedData,
+                                                       final EntityJsonConverter<T> converter,
+                                                       final JsonFragmentCache jsonFragmentCache) throws IOException {
+        final JsonObject jsonWithPagingAndEntries = new JsonObject();
+        final JsonObject jsonPaging = new JsonObject();
+        if (paginatedData.hasNumberOfRows()) {
+            jsonPaging.addProperty("totalRecords", paginatedData.getNumberOfRows());
+        }
+        jsonPaging.addProperty("countStrategy", paginatedData.getCountStrategy().name());
+        if (paginatedData.getHasNext() != null) {
+            jsonPaging.addProperty("hasNext", paginatedData.getHasNext());
+        }
+        if (paginatedData.hasNextCursor()) {
+            jsonPaging.addProperty("next", paginatedData.getNextCursor().toToken());
+        }
+        jsonWithPagingAndEntries.add("paging", jsonPaging);
+        jsonWithPagingAndEntries.add("entries", converter.convertToJsonElement(paginatedData.getRows()));
+        final String expectedJson = new Gson().toJson(jsonWithPagingAndEntries);
+
+        final PaginatedDataStreamingOutput<T> streamingOutput = new PaginatedDataStreamingOutput<>(paginatedData,
+                converter, jsonFragmentCache);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamingOutput.write(output);
+
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8), is(equalTo(expectedJson)));
+        assertThat(streamingOutput.toString(), is(equalTo(expectedJson)));
+    }
+
+}
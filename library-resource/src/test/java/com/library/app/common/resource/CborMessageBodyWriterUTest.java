@@ -0,0 +1,207 @@
+package com.library.app.common.resource;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.library.app.common.json.OperationResultJsonWriter;
+import com.library.app.common.json.PaginatedDataStreamingOutput;
+import com.library.app.common.model.OperationResult;
+import com.library.app.common.model.PaginatedData;
+import com.library.app.logaudit.model.LogAudit;
+import com.library.app.logaudit.resource.LogAuditJsonConverter;
+import com.library.app.order.model.Order;
+import com.library.app.order.resource.OrderJsonConverter;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.library.app.commontests.logaudit.LogAuditForTestsRepository.allLogs;
+import static com.library.app.commontests.logaudit.LogAuditForTestsRepository.logAuditWithId;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderCreatedAt;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderDelivered;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderReserved;
+import static com.library.app.commontests.order.OrderForTestsRepository.orderWithId;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The type Cbor message body writer unit test. The CBOR written, read back, must be the json of the same response.
+ */
+public class CborMessageBodyWriterUTest {
+
+    private static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(CborMessageBodyWriter.APPLICATION_CBOR);
+
+    private final CborMessageBodyWriter cborMessageBodyWriter = new CborMessageBodyWriter();
+
+    /**
+     * Writeable only as CBOR.
+     */
+    @Test
+    public void writeableOnlyAsCbor() {
+        assertThat(cborMessageBodyWriter.isWriteable(String.class, String.class, null, APPLICATION_CBOR_TYPE),
+                is(equalTo(true)));
+        assertThat(cborMessageBodyWriter.isWriteable(PaginatedDataStreamingOutput.class,
+                PaginatedDataStreamingOutput.class, null, APPLICATION_CBOR_TYPE), is(equalTo(true)));
+        assertThat(cborMessageBodyWriter.isWriteable(String.class, String.class, null,
+                MediaType.APPLICATION_JSON_TYPE), is(equalTo(false)));
+        assertThat(cborMessageBodyWriter.isWriteable(String.class, String.class, null, MediaType.WILDCARD_TYPE),
+                is(equalTo(false)));
+        assertThat(cborMessageBodyWriter.isWriteable(Order.class, Order.class, null, APPLICATION_CBOR_TYPE),
+                is(equalTo(false)));
+    }
+
+    /**
+     * Write a page of orders, with the integers kept as integers.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writePageOfOrders() throws Exception {
+        final PaginatedData<Order> orders = new PaginatedData<>(2, Arrays.asList(orders()));
+
+        final JsonElement cbor = assertWritesSameAsJson(new PaginatedDataStreamingOutput<>(orders,
+                new OrderJsonConverter()));
+
+        final JsonObject paging = cbor.getAsJsonObject().getAsJsonObject("paging");
+        assertThat(paging.getAsJsonPrimitive("totalRecords").getAsNumber(), is(instanceOf(Long.class)));
+    }
+
+    /**
+     * Write a page of logs audit.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writePageOfLogsAudit() throws Exception {
+        final List<LogAudit> logs = allLogs();
+        for (int i = 0; i < logs.size(); i++) {
+            logAuditWithId(logs.get(i), (long) i + 1);
+            logs.get(i).getUser().setId((long) i + 1);
+        }
+
+        assertWritesSameAsJson(new PaginatedDataStreamingOutput<>(new PaginatedData<>(logs.size(), logs),
+                new LogAuditJsonConverter()));
+    }
+
+    /**
+     * Write an order, with its items and history, as written by the resource.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeOrder() throws Exception {
+        final Order order = orders()[0];
+
+        assertWritesSameAsJson(OperationResultJsonWriter.toJson(OperationResult.success(
+                new OrderJsonConverter().convertToJsonElement(order))));
+    }
+
+    /**
+     * Write an error with html characters, and decimal, negative and null values.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeErrorAndValues() throws Exception {
+        assertWritesSameAsJson(OperationResultJsonWriter.toJson(OperationResult.error("order.invalidField.items",
+                "Items <b>may not</b> be \"empty\" & 'é'")));
+        assertWritesSameAsJson("{\"price\": 49.9, \"quantity\": -2, \"total\": 1.5E10, \"ids\": [1, null, 3], "
+                + "\"available\": false}");
+    }
+
+    /**
+     * Write nothing for an empty response.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeEmptyResponse() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        cborMessageBodyWriter.writeTo("", String.class, String.class, null, APPLICATION_CBOR_TYPE, null, output);
+
+        assertThat(output.size(), is(equalTo(0)));
+    }
+
+    private static Order[] orders() {
+        final Order orderDelivered = orderCreatedAt(orderWithId(orderDelivered(), 1L), "2017-08-29T10:10:00Z");
+        final Order orderReserved = orderCreatedAt(orderWithId(orderReserved(), 2L), "2017-08-30T10:10:00Z");
+        orderDelivered.getCustomer().setId(1L);
+        orderReserved.getCustomer().setId(2L);
+        return new Order[]{orderDelivered, orderReserved};
+    }
+
+    /**
+     * Assert the CBOR written for a response, read back, is the json written for it.
+     *
+     * @param entity the entity of the response, a json string or a streaming output
+     * @return the json element read from the CBOR
+     * @throws IOException the io exception
+     */
+    private JsonElement assertWritesSameAsJson(final Object entity) throws IOException {
+        final String json;
+        if (entity instanceof StreamingOutput) {
+            final ByteArrayOutputStream jsonOutput = new ByteArrayOutputStream();
+            ((StreamingOutput) entity).write(jsonOutput);
+            json = new String(jsonOutput.toByteArray(), "UTF-8");
+        } else {
+            json = (String) entity;
+        }
+
+        final ByteArrayOutputStream cborOutput = new ByteArrayOutputStream();
+        cborMessageBodyWriter.writeTo(entity, entity.getClass(), entity.getClass(), null, APPLICATION_CBOR_TYPE,
+                null, cborOutput);
+
+        final JsonParser parser = new CBORFactory().createParser(cborOutput.toByteArray());
+        parser.nextToken();
+        final JsonElement cbor = readElement(parser);
+
+        assertThat(cbor, is(equalTo(new com.google.gson.JsonParser().parse(json))));
+        return cbor;
+    }
+
+    private static JsonElement readElement(final JsonParser parser) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        switch (token) {
+            case START_OBJECT:
+                final JsonObject jsonObject = new JsonObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    jsonObject.add(name, readElement(parser));
+                }
+                return jsonObject;
+            case START_ARRAY:
+                final JsonArray jsonArray = new JsonArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    jsonArray.add(readElement(parser));
+                }
+                return jsonArray;
+            case VALUE_STRING:
+                return new JsonPrimitive(parser.getText());
+            case VALUE_NUMBER_INT:
+                return new JsonPrimitive(parser.getLongValue());
+            case VALUE_NUMBER_FLOAT:
+                return new JsonPrimitive(parser.getDoubleValue());
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return new JsonPrimitive(parser.getBooleanValue());
+            case VALUE_NULL:
+                return JsonNull.INSTANCE;
+            default:
+                throw new IllegalStateException("Unexpected CBOR token " + token);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.library.app.common.resource;
+
+import com.library.app.book.resource.BookResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Media type vary filter unit test.
+ */
+public class MediaTypeVaryFilterUTest {
+    private MediaTypeVaryFilter mediaTypeVaryFilter;
+
+    @Mock
+    private ResourceInfo resourceInfo;
+
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    @Mock
+    private ContainerResponseContext responseContext;
+
+    private MultivaluedMap<String, Object> headers;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        mediaTypeVaryFilter = new MediaTypeVaryFilter();
+        mediaTypeVaryFilter.resourceInfo = resourceInfo;
+
+        headers = new MultivaluedHashMap<>();
+        when(responseContext.getHeaders()).thenReturn(headers);
+    }
+
+    /**
+     * The responses of a resource producing CBOR vary on the Accept header.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void varyOnAcceptWhenResourceProducesCbor() throws Exception {
+        doReturn(BookResource.class).when(resourceInfo).getResourceClass();
+        when(resourceInfo.getResourceMethod()).thenReturn(BookResource.class.getMethod("findById", Long.class));
+
+        mediaTypeVaryFilter.filter(requestContext, responseContext);
+
+        assertThat(headers.get(HttpHeaders.VARY), is(equalTo(Collections.<Object>singletonList(HttpHeaders.ACCEPT))));
+    }
+
+    /**
+     * The responses of a resource producing only one media type do not vary on the Accept header.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void noVaryWhenResourceDoesNotProduceCbor() throws Exception {
+        doReturn(Object.class).when(resourceInfo).getResourceClass();
+        when(resourceInfo.getResourceMethod()).thenReturn(Object.class.getMethod("toString"));
+
+        mediaTypeVaryFilter.filter(requestContext, responseContext);
+
+        assertThat(headers.get(HttpHeaders.VARY), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.compression.CompressingOutputStream;
+import com.library.app.common.compression.ContentCoding;
+import com.library.app.common.compression.DeflaterPool;
+import com.library.app.common.compression.ResponseCompressor;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Response compression filter unit test.
+ */
+public class ResponseCompressionFilterUTest {
+    private static final int MIN_SIZE = 16;
+
+    private ResponseCompressionFilter responseCompressionFilter;
+
+    @Mock
+    private ResponseCompressor responseCompressor;
+
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    @Mock
+    private ContainerResponseContext responseContext;
+
+    @Mock
+    private WriterInterceptorContext writerInterceptorContext;
+
+    private MultivaluedMap<String, Object> headers;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        responseCompressionFilter = new ResponseCompressionFilter();
+        responseCompressionFilter.responseCompressor = responseCompressor;
+
+        headers = new MultivaluedHashMap<>();
+        headers.putSingle(HttpHeaders.CONTENT_LENGTH, 100);
+        when(responseContext.getHeaders()).thenReturn(headers);
+        when(writerInterceptorContext.getHeaders()).thenReturn(headers);
+
+        when(responseCompressor.compress(any(OutputStream.class), any(ContentCoding.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    final Object[] arguments = invocation.getArguments();
+                    return new CompressingOutputStream((OutputStream) arguments[0],
+                            new DeflaterPool((ContentCoding) arguments[1], Deflater.DEFAULT_COMPRESSION, 1),
+                            responseCompressor, MIN_SIZE, (Runnable) arguments[2]);
+                });
+    }
+
+    /**
+     * Negotiate gzip for a response with a body.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void negotiateGzip() throws Exception {
+        when(responseContext.hasEntity()).thenReturn(true);
+        when(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)).thenReturn("gzip, deflate");
+
+        responseCompressionFilter.filter(requestContext, responseContext);
+
+        verify(requestContext).setProperty(anyString(), eq(ContentCoding.GZIP));
+        assertThat(headers.getFirst(HttpHeaders.VARY), is(equalTo((Object) HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    /**
+     * Do not negotiate a coding for a response without a body or a client not accepting it.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void negotiateNoCoding() throws Exception {
+        when(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)).thenReturn("gzip");
+        responseCompressionFilter.filter(requestContext, responseContext);
+
+        when(responseContext.hasEntity()).thenReturn(true);
+        when(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)).thenReturn("identity");
+        responseCompressionFilter.filter(requestContext, responseContext);
+
+        verify(requestContext, never()).setProperty(anyString(), anyObject());
+    }
+
+    /**
+     * Compress the response written, setting its Content-Encoding instead of its Content-Length.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void compressResponse() throws Exception {
+        final byte[] body = "{\"entries\": [\"a book\", \"a book\", \"a book\"]}".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream output = writeResponse(ContentCoding.GZIP, body);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING), is(equalTo((Object) "gzip")));
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_LENGTH), is(nullValue()));
+
+        final GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()));
+        final byte[] uncompressedBody = new byte[body.length];
+        int count = 0;
+        while (count < body.length) {
+            count += input.read(uncompressedBody, count, body.length - count);
+        }
+        assertThat(uncompressedBody, is(equalTo(body)));
+        assertThat(input.read(), is(equalTo(-1)));
+    }
+
+    /**
+     * Write the response as it is when it is smaller than the min size or no coding was negotiated.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void writeResponseUncompressed() throws Exception {
+        final byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(writeResponse(ContentCoding.GZIP, body).toByteArray(), is(equalTo(body)));
+        assertThat(writeResponse(null, body).toByteArray(), is(equalTo(body)));
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING), is(equalTo(false)));
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_LENGTH), is(equalTo((Object) 100)));
+    }
+
+    private ByteArrayOutputStream writeResponse(final ContentCoding contentCoding, final byte[] body)
+            throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final AtomicReference<OutputStream> entityStream = new AtomicReference<>(output);
+        when(writerInterceptorContext.getProperty(anyString())).thenReturn(contentCoding);
+        when(writerInterceptorContext.getOutputStream()).thenAnswer(invocation -> entityStream.get());
+        doAnswer(invocation -> {
+            entityStream.set((OutputStream) invocation.getArguments()[0]);
+            return null;
+        }).when(writerInterceptorContext).setOutputStream(any(OutputStream.class));
+        doAnswer(invocation -> {
+            final OutputStream stream = entityStream.get();
+            stream.write(Arrays.copyOfRange(body, 0, body.length / 2));
+            stream.write(Arrays.copyOfRange(body, body.length / 2, body.length));
+            return null;
+        }).when(writerInterceptorContext).proceed();
+
+        responseCompressionFilter.aroundWriteTo(writerInterceptorContext);
+        return output;
+    }
+
+}
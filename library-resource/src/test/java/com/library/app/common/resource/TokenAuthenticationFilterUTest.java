@@ -0,0 +1,185 @@
+package com.library.app.common.resource;
+
+import com.library.app.common.model.HttpCode;
+import com.library.app.user.exception.InvalidTokenException;
+import com.library.app.user.exception.UserNotFoundException;
+import com.library.app.user.model.User;
+import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.User.UserType;
+import com.library.app.user.model.UserIdentity;
+import com.library.app.user.resource.UserResource;
+import com.library.app.user.services.UserServices;
+import com.library.app.user.token.AuthenticatedCaller;
+import com.library.app.user.token.AuthenticationTokenService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.library.app.commontests.user.UserForTestsRepository.admin;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Token authentication filter unit test.
+ */
+public class TokenAuthenticationFilterUTest {
+    private TokenAuthenticationFilter tokenAuthenticationFilter;
+
+    @Mock
+    private AuthenticationTokenService authenticationTokenService;
+
+    @Mock
+    private UserServices userServices;
+
+    @Mock
+    private ResourceInfo resourceInfo;
+
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    @Mock
+    private SecurityContext containerSecurityContext;
+
+    private AuthenticatedCaller authenticatedCaller;
+
+    /**
+     * Init test case.
+     *
+     * @throws Exception the exception
+     */
+    @Before
+    public void initTestCase() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        authenticatedCaller = new AuthenticatedCaller();
+
+        tokenAuthenticationFilter = new TokenAuthenticationFilter();
+        tokenAuthenticationFilter.authenticationTokenService = authenticationTokenService;
+        tokenAuthenticationFilter.authenticatedCaller = authenticatedCaller;
+        tokenAuthenticationFilter.userServices = userServices;
+        tokenAuthenticationFilter.resourceInfo = resourceInfo;
+
+        when(requestContext.getSecurityContext()).thenReturn(containerSecurityContext);
+        when(resourceInfo.getResourceMethod()).thenReturn(UserResource.class.getMethod("findByFilter"));
+    }
+
+    /**
+     * A valid token authenticates the request with the roles it carries.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    public void validTokenAuthenticatesRequest() throws IOException {
+        final UserIdentity admin = new UserIdentity(1L, "admin@domain.com", UserType.EMPLOYEE,
+                Arrays.asList(Roles.EMPLOYEE, Roles.ADMINISTRATOR));
+        when(requestContext.getHeaderString(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer payload.signature");
+        when(authenticationTokenService.verify("payload.signature")).thenReturn(admin);
+
+        tokenAuthenticationFilter.filter(requestContext);
+
+        final ArgumentCaptor<SecurityContext> securityContext = ArgumentCaptor.forClass(SecurityContext.class);
+        verify(requestContext).setSecurityContext(securityContext.capture());
+        verify(requestContext, never()).abortWith(any(Response.class));
+        assertThat(securityContext.getValue().getUserPrincipal().getName(), is(equalTo("admin@domain.com")));
+        assertThat(securityContext.getValue().isUserInRole("ADMINISTRATOR"), is(equalTo(true)));
+        assertThat(securityContext.getValue().isUserInRole("CUSTOMER"), is(equalTo(false)));
+        assertThat(authenticatedCaller.getUserIdentity(), is(equalTo(admin)));
+    }
+
+    /**
+     * An invalid token is rejected even on methods allowing anonymous callers.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void invalidTokenIsUnauthorized() throws Exception {
+        when(resourceInfo.getResourceMethod()).thenReturn(UserResource.class.getMethod("add", String.class));
+        when(requestContext.getHeaderString(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer payload.signature");
+        when(authenticationTokenService.verify("payload.signature")).thenThrow(
+                new InvalidTokenException("Token expired"));
+
+        tokenAuthenticationFilter.filter(requestContext);
+
+        assertUnauthorized();
+        assertThat(authenticatedCaller.isAuthenticated(), is(equalTo(false)));
+    }
+
+    /**
+     * Valid BASIC credentials authenticate the request with the roles of their user.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    public void validBasicCredentialsAuthenticateRequest() throws IOException {
+        final User admin = admin();
+        when(requestContext.getHeaderString(HttpHeaders.AUTHORIZATION)).thenReturn("Basic YWRtaW46MTIzNDU2");
+        when(userServices.findByEmailAndPassword("admin", "123456")).thenReturn(admin);
+
+        tokenAuthenticationFilter.filter(requestContext);
+
+        final ArgumentCaptor<SecurityContext> securityContext = ArgumentCaptor.forClass(SecurityContext.class);
+        verify(requestContext).setSecurityContext(securityContext.capture());
+        verify(requestContext, never()).abortWith(any(Response.class));
+        assertThat(securityContext.getValue().getAuthenticationScheme(), is(equalTo("Basic")));
+        assertThat(securityContext.getValue().isUserInRole("ADMINISTRATOR"), is(equalTo(true)));
+        assertThat(authenticatedCaller.getUserIdentity().getEmail(), is(equalTo(admin.getEmail())));
+    }
+
+    /**
+     * Wrong BASIC credentials are rejected.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    public void wrongBasicCredentialsAreUnauthorized() throws IOException {
+        when(requestContext.getHeaderString(HttpHeaders.AUTHORIZATION)).thenReturn("Basic YWRtaW46MTIzNDU2");
+        when(userServices.findByEmailAndPassword("admin", "123456")).thenThrow(new UserNotFoundException());
+
+        tokenAuthenticationFilter.filter(requestContext);
+
+        assertUnauthorized();
+        verify(requestContext, never()).setSecurityContext(any(SecurityContext.class));
+        assertThat(authenticatedCaller.isAuthenticated(), is(equalTo(false)));
+    }
+
+    /**
+     * Anonymous requests are only let through to the methods allowing them.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void anonymousRequestOnlyToMethodsAllowingIt() throws Exception {
+        tokenAuthenticationFilter.filter(requestContext);
+        assertUnauthorized();
+
+        final ContainerRequestContext anonymousRequestContext = mock(ContainerRequestContext.class);
+        when(anonymousRequestContext.getSecurityContext()).thenReturn(containerSecurityContext);
+        when(resourceInfo.getResourceMethod()).thenReturn(UserResource.class.getMethod("add", String.class));
+
+        tokenAuthenticationFilter.filter(anonymousRequestContext);
+        verify(anonymousRequestContext, never()).abortWith(any(Response.class));
+    }
+
+    private void assertUnauthorized() {
+        final ArgumentCaptor<Response> response = ArgumentCaptor.forClass(Response.class);
+        verify(requestContext).abortWith(response.capture());
+        assertThat(response.getValue().getStatus(), is(equalTo(HttpCode.UNAUTHORIZED.getCode())));
+    }
+
+}
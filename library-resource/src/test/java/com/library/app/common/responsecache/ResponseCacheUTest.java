@@ -0,0 +1,97 @@
+package com.library.app.common.responsecache;
+
+import com.library.app.cache.interceptor.ResultCaches;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.EntityTag;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Response cache unit test.
+ */
+public class ResponseCacheUTest {
+
+    private static final String BOOKS = "books";
+
+    private ResponseCache responseCache;
+    private ResultCaches resultCaches;
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        resultCaches = new ResultCaches();
+
+        responseCache = new ResponseCache();
+        responseCache.resultCaches = resultCaches;
+        responseCache.maxBytes = 1000;
+        responseCache.maxEntryBytes = 500;
+    }
+
+    /**
+     * Get the response put on the current version, counting the hits and the misses.
+     */
+    @Test
+    public void getResponsePut() {
+        final CachedResponse cachedResponse = cachedResponse(100);
+
+        assertThat(responseCache.get(BOOKS, "page1"), is(nullValue()));
+        responseCache.put(BOOKS, "page1", cachedResponse);
+
+        assertThat(responseCache.get(BOOKS, "page1"), is(sameInstance(cachedResponse)));
+        assertThat(responseCache.get("authors", "page1"), is(nullValue()));
+        assertThat(responseCache.getStatistics().getHitCount(), is(equalTo(1L)));
+        assertThat(responseCache.getStatistics().getMissCount(), is(equalTo(2L)));
+        assertThat(responseCache.getStatistics().getSize(), is(equalTo(1L)));
+    }
+
+    /**
+     * Do not return the responses read before the cache was invalidated, nor keep them when it was invalidated while
+     * they were read.
+     */
+    @Test
+    public void dropResponsesOfOldVersions() {
+        responseCache.put(BOOKS, "page1", cachedResponse(100));
+        final CachedResponse readBeforeChange = cachedResponse(100);
+
+        resultCaches.invalidate(BOOKS);
+        responseCache.put(BOOKS, "page2", readBeforeChange);
+
+        assertThat(responseCache.get(BOOKS, "page1"), is(nullValue()));
+        assertThat(responseCache.get(BOOKS, "page2"), is(nullValue()));
+        assertThat(responseCache.getTotalBytes(), is(equalTo(0L)));
+    }
+
+    /**
+     * Drop the responses read the least recently once the total size is reached, and never keep the responses larger
+     * than the max entry size.
+     */
+    @Test
+    public void boundResponsesByTheirSize() {
+        responseCache.put(BOOKS, "page1", cachedResponse(300));
+        responseCache.put(BOOKS, "page2", cachedResponse(300));
+        responseCache.get(BOOKS, "page1");
+        responseCache.put(BOOKS, "page3", cachedResponse(300));
+        responseCache.put(BOOKS, "page4", cachedResponse(501));
+
+        assertThat(responseCache.get(BOOKS, "page1"), is(notNullValue()));
+        assertThat(responseCache.get(BOOKS, "page2"), is(nullValue()));
+        assertThat(responseCache.get(BOOKS, "page3"), is(notNullValue()));
+        assertThat(responseCache.get(BOOKS, "page4"), is(nullValue()));
+        assertTrue(responseCache.getTotalBytes() <= 1000);
+    }
+
+    private CachedResponse cachedResponse(final int size) {
+        return new CachedResponse(new byte[size], new EntityTag("1.1.0", true), resultCaches.getVersion(BOOKS));
+    }
+
+}
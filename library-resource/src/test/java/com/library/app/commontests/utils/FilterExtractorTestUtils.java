@@ -35,6 +35,11 @@ public class FilterExtractorTestUtils {
         assertThat(actual.getMaxResults(), is(equalTo(expected.getMaxResults())));
         assertThat(actual.getOrderField(), is(equalTo(expected.getOrderField())));
         assertThat(actual.getOrderMode(), is(equalTo(expected.getOrderMode())));
+        assertThat(actual.hasAfterCursor(), is(equalTo(expected.hasAfterCursor())));
+        if (expected.hasAfterCursor()) {
+            assertThat(actual.getAfterCursor().getId(), is(equalTo(expected.getAfterCursor().getId())));
+            assertThat(actual.getAfterCursor().getSortValue(), is(equalTo(expected.getAfterCursor().getSortValue())));
+        }
     }
 
     /**
@@ -33,7 +33,19 @@ public enum ResourceDefinitions {
     /**
      * Log audit resource definitions.
      */
-    LOGAUDIT("logsaudit");
+    LOGAUDIT("logsaudit"),
+    /**
+     * Cache resource definitions.
+     */
+    CACHE("caches"),
+    /**
+     * Compression resource definitions.
+     */
+    COMPRESSION("compression"),
+    /**
+     * Coalescing resource definitions.
+     */
+    COALESCING("coalescing");
 
     private final String resourceName;
 
@@ -0,0 +1,59 @@
+package com.library.app.compression.resource;
+
+import com.library.app.common.compression.CompressionStatistics;
+import com.library.app.common.compression.ResponseCompressor;
+import com.library.app.common.model.HttpCode;
+import com.library.app.commontests.utils.ResourceDefinitions;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.core.Response;
+
+import static com.library.app.commontests.utils.FileTestNameUtils.getPathFileResponse;
+import static com.library.app.commontests.utils.JsonTestUtils.assertJsonMatchesFileContent;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Compression resource unit test.
+ */
+public class CompressionResourceUTest {
+    private CompressionResource compressionResource;
+
+    @Mock
+    private ResponseCompressor responseCompressor;
+
+    private static final String PATH_RESOURCE = ResourceDefinitions.COMPRESSION.getResourceName();
+
+    /**
+     * Init test case.
+     */
+    @Before
+    public void initTestCase() {
+        MockitoAnnotations.initMocks(this);
+
+        compressionResource = new CompressionResource();
+
+        compressionResource.responseCompressor = responseCompressor;
+        compressionResource.compressionStatisticsJsonConverter = new CompressionStatisticsJsonConverter();
+    }
+
+    /**
+     * Find statistics with the compression ratio and the average cpu time.
+     */
+    @Test
+    public void findStatistics() {
+        when(responseCompressor.getStatistics()).thenReturn(new CompressionStatistics(4L, 1L, 400000L, 50000L,
+                6000000L));
+
+        final Response response = compressionResource.findStatistics();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertJsonMatchesFileContent(response.getEntity().toString(),
+                getPathFileResponse(PATH_RESOURCE, "compressionStatistics.json"));
+    }
+
+}
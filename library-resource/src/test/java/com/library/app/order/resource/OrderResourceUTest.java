@@ -8,8 +8,11 @@ import com.library.app.common.utils.DateUtils;
 import com.library.app.commontests.utils.ResourceDefinitions;
 import com.library.app.order.exception.OrderNotFoundException;
 import com.library.app.order.exception.OrderStatusCannotBeChangedException;
+import com.library.app.order.exception.OrderStatusConflictException;
 import com.library.app.order.model.Order;
 import com.library.app.order.model.Order.OrderStatus;
+import com.library.app.order.model.OrderExpirationPartition;
+import com.library.app.order.model.OrderExpirationPartition.PartitionStatus;
 import com.library.app.order.model.OrderHistoryEntry;
 import com.library.app.order.model.OrderItem;
 import com.library.app.order.model.filter.OrderFilter;
@@ -79,6 +82,7 @@ public class OrderResourceUTest {
         orderResource.orderServices = orderServices;
         orderResource.uriInfo = uriInfo;
         orderResource.orderJsonConverter = new OrderJsonConverter();
+        orderResource.orderExpirationPartitionJsonConverter = new OrderExpirationPartitionJsonConverter();
         orderResource.securityContext = securityContext;
     }
 
@@ -162,6 +166,19 @@ public class OrderResourceUTest {
         assertThat(response.getStatus(), is(equalTo(HttpCode.VALIDATION_ERROR.getCode())));
     }
 
+    /**
+     * Add status to an order changed by someone else meanwhile.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void addStatusConflict() throws Exception {
+        doThrow(new OrderStatusConflictException()).when(orderServices).updateStatus(1L, OrderStatus.CANCELLED);
+
+        final Response response = orderResource.addStatus(1L, getStatusAsJson(OrderStatus.CANCELLED));
+        assertThat(response.getStatus(), is(equalTo(HttpCode.CONFLICT.getCode())));
+    }
+
     /**
      * Find by id not found.
      *
@@ -223,6 +240,38 @@ public class OrderResourceUTest {
         assertJsonResponseWithFile(response, "ordersAllInOnePage.json");
     }
 
+    /**
+     * Find expiration partitions.
+     */
+    @Test
+    public void findExpirationPartitions() {
+        final OrderExpirationPartition claimed = new OrderExpirationPartition(
+                DateUtils.getAsDateTime("2015-01-04T10:00:00Z"), 11L, 20L);
+        claimed.setId(2L);
+        claimed.setCreatedAt(DateUtils.getAsDateTime("2015-01-11T10:00:00Z"));
+        claimed.setStatus(PartitionStatus.CLAIMED);
+        claimed.setOwner("node2");
+        claimed.setClaimedAt(DateUtils.getAsDateTime("2015-01-11T10:00:01Z"));
+        claimed.setClaimExpiresAt(DateUtils.getAsDateTime("2015-01-11T10:05:01Z"));
+
+        final OrderExpirationPartition done = new OrderExpirationPartition(
+                DateUtils.getAsDateTime("2015-01-04T10:00:00Z"), 1L, 10L);
+        done.setId(1L);
+        done.setCreatedAt(DateUtils.getAsDateTime("2015-01-11T10:00:00Z"));
+        done.setStatus(PartitionStatus.DONE);
+        done.setOwner("node1");
+        done.setClaimedAt(DateUtils.getAsDateTime("2015-01-11T10:00:01Z"));
+        done.setClaimExpiresAt(DateUtils.getAsDateTime("2015-01-11T10:05:02Z"));
+        done.setFinishedAt(DateUtils.getAsDateTime("2015-01-11T10:00:02Z"));
+        done.setExpiredOrders(4);
+
+        when(orderServices.findLatestExpirationPartitions()).thenReturn(Arrays.asList(claimed, done));
+
+        final Response response = orderResource.findExpirationPartitions();
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        assertJsonResponseWithFile(response, "expirationPartitions.json");
+    }
+
     private void addOrderWithValidationError(final Exception exceptionToBeThrown, final String requestFileName,
                                              final String responseFileName) {
         when(orderServices.add((Order) anyObject())).thenThrow(exceptionToBeThrown);
@@ -8,10 +8,13 @@ import com.library.app.user.exception.UserExistentException;
 import com.library.app.user.exception.UserNotFoundException;
 import com.library.app.user.model.User;
 import com.library.app.user.model.User.Roles;
+import com.library.app.user.model.UserIdentity;
 import com.library.app.user.model.filter.UserFilter;
 import com.library.app.user.services.UserServices;
+import com.library.app.user.token.AuthenticationTokenService;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -39,6 +42,7 @@ import static com.library.app.commontests.utils.JsonTestUtils.readJsonFile;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -61,6 +65,9 @@ public class UserResourceUTest {
     @Mock
     private SecurityContext securityContext;
 
+    @Mock
+    private AuthenticationTokenService authenticationTokenService;
+
     private static final String PATH_RESOURCE = ResourceDefinitions.USER.getResourceName();
 
     /**
@@ -76,6 +83,7 @@ public class UserResourceUTest {
         userResource.userServices = userServices;
         userResource.uriInfo = uriInfo;
         userResource.securityContext = securityContext;
+        userResource.authenticationTokenService = authenticationTokenService;
     }
 
     /**
@@ -301,18 +309,36 @@ public class UserResourceUTest {
     }
 
     /**
-     * Find employee by email and password.
+     * Find employee by email and password, returned with a token.
      */
     @Test
     public void findEmployeeByEmailAndPassword() {
         when(userServices.findByEmailAndPassword(admin().getEmail(), admin().getPassword())).thenReturn(
                 userWithIdAndCreatedAt(admin(), 1L));
+        when(authenticationTokenService.issue(any(UserIdentity.class))).thenReturn("payload.signature");
 
         final Response response = userResource.findByEmailAndPassword(getJsonWithEmailAndPassword(admin().getEmail(),
                 admin()
                         .getPassword()));
         assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
-        assertJsonResponseWithFile(response, "employeeAdminFound.json");
+        assertJsonResponseWithFile(response, "employeeAdminAuthenticated.json");
+
+        final ArgumentCaptor<UserIdentity> userIdentity = ArgumentCaptor.forClass(UserIdentity.class);
+        verify(authenticationTokenService).issue(userIdentity.capture());
+        assertThat(userIdentity.getValue().getId(), is(equalTo(1L)));
+        assertThat(userIdentity.getValue().getRoles(), is(equalTo(admin().getRoles())));
+    }
+
+    /**
+     * Logout revokes the token of the request.
+     */
+    @Test
+    public void logoutRevokesToken() {
+        setUpPrincipalUser(userWithIdAndCreatedAt(admin(), 1L));
+
+        final Response response = userResource.logout("Bearer payload.signature");
+        assertThat(response.getStatus(), is(equalTo(HttpCode.OK.getCode())));
+        verify(authenticationTokenService).revoke("payload.signature");
     }
 
     /**
@@ -364,7 +390,8 @@ public class UserResourceUTest {
         when(principal.getName()).thenReturn(user.getEmail());
 
         when(securityContext.getUserPrincipal()).thenReturn(principal);
-        when(userServices.findByEmail(user.getEmail())).thenReturn(user);
+        when(userServices.findIdentityByEmail(user.getEmail())).thenReturn(new UserIdentity(user.getId(),
+                user.getEmail(), user.getUserType(), user.getRoles()));
     }
 
     /**